@@ -1,5 +1,6 @@
 # main.py
 
+import json
 import logging
 import os
 import pytesseract
@@ -12,7 +13,7 @@ from typing import List, Optional, Dict, Any
 import httpx
 from dotenv import load_dotenv
 from fastapi import FastAPI, UploadFile, File, HTTPException, Form, Request
-from fastapi.responses import HTMLResponse
+from fastapi.responses import HTMLResponse, StreamingResponse
 from fastapi.templating import Jinja2Templates
 from langchain_core.documents import Document
 from pydantic import (
@@ -393,17 +394,7 @@ def _extract_gemini_text(payload: dict) -> Optional[str]:
     return None
 
 
-def _call_gemini(prompt: str) -> str:
-    if not GEMINI_API_KEY:
-        raise HTTPException(
-            status_code=500,
-            detail="GEMINI_API_KEY가 설정되어 있지 않습니다.",
-        )
-
-    url = (
-        "https://generativelanguage.googleapis.com/v1beta/models/"
-        f"{GEMINI_MODEL}:generateContent"
-    )
+def _build_gemini_payload(prompt: str) -> dict:
     payload = {
         "contents": [
             {
@@ -416,6 +407,21 @@ def _call_gemini(prompt: str) -> str:
 
     if GEMINI_USE_GOOGLE_SEARCH:
         payload["tools"] = [{"google_search": {}}]
+    return payload
+
+
+def _call_gemini(prompt: str) -> str:
+    if not GEMINI_API_KEY:
+        raise HTTPException(
+            status_code=500,
+            detail="GEMINI_API_KEY가 설정되어 있지 않습니다.",
+        )
+
+    url = (
+        "https://generativelanguage.googleapis.com/v1beta/models/"
+        f"{GEMINI_MODEL}:generateContent"
+    )
+    payload = _build_gemini_payload(prompt)
 
     try:
         response = httpx.post(
@@ -453,15 +459,45 @@ def _call_gemini(prompt: str) -> str:
     return text.strip()
 
 
-def _generate_answer(
+def _stream_gemini(prompt: str):
+    """
+    Gemini streamGenerateContent(SSE)를 호출해 생성되는 텍스트 조각을 순서대로 돌려준다.
+    """
+    if not GEMINI_API_KEY:
+        raise HTTPException(
+            status_code=500,
+            detail="GEMINI_API_KEY가 설정되어 있지 않습니다.",
+        )
+
+    url = (
+        "https://generativelanguage.googleapis.com/v1beta/models/"
+        f"{GEMINI_MODEL}:streamGenerateContent"
+    )
+    with httpx.stream(
+        "POST",
+        url,
+        params={"key": GEMINI_API_KEY, "alt": "sse"},
+        json=_build_gemini_payload(prompt),
+        timeout=60,
+    ) as response:
+        response.raise_for_status()
+        for line in response.iter_lines():
+            if not line.startswith("data:"):
+                continue
+            raw = line[len("data:"):].strip()
+            if not raw:
+                continue
+            text = _extract_gemini_text(json.loads(raw))
+            if text:
+                yield text
+
+
+def _prepare_generation_prompt(
     question: str,
     context: Optional[str],
     has_context: bool,
 ) -> str:
-    """
-    문서 컨텍스트 유무에 따라 프롬프트를 만들고
-    Gemini generateContent + Google Search로 최종 답변을 생성한다.
-    """
+    """LLM 공급자/질문을 검증한 뒤 생성용 프롬프트를 만든다."""
 
     provider = os.getenv("LLM_PROVIDER", "gemini").lower()
     if provider != "gemini":
@@ -476,7 +512,20 @@ def _generate_answer(
             detail="질문이 비어 있습니다.",
         )
 
-    prompt = _build_llm_prompt(question, context, has_context)
+    return _build_llm_prompt(question, context, has_context)
+
+
+def _generate_answer(
+    question: str,
+    context: Optional[str],
+    has_context: bool,
+) -> str:
+    """
+    문서 컨텍스트 유무에 따라 프롬프트를 만들고
+    Gemini generateContent + Google Search로 최종 답변을 생성한다.
+    """
+
+    prompt = _prepare_generation_prompt(question, context, has_context)
     return _call_gemini(prompt)
 
 
@@ -1094,6 +1143,37 @@ async def query_generate(payload: GenerateRequest) -> GenerateResponse:
         raise HTTPException(status_code=500, detail=f"generate failed: {e}")
 
 
+@app.post(
+    "/query/generate/stream",
+    summary="검색 컨텍스트로 LLM 답변을 SSE 로 스트리밍",
+    tags=["rag"],
+)
+async def query_generate_stream(payload: GenerateRequest) -> StreamingResponse:
+    """
+    /query/generate 와 같은 프롬프트로 답변을 만들되, 생성되는 텍스트 조각을
+    `token` 이벤트로 즉시 흘려보내고 마지막에 `done` 이벤트를 보낸다.
+    """
+    base_context = (payload.context or "").strip()
+    prompt = _prepare_generation_prompt(
+        payload.question,
+        base_context,
+        has_context=bool(base_context),
+    )
+
+    def event_stream():
+        try:
+            for delta in _stream_gemini(prompt):
+                data = json.dumps({"delta": delta}, ensure_ascii=False)
+                yield f"event: token\ndata: {data}\n\n"
+            yield "event: done\ndata: {}\n\n"
+        except Exception as e:
+            logger.exception("[QUERY_GENERATE_STREAM][FATAL] q=%s err=%s", payload.question, e)
+            data = json.dumps({"message": f"generate failed: {e}"}, ensure_ascii=False)
+            yield f"event: error\ndata: {data}\n\n"
+
+    return StreamingResponse(event_stream(), media_type="text/event-stream")
+
+
 @app.post(
     "/query",
     response_model=QueryResponse,
@@ -3,9 +3,11 @@ package com.buhmwoo.oneask;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ConfigurationPropertiesScan(basePackages = "com.buhmwoo.oneask")
+@EnableScheduling
 public class OneAskApplication {
     public static void main(String[] args) {
         SpringApplication.run(OneAskApplication.class, args);
@@ -0,0 +1,23 @@
+package com.buhmwoo.oneask.common.config;
+
+import org.springframework.context.annotation.Configuration; // ✅ MVC 설정 클래스를 선언하기 위해 임포트합니다.
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer; // ✅ 비동기 요청 타임아웃을 조정하기 위해 임포트합니다.
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer; // ✅ 기본 MVC 설정을 확장하기 위해 임포트합니다.
+
+/**
+ * Mono 를 반환하는 컨트롤러(질의 API)의 비동기 처리 설정을 구성합니다. // ✅ 컨테이너 기본 타임아웃(30초)에 LLM 응답이 잘리지 않도록 합니다.
+ */
+@Configuration // ✅ 스프링 MVC 설정 클래스임을 나타냅니다.
+public class AsyncWebConfig implements WebMvcConfigurer {
+
+    private final OneAskProperties props; // ✅ 비동기 타임아웃 값을 구성 파일에서 읽어오기 위해 보관합니다.
+
+    public AsyncWebConfig(OneAskProperties props) {
+        this.props = props;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(props.getAsk().getAsyncTimeout().toMillis()); // ✅ 질의 파이프라인의 최대 대기 시간보다 길게 잡아 정상 응답이 잘리지 않도록 합니다.
+    }
+}
@@ -0,0 +1,42 @@
+package com.buhmwoo.oneask.common.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.UUID;
+
+/**
+ * 여러 인스턴스로 운영할 때 이 프로세스를 구분하는 ID 를 정합니다.
+ * <p>
+ * 설정한 값(oneask.indexing.instance-id)이 있으면 그대로 쓰고, 없으면 호스트 이름을 씁니다.
+ * 호스트 이름도 얻지 못하면 임의 값을 쓰므로 재시작하면 달라집니다.
+ */
+public final class InstanceIds {
+
+    private static final Logger log = LoggerFactory.getLogger(InstanceIds.class);
+
+    private InstanceIds() {
+    }
+
+    public static String resolve(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured.trim();
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            String random = UUID.randomUUID().toString();
+            log.warn("[INSTANCE] 호스트 이름을 알 수 없어 임의 인스턴스 ID 를 씁니다 instanceId={}", random);
+            return random;
+        }
+    }
+
+    /**
+     * 파일 이름에 넣을 수 있도록 영문·숫자·'.'·'_'·'-' 외의 문자를 '_' 로 바꿉니다.
+     */
+    public static String fileSafe(String instanceId) {
+        return instanceId.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
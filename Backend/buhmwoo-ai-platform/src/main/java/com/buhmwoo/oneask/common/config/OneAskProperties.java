@@ -4,8 +4,13 @@ import jakarta.annotation.PostConstruct;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 @ConfigurationProperties(prefix = "oneask")
 @Validated
@@ -16,8 +21,38 @@ public class OneAskProperties {
         @NotBlank
         private String root;
 
+        /** 일괄 업로드 한 번에 받을 수 있는 최대 파일 수 (zip 안의 항목 포함) */
+        private int bulkMaxFiles = 2000;
+
+        /** 일괄 업로드에서 파일(zip 항목 포함) 하나의 최대 크기 */
+        private DataSize bulkMaxFileSize = DataSize.ofMegabytes(100);
+
+        /** 일괄 업로드 파일을 스토리지에 동시에 쓰는 스레드 수 */
+        private int bulkParallelism = 4;
+
+        /** 일괄 업로드 문서를 DB 에 한 번에 넣는 묶음 크기 */
+        private int bulkInsertBatchSize = 100;
+
+        /** 끝나지 않은 일괄 업로드 작업(처리 중 + 대기 중)의 최대 수. 넘으면 새 요청을 429 로 거절합니다. */
+        private int bulkMaxPendingJobs = 3;
+
         public String getRoot() { return root; }
         public void setRoot(String root) { this.root = root; }
+
+        public int getBulkMaxFiles() { return bulkMaxFiles; }
+        public void setBulkMaxFiles(int bulkMaxFiles) { this.bulkMaxFiles = bulkMaxFiles; }
+
+        public DataSize getBulkMaxFileSize() { return bulkMaxFileSize; }
+        public void setBulkMaxFileSize(DataSize bulkMaxFileSize) { this.bulkMaxFileSize = bulkMaxFileSize; }
+
+        public int getBulkParallelism() { return bulkParallelism; }
+        public void setBulkParallelism(int bulkParallelism) { this.bulkParallelism = bulkParallelism; }
+
+        public int getBulkInsertBatchSize() { return bulkInsertBatchSize; }
+        public void setBulkInsertBatchSize(int bulkInsertBatchSize) { this.bulkInsertBatchSize = bulkInsertBatchSize; }
+
+        public int getBulkMaxPendingJobs() { return bulkMaxPendingJobs; }
+        public void setBulkMaxPendingJobs(int bulkMaxPendingJobs) { this.bulkMaxPendingJobs = bulkMaxPendingJobs; }
     }
 
     @Validated
@@ -25,8 +60,92 @@ public class OneAskProperties {
         @NotBlank
         private String backendUrl;
 
+        /** backendUrl 외에 함께 사용할 RAG 백엔드 인스턴스 주소 (같은 벡터 저장소를 공유해야 함) */
+        private List<String> backendUrls = new ArrayList<>();
+
+        /** 인스턴스가 둘 이상일 때 상태를 확인할 경로 (응답의 ready=false 이면 제외) */
+        private String healthCheckPath = "/health/rag";
+
+        /** 상태 확인 주기 */
+        private Duration healthCheckInterval = Duration.ofSeconds(10);
+
+        /** 이 횟수만큼 연속 실패(연결 오류, 5xx, 타임아웃)하면 인스턴스를 잠시 제외 */
+        private int outlierConsecutiveFailures = 5;
+
+        /** 인스턴스를 제외하는 기본 시간 (반복해서 제외될수록 배수로 늘어남) */
+        private Duration outlierEjectionDuration = Duration.ofSeconds(30);
+
+        /** 동시에 제외할 수 있는 인스턴스 비율 상한 (%) */
+        private int outlierMaxEjectionPercent = 50;
+
+        /** 호출자가 대기 시간을 정하지 않은 생성 호출 한 번(스트리밍은 첫 조각까지)의 상한. 멈춘 인스턴스를 질의 마감보다 먼저 끊어 실패로 세도록 STRICT 예산보다 짧게 둠 */
+        private Duration generateAttemptTimeout = Duration.ofSeconds(40);
+
+        /** 검색(/query/retrieve) 응답이 늦으면 같은 요청을 한 번 더 보내 먼저 온 응답을 쓸지 여부 */
+        private boolean hedgeEnabled = false;
+
+        /** 중복 요청을 보내기까지 기다릴 지연의 기준 백분위 (최근 검색 지연 분포 기준, 0~1) */
+        private double hedgePercentile = 0.95;
+
+        /** 지연 표본이 충분히 쌓이기 전에 사용할 대기 시간 */
+        private Duration hedgeInitialDelay = Duration.ofMillis(800);
+
+        /** 백분위 값이 아무리 작아도 이 시간보다는 먼저 중복 요청을 보내지 않음 */
+        private Duration hedgeMinDelay = Duration.ofMillis(50);
+
+        /** 전체 검색 요청 대비 중복 요청 비율 상한 (장애 시 부하가 두 배가 되지 않도록 제한, 0~1) */
+        private double hedgeMaxRatio = 0.1;
+
+        /** 대화형 질의(ragWebClient)가 쓰는 RAG 백엔드 연결 수 상한 */
+        private int interactiveMaxConnections = 64;
+
+        /** 인덱싱·삭제 등 백그라운드 작업(ragBackgroundWebClient)이 쓰는 RAG 백엔드 연결 수 상한 */
+        private int backgroundMaxConnections = 4;
+
         public String getBackendUrl() { return backendUrl; }
         public void setBackendUrl(String backendUrl) { this.backendUrl = backendUrl; }
+
+        public List<String> getBackendUrls() { return backendUrls; }
+        public void setBackendUrls(List<String> backendUrls) { this.backendUrls = backendUrls == null ? new ArrayList<>() : backendUrls; }
+
+        public String getHealthCheckPath() { return healthCheckPath; }
+        public void setHealthCheckPath(String healthCheckPath) { this.healthCheckPath = healthCheckPath; }
+
+        public Duration getHealthCheckInterval() { return healthCheckInterval; }
+        public void setHealthCheckInterval(Duration healthCheckInterval) { this.healthCheckInterval = healthCheckInterval; }
+
+        public int getOutlierConsecutiveFailures() { return outlierConsecutiveFailures; }
+        public void setOutlierConsecutiveFailures(int outlierConsecutiveFailures) { this.outlierConsecutiveFailures = outlierConsecutiveFailures; }
+
+        public Duration getOutlierEjectionDuration() { return outlierEjectionDuration; }
+        public void setOutlierEjectionDuration(Duration outlierEjectionDuration) { this.outlierEjectionDuration = outlierEjectionDuration; }
+
+        public int getOutlierMaxEjectionPercent() { return outlierMaxEjectionPercent; }
+        public void setOutlierMaxEjectionPercent(int outlierMaxEjectionPercent) { this.outlierMaxEjectionPercent = outlierMaxEjectionPercent; }
+
+        public Duration getGenerateAttemptTimeout() { return generateAttemptTimeout; }
+        public void setGenerateAttemptTimeout(Duration generateAttemptTimeout) { this.generateAttemptTimeout = generateAttemptTimeout; }
+
+        public boolean isHedgeEnabled() { return hedgeEnabled; }
+        public void setHedgeEnabled(boolean hedgeEnabled) { this.hedgeEnabled = hedgeEnabled; }
+
+        public double getHedgePercentile() { return hedgePercentile; }
+        public void setHedgePercentile(double hedgePercentile) { this.hedgePercentile = hedgePercentile; }
+
+        public Duration getHedgeInitialDelay() { return hedgeInitialDelay; }
+        public void setHedgeInitialDelay(Duration hedgeInitialDelay) { this.hedgeInitialDelay = hedgeInitialDelay; }
+
+        public Duration getHedgeMinDelay() { return hedgeMinDelay; }
+        public void setHedgeMinDelay(Duration hedgeMinDelay) { this.hedgeMinDelay = hedgeMinDelay; }
+
+        public double getHedgeMaxRatio() { return hedgeMaxRatio; }
+        public void setHedgeMaxRatio(double hedgeMaxRatio) { this.hedgeMaxRatio = hedgeMaxRatio; }
+
+        public int getInteractiveMaxConnections() { return interactiveMaxConnections; }
+        public void setInteractiveMaxConnections(int interactiveMaxConnections) { this.interactiveMaxConnections = interactiveMaxConnections; }
+
+        public int getBackgroundMaxConnections() { return backgroundMaxConnections; }
+        public void setBackgroundMaxConnections(int backgroundMaxConnections) { this.backgroundMaxConnections = backgroundMaxConnections; }
     }
 
     public static class Gemini {
@@ -40,9 +159,423 @@ public class OneAskProperties {
         public void setModel(String model) { this.model = model; }
     }
 
+    public static class Ask {
+        /** 비동기 질의 요청(/ask)이 서블릿 컨테이너에서 대기할 수 있는 최대 시간 */
+        private Duration asyncTimeout = Duration.ofSeconds(150);
+
+        /** 문서 지정 질문에서 의도 분류와 문서 검색을 동시에 시작할지 여부 */
+        private boolean speculativeRetrieval = true;
+
+        /** 배치 질의(/ask/batch)에서 동시에 처리할 최대 질문 수 */
+        private int batchParallelism = 4;
+
+        /** 배치 질의 한 번에 받을 수 있는 최대 질문 수 */
+        private int batchMaxItems = 500;
+
+        /** 배치 질의 한 건의 최대 처리 시간 (이 시간 안에 끝나지 않은 항목은 항목별 실패로 응답) */
+        private Duration batchMaxDuration = Duration.ofMinutes(10);
+
+        /** 검색된 청크 본문으로 프롬프트 컨텍스트를 다시 구성(예산·중복 제거)할지 여부 */
+        private boolean contextPackingEnabled = true;
+
+        /** 프롬프트 컨텍스트 최대 문자 수 (한국어는 대략 1~1.5자당 1토큰) */
+        private int contextMaxChars = 6000;
+
+        /** 이미 담은 청크에 이 비율 이상 포함되는 청크는 중복으로 보고 제외 (글자 5-gram 기준, 0~1) */
+        private double contextDuplicateThreshold = 0.8;
+
+        /** STRICT 모드 질의 한 건의 전체 처리 예산 (검색·생성 호출은 남은 시간만큼만 기다림) */
+        private Duration strictDeadline = Duration.ofSeconds(45);
+
+        /** GENERAL 모드 질의 한 건의 전체 처리 예산 */
+        private Duration generalDeadline = Duration.ofSeconds(40);
+
+        /** HYBRID 모드 질의 한 건의 전체 처리 예산 (웹검색 포함) */
+        private Duration hybridDeadline = Duration.ofSeconds(90);
+
+        /** 요약 등 백그라운드 레인 질의 한 건의 처리 예산 (대화형 질의가 몰리면 대기열에서 기다리므로 길게 둠) */
+        private Duration backgroundDeadline = Duration.ofMinutes(5);
+
+        public Duration getAsyncTimeout() { return asyncTimeout; }
+        public void setAsyncTimeout(Duration asyncTimeout) { this.asyncTimeout = asyncTimeout; }
+
+        public boolean isSpeculativeRetrieval() { return speculativeRetrieval; }
+        public void setSpeculativeRetrieval(boolean speculativeRetrieval) { this.speculativeRetrieval = speculativeRetrieval; }
+
+        public int getBatchParallelism() { return batchParallelism; }
+        public void setBatchParallelism(int batchParallelism) { this.batchParallelism = batchParallelism; }
+
+        public int getBatchMaxItems() { return batchMaxItems; }
+        public void setBatchMaxItems(int batchMaxItems) { this.batchMaxItems = batchMaxItems; }
+
+        public Duration getBatchMaxDuration() { return batchMaxDuration; }
+        public void setBatchMaxDuration(Duration batchMaxDuration) { this.batchMaxDuration = batchMaxDuration; }
+
+        public boolean isContextPackingEnabled() { return contextPackingEnabled; }
+        public void setContextPackingEnabled(boolean contextPackingEnabled) { this.contextPackingEnabled = contextPackingEnabled; }
+
+        public int getContextMaxChars() { return contextMaxChars; }
+        public void setContextMaxChars(int contextMaxChars) { this.contextMaxChars = contextMaxChars; }
+
+        public double getContextDuplicateThreshold() { return contextDuplicateThreshold; }
+        public void setContextDuplicateThreshold(double contextDuplicateThreshold) { this.contextDuplicateThreshold = contextDuplicateThreshold; }
+
+        public Duration getStrictDeadline() { return strictDeadline; }
+        public void setStrictDeadline(Duration strictDeadline) { this.strictDeadline = strictDeadline; }
+
+        public Duration getGeneralDeadline() { return generalDeadline; }
+        public void setGeneralDeadline(Duration generalDeadline) { this.generalDeadline = generalDeadline; }
+
+        public Duration getHybridDeadline() { return hybridDeadline; }
+        public void setHybridDeadline(Duration hybridDeadline) { this.hybridDeadline = hybridDeadline; }
+
+        public Duration getBackgroundDeadline() { return backgroundDeadline; }
+        public void setBackgroundDeadline(Duration backgroundDeadline) { this.backgroundDeadline = backgroundDeadline; }
+    }
+
+    public static class Intent {
+        /** 로컬 의도 모델을 먼저 사용할지 여부 (false 면 항상 GPT 분류기를 호출) */
+        private boolean localModelEnabled = true;
+
+        /** 로컬 모델 예측을 그대로 채택하기 위한 최소 신뢰도(0~1) */
+        private double confidenceThreshold = 0.9;
+
+        /** 로컬 모델을 신뢰하기 전에 의도별로 확보해야 하는 최소 학습 예시 수 */
+        private int minExamplesPerIntent = 20;
+
+        /**
+         * GPT 분류 결과를 학습 라벨 로그 파일({storage.root}/.oneask/intent-labels.tsv)에 남길지 여부.
+         * 로그에는 사용자 질문 원문이 그대로 기록되므로, 디스크에 질문을 남기면 안 되는 환경에서는 끄십시오.
+         */
+        private boolean labelLogEnabled = true;
+
+        /** 라벨 로그에 보관할 최대 줄 수 (디스크에 남는 질문 원문의 상한이며, 넘으면 오래된 줄부터 지웁니다) */
+        private int labelLogMaxLines = 5000;
+
+        /** 로컬 의도 모델이 보관할 최대 n-gram 특징 수 (가득 차면 새 특징은 무시하고 기존 특징 카운트만 갱신) */
+        private int modelMaxFeatures = 100_000;
+
+        /** 의도 분류 결과 캐시에 보관할 최대 질문 수 */
+        private int cacheMaxEntries = 1000;
+
+        /** 의도 분류 결과 캐시 보관 시간 */
+        private Duration cacheTtl = Duration.ofMinutes(30);
+
+        public boolean isLocalModelEnabled() { return localModelEnabled; }
+        public void setLocalModelEnabled(boolean localModelEnabled) { this.localModelEnabled = localModelEnabled; }
+
+        public double getConfidenceThreshold() { return confidenceThreshold; }
+        public void setConfidenceThreshold(double confidenceThreshold) { this.confidenceThreshold = confidenceThreshold; }
+
+        public int getMinExamplesPerIntent() { return minExamplesPerIntent; }
+        public void setMinExamplesPerIntent(int minExamplesPerIntent) { this.minExamplesPerIntent = minExamplesPerIntent; }
+
+        public boolean isLabelLogEnabled() { return labelLogEnabled; }
+        public void setLabelLogEnabled(boolean labelLogEnabled) { this.labelLogEnabled = labelLogEnabled; }
+
+        public int getLabelLogMaxLines() { return labelLogMaxLines; }
+        public void setLabelLogMaxLines(int labelLogMaxLines) { this.labelLogMaxLines = labelLogMaxLines; }
+
+        public int getModelMaxFeatures() { return modelMaxFeatures; }
+        public void setModelMaxFeatures(int modelMaxFeatures) { this.modelMaxFeatures = modelMaxFeatures; }
+
+        public int getCacheMaxEntries() { return cacheMaxEntries; }
+        public void setCacheMaxEntries(int cacheMaxEntries) { this.cacheMaxEntries = cacheMaxEntries; }
+
+        public Duration getCacheTtl() { return cacheTtl; }
+        public void setCacheTtl(Duration cacheTtl) { this.cacheTtl = cacheTtl; }
+    }
+
+    public static class Cache {
+        /** 답변 캐시 전체 용량 (항목 가중치 합계, 가중치는 답변·출처 문자 수 기준) */
+        private long maximumWeight = 4_000_000L;
+
+        /** 답변 캐시를 나누는 락 스트라이프 수 (2의 거듭제곱으로 올림) */
+        private int stripes = 16;
+
+        /** 문서 기반(DOC_KNOWLEDGE) 답변 보관 시간 */
+        private Duration docKnowledgeTtl = Duration.ofMinutes(10);
+
+        /** 일반 상식(GENERAL_KNOWLEDGE) 답변 보관 시간 */
+        private Duration generalKnowledgeTtl = Duration.ofMinutes(30);
+
+        /** 스몰톡(SMALL_TALK) 답변 보관 시간 */
+        private Duration smallTalkTtl = Duration.ofHours(1);
+
+        /** 재기동 후에도 유지되는 파일 기반(메모리 매핑) 2차 캐시 사용 여부 */
+        private boolean l2Enabled = false;
+
+        /** 2차 캐시 파일 크기 (바이트, 가득 차면 비우고 다시 채움) */
+        private long l2FileSize = 256L * 1024 * 1024;
+
+        /** 벡터 검색 결과 캐시 사용 여부 */
+        private boolean retrievalEnabled = true;
+
+        /** 벡터 검색 결과 캐시에 보관할 최대 결과 수 */
+        private int retrievalMaxEntries = 500;
+
+        /** 정규화 후에도 조금 다른 질문을 MinHash 로 찾아 캐시된 답변을 재사용할지 여부 */
+        private boolean nearDuplicateEnabled = true;
+
+        /** 유사 질문으로 인정할 최소 자카드 유사도 (글자 2-gram 기준, 0~1) */
+        private double nearDuplicateThreshold = 0.75;
+
+        /** 검색된 청크 묶음이 같을 때 생성 답변을 재사용하는 캐시 사용 여부 */
+        private boolean chunkSetEnabled = false;
+
+        /** 청크 묶음 답변 캐시에 보관할 최대 지문 수 */
+        private int chunkSetMaxEntries = 500;
+
+        /** 청크 묶음이 같아도 답변을 재사용하기 위한 최소 질문 유사도 (글자 2-gram 자카드, 0~1) */
+        private double chunkSetQuestionSimilarity = 0.5;
+
+        public long getMaximumWeight() { return maximumWeight; }
+        public void setMaximumWeight(long maximumWeight) { this.maximumWeight = maximumWeight; }
+
+        public int getStripes() { return stripes; }
+        public void setStripes(int stripes) { this.stripes = stripes; }
+
+        public Duration getDocKnowledgeTtl() { return docKnowledgeTtl; }
+        public void setDocKnowledgeTtl(Duration docKnowledgeTtl) { this.docKnowledgeTtl = docKnowledgeTtl; }
+
+        public Duration getGeneralKnowledgeTtl() { return generalKnowledgeTtl; }
+        public void setGeneralKnowledgeTtl(Duration generalKnowledgeTtl) { this.generalKnowledgeTtl = generalKnowledgeTtl; }
+
+        public Duration getSmallTalkTtl() { return smallTalkTtl; }
+        public void setSmallTalkTtl(Duration smallTalkTtl) { this.smallTalkTtl = smallTalkTtl; }
+
+        public boolean isL2Enabled() { return l2Enabled; }
+        public void setL2Enabled(boolean l2Enabled) { this.l2Enabled = l2Enabled; }
+
+        public long getL2FileSize() { return l2FileSize; }
+        public void setL2FileSize(long l2FileSize) { this.l2FileSize = l2FileSize; }
+
+        public boolean isRetrievalEnabled() { return retrievalEnabled; }
+        public void setRetrievalEnabled(boolean retrievalEnabled) { this.retrievalEnabled = retrievalEnabled; }
+
+        public int getRetrievalMaxEntries() { return retrievalMaxEntries; }
+        public void setRetrievalMaxEntries(int retrievalMaxEntries) { this.retrievalMaxEntries = retrievalMaxEntries; }
+
+        public boolean isNearDuplicateEnabled() { return nearDuplicateEnabled; }
+        public void setNearDuplicateEnabled(boolean nearDuplicateEnabled) { this.nearDuplicateEnabled = nearDuplicateEnabled; }
+
+        public double getNearDuplicateThreshold() { return nearDuplicateThreshold; }
+        public void setNearDuplicateThreshold(double nearDuplicateThreshold) { this.nearDuplicateThreshold = nearDuplicateThreshold; }
+
+        public boolean isChunkSetEnabled() { return chunkSetEnabled; }
+        public void setChunkSetEnabled(boolean chunkSetEnabled) { this.chunkSetEnabled = chunkSetEnabled; }
+
+        public int getChunkSetMaxEntries() { return chunkSetMaxEntries; }
+        public void setChunkSetMaxEntries(int chunkSetMaxEntries) { this.chunkSetMaxEntries = chunkSetMaxEntries; }
+
+        public double getChunkSetQuestionSimilarity() { return chunkSetQuestionSimilarity; }
+        public void setChunkSetQuestionSimilarity(double chunkSetQuestionSimilarity) { this.chunkSetQuestionSimilarity = chunkSetQuestionSimilarity; }
+    }
+
+    public static class Resilience {
+        /** 최근 호출 중 이 비율 이상이 실패하면 회로를 엶 (0~1) */
+        private double failureRateThreshold = 0.5;
+
+        /** 실패율을 계산할 최근 호출 수 */
+        private int slidingWindowSize = 20;
+
+        /** 실패율을 판단하기 위해 필요한 최소 호출 수 */
+        private int minimumCalls = 10;
+
+        /** 회로를 연 뒤 시험 호출을 허용하기까지 기다리는 시간 */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /** 반쯤 열린 상태에서 허용할 시험 호출 수 (모두 성공하면 회로를 닫음) */
+        private int halfOpenCalls = 3;
+
+        /** RAG 검색(/query/retrieve) 동시 호출 한도 */
+        private int retrieveMaxConcurrent = 32;
+
+        /** RAG 생성(/query/generate, 스트리밍 포함) 동시 호출 한도 */
+        private int generateMaxConcurrent = 16;
+
+        /** Gemini 웹검색 동시 호출 한도 */
+        private int geminiMaxConcurrent = 8;
+
+        /** GPT 생성 호출에 적응형 동시 호출 한도를 적용할지 여부 */
+        private boolean generateLimitEnabled = true;
+
+        /** 적응형 한도의 시작 값 */
+        private int generateInitialLimit = 8;
+
+        /** 적응형 한도의 하한 */
+        private int generateMinLimit = 2;
+
+        /** 적응형 한도의 상한 (generateMaxConcurrent 이하로 두어야 한도 대기열이 먼저 동작) */
+        private int generateMaxLimit = 16;
+
+        /** 과부하 신호를 받았을 때 한도에 곱할 비율 */
+        private double generateBackoffRatio = 0.9;
+
+        /** 비스트리밍 생성 호출의 전체 지연이 이보다 길면 성공했더라도 과부하 신호로 봄 (답변 전체를 만드는 시간이므로 여유 있게) */
+        private Duration generateSlowCallThreshold = Duration.ofSeconds(30);
+
+        /** 스트리밍 생성 호출에서 첫 토큰까지의 시간이 이보다 길면 과부하 신호로 봄 */
+        private Duration generateSlowFirstTokenThreshold = Duration.ofSeconds(15);
+
+        /** 한도가 찼을 때 기다릴 수 있는 호출 수 (넘치면 즉시 거절) */
+        private int generateQueueSize = 32;
+
+        /** 한도 대기열에서 기다리는 최대 시간 (질의 마감이 더 가까우면 남은 시간만 대기) */
+        private Duration generateQueueTimeout = Duration.ofSeconds(5);
+
+        /** 백그라운드 레인(요약 등) 생성 호출은 진행 중 호출이 한도의 이 비율 미만일 때만 시작 (0~1) */
+        private double backgroundShare = 0.25;
+
+        /** 마감이 없는 백그라운드 레인 생성 호출이 한도 대기열에서 기다리는 최대 시간 (마감이 있으면 마감까지 기다림) */
+        private Duration backgroundQueueTimeout = Duration.ofSeconds(30);
+
+        /** 동시에 진행할 수 있는 백그라운드 인덱싱 작업 수 */
+        private int backgroundMaxConcurrent = 2;
+
+        /** 대화형 부하가 계속 높아도 인덱싱 시작을 이 시간 넘게 미루지 않음 (자리가 날 때까지는 PENDING 으로 대기) */
+        private Duration backgroundMaxPause = Duration.ofSeconds(30);
+
+        public double getFailureRateThreshold() { return failureRateThreshold; }
+        public void setFailureRateThreshold(double failureRateThreshold) { this.failureRateThreshold = failureRateThreshold; }
+
+        public int getSlidingWindowSize() { return slidingWindowSize; }
+        public void setSlidingWindowSize(int slidingWindowSize) { this.slidingWindowSize = slidingWindowSize; }
+
+        public int getMinimumCalls() { return minimumCalls; }
+        public void setMinimumCalls(int minimumCalls) { this.minimumCalls = minimumCalls; }
+
+        public Duration getOpenDuration() { return openDuration; }
+        public void setOpenDuration(Duration openDuration) { this.openDuration = openDuration; }
+
+        public int getHalfOpenCalls() { return halfOpenCalls; }
+        public void setHalfOpenCalls(int halfOpenCalls) { this.halfOpenCalls = halfOpenCalls; }
+
+        public int getRetrieveMaxConcurrent() { return retrieveMaxConcurrent; }
+        public void setRetrieveMaxConcurrent(int retrieveMaxConcurrent) { this.retrieveMaxConcurrent = retrieveMaxConcurrent; }
+
+        public int getGenerateMaxConcurrent() { return generateMaxConcurrent; }
+        public void setGenerateMaxConcurrent(int generateMaxConcurrent) { this.generateMaxConcurrent = generateMaxConcurrent; }
+
+        public int getGeminiMaxConcurrent() { return geminiMaxConcurrent; }
+        public void setGeminiMaxConcurrent(int geminiMaxConcurrent) { this.geminiMaxConcurrent = geminiMaxConcurrent; }
+
+        public boolean isGenerateLimitEnabled() { return generateLimitEnabled; }
+        public void setGenerateLimitEnabled(boolean generateLimitEnabled) { this.generateLimitEnabled = generateLimitEnabled; }
+
+        public int getGenerateInitialLimit() { return generateInitialLimit; }
+        public void setGenerateInitialLimit(int generateInitialLimit) { this.generateInitialLimit = generateInitialLimit; }
+
+        public int getGenerateMinLimit() { return generateMinLimit; }
+        public void setGenerateMinLimit(int generateMinLimit) { this.generateMinLimit = generateMinLimit; }
+
+        public int getGenerateMaxLimit() { return generateMaxLimit; }
+        public void setGenerateMaxLimit(int generateMaxLimit) { this.generateMaxLimit = generateMaxLimit; }
+
+        public double getGenerateBackoffRatio() { return generateBackoffRatio; }
+        public void setGenerateBackoffRatio(double generateBackoffRatio) { this.generateBackoffRatio = generateBackoffRatio; }
+
+        public Duration getGenerateSlowCallThreshold() { return generateSlowCallThreshold; }
+        public void setGenerateSlowCallThreshold(Duration generateSlowCallThreshold) { this.generateSlowCallThreshold = generateSlowCallThreshold; }
+
+        public Duration getGenerateSlowFirstTokenThreshold() { return generateSlowFirstTokenThreshold; }
+        public void setGenerateSlowFirstTokenThreshold(Duration generateSlowFirstTokenThreshold) { this.generateSlowFirstTokenThreshold = generateSlowFirstTokenThreshold; }
+
+        public int getGenerateQueueSize() { return generateQueueSize; }
+        public void setGenerateQueueSize(int generateQueueSize) { this.generateQueueSize = generateQueueSize; }
+
+        public Duration getGenerateQueueTimeout() { return generateQueueTimeout; }
+        public void setGenerateQueueTimeout(Duration generateQueueTimeout) { this.generateQueueTimeout = generateQueueTimeout; }
+
+        public double getBackgroundShare() { return backgroundShare; }
+        public void setBackgroundShare(double backgroundShare) { this.backgroundShare = backgroundShare; }
+
+        public Duration getBackgroundQueueTimeout() { return backgroundQueueTimeout; }
+        public void setBackgroundQueueTimeout(Duration backgroundQueueTimeout) { this.backgroundQueueTimeout = backgroundQueueTimeout; }
+
+        public int getBackgroundMaxConcurrent() { return backgroundMaxConcurrent; }
+        public void setBackgroundMaxConcurrent(int backgroundMaxConcurrent) { this.backgroundMaxConcurrent = backgroundMaxConcurrent; }
+
+        public Duration getBackgroundMaxPause() { return backgroundMaxPause; }
+        public void setBackgroundMaxPause(Duration backgroundMaxPause) { this.backgroundMaxPause = backgroundMaxPause; }
+    }
+
+    public static class Indexing {
+        /** PENDING 문서를 인덱싱하는 작업 스레드 수 */
+        private int workers = 2;
+
+        /** PENDING 문서를 찾는 주기 (업로드 직후에는 기다리지 않고 바로 깨움) */
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        /** 이보다 오래 PROCESSING 에 머문 문서는 작업이 중단된 것으로 보고 실패로 기록한 뒤 자동 재시도 */
+        private Duration processingTimeout = Duration.ofMinutes(10);
+
+        /** 인덱싱 작업을 가져간 인스턴스를 구분하는 ID (재시작해도 같아야 기동 시 자기 작업을 바로 되돌림, 비우면 호스트 이름) */
+        private String instanceId;
+
+        /** 일시적인 오류로 실패한 문서를 자동으로 다시 시도할 최대 횟수 (넘으면 FAILED 로 남겨 수동 재인덱싱 대상) */
+        private int retryMaxAttempts = 6;
+
+        /** 첫 자동 재시도까지 기다리는 시간 (이후 실패할 때마다 두 배) */
+        private Duration retryInitialBackoff = Duration.ofMinutes(1);
+
+        /** 자동 재시도 대기 시간의 상한 */
+        private Duration retryMaxBackoff = Duration.ofHours(1);
+
+        /** 재시도 대기 시간을 이 비율만큼 무작위로 흔들어 장애 복구 직후 한꺼번에 몰리지 않게 함 (0~1) */
+        private double retryJitter = 0.3;
+
+        /** 재시도 시각이 된 FAILED 문서를 찾는 주기 */
+        private Duration retryCheckInterval = Duration.ofSeconds(30);
+
+        /** 일괄 재인덱싱이 한 번에 대기열에 올리는 문서 수 (대기열이 이보다 짧을 때만 올려 업로드를 밀어내지 않음) */
+        private int bulkBatchSize = 10;
+
+        /** 일괄 재인덱싱 한 번에 대상으로 삼을 수 있는 최대 문서 수 */
+        private int bulkMaxDocuments = 5000;
+
+        public int getWorkers() { return workers; }
+        public void setWorkers(int workers) { this.workers = workers; }
+
+        public Duration getPollInterval() { return pollInterval; }
+        public void setPollInterval(Duration pollInterval) { this.pollInterval = pollInterval; }
+
+        public Duration getProcessingTimeout() { return processingTimeout; }
+        public void setProcessingTimeout(Duration processingTimeout) { this.processingTimeout = processingTimeout; }
+
+        public String getInstanceId() { return instanceId; }
+        public void setInstanceId(String instanceId) { this.instanceId = instanceId; }
+
+        public int getRetryMaxAttempts() { return retryMaxAttempts; }
+        public void setRetryMaxAttempts(int retryMaxAttempts) { this.retryMaxAttempts = retryMaxAttempts; }
+
+        public Duration getRetryInitialBackoff() { return retryInitialBackoff; }
+        public void setRetryInitialBackoff(Duration retryInitialBackoff) { this.retryInitialBackoff = retryInitialBackoff; }
+
+        public Duration getRetryMaxBackoff() { return retryMaxBackoff; }
+        public void setRetryMaxBackoff(Duration retryMaxBackoff) { this.retryMaxBackoff = retryMaxBackoff; }
+
+        public double getRetryJitter() { return retryJitter; }
+        public void setRetryJitter(double retryJitter) { this.retryJitter = retryJitter; }
+
+        public Duration getRetryCheckInterval() { return retryCheckInterval; }
+        public void setRetryCheckInterval(Duration retryCheckInterval) { this.retryCheckInterval = retryCheckInterval; }
+
+        public int getBulkBatchSize() { return bulkBatchSize; }
+        public void setBulkBatchSize(int bulkBatchSize) { this.bulkBatchSize = bulkBatchSize; }
+
+        public int getBulkMaxDocuments() { return bulkMaxDocuments; }
+        public void setBulkMaxDocuments(int bulkMaxDocuments) { this.bulkMaxDocuments = bulkMaxDocuments; }
+    }
+
     private Storage storage = new Storage();
     private Rag rag = new Rag();
     private Gemini gemini = new Gemini();
+    private Ask ask = new Ask();
+    private Intent intent = new Intent();
+    private Cache cache = new Cache();
+    private Resilience resilience = new Resilience();
+    private Indexing indexing = new Indexing();
 
     public Storage getStorage() { return storage; }
     public void setStorage(Storage storage) { this.storage = storage; }
@@ -53,6 +586,21 @@ public class OneAskProperties {
     public Gemini getGemini() { return gemini; }
     public void setGemini(Gemini gemini) { this.gemini = gemini; }    
 
+    public Ask getAsk() { return ask; }
+    public void setAsk(Ask ask) { this.ask = ask; }
+
+    public Intent getIntent() { return intent; }
+    public void setIntent(Intent intent) { this.intent = intent; }
+
+    public Cache getCache() { return cache; }
+    public void setCache(Cache cache) { this.cache = cache; }
+
+    public Resilience getResilience() { return resilience; }
+    public void setResilience(Resilience resilience) { this.resilience = resilience; }
+
+    public Indexing getIndexing() { return indexing; }
+    public void setIndexing(Indexing indexing) { this.indexing = indexing; }
+
     @PostConstruct
     void logProps() {
         System.out.println("[BOOT] oneask.storage.root=" + (storage != null ? storage.getRoot() : null));
@@ -6,6 +6,7 @@ import org.springframework.http.client.reactive.ReactorClientHttpConnector; // 
 import org.springframework.web.reactive.function.client.ExchangeStrategies; // ✅ 대용량 페이로드 처리를 위해 codecs 설정을 조정하기 위해 임포트합니다.
 import org.springframework.web.reactive.function.client.WebClient; // ✅ RAG 백엔드와 통신할 WebClient를 생성하기 위해 임포트합니다.
 import reactor.netty.http.client.HttpClient; // ✅ 타임아웃 등 네트워크 옵션을 세밀하게 제어하기 위해 Netty HttpClient를 임포트합니다.
+import reactor.netty.resources.ConnectionProvider; // ✅ 레인별로 연결 풀을 나누기 위해 임포트합니다.
 
 import java.time.Duration; // ✅ 응답 타임아웃을 지정하기 위해 Duration 클래스를 임포트합니다.
 
@@ -19,8 +20,24 @@ public class RagWebClientConfig {
      * RAG 백엔드 통신 전용 WebClient 빈을 생성합니다. // ✅ 통합된 네트워크 설정을 통해 재사용성을 높임을 명시합니다.
      */
     @Bean("ragWebClient") // ✅ 생성된 WebClient를 스프링 컨테이너에 등록합니다.
-    public WebClient ragWebClient() {
-        HttpClient httpClient = HttpClient.create()
+    public WebClient ragWebClient(OneAskProperties props) {
+        return ragWebClient("rag-interactive", props.getRag().getInteractiveMaxConnections()); // ✅ 대화형 질의 전용 연결 풀을 사용합니다.
+    }
+
+    /**
+     * 인덱싱·삭제 같은 백그라운드 작업 전용 WebClient 빈입니다. // ✅ 대용량 업로드가 대화형 질의의 연결을 차지하지 않도록 작은 연결 풀을 따로 둡니다.
+     */
+    @Bean("ragBackgroundWebClient")
+    public WebClient ragBackgroundWebClient(OneAskProperties props) {
+        return ragWebClient("rag-background", props.getRag().getBackgroundMaxConnections());
+    }
+
+    private WebClient ragWebClient(String poolName, int maxConnections) {
+        ConnectionProvider provider = ConnectionProvider.builder(poolName)
+                .maxConnections(Math.max(1, maxConnections)) // ✅ 레인별 연결 수 상한
+                .pendingAcquireMaxCount(-1) // ✅ 연결을 기다리는 요청 수는 제한하지 않고 호출부 타임아웃에 맡깁니다.
+                .build();
+        HttpClient httpClient = HttpClient.create(provider)
                 .responseTimeout(Duration.ofSeconds(120)); // ✅ 대용량 응답을 안정적으로 받을 수 있도록 타임아웃을 확장합니다.
 
         return WebClient.builder()
@@ -0,0 +1,370 @@
+package com.buhmwoo.oneask.common.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * 관측한 지연과 과부하 신호로 동시 호출 한도를 스스로 조절하는 AIMD 제한기입니다.
+ * <p>
+ * 한도를 실제로 쓰고 있는 동안 빠르게 성공하면 한도를 1/limit 씩(왕복 한 번에 약 1) 늘리고,
+ * 과부하 신호(타임아웃, 429/5xx 등)나 기준보다 느린 응답을 받으면 한도를 비율만큼 줄입니다.
+ * 느린 응답 기준은 호출 종류마다 따로 둡니다: 단건(Mono) 호출은 전체 지연, 스트림(Flux) 호출은 첫 조각까지의 지연입니다.
+ * 한도를 넘는 호출은 정해진 길이의 대기열에서 기다리고, 대기열이 가득 찼거나 대기 시간이 지나면
+ * {@link CallNotPermittedException} 으로 즉시 실패해 백엔드가 감당할 수 있는 만큼만 보냅니다.
+ * <p>
+ * 낮은 우선순위(요약·인덱싱 같은 백그라운드 작업) 호출은 별도 대기열에서 기다리다가 전체 진행 중 호출이
+ * 한도의 일정 비율보다 적고 높은 우선순위 대기자가 없을 때만 허가를 받으므로, 대화형 질의가 몰리면 저절로 멈춥니다.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private static final String METRIC_PREFIX = "oneask.resilience.limit";
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long slowCallNanos;
+    private final long slowFirstSignalNanos;
+    private final int maxQueued;
+    private final double lowPriorityShare;
+    private final Predicate<Throwable> overloadPredicate;
+
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private final Deque<Waiter> lowPriorityWaiters = new ArrayDeque<>();
+    private final List<Runnable> unsaturatedListeners = new CopyOnWriteArrayList<>();
+    private double limit;
+    private int inFlight;
+
+    private final Counter queueFullCounter;
+    private final Counter waitTimeoutCounter;
+    private final Timer waitTimer;
+
+    /**
+     * @param slowCallThreshold 단건 호출의 전체 지연이 이보다 길면 과부하 신호로 봄
+     * @param slowFirstSignalThreshold 스트림 호출의 첫 조각 지연이 이보다 길면 과부하 신호로 봄
+     */
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, double backoffRatio,
+                                      Duration slowCallThreshold, Duration slowFirstSignalThreshold,
+                                      int maxQueued, double lowPriorityShare,
+                                      Predicate<Throwable> overloadPredicate, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.backoffRatio = Math.min(0.99, Math.max(0.1, backoffRatio));
+        this.slowCallNanos = slowCallThreshold.toNanos();
+        this.slowFirstSignalNanos = slowFirstSignalThreshold.toNanos();
+        this.maxQueued = Math.max(0, maxQueued);
+        this.lowPriorityShare = Math.min(1.0, Math.max(0.0, lowPriorityShare));
+        this.overloadPredicate = overloadPredicate;
+        this.limit = Math.min(this.maxLimit, Math.max(this.minLimit, initialLimit));
+        this.queueFullCounter = rejectedCounter(meterRegistry, "queue_full");
+        this.waitTimeoutCounter = rejectedCounter(meterRegistry, "wait_timeout");
+        this.waitTimer = Timer.builder(METRIC_PREFIX + ".wait")
+                .description("동시 호출 한도 대기열에서 기다린 시간")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".current", this, AdaptiveConcurrencyLimiter::currentLimit)
+                .description("현재 동시 호출 한도")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".inflight", this, AdaptiveConcurrencyLimiter::inFlight)
+                .description("진행 중인 호출 수")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queued", this, AdaptiveConcurrencyLimiter::queued)
+                .description("한도 대기열에서 기다리는 호출 수")
+                .tag("name", name)
+                .tag("priority", "high")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queued", this, AdaptiveConcurrencyLimiter::lowPriorityQueued)
+                .description("한도 대기열에서 기다리는 호출 수")
+                .tag("name", name)
+                .tag("priority", "low")
+                .register(meterRegistry);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public synchronized int currentLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public synchronized int queued() {
+        return waiters.size();
+    }
+
+    public synchronized int lowPriorityQueued() {
+        return lowPriorityWaiters.size();
+    }
+
+    /**
+     * 높은 우선순위 호출이 한도를 다 쓰고 있거나 기다리는 중인지 확인합니다. // ✅ 백그라운드 작업을 잠시 멈출지 판단하는 신호입니다.
+     */
+    public synchronized boolean isSaturated() {
+        return !waiters.isEmpty() || inFlight >= (int) limit;
+    }
+
+    /**
+     * 호출이 끝나 포화 상태가 풀릴 때마다 실행할 작업을 등록합니다. // ✅ 허가를 반납한 스레드에서 락 밖으로 호출하므로 오래 걸리는 일은 넘겨서 처리해야 합니다.
+     */
+    public void onUnsaturated(Runnable listener) {
+        unsaturatedListeners.add(listener);
+    }
+
+    /**
+     * 허가를 받은 뒤 호출하고, 끝나면 결과와 지연을 한도 조절에 반영합니다.
+     *
+     * @param maxWait 한도가 찼을 때 대기열에서 기다릴 최대 시간
+     */
+    public <T> Mono<T> limit(Mono<T> call, Duration maxWait) {
+        return limit(call, maxWait, false);
+    }
+
+    /**
+     * @param lowPriority true 이면 한도의 일부만 쓰고 높은 우선순위 대기자가 없을 때만 허가를 받습니다.
+     */
+    public <T> Mono<T> limit(Mono<T> call, Duration maxWait, boolean lowPriority) {
+        return acquire(maxWait, lowPriority, slowCallNanos).flatMap(permit -> call
+                .doOnSuccess(value -> permit.success())
+                .doOnError(permit::error)
+                .doFinally(signal -> permit.release()));
+    }
+
+    /**
+     * 스트림 호출을 제한합니다. // ✅ 허가는 스트림이 끝날 때까지 유지하고, 지연 표본은 첫 조각이 도착한 시점으로 잽니다.
+     */
+    public <T> Flux<T> limit(Flux<T> call, Duration maxWait) {
+        return limit(call, maxWait, false);
+    }
+
+    public <T> Flux<T> limit(Flux<T> call, Duration maxWait, boolean lowPriority) {
+        return acquire(maxWait, lowPriority, slowFirstSignalNanos).flatMapMany(permit -> call
+                .doOnNext(value -> permit.firstSignal())
+                .doOnComplete(permit::success)
+                .doOnError(permit::error)
+                .doFinally(signal -> permit.release()));
+    }
+
+    private Mono<Permit> acquire(Duration maxWait, boolean lowPriority, long slowNanos) {
+        return Mono.defer(() -> {
+            Waiter waiter;
+            synchronized (this) {
+                Deque<Waiter> queue = lowPriority ? lowPriorityWaiters : waiters;
+                if (queue.isEmpty() && (lowPriority ? canAdmitLowPriority() : inFlight < (int) limit)) {
+                    inFlight++;
+                    return Mono.just(new Permit(slowNanos));
+                }
+                if (queue.size() >= maxQueued) {
+                    queueFullCounter.increment();
+                    return Mono.error(new CallNotPermittedException(name, name + " 대기열이 가득 차 호출하지 않았습니다."));
+                }
+                waiter = new Waiter(queue, slowNanos);
+                queue.addLast(waiter); // ✅ 자리를 먼저 잡아 두어야 허가가 반납될 때 놓치지 않습니다.
+            }
+            long queuedAt = System.nanoTime();
+            // ✅ timeout 연산자는 허가 전달과 경합하면 전달된 허가를 버려 반납되지 않으므로, 만료와 허가를 제한기 락 안에서 하나만 일어나게 합니다.
+            return Mono.<Permit>create(sink -> waiter.attach(sink, maxWait.isNegative() ? Duration.ZERO : maxWait))
+                    .doOnSuccess(permit -> waitTimer.record(Duration.ofNanos(System.nanoTime() - queuedAt)));
+        });
+    }
+
+    private void release() {
+        Deque<Waiter> granted = new ArrayDeque<>();
+        boolean unsaturated;
+        synchronized (this) {
+            inFlight = Math.max(0, inFlight - 1);
+            while (!waiters.isEmpty() && inFlight < (int) limit) {
+                Waiter next = waiters.pollFirst();
+                next.granted = true;
+                inFlight++;
+                granted.add(next);
+            }
+            while (!lowPriorityWaiters.isEmpty() && canAdmitLowPriority()) {
+                Waiter next = lowPriorityWaiters.pollFirst();
+                next.granted = true;
+                inFlight++;
+                granted.add(next);
+            }
+            unsaturated = !isSaturated();
+        }
+        granted.forEach(Waiter::grant); // ✅ 구독자 콜백은 락 밖에서 호출합니다.
+        if (unsaturated) {
+            unsaturatedListeners.forEach(Runnable::run);
+        }
+    }
+
+    /**
+     * 낮은 우선순위 호출을 받아도 되는지 확인합니다. // ✅ 진행 중 호출이 한도의 일정 비율(최소 1) 미만이고 높은 우선순위 대기자가 없을 때만 허용합니다.
+     */
+    private boolean canAdmitLowPriority() {
+        int share = Math.max(1, (int) Math.floor(limit * lowPriorityShare));
+        return waiters.isEmpty() && inFlight < Math.min(share, (int) limit);
+    }
+
+    private synchronized void onSample(boolean overloaded) {
+        if (overloaded) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight >= limit / 2) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit); // ✅ 한도의 절반도 안 쓰는 동안에는 늘리지 않아 한도가 근거 없이 부풀지 않게 합니다.
+        }
+    }
+
+    private Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("동시 호출 한도 때문에 거절한 호출 수")
+                .tag("name", name)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 대기열에서 허가를 기다리는 호출입니다. // ✅ 상태는 제한기 락 안에서만 바꿉니다.
+     */
+    private final class Waiter {
+        private final Deque<Waiter> queue;
+        private final long slowNanos;
+        private MonoSink<Permit> sink;
+        private Disposable expiry;
+        private boolean granted;
+        private boolean pending;
+
+        Waiter(Deque<Waiter> queue, long slowNanos) {
+            this.queue = queue;
+            this.slowNanos = slowNanos;
+        }
+
+        void attach(MonoSink<Permit> sink, Duration maxWait) {
+            boolean grantNow;
+            synchronized (AdaptiveConcurrencyLimiter.this) {
+                this.sink = sink;
+                grantNow = granted;
+                pending = !granted;
+            }
+            sink.onCancel(this::cancel);
+            if (grantNow) {
+                sink.success(new Permit(slowNanos));
+                return;
+            }
+            Disposable scheduled = Schedulers.parallel().schedule(this::expire, maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            synchronized (AdaptiveConcurrencyLimiter.this) {
+                expiry = scheduled;
+            }
+        }
+
+        void grant() {
+            MonoSink<Permit> target;
+            synchronized (AdaptiveConcurrencyLimiter.this) {
+                target = pending ? sink : null;
+                pending = false;
+            }
+            if (target != null) {
+                cancelExpiry();
+                target.success(new Permit(slowNanos));
+            }
+        }
+
+        /**
+         * 대기 시간이 지났을 때 아직 허가를 받지 못했으면 대기열에서 빠지고 거절합니다. // ✅ 이미 허가를 받았다면 아무것도 하지 않습니다.
+         */
+        void expire() {
+            MonoSink<Permit> target;
+            synchronized (AdaptiveConcurrencyLimiter.this) {
+                if (granted || !pending) {
+                    return;
+                }
+                queue.remove(this);
+                pending = false;
+                target = sink;
+            }
+            waitTimeoutCounter.increment();
+            target.error(new CallNotPermittedException(name, name + " 동시 호출 한도 대기 시간을 초과했습니다."));
+        }
+
+        private void cancelExpiry() {
+            Disposable scheduled;
+            synchronized (AdaptiveConcurrencyLimiter.this) {
+                scheduled = expiry;
+            }
+            if (scheduled != null) {
+                scheduled.dispose();
+            }
+        }
+
+        /**
+         * 허가를 받기 전에 취소되면 대기열에서 빠지고, 허가가 전달되지 못했다면 반납합니다.
+         */
+        void cancel() {
+            cancelExpiry();
+            boolean returnPermit;
+            synchronized (AdaptiveConcurrencyLimiter.this) {
+                returnPermit = granted;
+                if (!granted) {
+                    queue.remove(this);
+                }
+                granted = false;
+                pending = false;
+            }
+            if (returnPermit) {
+                release();
+            }
+        }
+    }
+
+    /**
+     * 허가 한 건입니다. 결과는 한 번만 반영하고 반납도 한 번만 합니다.
+     */
+    private final class Permit {
+        private final long startedAt = System.nanoTime();
+        private final long slowNanos;
+        private final AtomicBoolean sampled = new AtomicBoolean();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(long slowNanos) {
+            this.slowNanos = slowNanos;
+        }
+
+        void firstSignal() {
+            if (sampled.compareAndSet(false, true)) {
+                onSample(System.nanoTime() - startedAt > slowNanos);
+            }
+        }
+
+        void success() {
+            firstSignal();
+        }
+
+        void error(Throwable error) {
+            if (sampled.compareAndSet(false, true) && overloadPredicate.test(error)) {
+                onSample(true);
+            }
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                AdaptiveConcurrencyLimiter.this.release();
+            }
+        }
+    }
+}
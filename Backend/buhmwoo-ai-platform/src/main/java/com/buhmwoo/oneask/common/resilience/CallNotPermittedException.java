@@ -0,0 +1,21 @@
+package com.buhmwoo.oneask.common.resilience;
+
+/**
+ * 회로 차단기가 열려 있거나 동시 호출 한도(bulkhead)가 가득 차 원격 호출을 보내지 않았음을 나타냅니다.
+ * 호출자는 원격 서비스를 기다리지 않고 바로 대체 응답으로 전환하면 됩니다.
+ */
+public class CallNotPermittedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String guardName;
+
+    public CallNotPermittedException(String guardName, String message) {
+        super(message);
+        this.guardName = guardName;
+    }
+
+    public String getGuardName() {
+        return guardName;
+    }
+}
@@ -0,0 +1,139 @@
+package com.buhmwoo.oneask.common.resilience;
+
+import java.time.Duration;
+
+/**
+ * 최근 호출 결과의 실패율로 열리고 닫히는 회로 차단기입니다.
+ * <p>
+ * CLOSED: 최근 N건 중 실패율이 기준을 넘으면(최소 호출 수 이상일 때) OPEN 으로 전환합니다.
+ * OPEN: 정해진 시간 동안 모든 호출을 즉시 거절한 뒤 HALF_OPEN 으로 전환합니다.
+ * HALF_OPEN: 정해진 수의 시험 호출만 허용하고, 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN 으로 돌아갑니다.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED(0), OPEN(1), HALF_OPEN(2);
+
+        private final int code;
+
+        State(int code) {
+            this.code = code;
+        }
+
+        /** 지표로 노출할 숫자 값 (0=CLOSED, 1=OPEN, 2=HALF_OPEN) */
+        public int code() {
+            return code;
+        }
+    }
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final boolean[] window; // ✅ true = 실패
+    private int windowCount;
+    private int windowNext;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenInFlight;
+    private int halfOpenSucceeded;
+
+    public CircuitBreaker(double failureRateThreshold, int windowSize, int minimumCalls,
+                          Duration openDuration, int halfOpenCalls) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[Math.max(1, windowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenCalls = Math.max(1, halfOpenCalls);
+    }
+
+    /**
+     * 호출을 보내도 되는지 확인합니다. // ✅ true 를 받았다면 결과에 따라 onSuccess/onFailure/onIgnored 중 하나를 반드시 호출해야 합니다.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenInFlight = 0;
+            halfOpenSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenInFlight + halfOpenSucceeded >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenInFlight++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+            halfOpenSucceeded++;
+            if (halfOpenSucceeded >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(true);
+            if (windowCount >= minimumCalls && (double) windowFailures / windowCount >= failureRateThreshold) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * 원격 서비스 상태와 무관한 결과(취소, 호출자 예산 초과, 잘못된 요청 등)로 끝난 호출의 허가를 반납합니다.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            halfOpenInFlight = Math.max(0, halfOpenInFlight - 1);
+        }
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openDurationNanos) {
+            return State.HALF_OPEN; // ✅ 다음 호출에서 전환될 상태를 미리 보여줍니다.
+        }
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == window.length && window[windowNext]) {
+            windowFailures--;
+        }
+        window[windowNext] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+        windowCount = Math.min(windowCount + 1, window.length);
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = System.nanoTime();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        windowCount = 0;
+        windowNext = 0;
+        windowFailures = 0;
+        halfOpenInFlight = 0;
+        halfOpenSucceeded = 0;
+    }
+}
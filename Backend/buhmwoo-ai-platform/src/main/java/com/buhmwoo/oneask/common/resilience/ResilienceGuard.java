@@ -0,0 +1,150 @@
+package com.buhmwoo.oneask.common.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * 원격 엔드포인트 하나를 회로 차단기와 동시 호출 한도(bulkhead)로 감쌉니다.
+ * <p>
+ * 회로가 열려 있거나 동시 호출 한도가 가득 차면 원격 호출 없이 {@link CallNotPermittedException} 으로 즉시 실패합니다.
+ * 호출 결과는 failurePredicate 로 판정해 원격 서비스 장애로 볼 수 있는 실패만 차단기에 반영합니다.
+ * 상태와 호출 결과는 oneask.resilience.* 지표(name 태그)로 노출합니다.
+ */
+public final class ResilienceGuard {
+
+    private static final String METRIC_PREFIX = "oneask.resilience";
+
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final Predicate<Throwable> failurePredicate;
+
+    private final Counter successCounter;
+    private final Counter failureCounter;
+    private final Counter ignoredCounter;
+    private final Counter rejectedOpenCounter;
+    private final Counter rejectedFullCounter;
+
+    public ResilienceGuard(String name, CircuitBreaker circuitBreaker, int maxConcurrentCalls,
+                           Predicate<Throwable> failurePredicate, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = new Semaphore(Math.max(1, maxConcurrentCalls));
+        this.failurePredicate = failurePredicate;
+        this.successCounter = callCounter(meterRegistry, "success");
+        this.failureCounter = callCounter(meterRegistry, "failure");
+        this.ignoredCounter = callCounter(meterRegistry, "ignored");
+        this.rejectedOpenCounter = callCounter(meterRegistry, "rejected_open");
+        this.rejectedFullCounter = callCounter(meterRegistry, "rejected_full");
+        Gauge.builder(METRIC_PREFIX + ".circuit.state", circuitBreaker, breaker -> breaker.state().code())
+                .description("회로 차단기 상태 (0=CLOSED, 1=OPEN, 2=HALF_OPEN)")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("남은 동시 호출 허용 수")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public CircuitBreaker.State state() {
+        return circuitBreaker.state();
+    }
+
+    public <T> Mono<T> protect(Mono<T> call) {
+        return Mono.defer(() -> {
+            CallNotPermittedException rejection = tryEnter();
+            if (rejection != null) {
+                return Mono.error(rejection);
+            }
+            Outcome outcome = new Outcome();
+            return call
+                    .doOnSuccess(value -> outcome.success())
+                    .doOnError(outcome::error)
+                    .doFinally(outcome::finish);
+        });
+    }
+
+    /**
+     * 스트림 호출을 감쌉니다. // ✅ 동시 호출 허가는 스트림이 끝날 때까지 유지합니다.
+     */
+    public <T> Flux<T> protect(Flux<T> call) {
+        return Flux.defer(() -> {
+            CallNotPermittedException rejection = tryEnter();
+            if (rejection != null) {
+                return Flux.error(rejection);
+            }
+            Outcome outcome = new Outcome();
+            return call
+                    .doOnComplete(outcome::success)
+                    .doOnError(outcome::error)
+                    .doFinally(outcome::finish);
+        });
+    }
+
+    private CallNotPermittedException tryEnter() {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            rejectedOpenCounter.increment();
+            return new CallNotPermittedException(name, name + " 회로가 열려 있어 호출하지 않았습니다.");
+        }
+        if (!bulkhead.tryAcquire()) {
+            circuitBreaker.onIgnored();
+            rejectedFullCounter.increment();
+            return new CallNotPermittedException(name, name + " 동시 호출 한도를 초과했습니다.");
+        }
+        return null;
+    }
+
+    private Counter callCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(METRIC_PREFIX + ".calls")
+                .description("보호된 원격 호출 결과")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 호출 한 건의 결과를 한 번만 차단기에 반영하고 동시 호출 허가를 반납합니다.
+     */
+    private final class Outcome {
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        void success() {
+            if (recorded.compareAndSet(false, true)) {
+                circuitBreaker.onSuccess();
+                successCounter.increment();
+            }
+        }
+
+        void error(Throwable error) {
+            if (recorded.compareAndSet(false, true)) {
+                if (failurePredicate.test(error)) {
+                    circuitBreaker.onFailure();
+                    failureCounter.increment();
+                } else {
+                    circuitBreaker.onIgnored();
+                    ignoredCounter.increment();
+                }
+            }
+        }
+
+        void finish(SignalType signal) {
+            if (recorded.compareAndSet(false, true)) {
+                circuitBreaker.onIgnored(); // ✅ 취소된 호출(hedging 패자, 클라이언트 이탈 등)은 성공·실패로 세지 않습니다.
+                ignoredCounter.increment();
+            }
+            bulkhead.release();
+        }
+    }
+}
@@ -2,13 +2,21 @@ package com.buhmwoo.oneask.modules.document.api.controller;
 
 import com.buhmwoo.oneask.common.dto.ApiResponseDto;
 import com.buhmwoo.oneask.common.dto.PageResponse;
+import com.buhmwoo.oneask.modules.document.api.dto.BatchQuestionAnswerItemDto; // ✅ 배치 질의의 항목별 결과를 반환하기 위해 임포트합니다.
+import com.buhmwoo.oneask.modules.document.api.dto.BatchQuestionRequestDto; // ✅ 배치 질의 요청 본문을 받기 위해 임포트합니다.
+import com.buhmwoo.oneask.modules.document.api.dto.BulkReindexProgressDto; // ✅ 일괄 재인덱싱 진행 상황을 반환하기 위해 임포트합니다.
+import com.buhmwoo.oneask.modules.document.api.dto.BulkUploadResponseDto; // ✅ 일괄 업로드의 파일별 결과를 반환하기 위해 임포트합니다.
 import com.buhmwoo.oneask.modules.document.api.dto.DocumentListItemResponseDto;
 import com.buhmwoo.oneask.modules.document.api.dto.DocumentPageResponseDocs;
 import com.buhmwoo.oneask.modules.document.api.dto.DocumentSuggestionResponseDto;
 import com.buhmwoo.oneask.modules.document.api.dto.QuestionAnswerResponseDto; // ✅ GPT 응답 포맷을 재사용하기 위해 임포트합니다.
+import com.buhmwoo.oneask.modules.document.api.dto.QuestionAnswerStreamEventDto; // ✅ 스트리밍 질의 이벤트를 SSE 로 변환하기 위해 임포트합니다.
 import com.buhmwoo.oneask.modules.document.api.dto.QuestionRequestDto; // ✅ POST 본문으로 질문을 받을 때 사용합니다.
 import com.buhmwoo.oneask.modules.document.api.service.DocumentService;
+import com.buhmwoo.oneask.modules.document.application.question.AskDeadline; // ✅ 요청 단위 처리 마감을 Reactor Context 로 전달하기 위해 임포트합니다.
+import com.buhmwoo.oneask.modules.document.application.question.AskDeadlinePolicy; // ✅ 봇 모드별 처리 예산을 조회하기 위해 임포트합니다.
 import com.buhmwoo.oneask.modules.document.application.question.BotMode; // ✅ fallback 모드 선택을 위해 Enum 을 컨트롤러에 노출합니다.
+import com.buhmwoo.oneask.modules.document.domain.DocumentIndexingStatus; // ✅ 일괄 재인덱싱 대상 상태를 받기 위해 임포트합니다.
 import jakarta.validation.Valid; // ✅ POST 요청 본문 검증을 위해 추가합니다.
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,14 +29,20 @@ import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent; // ✅ 토큰 단위 답변을 SSE 이벤트로 내려보내기 위해 임포트합니다.
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult; // ✅ 배치 질의에 요청 크기에 맞춘 비동기 타임아웃을 주기 위해 임포트합니다.
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.format.annotation.DateTimeFormat;
+import reactor.core.publisher.Flux; // ✅ 스트리밍 질의 이벤트를 순차적으로 내려보내기 위해 임포트합니다.
+import reactor.core.Disposable; // ✅ 배치 질의 구독을 요청 종료 시 취소하기 위해 임포트합니다.
+import reactor.core.publisher.Mono; // ✅ 질의 응답을 비동기로 반환해 서블릿 스레드를 즉시 돌려주기 위해 임포트합니다.
 
 import java.util.*;
+import java.time.Duration;
 import java.time.LocalDate;
 
 @Tag(name = "Document", description = "문서 업로드/다운로드 API")
@@ -36,13 +50,17 @@ import java.time.LocalDate;
 @RequestMapping("/api/documents")
 public class DocumentController {
 
+    private static final Duration BATCH_RESPONSE_MARGIN = Duration.ofSeconds(15); // ✅ 배치 처리 시간 한도가 지난 뒤 항목별 결과를 만들어 보낼 여유
+
     private final DocumentService documentService; // ✅ 구현체 대신 인터페이스에 의존하도록 변경합니다.    
+    private final AskDeadlinePolicy askDeadlinePolicy; // ✅ 질의 요청이 들어온 시점부터 모드별 예산을 계산합니다.
 
-    public DocumentController(DocumentService documentService) { // ✅ 스프링이 인터페이스 타입으로 주입하도록 구성합니다.
+    public DocumentController(DocumentService documentService, AskDeadlinePolicy askDeadlinePolicy) { // ✅ 스프링이 인터페이스 타입으로 주입하도록 구성합니다.
         this.documentService = documentService;
+        this.askDeadlinePolicy = askDeadlinePolicy;
     }
 
-    @Operation(summary = "파일 업로드", description = "파일 업로드 후 UUID/파일명/추출텍스트 미리보기를 반환합니다.")
+    @Operation(summary = "파일 업로드", description = "파일 업로드 후 UUID/파일명/추출텍스트 미리보기를 반환합니다. 인덱싱은 PENDING 상태로 접수되어 비동기로 진행됩니다.")
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ApiResponseDto<Map<String, Object>> uploadFile(
             @RequestParam("file") MultipartFile file,
@@ -51,6 +69,22 @@ public class DocumentController {
         return documentService.uploadFile(file, description, uploadedBy);
     }
 
+    @Operation(summary = "파일 일괄 업로드", description = "여러 파일이나 zip 묶음을 접수하고 작업 ID 를 바로 반환합니다. 저장·등록과 인덱싱은 비동기로 진행되며 결과는 진행 상황 API 로 조회합니다. 작업 결과는 서버 메모리에 최근 20개만 보관되고 재시작하면 사라집니다. "
+            + "파일 수가 최대 개수를 넘으면 400, 처리 중이거나 대기 중인 작업이 상한에 닿았으면 429 로 거절하며, zip 항목이 최대 개수를 넘으면 나머지는 읽지 않고 건너뛴 개수만 알려 줍니다.")
+    @PostMapping(value = "/upload/bulk", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponseDto<BulkUploadResponseDto>> uploadFiles(
+            @RequestParam("files") List<MultipartFile> files,   // ✅ 일반 파일과 zip 을 섞어 보낼 수 있습니다.
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "uploadedBy", defaultValue = "system") String uploadedBy) {
+        return documentService.uploadFiles(files, description, uploadedBy);
+    }
+
+    @Operation(summary = "일괄 업로드 진행 상황", description = "일괄 업로드 작업의 파일별 저장 결과와 현재 인덱싱 상태를 반환합니다. completed 가 false 이면 아직 저장 중입니다. 업로드를 받은 서버 인스턴스의 메모리에 최근 20개 작업만 보관하며 재시작하면 찾을 수 없습니다.")
+    @GetMapping("/upload/bulk/{jobId}")
+    public ApiResponseDto<BulkUploadResponseDto> getBulkUploadProgress(@PathVariable String jobId) {
+        return documentService.getBulkUploadProgress(jobId);
+    }
+
     @Operation(
             summary = "문서 목록 조회",
             description = "파일명/작성자/업로드일 조건과 페이징 정보를 이용해 문서 목록을 조회합니다.",
@@ -189,10 +223,10 @@ public class DocumentController {
     @Operation(summary = "문서 기반 질문", description = "업로드된 문서(UUID) 범위에서 질문에 답합니다.")
 
     @GetMapping("/{uuid}/ask")
-    public ApiResponseDto<QuestionAnswerResponseDto> ask(@PathVariable String uuid,
-                                                         @RequestParam String question,
-                                                         @RequestParam(name = "mode", required = false, defaultValue = "STRICT") BotMode mode) {
-        return documentService.ask(uuid, question, mode);
+    public Mono<ApiResponseDto<QuestionAnswerResponseDto>> ask(@PathVariable String uuid,
+                                                               @RequestParam String question,
+                                                               @RequestParam(name = "mode", required = false, defaultValue = "STRICT") BotMode mode) {
+        return withDeadline(documentService.askAsync(uuid, question, mode), mode);
     }
 
     @Operation(summary = "문서 요약", description = "선택된 문서를 요약해 제공합니다.")
@@ -211,35 +245,115 @@ public class DocumentController {
     }
         
     @PostMapping("/{uuid}/ask")
-    public ApiResponseDto<QuestionAnswerResponseDto> askPost(@PathVariable String uuid,
-                                                             @Valid @RequestBody QuestionRequestDto payload) {
+    public Mono<ApiResponseDto<QuestionAnswerResponseDto>> askPost(@PathVariable String uuid,
+                                                                   @Valid @RequestBody QuestionRequestDto payload) {
         BotMode mode = payload.mode() == null ? BotMode.STRICT : payload.mode();
-        return documentService.ask(uuid, payload.question(), mode);  // ✅ JSON 본문을 통한 POST 호출을 지원합니다.
+        return withDeadline(documentService.askAsync(uuid, payload.question(), mode), mode);  // ✅ JSON 본문을 통한 POST 호출을 지원합니다.
     }
 
     @Operation(summary = "문서 전체 질문", description = "특정 문서를 지정하지 않고 업로드된 모든 문서를 대상으로 질문에 답합니다.")
 
     @GetMapping("/ask")
-    public ApiResponseDto<QuestionAnswerResponseDto> askAll(@RequestParam String question,
-                                                            @RequestParam(name = "mode", required = false, defaultValue = "STRICT") BotMode mode) {
-        return documentService.ask(null, question, mode);  // ✅ UUID 없이 호출해 전체 문서를 대상으로 유사도 검색을 수행하도록 위임합니다.
+    public Mono<ApiResponseDto<QuestionAnswerResponseDto>> askAll(@RequestParam String question,
+                                                                  @RequestParam(name = "mode", required = false, defaultValue = "STRICT") BotMode mode) {
+        return withDeadline(documentService.askAsync(null, question, mode), mode);  // ✅ UUID 없이 호출해 전체 문서를 대상으로 유사도 검색을 수행하도록 위임합니다.
     }
     
     @PostMapping("/ask")
-    public ApiResponseDto<QuestionAnswerResponseDto> askAllPost(@Valid @RequestBody QuestionRequestDto payload) {
+    public Mono<ApiResponseDto<QuestionAnswerResponseDto>> askAllPost(@Valid @RequestBody QuestionRequestDto payload) {
         BotMode mode = payload.mode() == null ? BotMode.STRICT : payload.mode();
-        return documentService.ask(null, payload.question(), mode);  // ✅ POST JSON 요청도 동일한 파이프라인으로 처리합니다.
+        return withDeadline(documentService.askAsync(null, payload.question(), mode), mode);  // ✅ POST JSON 요청도 동일한 파이프라인으로 처리합니다.
     }
         
-    @Operation(summary = "문서 인덱싱 재시도", description = "저장된 파일을 이용해 RAG 인덱싱을 다시 요청합니다.")
+    @Operation(summary = "배치 질문", description = "여러 질문(항목별 uuid 선택)을 한 번에 처리하고 요청 순서대로 항목별 결과를 반환합니다. "
+            + "처리 시간 한도(항목 수·동시성·모드별 예산으로 계산, 최대 oneask.ask.batch-max-duration) 안에 끝나지 않은 항목은 항목별 실패로 반환합니다.")
+    @PostMapping("/ask/batch")
+    public DeferredResult<ApiResponseDto<List<BatchQuestionAnswerItemDto>>> askBatch(@Valid @RequestBody BatchQuestionRequestDto payload) {
+        // ✅ 전역 비동기 타임아웃(oneask.ask.async-timeout) 대신 배치 크기에 맞춘 타임아웃을 씁니다.
+        Duration timeLimit = documentService.batchTimeLimit(payload.items());
+        DeferredResult<ApiResponseDto<List<BatchQuestionAnswerItemDto>>> result =
+                new DeferredResult<>(timeLimit.plus(BATCH_RESPONSE_MARGIN).toMillis());
+        Disposable subscription = documentService.askBatch(payload.items())  // ✅ 동시성 제한·중복 질문 공유는 서비스에서 처리합니다.
+                .subscribe(result::setResult, result::setErrorResult);
+        result.onCompletion(subscription::dispose); // ✅ 클라이언트가 끊기거나 타임아웃이 나면 남은 질의를 취소합니다.
+        return result;
+    }
+
+    @Operation(summary = "문서 기반 질문 (스트리밍)", description = "답변을 생성되는 즉시 SSE(token → sources → done)로 전송합니다.")
+    @GetMapping(value = "/{uuid}/ask/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<QuestionAnswerStreamEventDto>> askStream(@PathVariable String uuid,
+                                                                         @RequestParam String question,
+                                                                         @RequestParam(name = "mode", required = false, defaultValue = "STRICT") BotMode mode) {
+        return toServerSentEvents(withDeadline(documentService.askStream(uuid, question, mode), mode));
+    }
+
+    @PostMapping(value = "/{uuid}/ask/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<QuestionAnswerStreamEventDto>> askStreamPost(@PathVariable String uuid,
+                                                                             @Valid @RequestBody QuestionRequestDto payload) {
+        BotMode mode = payload.mode() == null ? BotMode.STRICT : payload.mode();
+        return toServerSentEvents(withDeadline(documentService.askStream(uuid, payload.question(), mode), mode));
+    }
+
+    @Operation(summary = "문서 전체 질문 (스트리밍)", description = "전체 문서를 대상으로 한 답변을 생성되는 즉시 SSE(token → sources → done)로 전송합니다.")
+    @GetMapping(value = "/ask/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<QuestionAnswerStreamEventDto>> askAllStream(@RequestParam String question,
+                                                                            @RequestParam(name = "mode", required = false, defaultValue = "STRICT") BotMode mode) {
+        return toServerSentEvents(withDeadline(documentService.askStream(null, question, mode), mode));
+    }
+
+    @PostMapping(value = "/ask/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<QuestionAnswerStreamEventDto>> askAllStreamPost(@Valid @RequestBody QuestionRequestDto payload) {
+        BotMode mode = payload.mode() == null ? BotMode.STRICT : payload.mode();
+        return toServerSentEvents(withDeadline(documentService.askStream(null, payload.question(), mode), mode));
+    }
+
+    @Operation(summary = "문서 인덱싱 재시도", description = "저장된 파일을 인덱싱 대기열에 다시 올립니다. 진행 상황은 문서의 indexingStatus 로 확인합니다.")
     @PostMapping("/{uuid}/reindex")
     public ApiResponseDto<Map<String, Object>> reindexDocument(@PathVariable String uuid) {
         return documentService.reindexDocument(uuid);  // ✅ 서비스에서 인덱싱 상태 갱신 및 재전송을 처리하도록 위임합니다.
     }
+
+    @Operation(summary = "문서 일괄 재인덱싱", description = "상태/업로더/업로드일 조건에 맞는 문서를 대기열 여유에 맞춰 조금씩 다시 인덱싱합니다. 조건을 모두 비우면 전체 문서가 대상입니다. "
+            + "작업 상태는 요청을 받은 서버의 메모리에만 있어 재시작하면 사라지고, 여러 서버로 운영하면 다른 서버에서는 조회되지 않습니다.")
+    @PostMapping("/reindex")
+    public ApiResponseDto<BulkReindexProgressDto> startBulkReindex(
+            @RequestParam(value = "status", required = false) DocumentIndexingStatus status,   // ✅ 대상 인덱싱 상태 (예: FAILED)
+            @RequestParam(value = "uploadedBy", required = false) String uploadedBy,   // ✅ 대상 업로더
+            @RequestParam(value = "uploadedFrom", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate uploadedFrom,   // ✅ 대상 업로드 시작일
+            @RequestParam(value = "uploadedTo", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate uploadedTo) {   // ✅ 대상 업로드 종료일
+        return documentService.startBulkReindex(status, uploadedBy, uploadedFrom, uploadedTo);
+    }
+
+    @Operation(summary = "일괄 재인덱싱 진행 상황", description = "일괄 재인덱싱 작업의 대기열 투입 수와 대상 문서의 상태별 개수를 반환합니다. 작업을 시작한 서버에서 최근 20건까지만 조회됩니다.")
+    @GetMapping("/reindex/{jobId}")
+    public ApiResponseDto<BulkReindexProgressDto> getBulkReindexProgress(@PathVariable String jobId) {
+        return documentService.getBulkReindexProgress(jobId);
+    }
         
     @Operation(summary = "문서 삭제", description = "UUID를 기준으로 스토리지 및 RAG 인덱스에서 문서를 삭제합니다.")
     @DeleteMapping("/{uuid}")
     public ApiResponseDto<Map<String, Object>> deleteDocument(@PathVariable String uuid) {
         return documentService.deleteDocument(uuid);  // ✅ 서비스 계층에서 스토리지/DB/RAG 삭제를 한 번에 수행하도록 위임합니다.
     }
+
+    /**
+     * 요청이 들어온 시점을 기준으로 모드별 처리 마감을 정해 하위 호출 전체에 전달합니다. // ✅ 배치 질의는 항목마다 서비스에서 마감을 정합니다.
+     */
+    private <T> Mono<T> withDeadline(Mono<T> answer, BotMode mode) {
+        AskDeadline deadline = askDeadlinePolicy.start(mode);
+        return answer.contextWrite(deadline::putIfAbsent);
+    }
+
+    private <T> Flux<T> withDeadline(Flux<T> events, BotMode mode) {
+        AskDeadline deadline = askDeadlinePolicy.start(mode);
+        return events.contextWrite(deadline::putIfAbsent);
+    }
+
+    private Flux<ServerSentEvent<QuestionAnswerStreamEventDto>> toServerSentEvents(Flux<QuestionAnswerStreamEventDto> events) {
+        return events.map(event -> ServerSentEvent.builder(event)
+                .event(event.getType().name().toLowerCase(Locale.ROOT)) // ✅ 클라이언트가 token/sources/done/error 이벤트 이름으로 분기할 수 있게 합니다.
+                .build());
+    }
 }
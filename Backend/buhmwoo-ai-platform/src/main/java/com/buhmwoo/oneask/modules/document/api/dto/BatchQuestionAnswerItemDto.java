@@ -0,0 +1,23 @@
+package com.buhmwoo.oneask.modules.document.api.dto;
+
+import lombok.AllArgsConstructor; // ✅ DTO 생성을 단순화하기 위해 Lombok 애너테이션을 임포트합니다.
+import lombok.Builder; // ✅ 가독성 높은 객체 생성을 위해 빌더 패턴을 활용합니다.
+import lombok.Data; // ✅ 게터/세터/equals 등을 자동 생성하기 위해 임포트합니다.
+import lombok.NoArgsConstructor; // ✅ 직렬화 프레임워크 호환을 위해 기본 생성자를 제공합니다.
+
+/**
+ * 배치 질의의 항목별 결과 DTO 입니다. // ✅ 한 항목이 실패해도 나머지 결과는 그대로 돌려주도록 항목 단위로 상태를 담습니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchQuestionAnswerItemDto {
+
+    private int index; // ✅ 요청 목록에서의 위치 (0부터 시작)
+    private String uuid; // ✅ 질의 대상 문서 UUID (전체 문서 질의면 null)
+    private String question; // ✅ 요청한 질문
+    private boolean success; // ✅ 항목 처리 성공 여부
+    private String message; // ✅ 항목별 처리 메시지 (캐시/fallback/실패 사유 등)
+    private QuestionAnswerResponseDto data; // ✅ 항목별 답변
+}
@@ -0,0 +1,14 @@
+package com.buhmwoo.oneask.modules.document.api.dto;
+
+import jakarta.validation.Valid; // ✅ 항목별 질문 검증을 위해 사용합니다.
+import jakarta.validation.constraints.NotEmpty; // ✅ 빈 배치 요청을 거절하기 위해 사용합니다.
+
+import java.util.List;
+
+/**
+ * 여러 질문을 한 번에 처리하는 배치 질의 요청 DTO 입니다. // ✅ 연동 배치 작업이 질문마다 HTTP 호출을 보내지 않도록 합니다.
+ */
+public record BatchQuestionRequestDto(
+        @NotEmpty(message = "items는 1건 이상이어야 합니다.") List<@Valid QuestionRequestDto> items // ✅ 질문 목록 (응답은 이 순서를 그대로 따릅니다)
+) {
+}
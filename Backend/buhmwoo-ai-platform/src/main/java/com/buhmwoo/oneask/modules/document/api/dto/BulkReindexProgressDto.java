@@ -0,0 +1,60 @@
+package com.buhmwoo.oneask.modules.document.api.dto;
+
+import com.buhmwoo.oneask.modules.document.domain.DocumentIndexingStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 일괄 재인덱싱 작업의 대상 조건과 진행 상황입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReindexProgressDto {
+
+    @Schema(description = "일괄 재인덱싱 작업 ID", example = "3f0c2b1e-6a7d-4c59-9d2e-0b8f1a7c5e21")
+    private String jobId;   // ✅ 진행 상황 조회에 사용하는 ID
+
+    @Schema(description = "대상 인덱싱 상태 조건 (없으면 전체)", example = "FAILED")
+    private DocumentIndexingStatus statusFilter;   // ✅ 대상 조건: 인덱싱 상태
+
+    @Schema(description = "대상 업로더 조건", example = "alice")
+    private String uploadedBy;   // ✅ 대상 조건: 업로더
+
+    @Schema(description = "대상 업로드 시작 일시", example = "2025-02-01T00:00:00")
+    private LocalDateTime uploadedFrom;   // ✅ 대상 조건: 업로드 시작일
+
+    @Schema(description = "대상 업로드 종료 일시", example = "2025-02-28T23:59:59")
+    private LocalDateTime uploadedTo;   // ✅ 대상 조건: 업로드 종료일
+
+    @Schema(description = "작업 시작 일시", example = "2025-03-01T09:00:00")
+    private LocalDateTime startedAt;   // ✅ 작업을 만든 시각
+
+    @Schema(description = "대상 문서 수", example = "320")
+    private int total;   // ✅ 조건에 맞은 문서 수 (최대 개수에서 잘릴 수 있음)
+
+    @Schema(description = "대상이 최대 개수를 넘어 잘렸는지 여부", example = "false")
+    private boolean truncated;   // ✅ true 이면 남은 문서는 작업이 끝난 뒤 다시 요청해야 합니다.
+
+    @Schema(description = "대기열 투입을 검토한 문서 수", example = "120")
+    private int submitted;   // ✅ 지금까지 대기열에 올리려고 꺼낸 문서 수
+
+    @Schema(description = "실제로 대기열에 올린 문서 수", example = "115")
+    private int enqueued;   // ✅ PENDING 으로 바꾼 문서 수
+
+    @Schema(description = "이미 대기 중이거나 처리 중이라 건너뛴 문서 수", example = "5")
+    private int skipped;   // ✅ 이미 PENDING/PROCESSING 이었던 문서 수
+
+    @Schema(description = "대상 문서의 현재 인덱싱 상태별 개수")
+    private Map<DocumentIndexingStatus, Long> statusCounts;   // ✅ 삭제된 문서는 빠집니다.
+
+    @Schema(description = "모든 대상 문서를 올렸고 대기·처리 중인 문서가 없는지 여부", example = "false")
+    private boolean completed;   // ✅ 완료 여부
+}
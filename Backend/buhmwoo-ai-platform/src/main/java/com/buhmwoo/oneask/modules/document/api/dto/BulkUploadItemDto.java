@@ -0,0 +1,36 @@
+package com.buhmwoo.oneask.modules.document.api.dto;
+
+import com.buhmwoo.oneask.modules.document.domain.DocumentIndexingStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일괄 업로드에서 파일(zip 항목 포함) 하나의 처리 결과입니다.
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUploadItemDto {
+
+    @Schema(description = "요청에 들어 있던 파일명 (zip 항목은 'archive.zip!/폴더/파일' 형식)", example = "hr.zip!/규정/취업규칙.pdf")
+    private String source;   // ✅ 사용자가 결과를 원본과 대조할 수 있도록 원래 경로를 그대로 보여줍니다.
+
+    @Schema(description = "저장된 파일명", example = "취업규칙.pdf")
+    private String fileName;   // ✅ 정리된 파일명
+
+    @Schema(description = "문서 UUID (저장에 실패하면 null)", example = "550e8400-e29b-41d4-a716-446655440000")
+    private String uuid;   // ✅ 저장된 문서 UUID
+
+    @Schema(description = "처리 결과 (STORED, SKIPPED, FAILED)", example = "STORED")
+    private String result;   // ✅ 저장 단계 결과
+
+    @Schema(description = "RAG 인덱싱 상태", example = "PENDING")
+    private DocumentIndexingStatus indexingStatus;   // ✅ 진행 상황 조회 시 현재 값으로 갱신됩니다.
+
+    @Schema(description = "건너뛰거나 실패한 이유", example = "파일 크기 제한(100MB)을 넘었습니다.")
+    private String message;   // ✅ 실패/건너뜀 사유
+}
@@ -0,0 +1,47 @@
+package com.buhmwoo.oneask.modules.document.api.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 일괄 업로드 작업의 요약과 파일별 결과입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUploadResponseDto {
+
+    @Schema(description = "일괄 업로드 작업 ID", example = "9b1f4c8e-2d6a-4e3b-8f0a-7c5d1e2b3a4f")
+    private String jobId;   // ✅ 인덱싱 진행 상황 조회에 사용하는 ID
+
+    @Schema(description = "작업 시작 일시", example = "2025-03-01T09:00:00")
+    private LocalDateTime startedAt;   // ✅ 요청을 받은 시각
+
+    @Schema(description = "저장·등록 처리가 끝났는지 여부", example = "true")
+    private boolean completed;   // ✅ false 이면 아래 개수와 파일별 결과가 아직 비어 있습니다.
+
+    @Schema(description = "요청에 포함된 파일 수 (zip 항목 포함)", example = "1200")
+    private int total;   // ✅ 전체 파일 수
+
+    @Schema(description = "저장된 파일 수", example = "1180")
+    private int stored;   // ✅ 스토리지와 DB 에 저장된 수
+
+    @Schema(description = "건너뛴 파일 수", example = "15")
+    private int skipped;   // ✅ 중복 이름, 최대 개수 초과 등
+
+    @Schema(description = "실패한 파일 수", example = "5")
+    private int failed;   // ✅ 저장 실패 수
+
+    @Schema(description = "zip 항목이 최대 파일 수를 넘어 일부를 읽지 않았는지 여부", example = "false")
+    private boolean truncated;   // ✅ true 이면 건너뛴 항목 수가 zip 별로 한 줄씩 items 에 남습니다.
+
+    @Schema(description = "파일별 결과")
+    private List<BulkUploadItemDto> items;   // ✅ 요청 순서대로 정렬됩니다.
+}
@@ -20,4 +20,5 @@ public class QuestionAnswerResponseDto {
     private String answer; // ✅ GPT가 생성한 최종 답변 본문입니다.
     private List<QuestionAnswerSourceDto> sources; // ✅ 답변 근거를 추적할 수 있도록 검색된 출처 목록을 포함합니다.
     private boolean fromCache; // ✅ 동일 질의가 캐시를 통해 처리되었는지 여부를 알려줍니다.
+    private String cacheMatchedQuestion; // ✅ 유사 질문 캐시로 응답한 경우, 실제로 일치한 기존 질문을 알려줍니다. (그 외에는 null)
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.buhmwoo.oneask.modules.document.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude; // ✅ 이벤트마다 필요한 필드만 직렬화하기 위해 임포트합니다.
+import lombok.AllArgsConstructor; // ✅ DTO 생성을 단순화하기 위해 Lombok 애너테이션을 임포트합니다.
+import lombok.Builder; // ✅ 이벤트 종류별로 필요한 필드만 채울 수 있도록 빌더 패턴을 활용합니다.
+import lombok.Data; // ✅ 게터/세터 등을 자동 생성하기 위해 임포트합니다.
+import lombok.NoArgsConstructor; // ✅ 역직렬화 지원을 위해 기본 생성자를 제공합니다.
+
+import java.util.List; // ✅ 마지막 이벤트에 출처 목록을 담기 위해 임포트합니다.
+
+/**
+ * 스트리밍 질의(SSE)에서 클라이언트로 내려보내는 개별 이벤트 DTO입니다. // ✅ 토큰 조각 → 출처 → 완료 순서로 전송됨을 설명합니다.
+ */
+@Data // ✅ 표준 메서드를 자동 생성해 코드를 간결하게 유지합니다.
+@Builder // ✅ 이벤트 종류별 생성 코드를 읽기 쉽게 만듭니다.
+@NoArgsConstructor // ✅ 역직렬화 시 기본 생성자가 필요하므로 제공합니다.
+@AllArgsConstructor // ✅ 모든 필드를 채우는 생성자를 자동 생성합니다.
+@JsonInclude(JsonInclude.Include.NON_NULL) // ✅ 토큰 이벤트처럼 작은 이벤트의 전송량을 줄이기 위해 null 필드는 생략합니다.
+public class QuestionAnswerStreamEventDto {
+
+    private EventType type; // ✅ SSE event 이름으로도 사용되는 이벤트 종류입니다.
+    private String delta; // ✅ TOKEN 이벤트에서 새로 생성된 답변 조각입니다.
+    private String title; // ✅ SOURCES/DONE 이벤트에서 응답 카드 제목을 제공합니다.
+    private String answer; // ✅ DONE/ERROR 이벤트에서 최종(또는 대체) 답변 전문을 제공합니다.
+    private List<QuestionAnswerSourceDto> sources; // ✅ SOURCES/DONE 이벤트에서 답변 근거 출처 목록을 제공합니다.
+    private Boolean fromCache; // ✅ 캐시에서 바로 응답했는지 여부입니다.
+    private String message; // ✅ DONE/ERROR 이벤트에서 처리 결과 메시지를 전달합니다.
+
+    /**
+     * 스트리밍 이벤트 종류입니다. // ✅ 클라이언트가 event 이름으로 분기할 수 있도록 고정된 값만 허용합니다.
+     */
+    public enum EventType {
+        TOKEN,   // 답변 조각
+        SOURCES, // 출처 목록 (답변 생성 완료 후)
+        DONE,    // 스트림 정상 종료
+        ERROR    // 실패 (대체 답변 포함 가능)
+    }
+}
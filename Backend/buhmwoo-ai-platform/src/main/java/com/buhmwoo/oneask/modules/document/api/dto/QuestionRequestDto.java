@@ -8,6 +8,7 @@ import jakarta.validation.constraints.NotBlank; // ✅ 필수 필드를 검증
  */
 public record QuestionRequestDto(
         @NotBlank(message = "question은 필수입니다.") String question, // ✅ 사용자가 입력한 질문 내용
-        BotMode mode // ✅ RAG 동작 방식을 지정하는 모드 (null 허용 시 기본 STRICT 로 처리)
+        BotMode mode, // ✅ RAG 동작 방식을 지정하는 모드 (null 허용 시 기본 STRICT 로 처리)
+        String uuid // ✅ 배치 질의에서 항목별로 대상 문서를 지정할 때 사용 (null 이면 전체 문서, 단건 API 는 경로 변수를 우선)
 ) {
-}
\ No newline at end of file
+}
@@ -2,15 +2,24 @@ package com.buhmwoo.oneask.modules.document.api.service;
 
 import com.buhmwoo.oneask.common.dto.ApiResponseDto;
 import com.buhmwoo.oneask.common.dto.PageResponse;
+import com.buhmwoo.oneask.modules.document.api.dto.BatchQuestionAnswerItemDto; // ✅ 배치 질의의 항목별 결과를 표현하기 위해 임포트합니다.
+import com.buhmwoo.oneask.modules.document.api.dto.BulkReindexProgressDto; // ✅ 일괄 재인덱싱 진행 상황을 표현하기 위해 임포트합니다.
+import com.buhmwoo.oneask.modules.document.api.dto.BulkUploadResponseDto; // ✅ 일괄 업로드의 파일별 결과를 표현하기 위해 임포트합니다.
 import com.buhmwoo.oneask.modules.document.api.dto.DocumentListItemResponseDto;
 import com.buhmwoo.oneask.modules.document.api.dto.DocumentSuggestionResponseDto;
 import com.buhmwoo.oneask.modules.document.api.dto.QuestionAnswerResponseDto; // ✅ 질문 응답 포맷을 표준화한 DTO를 사용하기 위해 임포트합니다.
+import com.buhmwoo.oneask.modules.document.api.dto.QuestionAnswerStreamEventDto; // ✅ 스트리밍 질의 이벤트를 표현하기 위해 임포트합니다.
+import com.buhmwoo.oneask.modules.document.api.dto.QuestionRequestDto; // ✅ 배치 질의 항목을 전달받기 위해 임포트합니다.
 import com.buhmwoo.oneask.modules.document.application.question.BotMode; // ✅ 봇 동작 모드를 전달해 fallback 정책을 제어하기 위해 임포트합니다.
+import com.buhmwoo.oneask.modules.document.domain.DocumentIndexingStatus; // ✅ 일괄 재인덱싱 대상 상태 조건으로 사용합니다.
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux; // ✅ 토큰 단위 스트리밍 질의 계약을 표현하기 위해 임포트합니다.
+import reactor.core.publisher.Mono; // ✅ 스레드를 점유하지 않는 질의 계약을 표현하기 위해 임포트합니다.
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
@@ -20,10 +29,21 @@ import java.util.Map;
  */
 public interface DocumentService {
     /**
-     * 업로드한 파일을 저장하고 RAG 인덱싱을 트리거합니다. // ✅ 업로드 기능이 수행하는 역할을 설명합니다.
+     * 업로드한 파일을 저장하고 RAG 인덱싱 대기열(PENDING)에 올린 뒤 바로 응답합니다. // ✅ 업로드 기능이 수행하는 역할을 설명합니다.
      */
     ApiResponseDto<Map<String, Object>> uploadFile(MultipartFile file, String description, String uploadedBy);
 
+    /**
+     * 여러 파일이나 zip 묶음을 접수하고 작업 ID 를 바로 돌려줍니다. 저장·등록은 비동기로 진행되며 {@link #getBulkUploadProgress} 로 조회합니다. // ✅ 부서 단위 초기 적재처럼 파일이 많을 때 사용합니다.
+     * 파일 수가 최대 개수를 넘으면 400, 끝나지 않은 작업이 상한에 닿았으면 429 로 응답합니다.
+     */
+    ResponseEntity<ApiResponseDto<BulkUploadResponseDto>> uploadFiles(List<MultipartFile> files, String description, String uploadedBy);
+
+    /**
+     * 일괄 업로드 작업의 파일별 결과를 현재 인덱싱 상태와 함께 조회합니다.
+     */
+    ApiResponseDto<BulkUploadResponseDto> getBulkUploadProgress(String jobId);
+
     /**
      * 문서 검색 조건과 페이지 정보를 받아 목록을 반환합니다. // ✅ 페이지 조회 기능의 의도를 설명합니다.
      */
@@ -51,6 +71,26 @@ public interface DocumentService {
      */
     ApiResponseDto<QuestionAnswerResponseDto> ask(String uuid, String question, BotMode mode);
 
+    /**
+     * 특정 문서 또는 전체 문서를 대상으로 RAG 질의를 비동기로 수행합니다. // ✅ LLM 응답을 기다리는 동안 서블릿 스레드를 반환하기 위한 계약입니다.
+     */
+    Mono<ApiResponseDto<QuestionAnswerResponseDto>> askAsync(String uuid, String question, BotMode mode);
+
+    /**
+     * RAG 질의 답변을 생성되는 즉시 토큰 단위 이벤트로 흘려보냅니다. // ✅ 출처는 마지막 이벤트로 전송하고 완료된 답변은 캐시에 저장합니다.
+     */
+    Flux<QuestionAnswerStreamEventDto> askStream(String uuid, String question, BotMode mode);
+
+    /**
+     * 여러 질문을 제한된 동시성으로 처리하고 요청 순서대로 항목별 결과를 반환합니다. // ✅ 일부 항목이 실패해도 배치 전체를 실패시키지 않습니다.
+     */
+    Mono<ApiResponseDto<List<BatchQuestionAnswerItemDto>>> askBatch(List<QuestionRequestDto> items);
+
+    /**
+     * 배치 질의가 응답을 돌려주기까지 걸릴 수 있는 최대 시간입니다. // ✅ 항목 수·동시성·모드별 예산으로 계산하며 batch-max-duration 을 넘지 않습니다.
+     */
+    Duration batchTimeLimit(List<QuestionRequestDto> items);
+
     /**
      * 선택된 문서의 요약을 생성합니다. // ✅ 문서 요약 전용 기능을 정의합니다.
      */
@@ -74,7 +114,18 @@ public interface DocumentService {
     ApiResponseDto<Map<String, Object>> deleteDocument(String uuid);
 
     /**
-     * 저장된 문서를 다시 RAG 백엔드로 전송해 인덱싱을 재시도합니다. // ✅ 업로드 실패 사례에 대응하기 위한 재처리 기능을 정의합니다.
+     * 저장된 문서를 다시 인덱싱 대기열에 올려 인덱싱을 재시도합니다. // ✅ 업로드 실패 사례에 대응하기 위한 재처리 기능을 정의합니다.
      */
     ApiResponseDto<Map<String, Object>> reindexDocument(String uuid);  
+
+    /**
+     * 조건에 맞는 문서를 조금씩 인덱싱 대기열에 올리는 일괄 재인덱싱을 시작합니다. // ✅ 장애 복구 뒤 쌓인 FAILED 문서를 한 번에 다시 처리합니다.
+     */
+    ApiResponseDto<BulkReindexProgressDto> startBulkReindex(DocumentIndexingStatus status, String uploadedBy,
+                                                            LocalDate uploadedFrom, LocalDate uploadedTo);
+
+    /**
+     * 일괄 재인덱싱 작업의 진행 상황을 조회합니다.
+     */
+    ApiResponseDto<BulkReindexProgressDto> getBulkReindexProgress(String jobId);
 }
@@ -3,12 +3,25 @@ package com.buhmwoo.oneask.modules.document.application.impl;
 import com.buhmwoo.oneask.common.config.OneAskProperties;
 import com.buhmwoo.oneask.common.dto.ApiResponseDto;
 import com.buhmwoo.oneask.common.dto.PageResponse;
+import com.buhmwoo.oneask.modules.document.api.dto.BatchQuestionAnswerItemDto;
+import com.buhmwoo.oneask.modules.document.api.dto.BulkReindexProgressDto;
+import com.buhmwoo.oneask.modules.document.api.dto.BulkUploadResponseDto;
 import com.buhmwoo.oneask.modules.document.api.dto.DocumentListItemResponseDto;
 import com.buhmwoo.oneask.modules.document.api.dto.DocumentSuggestionResponseDto;
 import com.buhmwoo.oneask.modules.document.api.dto.QuestionAnswerResponseDto;
 import com.buhmwoo.oneask.modules.document.api.dto.QuestionAnswerSourceDto;
+import com.buhmwoo.oneask.modules.document.api.dto.QuestionAnswerStreamEventDto;
+import com.buhmwoo.oneask.modules.document.api.dto.QuestionRequestDto;
 import com.buhmwoo.oneask.modules.document.api.service.DocumentService;
+import com.buhmwoo.oneask.modules.document.application.indexing.BulkReindexJobs;
+import com.buhmwoo.oneask.modules.document.application.indexing.DocumentIndexingQueue;
+import com.buhmwoo.oneask.modules.document.application.question.AskDeadline;
+import com.buhmwoo.oneask.modules.document.application.question.AskDeadlineExceededException;
+import com.buhmwoo.oneask.modules.document.application.question.AskDeadlinePolicy;
 import com.buhmwoo.oneask.modules.document.application.question.BotMode;
+import com.buhmwoo.oneask.modules.document.application.question.ChunkSetAnswerCache;
+import com.buhmwoo.oneask.modules.document.application.question.ContextPacker;
+import com.buhmwoo.oneask.modules.document.application.question.DocumentIndexVersions;
 import com.buhmwoo.oneask.modules.document.application.question.DocumentRetrievalRequest;
 import com.buhmwoo.oneask.modules.document.application.question.DocumentRetrievalResult;
 import com.buhmwoo.oneask.modules.document.application.question.DocumentRetriever;
@@ -17,32 +30,31 @@ import com.buhmwoo.oneask.modules.document.application.question.GptRequest;
 import com.buhmwoo.oneask.modules.document.application.question.GptResponse;
 import com.buhmwoo.oneask.modules.document.application.question.QuestionIntent;
 import com.buhmwoo.oneask.modules.document.application.question.QuestionIntentClassifier;
-import com.buhmwoo.oneask.modules.document.application.question.QuestionIntentResult;
 import com.buhmwoo.oneask.modules.document.application.question.QuestionAnswerCache;
+import com.buhmwoo.oneask.modules.document.application.question.QuestionAnswerCoalescer;
 import com.buhmwoo.oneask.modules.document.application.question.RetrievedDocumentChunk;
+import com.buhmwoo.oneask.modules.document.application.question.WorkLane;
+import com.buhmwoo.oneask.modules.document.application.upload.BulkDocumentIngestor;
+import com.buhmwoo.oneask.modules.document.application.upload.DocumentBlobStore;
+import com.buhmwoo.oneask.modules.document.application.upload.PreviewTextExtractor;
+import com.buhmwoo.oneask.modules.document.application.upload.StoredFileNames;
 import com.buhmwoo.oneask.modules.document.domain.Document;
 import com.buhmwoo.oneask.modules.document.domain.DocumentIndexingStatus;
+import com.buhmwoo.oneask.modules.document.infrastructure.client.RagBackendPool;
+import com.buhmwoo.oneask.modules.document.infrastructure.client.ResilienceGuards;
 import com.buhmwoo.oneask.modules.document.infrastructure.repository.maria.DocumentRepository;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.RequiredArgsConstructor;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.poi.xslf.usermodel.XMLSlideShow;
-import org.apache.poi.xslf.usermodel.XSLFShape;
-import org.apache.poi.xslf.usermodel.XSLFTextShape;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Font;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
-import org.apache.poi.xwpf.usermodel.XWPFParagraph;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.Page;
@@ -50,14 +62,16 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -71,7 +85,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeoutException;
+import java.util.function.LongFunction;
 
 /**
  * 업로드 → 디스크 저장 → DB기록 → (선택) RAG 인덱싱 트리거
@@ -84,18 +101,32 @@ public class DocumentServiceImpl implements DocumentService {
 
     private final DocumentRepository documentRepository;
     private final OneAskProperties props;
-    private final @Qualifier("ragWebClient") WebClient ragWebClient;
+    private final @Qualifier("ragBackgroundWebClient") WebClient ragBackgroundWebClient; // 인덱싱·삭제는 대화형 질의와 다른 연결 풀 사용
     private final DocumentRetriever documentRetriever;
     private final GptClient gptClient;
     private final QuestionIntentClassifier intentClassifier;
     private final QuestionAnswerCache questionAnswerCache;
+    private final QuestionAnswerCoalescer questionAnswerCoalescer;
+    private final ChunkSetAnswerCache chunkSetAnswerCache;
+    private final ContextPacker contextPacker;
+    private final AskDeadlinePolicy askDeadlinePolicy;
+    private final DocumentIndexVersions indexVersions;
+    private final ResilienceGuards resilienceGuards;
+    private final DocumentIndexingQueue documentIndexingQueue;
+    private final BulkReindexJobs bulkReindexJobs;
+    private final BulkDocumentIngestor bulkDocumentIngestor;
+    private final DocumentBlobStore documentBlobStore;
+    private final RagBackendPool ragBackends;
     private final @Qualifier("geminiWebClient") WebClient geminiWebClient;
 
     private static final int DEFAULT_TOP_K = 4;
+    private static final int PREVIEW_TEXT_LENGTH = 200;
     private static final double DEFAULT_SCORE_THRESHOLD = 0.55;
     private static final Duration GENERAL_KNOWLEDGE_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration WEB_SEARCH_TIMEOUT = Duration.ofSeconds(60);
+    private static final Duration RAG_DELETE_TIMEOUT = Duration.ofSeconds(120);
 
-    /** 업로드(+DB 저장) → FastAPI(/upload, multipart) 전송 → 인덱 트리거 */
+    /** 업로드(+DB 저장) 후 바로 응답하고, RAG 인덱싱은 PENDING 대기열에서 비동기로 처리 */
     @Override
     public ApiResponseDto<Map<String, Object>> uploadFile(
             org.springframework.web.multipart.MultipartFile file,
@@ -120,25 +151,7 @@ public class DocumentServiceImpl implements DocumentService {
             Files.createDirectories(root);
 
             // 2) 안전한 파일명
-            String originalName = Optional.ofNullable(file.getOriginalFilename()).orElse("unnamed");
-            String safeName = Paths.get(originalName).getFileName().toString();
-            safeName = StringUtils.cleanPath(safeName);
-            safeName = safeName
-                    .replaceAll("[\\r\\n\\t]", " ")
-                    .replaceAll("\\s+", " ")
-                    .trim();
-            if (safeName.length() > 200) {
-                safeName = safeName.substring(0, 200);
-            }                        
-            if (safeName.isBlank()) safeName = "unnamed";
-            deleteExistingDocumentsWithSameName(safeName, ragBase);            
-            String uuid = UUID.randomUUID().toString();
-            String storedName = uuid + "_" + safeName;
-
-            // 3) 디스크 저장
-            Path target = root.resolve(storedName).normalize();
-            Files.createDirectories(target.getParent());
-            long size = file.getSize();
+            String safeName = StoredFileNames.safeName(file.getOriginalFilename());
 
             String rawContentType = Optional.ofNullable(file.getContentType())
                     .map(String::trim)
@@ -150,49 +163,79 @@ public class DocumentServiceImpl implements DocumentService {
                 contentType = contentType.substring(0, 100);
             }
 
-            log.info("[UPLOAD] start copy -> target={} size={} CT={}", target, size, contentType);
-
+            // 3) 스테이징 폴더에 받으면서 내용 해시 계산
+            log.info("[UPLOAD] start copy -> root={} size={} CT={}", root, file.getSize(), contentType);
+            DocumentBlobStore.StagedBlob staged;
             try (InputStream in = file.getInputStream()) {
-                Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+                staged = documentBlobStore.stage(in, Long.MAX_VALUE); // 크기 제한은 multipart 설정이 담당
             }
-            if (!Files.exists(target)) {
-                log.error("[UPLOAD][FAIL] copy OK reported but target missing: {}", target);
-                return ApiResponseDto.fail("파일 저장 실패(대상 경로 확인 필요).");
+
+            // 같은 이름·같은 내용이 이미 있으면 교체하지 않고 기존 문서를 그대로 씁니다. (재인덱싱·미리보기 재변환 생략)
+            List<Document> sameName = documentRepository.findAllByFileNameIgnoreCase(safeName);
+            Optional<Document> unchanged = sameName.stream()
+                    .filter(existing -> staged.contentHash().equals(existing.getContentHash()))
+                    .filter(existing -> Files.exists(Paths.get(existing.getFilePath())))
+                    .findFirst();
+            if (unchanged.isPresent()) {
+                documentBlobStore.discard(staged);
+                Document existing = unchanged.get();
+                for (Document other : sameName) {
+                    if (other != existing) {
+                        removeExistingDocument(other, ragBase); // 예전에 남은 같은 이름의 다른 내용 문서는 기존처럼 정리
+                    }
+                }
+                return keepUnchangedDocument(existing, ragBase);
             }
-            log.info("[UPLOAD] saved OK -> {}", target);
-
-            // 4) DB 저장
-            Document doc = Document.builder()
-                    .uuid(uuid)
-                    .fileName(safeName)
-                    .filePath(target.toString().replace("\\", "/"))
-                    .contentType(contentType)
-                    .size(size)
-                    .uploadedBy(uploadedBy)
-                    .uploadedAt(LocalDateTime.now())
-                    .description(description)
-                    .indexingStatus(DocumentIndexingStatus.PENDING)
-                    .indexingError(null)
-                    .build();
-            documentRepository.save(doc);
-            questionAnswerCache.invalidate(null); // 신규/대체 업로드 시 전체 캐시를 비워 최신 문서를 반영합니다.
 
-            // 5) 프리뷰 텍스트(선택)
-            String extractedText = extractText(file);
-            String preview = (extractedText != null && extractedText.length() > 200)
-                    ? extractedText.substring(0, 200) + "..." : extractedText;
+            deleteExistingDocumentsWithSameName(safeName, ragBase);
+            String uuid = UUID.randomUUID().toString();
+            String storedName = StoredFileNames.storedName(uuid, safeName);
 
-            // 6) RAG 인덱싱 (ragBase 없으면 생략)
+            // 같은 내용의 저장 파일이 있으면 함께 쓰고, 없으면 스테이징 파일을 저장 이름으로 옮깁니다.
+            Path target;
+            try {
+                target = documentBlobStore.commit(staged, storedName,
+                        documentBlobStore.findBlobs(List.of(staged.contentHash())));
+            } finally {
+                documentBlobStore.discard(staged); // 옮긴 뒤에는 남은 파일이 없어 아무 일도 하지 않음
+            }
+            boolean saved = false;
+            Document doc;
+            try {
+                if (!Files.exists(target)) {
+                    log.error("[UPLOAD][FAIL] copy OK reported but target missing: {}", target);
+                    return ApiResponseDto.fail("파일 저장 실패(대상 경로 확인 필요).");
+                }
+                log.info("[UPLOAD] saved OK -> {} sha256={}", target, staged.contentHash());
+
+                // 4) DB 저장
+                doc = Document.builder()
+                        .uuid(uuid)
+                        .fileName(safeName)
+                        .filePath(target.toString().replace("\\", "/"))
+                        .contentType(contentType)
+                        .size(staged.size())
+                        .contentHash(staged.contentHash())
+                        .uploadedBy(uploadedBy)
+                        .uploadedAt(LocalDateTime.now())
+                        .description(description)
+                        .indexingStatus(DocumentIndexingStatus.PENDING)
+                        .indexingError(null)
+                        .build();
+                documentRepository.save(doc);
+                saved = true;
+            } finally {
+                documentBlobStore.settle(staged.contentHash(), target, saved); // 저장 파일 예약 해제 (행 저장에 실패했으면 쓰는 문서가 없을 때 정리)
+            }
+            markIndexChanged(uuid); // 신규 문서가 포함될 전체 범위 답변만 무효화합니다.
+
+            // 5) 프리뷰 텍스트(선택) - 업로드 스트림을 다시 읽지 않고 저장된 파일에서 앞부분만 추출
+            String preview = PreviewTextExtractor.preview(target, safeName, PREVIEW_TEXT_LENGTH);
+
+            // 6) RAG 인덱싱 (ragBase 없으면 생략) - PENDING 상태로 응답하고 작업 스레드가 이어서 처리
             if (!ragBase.isBlank()) {
-                return requestIndexing(
-                        doc,
-                        target,
-                        safeName,
-                        preview,
-                        ragBase,
-                        "파일 업로드 + 인덱싱 요청 완료: " + safeName,
-                        "파일 업로드 완료(인덱싱 요청 실패): " + safeName
-                );
+                documentIndexingQueue.wakeUp();
+                return buildPreviewResponse(doc, preview, "파일 업로드 완료(인덱싱 대기): " + safeName);
             } else {
                 doc.setIndexingStatus(DocumentIndexingStatus.SKIPPED);
                 doc.setIndexingError(null);
@@ -213,6 +256,73 @@ public class DocumentServiceImpl implements DocumentService {
         }
     }
 
+    /** 여러 파일/zip 일괄 업로드: 작업만 접수하고 저장·DB 등록과 인덱싱은 비동기로 처리 (파일 수 초과 400, 작업이 밀려 있으면 429) */
+    @Override
+    public ResponseEntity<ApiResponseDto<BulkUploadResponseDto>> uploadFiles(
+            List<org.springframework.web.multipart.MultipartFile> files,
+            String description,
+            String uploadedBy
+    ) {
+        String rootDir = Optional.ofNullable(props.getStorage()).map(OneAskProperties.Storage::getRoot).orElse("");
+        String ragBase = Optional.ofNullable(props.getRag()).map(OneAskProperties.Rag::getBackendUrl).orElse("");
+        if (rootDir.isBlank()) {
+            return ResponseEntity.ok(ApiResponseDto.fail("일괄 업로드 실패: custom.storage.root 가 비었습니다."));
+        }
+        if (files == null || files.isEmpty()) {
+            return ResponseEntity.ok(ApiResponseDto.fail("일괄 업로드 실패: 업로드할 파일이 없습니다."));
+        }
+        try {
+            BulkUploadResponseDto result = bulkDocumentIngestor.ingest(files, description, uploadedBy,
+                    existing -> removeExistingDocument(existing, ragBase)); // 같은 이름 문서는 단건 업로드와 같이 교체
+            return ResponseEntity.ok(ApiResponseDto.ok(result, "일괄 업로드 접수: 작업 ID " + result.getJobId() + " 로 진행 상황을 조회하세요."));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponseDto.fail("일괄 업로드 실패: " + e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            log.warn("[UPLOAD][BULK] 작업 거절 err={}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .body(ApiResponseDto.fail("일괄 업로드 실패: " + e.getMessage()));
+        } catch (IOException e) {
+            log.error("[UPLOAD][BULK][FAIL] rootDir={} err={}", rootDir, e.toString(), e);
+            return ResponseEntity.ok(ApiResponseDto.fail("일괄 업로드 실패: " + e.getMessage()));
+        }
+    }
+
+    /** 일괄 업로드 작업의 파일별 결과 */
+    @Override
+    public ApiResponseDto<BulkUploadResponseDto> getBulkUploadProgress(String jobId) {
+        return bulkDocumentIngestor.progress(jobId)
+                .map(ApiResponseDto::ok)
+                .orElseGet(() -> ApiResponseDto.fail("일괄 업로드 작업을 찾을 수 없습니다: " + jobId));
+    }
+
+    /**
+     * 같은 이름·같은 내용의 재업로드: 기존 문서와 인덱스를 그대로 두고, 인덱싱에 실패했던 문서만 다시 대기열에 올립니다.
+     */
+    private ApiResponseDto<Map<String, Object>> keepUnchangedDocument(
+            Document existing,
+            String ragBase
+    ) {
+        String preview = PreviewTextExtractor.preview(Paths.get(existing.getFilePath()), existing.getFileName(), PREVIEW_TEXT_LENGTH);
+
+        DocumentIndexingStatus status = existing.getIndexingStatus();
+        boolean retry = !ragBase.isBlank()
+                && (status == DocumentIndexingStatus.FAILED || status == DocumentIndexingStatus.SKIPPED);
+        log.info("[UPLOAD] unchanged re-upload uuid={} fileName={} status={} requeue={}",
+                existing.getUuid(), existing.getFileName(), status, retry);
+        if (!retry) {
+            return buildPreviewResponse(existing, preview,
+                    "동일한 내용의 파일이 이미 등록되어 있어 재인덱싱을 생략했습니다: " + existing.getFileName());
+        }
+        existing.setIndexingStatus(DocumentIndexingStatus.PENDING);
+        existing.setIndexingError(null);
+        existing.setIndexingAttempts(0);
+        existing.setIndexingNextRetryAt(null);
+        documentRepository.save(existing);
+        documentIndexingQueue.wakeUp();
+        return buildPreviewResponse(existing, preview,
+                "동일한 내용의 파일이 이미 등록되어 있어 인덱싱만 다시 요청했습니다: " + existing.getFileName());
+    }
+
     /** 동일한 파일명이 이미 존재하면 스토리지/DB/RAG에서 정리 후 업로드를 진행합니다. */
     private void deleteExistingDocumentsWithSameName(String safeName, String ragBase) {
         List<Document> duplicates = documentRepository.findAllByFileNameIgnoreCase(safeName);
@@ -224,43 +334,46 @@ public class DocumentServiceImpl implements DocumentService {
         for (Document existing : duplicates) {
             removeExistingDocument(existing, ragBase);
         }
-        questionAnswerCache.invalidate(null);
     }
 
     private void removeExistingDocument(Document document, String ragBase) {
         String uuid = document.getUuid();
         String filePath = document.getFilePath();
-        try {
-            Path path = Paths.get(filePath);
-            boolean deleted = Files.deleteIfExists(path);
-            log.info("[UPLOAD] deleted existing storage file uuid={} path={} deleted={}", uuid, path, deleted);
-        } catch (Exception ex) {
-            log.warn("[UPLOAD] failed to delete existing storage file uuid={} path={} err={}", uuid, filePath, ex.toString(), ex);
-        }
-
         if (!ragBase.isBlank()) {
-            String url = ragBase + "/documents/delete";
             Map<String, Object> req = Map.of(
                     "docId", uuid,
                     "source", document.getFileName()
             );
             try {
-                ragWebClient.post()
-                        .uri(url)
+                ragBackends.call(base -> ragBackgroundWebClient.post()
+                        .uri(base + "/documents/delete")
                         .contentType(MediaType.APPLICATION_JSON)
                         .bodyValue(req)
                         .retrieve()
-                        .bodyToMono(Map.class)
+                        .bodyToMono(Map.class), RAG_DELETE_TIMEOUT)
                         .doOnNext(body -> log.info("[RAG] delete response for duplicate uuid={}: {}", uuid, body))
-                        .block(Duration.ofSeconds(120));
+                        .block();
             } catch (Exception ex) {
                 log.warn("[RAG] failed to delete existing document uuid={} err={}", uuid, ex.toString(), ex);
             }
         }
 
-        documentRepository.delete(document);
+        try {
+            // DB 행을 지운 뒤 같은 내용의 다른 문서가 쓰지 않는 파일만 지움
+            boolean deleted = documentBlobStore.release(document, () -> documentRepository.delete(document));
+            log.info("[UPLOAD] deleted existing storage file uuid={} path={} deleted={}", uuid, filePath, deleted);
+        } catch (IOException ex) {
+            log.warn("[UPLOAD] failed to delete existing storage file uuid={} path={} err={}", uuid, filePath, ex.toString(), ex);
+        }
+        markIndexChanged(uuid);
+    }
+
+    /** 문서 인덱스 버전을 올리고 해당 문서·전체 범위 답변 캐시만 무효화합니다. */
+    private void markIndexChanged(String uuid) {
+        indexVersions.markChanged(uuid);
         questionAnswerCache.invalidate(uuid);
-    }    
+    }
+
     /**
      * 검색 조건과 페이지 정보를 받아 문서 목록을 PageResponse 로 변환합니다.
      */
@@ -356,21 +469,13 @@ public class DocumentServiceImpl implements DocumentService {
     }
 
     private Path ensurePreviewPdf(Path filePath) {
-        String fileName = Optional.ofNullable(filePath.getFileName())
-                .map(Path::toString)
-                .map(String::trim)
-                .orElse("");
-        String lowerName = fileName.toLowerCase();
-        if (!lowerName.endsWith(".pptx") && !lowerName.endsWith(".xlsx")) {
+        Path previewPath = DocumentBlobStore.previewPdfPath(filePath); // 저장 파일 기준이라 같은 내용의 문서끼리 변환본도 함께 씀
+        if (previewPath == null) {
             return null;
         }
-
         Path outputDir = filePath.getParent();
-        if (outputDir == null) {
-            return null;
-        }
+        String fileName = filePath.getFileName().toString().trim();
         String baseName = fileName.substring(0, fileName.length() - 5);
-        Path previewPath = outputDir.resolve(baseName + ".preview.pdf");
         if (Files.exists(previewPath)) {
             return previewPath;
         }
@@ -428,88 +533,406 @@ public class DocumentServiceImpl implements DocumentService {
         return MediaType.APPLICATION_OCTET_STREAM;
     }
 
-    /** 문서 기반 질의: 검색 → GPT 호출 → 응답 포맷팅 전체 파이프라인 */
+    /** 문서 기반 질의: 비동기 파이프라인 결과를 기다리는 동기 진입점 */
     @Override
     public ApiResponseDto<QuestionAnswerResponseDto> ask(String uuid, String question, BotMode mode) {
+        return askAsync(uuid, question, mode).block();
+    }
+
+    /** 문서 기반 질의: 분류 → 검색 → GPT 호출 → 응답 포맷팅을 스레드 점유 없이 조합 */
+    @Override
+    public Mono<ApiResponseDto<QuestionAnswerResponseDto>> askAsync(String uuid, String question, BotMode mode) {
         String normalizedQuestion = Optional.ofNullable(question)
                 .map(String::trim)
                 .orElse("");
 
         if (!StringUtils.hasText(normalizedQuestion)) {
-            return ApiResponseDto.fail("질의 실패: 질문이 비어 있습니다.");
+            return Mono.just(ApiResponseDto.fail("질의 실패: 질문이 비어 있습니다."));
         }
 
         final String questionText = normalizedQuestion;
         final String docId = StringUtils.hasText(uuid) ? uuid : null;
 
-        try {
-            // 1) 캐시 조회
-            Optional<QuestionAnswerResponseDto> cached = questionAnswerCache.get(docId, questionText, mode);
-            if (cached.isPresent()) {
-                return ApiResponseDto.ok(cached.get(), "응답 성공(캐시)");
-            }
+        Mono<ApiResponseDto<QuestionAnswerResponseDto>> answer = Mono.deferContextual(context -> {
+                    // 1) 캐시 조회
+                    Optional<QuestionAnswerResponseDto> cached = questionAnswerCache.get(docId, questionText, mode);
+                    if (cached.isPresent()) {
+                        return Mono.just(ApiResponseDto.ok(cached.get(), "응답 성공(캐시)"));
+                    }
 
-            // 2) 의도 분류
-            QuestionIntentResult intentResult = intentClassifier.classify(questionText, docId);
-            QuestionIntent intent = resolveIntent(intentResult.intent(), docId, mode);
+                    // 2) 같은 질문이 이미 처리 중이면 그 결과를 공유 (실패 응답도 한 번만 만들어 함께 사용)
+                    String key = questionAnswerCache.buildKey(docId, questionText, mode);
+                    return questionAnswerCoalescer.execute(key,
+                            () -> answerQuestion(questionText, docId, mode)
+                                    .onErrorResume(e -> handleAskFailure(questionText, docId, mode, e)),
+                            WorkLane.from(context) == WorkLane.BACKGROUND
+                                    ? props.getAsk().getBackgroundDeadline()
+                                    : props.getAsk().getAsyncTimeout());
+                });
+        // 호출자(컨트롤러)가 마감을 정하지 않았으면 모드별 예산으로 여기서 시작
+        return AskDeadline.limit(answer, null)
+                .onErrorResume(e -> handleAskFailure(questionText, docId, mode, e))
+                .contextWrite(context -> askDeadlinePolicy.start(mode).putIfAbsent(context));
+    }
 
-            // 3) SMALL_TALK → 문서 검색 없이 바로 응답
-            if (intent == QuestionIntent.SMALL_TALK && mode != BotMode.STRICT) {
-                QuestionAnswerResponseDto smallTalk = buildSmallTalkAnswer(questionText);
-                questionAnswerCache.put(docId, questionText, mode, smallTalk);
-                return ApiResponseDto.ok(smallTalk, "응답 성공(일상 대화)");
-            }
+    /** 의도 분류 (필요하면 문서 검색을 동시에 시작) → 의도별 답변 생성 */
+    private Mono<ApiResponseDto<QuestionAnswerResponseDto>> answerQuestion(String questionText, String docId, BotMode mode) {
+        return Mono.deferContextual(context -> {
+            RetrievalPlan retrieval = planRetrieval(questionText, docId, mode, context);
+            return classifyIntent(questionText, docId, mode)
+                    .flatMap(intent -> answerByIntent(questionText, docId, mode, intent, retrieval))
+                    .doFinally(signal -> retrieval.discard()); // 취소·실패 시 남은 검색 정리 (완료된 검색에는 영향 없음)
+        });
+    }
 
-            // 4) GENERAL_KNOWLEDGE → 문서 검색 건너뛰고 바로 일반 지식 답변
-            if (intent == QuestionIntent.GENERAL_KNOWLEDGE && mode != BotMode.STRICT) {
-                boolean allowWebSearch = mode == BotMode.HYBRID;
-                QuestionAnswerResponseDto generalAnswer = buildGeneralKnowledgeOnlyAnswer(questionText, allowWebSearch);
-                questionAnswerCache.put(docId, questionText, mode, generalAnswer);
-                return ApiResponseDto.ok(generalAnswer, "응답 성공(일반 지식)");
-            }
+    /** 배치 질의: 배치 내 중복 질문은 한 번만 처리하고, 제한된 동시성으로 실행해 요청 순서대로 반환 (처리 시간 한도를 넘은 항목은 항목별 실패) */
+    @Override
+    public Mono<ApiResponseDto<List<BatchQuestionAnswerItemDto>>> askBatch(List<QuestionRequestDto> items) {
+        if (items == null || items.isEmpty()) {
+            return Mono.just(ApiResponseDto.fail("배치 질의 실패: 질문 목록이 비어 있습니다."));
+        }
+        int maxItems = props.getAsk().getBatchMaxItems();
+        if (items.size() > maxItems) {
+            return Mono.just(ApiResponseDto.fail("배치 질의 실패: 한 번에 최대 " + maxItems + "건까지 요청할 수 있습니다."));
+        }
+        int parallelism = Math.max(1, props.getAsk().getBatchParallelism());
+        Duration timeLimit = batchTimeLimit(items);
+
+        // 같은 (문서, 모드, 질문) 조합은 하나의 질의 결과를 공유
+        Map<String, Mono<ApiResponseDto<QuestionAnswerResponseDto>>> sharedAnswers = new HashMap<>();
+        List<LongFunction<Mono<BatchQuestionAnswerItemDto>>> tasks = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            QuestionRequestDto item = items.get(i);
+            int index = i;
+            String docId = StringUtils.hasText(item.uuid()) ? item.uuid().trim() : null;
+            BotMode mode = item.mode() == null ? BotMode.STRICT : item.mode();
+            String questionText = Optional.ofNullable(item.question()).map(String::trim).orElse("");
+
+            String key = questionAnswerCache.buildKey(docId, questionText, mode);
+            Mono<ApiResponseDto<QuestionAnswerResponseDto>> answer =
+                    sharedAnswers.computeIfAbsent(key, k -> askAsync(docId, questionText, mode).cache());
+
+            Mono<BatchQuestionAnswerItemDto> result = answer
+                    .map(response -> BatchQuestionAnswerItemDto.builder()
+                            .index(index)
+                            .uuid(docId)
+                            .question(questionText)
+                            .success(response.isSuccess())
+                            .message(response.getMessage())
+                            .data(response.getData())
+                            .build())
+                    .onErrorResume(e -> {
+                        log.warn("[ASK][BATCH] 항목 처리 실패 index={} : {}", index, e.getMessage());
+                        return Mono.just(failedBatchItem(index, docId, questionText, "질의 실패: " + e.getMessage()));
+                    });
+            BatchQuestionAnswerItemDto expired = failedBatchItem(index, docId, questionText,
+                    "질의 실패: 배치 처리 시간(" + timeLimit.toSeconds() + "초) 안에 처리하지 못했습니다.");
+            // 배치 마감까지 남은 시간만 기다리고, 시작 전에 마감이 지났으면 호출하지 않습니다.
+            tasks.add(batchEndNanos -> Mono.defer(() -> {
+                long remainingNanos = batchEndNanos - System.nanoTime();
+                return remainingNanos <= 0
+                        ? Mono.just(expired)
+                        : result.timeout(Duration.ofNanos(remainingNanos), Mono.just(expired));
+            }));
+        }
 
-            // 5) 문서 검색
-            DocumentRetrievalRequest retrievalRequest =
-                    new DocumentRetrievalRequest(questionText, docId, DEFAULT_TOP_K);
-            DocumentRetrievalResult retrievalResult = documentRetriever.retrieve(retrievalRequest);
+        return Mono.defer(() -> {
+                    long batchEndNanos = System.nanoTime() + timeLimit.toNanos();
+                    return Flux.fromIterable(tasks)
+                            .flatMapSequential(task -> task.apply(batchEndNanos), parallelism)
+                            .collectList();
+                })
+                .map(results -> {
+                    long succeeded = results.stream().filter(BatchQuestionAnswerItemDto::isSuccess).count();
+                    log.info("[ASK][BATCH] 처리 완료: 전체={} 고유질문={} 성공={}", results.size(), sharedAnswers.size(), succeeded);
+                    return ApiResponseDto.ok(results, "배치 응답 완료 (성공 " + succeeded + "/" + results.size() + ")");
+                });
+    }
 
-            List<RetrievedDocumentChunk> matches =
-                    Optional.ofNullable(retrievalResult.matches()).orElse(List.of());
+    /** 배치 처리 시간 한도: 동시성만큼씩 나눠 처리한다고 보고 (묶음 수 × 가장 긴 모드 예산), batch-max-duration 이 상한 */
+    @Override
+    public Duration batchTimeLimit(List<QuestionRequestDto> items) {
+        OneAskProperties.Ask ask = props.getAsk();
+        List<QuestionRequestDto> safeItems = items == null ? List.of() : items;
+        int parallelism = Math.max(1, ask.getBatchParallelism());
+        long waves = Math.max(1, (safeItems.size() + parallelism - 1) / parallelism);
+        Duration itemBudget = safeItems.stream()
+                .map(item -> askDeadlinePolicy.budgetFor(item.mode() == null ? BotMode.STRICT : item.mode()))
+                .max(Comparator.naturalOrder())
+                .orElse(ask.getStrictDeadline());
+        Duration estimated = itemBudget.multipliedBy(waves);
+        return estimated.compareTo(ask.getBatchMaxDuration()) > 0 ? ask.getBatchMaxDuration() : estimated;
+    }
 
-            Double maxScore = matches.stream()
-                    .map(this::extractScore)
-                    .filter(Objects::nonNull)
-                    .max(Double::compareTo)
-                    .orElse(null);
-            boolean hasMatches = !matches.isEmpty();
+    private BatchQuestionAnswerItemDto failedBatchItem(int index, String docId, String questionText, String message) {
+        return BatchQuestionAnswerItemDto.builder()
+                .index(index)
+                .uuid(docId)
+                .question(questionText)
+                .success(false)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * 분류 결과 + 모드 기반 최종 Intent 를 비동기로 결정합니다.
+     * STRICT 모드는 어떤 분류 결과든 문서 검색 경로로 귀결되므로 LLM 분류를 생략합니다.
+     */
+    private Mono<QuestionIntent> classifyIntent(String questionText, String docId, BotMode mode) {
+        if (mode == BotMode.STRICT) {
+            return Mono.just(QuestionIntent.DOC_KNOWLEDGE);
+        }
+        return intentClassifier.classifyAsync(questionText, docId)
+                .map(intentResult -> resolveIntent(intentResult.intent(), docId, mode));
+    }
 
-            boolean useRag = (mode == BotMode.STRICT && hasMatches)
-                    || (maxScore != null && maxScore >= DEFAULT_SCORE_THRESHOLD)
-                    || (maxScore == null && hasMatches);
+    /**
+     * 문서 검색을 언제 시작할지 결정합니다.
+     * STRICT 모드이거나 문서가 지정된 질문이면 분류를 기다리지 않고 바로 검색을 시작해
+     * 임계 경로를 max(분류, 검색) + 생성으로 줄이고, 검색이 필요 없다고 판명되면 취소합니다.
+     * 미리 시작한 검색은 요청 파이프라인과 따로 구독되므로 요청의 Context(마감 등)를 직접 넘겨줍니다.
+     */
+    private RetrievalPlan planRetrieval(String questionText, String docId, BotMode mode, ContextView context) {
+        DocumentRetrievalRequest retrievalRequest =
+                new DocumentRetrievalRequest(questionText, docId, DEFAULT_TOP_K);
+        Mono<DocumentRetrievalResult> retrieval = documentRetriever.retrieveAsync(retrievalRequest);
+        long indexVersion = indexVersions.versionFor(docId); // 검색 전에 관찰한 버전을 답변과 함께 캐시에 기록
+
+        boolean retrievalLikely = mode == BotMode.STRICT || docId != null;
+        if (!retrievalLikely || !props.getAsk().isSpeculativeRetrieval()) {
+            return new RetrievalPlan(retrieval, indexVersion, () -> { });
+        }
 
-            if (useRag) {
-                QuestionAnswerResponseDto ragAnswer = buildRagAnswer(questionText, docId, retrievalResult);
-                questionAnswerCache.put(docId, questionText, mode, ragAnswer);
-                return ApiResponseDto.ok(ragAnswer, "응답 성공");
+        CompletableFuture<DocumentRetrievalResult> started = retrieval.contextWrite(context).toFuture();
+        return new RetrievalPlan(Mono.fromFuture(started), indexVersion, () -> {
+            if (started.cancel(true)) {
+                log.debug("[ASK][SPECULATIVE] 검색이 필요 없는 질문이라 미리 시작한 검색을 취소했습니다. docId={}", docId);
             }
+        });
+    }
 
-            // 6) RAG 신뢰도 부족 → 모드별 fallback
-            QuestionAnswerResponseDto fallback = buildFallbackAnswer(questionText, mode, docId == null);
-            return ApiResponseDto.ok(fallback, "응답 성공(fallback)");
+    /** 미리 시작했을 수 있는 검색 결과, 검색 시작 시점의 인덱스 버전, 필요 없을 때 이를 버리는 동작을 묶은 값 */
+    private record RetrievalPlan(Mono<DocumentRetrievalResult> result, long indexVersion, Runnable onDiscard) {
+        void discard() {
+            onDiscard.run();
+        }
+    }
 
-        } catch (Exception e) {
-            if (isTimeoutException(e)) {
-                log.warn("[ASK][TIMEOUT] 응답 지연으로 임시 답변을 반환합니다: {}", e.getMessage());
-                QuestionAnswerResponseDto timeoutAnswer =
-                        buildTimeoutFallback(questionText, mode, docId == null);
-                return ApiResponseDto.fail("RAG 응답 지연: " + e.getMessage(), timeoutAnswer);
+    /** 최종 Intent 에 따라 일상 대화/일반 지식/문서 검색 경로로 분기 */
+    private Mono<ApiResponseDto<QuestionAnswerResponseDto>> answerByIntent(
+            String questionText, String docId, BotMode mode, QuestionIntent intent, RetrievalPlan retrieval
+    ) {
+        // 3) SMALL_TALK → 문서 검색 없이 바로 응답
+        if (intent == QuestionIntent.SMALL_TALK && mode != BotMode.STRICT) {
+            retrieval.discard();
+            QuestionAnswerResponseDto smallTalk = buildSmallTalkAnswer(questionText);
+            questionAnswerCache.put(docId, questionText, mode, QuestionIntent.SMALL_TALK, smallTalk);
+            return Mono.just(ApiResponseDto.ok(smallTalk, "응답 성공(일상 대화)"));
+        }
+
+        // 4) GENERAL_KNOWLEDGE → 문서 검색 건너뛰고 바로 일반 지식 답변
+        if (intent == QuestionIntent.GENERAL_KNOWLEDGE && mode != BotMode.STRICT) {
+            retrieval.discard();
+            boolean allowWebSearch = mode == BotMode.HYBRID;
+            return buildGeneralKnowledgeOnlyAnswer(questionText, allowWebSearch)
+                    .map(generalAnswer -> {
+                        questionAnswerCache.put(docId, questionText, mode, QuestionIntent.GENERAL_KNOWLEDGE, generalAnswer);
+                        return ApiResponseDto.ok(generalAnswer, "응답 성공(일반 지식)");
+                    });
+        }
+
+        // 5) 문서 검색 (이미 시작했다면 그 결과를 이어받음)
+        return retrieval.result()
+                .flatMap(retrievalResult -> answerFromRetrieval(questionText, docId, mode, retrievalResult, retrieval.indexVersion()));
+    }
+
+    /** 검색 점수를 보고 RAG 답변 또는 모드별 fallback 을 선택 */
+    private Mono<ApiResponseDto<QuestionAnswerResponseDto>> answerFromRetrieval(
+            String questionText, String docId, BotMode mode, DocumentRetrievalResult retrievalResult, long indexVersion
+    ) {
+        if (shouldUseRag(retrievalResult, mode)) {
+            return buildRagAnswer(questionText, docId, retrievalResult, indexVersion)
+                    .map(ragAnswer -> {
+                        questionAnswerCache.put(docId, questionText, mode, QuestionIntent.DOC_KNOWLEDGE, ragAnswer, indexVersion);
+                        return ApiResponseDto.ok(ragAnswer, "응답 성공");
+                    });
+        }
+
+        // 6) RAG 신뢰도 부족 → 모드별 fallback
+        return buildFallbackAnswer(questionText, mode, docId == null)
+                .map(fallback -> ApiResponseDto.ok(fallback, "응답 성공(fallback)"));
+    }
+
+    /** 검색 점수와 모드를 기준으로 RAG 답변을 생성할 만큼 신뢰할 수 있는지 판단 */
+    private boolean shouldUseRag(DocumentRetrievalResult retrievalResult, BotMode mode) {
+        List<RetrievedDocumentChunk> matches =
+                Optional.ofNullable(retrievalResult.matches()).orElse(List.of());
+
+        Double maxScore = matches.stream()
+                .map(this::extractScore)
+                .filter(Objects::nonNull)
+                .max(Double::compareTo)
+                .orElse(null);
+        boolean hasMatches = !matches.isEmpty();
+
+        return (mode == BotMode.STRICT && hasMatches)
+                || (maxScore != null && maxScore >= DEFAULT_SCORE_THRESHOLD)
+                || (maxScore == null && hasMatches);
+    }
+
+    /** 스트리밍 질의: askAsync 와 같은 분기를 타되 RAG 답변은 토큰 단위로 흘려보냄 */
+    @Override
+    public Flux<QuestionAnswerStreamEventDto> askStream(String uuid, String question, BotMode mode) {
+        String questionText = Optional.ofNullable(question)
+                .map(String::trim)
+                .orElse("");
+
+        if (!StringUtils.hasText(questionText)) {
+            return Flux.just(errorEvent("질의 실패: 질문이 비어 있습니다.", null));
+        }
+
+        final String docId = StringUtils.hasText(uuid) ? uuid : null;
+
+        Flux<QuestionAnswerStreamEventDto> events = Flux.deferContextual(context -> {
+                    Optional<QuestionAnswerResponseDto> cached = questionAnswerCache.get(docId, questionText, mode);
+                    if (cached.isPresent()) {
+                        return toStreamEvents(ApiResponseDto.ok(cached.get(), "응답 성공(캐시)"));
+                    }
+
+                    RetrievalPlan retrieval = planRetrieval(questionText, docId, mode, context);
+                    return classifyIntent(questionText, docId, mode)
+                            .flatMapMany(intent -> streamByIntent(questionText, docId, mode, intent, retrieval))
+                            .doFinally(signal -> retrieval.discard()); // 취소·실패 시 남은 검색 정리 (완료된 검색에는 영향 없음)
+                });
+        return AskDeadline.limit(events)
+                .onErrorResume(e -> handleAskFailure(questionText, docId, mode, e).flatMapMany(this::toStreamEvents))
+                .contextWrite(context -> askDeadlinePolicy.start(mode).putIfAbsent(context));
+    }
+
+    private Flux<QuestionAnswerStreamEventDto> streamByIntent(
+            String questionText, String docId, BotMode mode, QuestionIntent intent, RetrievalPlan retrieval
+    ) {
+        boolean documentPath = mode == BotMode.STRICT
+                || (intent != QuestionIntent.SMALL_TALK && intent != QuestionIntent.GENERAL_KNOWLEDGE);
+        if (!documentPath) {
+            // 일상 대화/일반 지식 답변은 짧으므로 한 번에 생성해 한 조각으로 전송
+            return answerByIntent(questionText, docId, mode, intent, retrieval).flatMapMany(this::toStreamEvents);
+        }
+
+        return retrieval.result()
+                .flatMapMany(retrievalResult -> shouldUseRag(retrievalResult, mode)
+                        ? streamRagAnswer(questionText, docId, mode, retrievalResult, retrieval.indexVersion())
+                        : buildFallbackAnswer(questionText, mode, docId == null)
+                                .map(fallback -> ApiResponseDto.ok(fallback, "응답 성공(fallback)"))
+                                .flatMapMany(this::toStreamEvents));
+    }
+
+    /** GPT 스트림을 그대로 중계하면서 답변을 모아 두었다가, 완료 시 출처 이벤트 전송 + 캐시 저장 */
+    private Flux<QuestionAnswerStreamEventDto> streamRagAnswer(
+            String question, String docId, BotMode mode, DocumentRetrievalResult retrievalResult, long indexVersion
+    ) {
+        Optional<QuestionAnswerResponseDto> reused = reuseChunkSetAnswer(question, docId, retrievalResult, indexVersion);
+        if (reused.isPresent()) {
+            questionAnswerCache.put(docId, question, mode, QuestionIntent.DOC_KNOWLEDGE, reused.get(), indexVersion);
+            return toStreamEvents(ApiResponseDto.ok(reused.get(), "응답 성공(청크 캐시)"));
+        }
+
+        StringBuilder collected = new StringBuilder();
+        Flux<QuestionAnswerStreamEventDto> tokens = gptClient.stream(new GptRequest(question, contextPacker.pack(retrievalResult)))
+                .filter(StringUtils::hasLength)
+                .doOnNext(collected::append)
+                .map(delta -> QuestionAnswerStreamEventDto.builder()
+                        .type(QuestionAnswerStreamEventDto.EventType.TOKEN)
+                        .delta(delta)
+                        .build());
+
+        Flux<QuestionAnswerStreamEventDto> completion = Flux.defer(() -> {
+            String answer = collected.toString();
+            if (!StringUtils.hasText(answer)) {
+                log.warn("[RAG] GPT 스트리밍 응답이 비어 있습니다.");
+                return buildFallbackAnswer(question, BotMode.STRICT, docId == null)
+                        .map(fallback -> ApiResponseDto.ok(fallback, "응답 성공(fallback)"))
+                        .flatMapMany(this::toStreamEvents);
             }
 
-            log.error("문서 질의 실패: {}", e.getMessage(), e);
-            QuestionAnswerResponseDto degraded =
-                    buildFallbackAnswer(questionText, mode, docId == null);
-            return ApiResponseDto.fail("RAG 호출 실패: " + e.getMessage(), degraded);
+            List<QuestionAnswerSourceDto> sources = buildAnswerSources(retrievalResult);
+            QuestionAnswerResponseDto ragAnswer = QuestionAnswerResponseDto.builder()
+                    .answer(answer)
+                    .sources(sources)
+                    .title(buildAnswerTitle(question, sources))
+                    .build();
+            questionAnswerCache.put(docId, question, mode, QuestionIntent.DOC_KNOWLEDGE, ragAnswer, indexVersion); // 스트림이 끝까지 전송된 경우에만 캐시에 저장
+            chunkSetAnswerCache.put(QuestionIntent.DOC_KNOWLEDGE, docId, question, retrievalResult, indexVersion, ragAnswer);
+            return Flux.just(sourcesEvent(ragAnswer), doneEvent(ragAnswer, "응답 성공"));
+        });
+
+        return tokens.concatWith(completion);
+    }
+
+    /** 한 번에 만들어진 응답을 토큰 → 출처 → 완료 이벤트 순서로 변환 */
+    private Flux<QuestionAnswerStreamEventDto> toStreamEvents(ApiResponseDto<QuestionAnswerResponseDto> response) {
+        QuestionAnswerResponseDto answer = response.getData();
+        if (!response.isSuccess() || answer == null) {
+            return Flux.just(errorEvent(response.getMessage(), answer));
+        }
+        QuestionAnswerStreamEventDto token = QuestionAnswerStreamEventDto.builder()
+                .type(QuestionAnswerStreamEventDto.EventType.TOKEN)
+                .delta(answer.getAnswer())
+                .build();
+        return Flux.just(token, sourcesEvent(answer), doneEvent(answer, response.getMessage()));
+    }
+
+    private QuestionAnswerStreamEventDto sourcesEvent(QuestionAnswerResponseDto answer) {
+        return QuestionAnswerStreamEventDto.builder()
+                .type(QuestionAnswerStreamEventDto.EventType.SOURCES)
+                .title(answer.getTitle())
+                .sources(Optional.ofNullable(answer.getSources()).orElse(List.of()))
+                .fromCache(answer.isFromCache())
+                .build();
+    }
+
+    private QuestionAnswerStreamEventDto doneEvent(QuestionAnswerResponseDto answer, String message) {
+        return QuestionAnswerStreamEventDto.builder()
+                .type(QuestionAnswerStreamEventDto.EventType.DONE)
+                .title(answer.getTitle())
+                .answer(answer.getAnswer())
+                .fromCache(answer.isFromCache())
+                .message(message)
+                .build();
+    }
+
+    private QuestionAnswerStreamEventDto errorEvent(String message, QuestionAnswerResponseDto degraded) {
+        return QuestionAnswerStreamEventDto.builder()
+                .type(QuestionAnswerStreamEventDto.EventType.ERROR)
+                .message(message)
+                .title(degraded == null ? null : degraded.getTitle())
+                .answer(degraded == null ? null : degraded.getAnswer())
+                .build();
+    }
+
+    /** 파이프라인 도중 발생한 예외를 타임아웃/일반 실패로 나눠 임시 답변으로 변환 */
+    private Mono<ApiResponseDto<QuestionAnswerResponseDto>> handleAskFailure(
+            String questionText, String docId, BotMode mode, Throwable e
+    ) {
+        if (isDeadlineExceeded(e)) {
+            // 예산을 다 썼으므로 원격 호출 없이 정해진 안내문으로 즉시 응답
+            log.warn("[ASK][DEADLINE] 처리 예산 초과로 임시 답변을 반환합니다: {}", e.getMessage());
+            return Mono.just(ApiResponseDto.fail("응답 시간 초과: " + e.getMessage(), buildDeadlineFallback(questionText)));
         }
+        if (ResilienceGuards.isCallNotPermitted(e)) {
+            // 원격 서비스가 회로 차단 중이거나 포화 상태이므로 다른 원격 호출 없이 정해진 안내문으로 즉시 응답
+            log.warn("[ASK][CIRCUIT_OPEN] 원격 호출이 차단되어 임시 답변을 반환합니다: {}", e.getMessage());
+            return Mono.just(ApiResponseDto.fail("서비스 일시 제한: " + e.getMessage(), buildUnavailableFallback(questionText)));
+        }
+        if (isTimeoutException(e)) {
+            log.warn("[ASK][TIMEOUT] 응답 지연으로 임시 답변을 반환합니다: {}", e.getMessage());
+            return buildTimeoutFallback(questionText, mode, docId == null)
+                    .map(timeoutAnswer -> ApiResponseDto.fail("RAG 응답 지연: " + e.getMessage(), timeoutAnswer));
+        }
+
+        log.error("문서 질의 실패: {}", e.getMessage(), e);
+        return buildFallbackAnswer(questionText, mode, docId == null)
+                .map(degraded -> ApiResponseDto.fail("RAG 호출 실패: " + e.getMessage(), degraded));
     }
 
     @Override
@@ -518,7 +941,10 @@ public class DocumentServiceImpl implements DocumentService {
             return ApiResponseDto.fail("요약 실패: 문서 UUID가 비어 있습니다.");
         }
         String prompt = "선택된 문서의 핵심 내용을 한국어로 5줄 이내로 요약해줘.";
-        return ask(uuid, prompt, BotMode.STRICT);
+        return askAsync(uuid, prompt, BotMode.STRICT)
+                // 요약은 백그라운드 레인으로 처리해 대화형 질의가 몰리면 뒤로 밀림 (거절하지 않고 긴 백그라운드 예산 안에서 기다림)
+                .contextWrite(context -> askDeadlinePolicy.startBackground().putIfAbsent(WorkLane.BACKGROUND.putInto(context)))
+                .block();
     }
 
     @Override
@@ -612,29 +1038,47 @@ public class DocumentServiceImpl implements DocumentService {
         return classified;
     }
 
-    private QuestionAnswerResponseDto buildRagAnswer(String question, String docId, DocumentRetrievalResult retrievalResult) {
-        GptRequest gptRequest = new GptRequest(question, retrievalResult.context());
-        GptResponse gptResponse = gptClient.generate(gptRequest);
-
-        if (gptResponse == null) {
-            log.warn("[RAG] GPT 응답이 null 입니다.");
-            return buildFallbackAnswer(question, BotMode.STRICT, docId == null);
-        }
-
-        String answer = gptResponse.answer();
-        if (!StringUtils.hasText(answer)) {
-            log.warn("[RAG] GPT 응답이 비어 있습니다.");
-            return buildFallbackAnswer(question, BotMode.STRICT, docId == null);
+    private Mono<QuestionAnswerResponseDto> buildRagAnswer(
+            String question, String docId, DocumentRetrievalResult retrievalResult, long indexVersion
+    ) {
+        Optional<QuestionAnswerResponseDto> reused = reuseChunkSetAnswer(question, docId, retrievalResult, indexVersion);
+        if (reused.isPresent()) {
+            return Mono.just(reused.get()); // 같은 청크 묶음 + 비슷한 질문 → 생성 호출 생략
         }
 
-        List<QuestionAnswerSourceDto> sources = buildAnswerSources(retrievalResult);
-        String title = buildAnswerTitle(question, sources);
+        GptRequest gptRequest = new GptRequest(question, contextPacker.pack(retrievalResult)); // 점수순·예산 내로 다시 묶은 컨텍스트
+        return gptClient.generateAsync(gptRequest)
+                .map(GptResponse::answer)
+                .filter(StringUtils::hasText)
+                .map(answer -> {
+                    List<QuestionAnswerSourceDto> sources = buildAnswerSources(retrievalResult);
+                    String title = buildAnswerTitle(question, sources);
+
+                    QuestionAnswerResponseDto ragAnswer = QuestionAnswerResponseDto.builder()
+                            .answer(answer)
+                            .sources(sources)
+                            .title(title)
+                            .build();
+                    chunkSetAnswerCache.put(QuestionIntent.DOC_KNOWLEDGE, docId, question, retrievalResult, indexVersion, ragAnswer);
+                    return ragAnswer;
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    log.warn("[RAG] GPT 응답이 비어 있습니다.");
+                    return buildFallbackAnswer(question, BotMode.STRICT, docId == null);
+                }));
+    }
 
-        return QuestionAnswerResponseDto.builder()
-                .answer(answer)
-                .sources(sources)
-                .title(title)
-                .build();
+    /** 검색된 청크 묶음이 이전 답변과 같고 질문도 충분히 비슷하면 그 답변을 현재 질문 기준 제목으로 재사용 */
+    private Optional<QuestionAnswerResponseDto> reuseChunkSetAnswer(
+            String question, String docId, DocumentRetrievalResult retrievalResult, long indexVersion
+    ) {
+        return chunkSetAnswerCache.get(QuestionIntent.DOC_KNOWLEDGE, docId, question, retrievalResult, indexVersion)
+                .map(answer -> {
+                    log.debug("[RAG] 청크 묶음 캐시 재사용: '{}' ← '{}'", question, answer.getCacheMatchedQuestion());
+                    return answer.toBuilder()
+                            .title(buildAnswerTitle(question, answer.getSources()))
+                            .build();
+                });
     }
 
     private QuestionAnswerResponseDto buildSmallTalkAnswer(String question) {
@@ -645,58 +1089,56 @@ public class DocumentServiceImpl implements DocumentService {
                 .build();
     }
 
-    private QuestionAnswerResponseDto buildGeneralKnowledgeOnlyAnswer(String question, boolean allowWebSearch) {
-        String answer = allowWebSearch ? generateHybridAnswer(question) : generateGeneralKnowledgeAnswer(question);
-        return QuestionAnswerResponseDto.builder()
-                .answer(answer)
+    private Mono<QuestionAnswerResponseDto> buildGeneralKnowledgeOnlyAnswer(String question, boolean allowWebSearch) {
+        Mono<String> answer = allowWebSearch ? generateHybridAnswer(question) : generateGeneralKnowledgeAnswer(question);
+        return answer.map(text -> QuestionAnswerResponseDto.builder()
+                .answer(text)
                 .title("안내")
-                .build();
+                .build());
     }
 
-    private QuestionAnswerResponseDto buildFallbackAnswer(String question, BotMode mode, boolean isGeneral) {
-        String answer = isGeneral
+    private Mono<QuestionAnswerResponseDto> buildFallbackAnswer(String question, BotMode mode, boolean isGeneral) {
+        Mono<String> answer = isGeneral
                 ? generateGeneralKnowledgeAnswer(question)
-                : buildAdaptiveGuidance(question);
+                        .onErrorResume(this::isDeadlineExceeded, e -> Mono.fromSupplier(() -> buildAdaptiveGuidance(question)))
+                : Mono.fromSupplier(() -> buildAdaptiveGuidance(question));
 
         String title = isGeneral ? "안내" : "문서 응답";
 
-        return QuestionAnswerResponseDto.builder()
-                .answer(answer)
+        return answer.map(text -> QuestionAnswerResponseDto.builder()
+                .answer(text)
                 .title(title)
-                .build();
+                .build());
     }
 
-    private QuestionAnswerResponseDto buildTimeoutFallback(String question, BotMode mode, boolean isGeneral) {
-        String answer = isGeneral
+    private Mono<QuestionAnswerResponseDto> buildTimeoutFallback(String question, BotMode mode, boolean isGeneral) {
+        Mono<String> answer = isGeneral
                 ? generateGeneralKnowledgeAnswer(question)
-                : buildAdaptiveGuidance(question);
+                        .onErrorResume(this::isDeadlineExceeded, e -> Mono.fromSupplier(() -> buildAdaptiveGuidance(question)))
+                : Mono.fromSupplier(() -> buildAdaptiveGuidance(question));
+
+        return answer.map(text -> QuestionAnswerResponseDto.builder()
+                .answer(text)
+                .title("응답 지연")
+                .build());
+    }
 
+    private QuestionAnswerResponseDto buildDeadlineFallback(String question) {
         return QuestionAnswerResponseDto.builder()
-                .answer(answer)
+                .answer(buildAdaptiveGuidance(question))
                 .title("응답 지연")
                 .build();
     }
 
+    private QuestionAnswerResponseDto buildUnavailableFallback(String question) {
+        return QuestionAnswerResponseDto.builder()
+                .answer(buildAdaptiveGuidance(question))
+                .title("안내")
+                .build();
+    }
+
     private Double extractScore(RetrievedDocumentChunk chunk) {
-        if (chunk == null) {
-            return null;
-        }
-        Map<String, Object> metadata = chunk.metadata();
-        if (metadata == null) {
-            return null;
-        }
-        Object score = metadata.get("score");
-        if (score instanceof Number number) {
-            return number.doubleValue();
-        }
-        if (score instanceof String text) {
-            try {
-                return Double.parseDouble(text);
-            } catch (NumberFormatException ignored) {
-                return null;
-            }
-        }
-        return null;
+        return chunk == null ? null : chunk.score();
     }
 
     private List<QuestionAnswerSourceDto> buildAnswerSources(DocumentRetrievalResult retrievalResult) {
@@ -713,7 +1155,7 @@ public class DocumentServiceImpl implements DocumentService {
                 .toList();
     }
 
-    private String generateGeneralKnowledgeAnswer(String question) {
+    private Mono<String> generateGeneralKnowledgeAnswer(String question) {
         String context = """
                 - 질문과 관련된 일반적인 사실을 근거로
                   최대한 빠르게 2~4 문장 이내로 답하라.
@@ -741,41 +1183,34 @@ public class DocumentServiceImpl implements DocumentService {
                   라고 말할 수 있다.
                 """;
 
-        try {
-            GptResponse response = gptClient.generate(
-                    new GptRequest(question, context),
-                    GENERAL_KNOWLEDGE_TIMEOUT
-            );
-
-            String answer = (response == null) ? null : response.answer();
-            if (answer == null || answer.isBlank()) {
+        return gptClient.generateAsync(new GptRequest(question, context), GENERAL_KNOWLEDGE_TIMEOUT) // 질의 마감이 더 가까우면 남은 시간만 대기
+                .mapNotNull(GptResponse::answer)
+                .filter(answer -> !answer.isBlank())
                 // 여기서도 "나중에 다시 물어봐" 금지 → 최소한의 안내만
-                return "질문하신 내용에 대해 지금 바로 구체적인 정보를 찾지 못했어요. " +
-                    "조금 더 구체적으로 다시 물어보시면 더 자세히 도와드릴 수 있습니다.";
-            }
-            return answer;
-
-        } catch (Exception e) {
-            log.warn("[GENERAL_KNOWLEDGE][ERROR] 일반 지식 답변 생성 실패: {}", e.getMessage());
-            // 에러가 나도 '지연/다시 시도' 멘트 대신, 그냥 무난한 안내만
-            return "지금은 질문하신 내용에 대해 정확한 답을 찾지 못했어요. " +
-                "조금 더 상세한 조건이나 상황을 알려주시면 다시 한번 도와볼게요.";
-        }
+                .defaultIfEmpty("질문하신 내용에 대해 지금 바로 구체적인 정보를 찾지 못했어요. " +
+                        "조금 더 구체적으로 다시 물어보시면 더 자세히 도와드릴 수 있습니다.")
+                .onErrorResume(e -> !isDeadlineExceeded(e), e -> { // 예산 초과는 상위에서 정해진 임시 답변으로 처리
+                    if (ResilienceGuards.isCallNotPermitted(e)) {
+                        return Mono.fromSupplier(() -> buildAdaptiveGuidance(question)); // 생성 회로가 열려 있으면 호출 없이 안내문으로 대체
+                    }
+                    log.warn("[GENERAL_KNOWLEDGE][ERROR] 일반 지식 답변 생성 실패: {}", e.getMessage());
+                    // 에러가 나도 '지연/다시 시도' 멘트 대신, 그냥 무난한 안내만
+                    return Mono.just("지금은 질문하신 내용에 대해 정확한 답을 찾지 못했어요. " +
+                            "조금 더 상세한 조건이나 상황을 알려주시면 다시 한번 도와볼게요.");
+                });
     }
 
-    private String generateHybridAnswer(String question) {
-        String webSearchAnswer = tryWebSearchAnswer(question);
-        if (StringUtils.hasText(webSearchAnswer)) {
-            return webSearchAnswer;
-        }
-        return generateGeneralKnowledgeAnswer(question);
+    private Mono<String> generateHybridAnswer(String question) {
+        return tryWebSearchAnswer(question)
+                .switchIfEmpty(Mono.defer(() -> generateGeneralKnowledgeAnswer(question)));
     }
 
-    private String tryWebSearchAnswer(String question) {
+    /** Gemini 웹검색 답변을 시도하고, 사용할 수 없거나 실패하면 빈 Mono 를 반환 */
+    private Mono<String> tryWebSearchAnswer(String question) {
         OneAskProperties.Gemini gemini = props.getGemini();
         if (gemini == null || !StringUtils.hasText(gemini.getApiKey())) {
             log.warn("[WEB_SEARCH] Gemini API 키가 설정되지 않아 웹검색을 건너뜁니다.");
-            return null;
+            return Mono.empty();
         }
 
         String model = StringUtils.hasText(gemini.getModel()) ? gemini.getModel() : "gemini-2.0-flash";
@@ -790,25 +1225,24 @@ public class DocumentServiceImpl implements DocumentService {
         payload.put("tools", List.of(Map.of("google_search", Map.of())));
         payload.put("generationConfig", Map.of("temperature", 0.2));
 
-        try {
-            GeminiPayload response = geminiWebClient.post()
-                    .uri(url)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(payload)
-                    .retrieve()
-                    .bodyToMono(GeminiPayload.class)
-                    .block(Duration.ofSeconds(60));
-
-            String answer = extractWebSearchAnswer(response);
-            if (StringUtils.hasText(answer)) {
-                return answer;
-            }
-            log.warn("[WEB_SEARCH] 응답이 비어 있어 일반 지식 모드로 대체합니다.");
-        } catch (Exception e) {
-            log.warn("[WEB_SEARCH] 호출 실패: {}", e.toString(), e);
-        }
-
-        return null;
+        Mono<GeminiPayload> call = geminiWebClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(payload)
+                .retrieve()
+                .bodyToMono(GeminiPayload.class);
+
+        return resilienceGuards.gemini().protect(AskDeadline.limit(call, WEB_SEARCH_TIMEOUT)) // 질의 마감이 더 가까우면 남은 시간만 대기
+                .mapNotNull(this::extractWebSearchAnswer)
+                .switchIfEmpty(Mono.fromRunnable(() -> log.warn("[WEB_SEARCH] 응답이 비어 있어 일반 지식 모드로 대체합니다.")))
+                .onErrorResume(e -> !isDeadlineExceeded(e), e -> {
+                    if (ResilienceGuards.isCallNotPermitted(e)) {
+                        log.debug("[WEB_SEARCH] 웹검색 회로가 열려 있어 일반 지식 모드로 대체합니다: {}", e.getMessage());
+                        return Mono.empty();
+                    }
+                    log.warn("[WEB_SEARCH] 호출 실패: {}", e.toString(), e);
+                    return Mono.empty();
+                });
     }
 
     private String extractWebSearchAnswer(GeminiPayload response) {
@@ -890,6 +1324,18 @@ public class DocumentServiceImpl implements DocumentService {
         return builder.toString();
     }
 
+    /** 예외 체인에 요청 처리 마감(AskDeadline) 초과가 있는지 확인 */
+    private boolean isDeadlineExceeded(Throwable e) {
+        Throwable cursor = e;
+        while (cursor != null) {
+            if (cursor instanceof AskDeadlineExceededException) {
+                return true;
+            }
+            cursor = cursor.getCause();
+        }
+        return false;
+    }
+
     /** 예외 체인에서 타임아웃 계열 여부 확인 */
     private boolean isTimeoutException(Throwable e) {
         Throwable cursor = e;
@@ -959,15 +1405,43 @@ public class DocumentServiceImpl implements DocumentService {
             return ApiResponseDto.fail("재인덱싱 실패: 저장된 파일을 찾을 수 없습니다.");
         }
 
-        return requestIndexing(
-                document,
-                filePath,
-                document.getFileName(),
-                null,
-                ragBase,
-                "문서 재인덱싱 요청 완료: " + document.getFileName(),
-                "문서 재인덱싱 요청 실패: " + document.getFileName()
-        );
+        document.setIndexingStatus(DocumentIndexingStatus.PENDING); // 진행 중인 인덱싱이 있으면 그 결과는 버리고 다시 처리
+        document.setIndexingError(null);
+        document.setIndexingAttempts(0); // 수동 재시도는 자동 재시도 기록을 새로 시작
+        document.setIndexingNextRetryAt(null);
+        documentRepository.save(document);
+        documentIndexingQueue.wakeUp();
+        return buildPreviewResponse(document, null, "문서 재인덱싱 요청 접수: " + document.getFileName());
+    }
+
+    /** 조건에 맞는 문서 일괄 재인덱싱 시작 */
+    @Override
+    public ApiResponseDto<BulkReindexProgressDto> startBulkReindex(
+            DocumentIndexingStatus status,
+            String uploadedBy,
+            LocalDate uploadedFrom,
+            LocalDate uploadedTo
+    ) {
+        if (!ragBackends.isConfigured()) {
+            return ApiResponseDto.fail("일괄 재인덱싱 실패: RAG 백엔드 URL이 설정되어 있지 않습니다.");
+        }
+        LocalDateTime from = uploadedFrom == null ? null : uploadedFrom.atStartOfDay();
+        LocalDateTime to = uploadedTo == null ? null : uploadedTo.atTime(LocalTime.MAX);
+        String uploader = StringUtils.hasText(uploadedBy) ? uploadedBy.trim() : null;
+        try {
+            BulkReindexProgressDto progress = bulkReindexJobs.start(status, uploader, from, to);
+            return ApiResponseDto.ok(progress, "일괄 재인덱싱 요청 접수: " + progress.getTotal() + "건");
+        } catch (IllegalStateException ex) {
+            return ApiResponseDto.fail("일괄 재인덱싱 실패: " + ex.getMessage());
+        }
+    }
+
+    /** 일괄 재인덱싱 진행 상황 */
+    @Override
+    public ApiResponseDto<BulkReindexProgressDto> getBulkReindexProgress(String jobId) {
+        return bulkReindexJobs.progress(jobId)
+                .map(ApiResponseDto::ok)
+                .orElseGet(() -> ApiResponseDto.fail("일괄 재인덱싱 작업을 찾을 수 없습니다: " + jobId));
     }
 
     /** 문서 삭제: 스토리지/DB/RAG 인덱스에서 모두 정리 */
@@ -987,34 +1461,21 @@ public class DocumentServiceImpl implements DocumentService {
         result.put("uuid", uuid);
         result.put("fileName", document.getFileName());
 
-        // 1) 스토리지 파일 삭제
-        try {
-            Path filePath = Paths.get(document.getFilePath());
-            boolean deleted = Files.deleteIfExists(filePath);
-            result.put("storageFilePath", filePath.toString());
-            result.put("storageFileDeleted", deleted);
-        } catch (IOException e) {
-            log.warn("[DELETE] 스토리지 파일 삭제 실패 uuid={} err={}", uuid, e.toString(), e);
-            result.put("storageFileDeleted", false);
-            result.put("storageDeleteError", e.getMessage());
-        }
-
-        // 2) RAG 백엔드 삭제 요청
+        // 1) RAG 백엔드 삭제 요청
         String ragBase = Optional.ofNullable(props.getRag()).map(OneAskProperties.Rag::getBackendUrl).orElse("");
         if (!ragBase.isBlank()) {
-            String url = ragBase + "/documents/delete";
             Map<String, Object> req = new HashMap<>();
             req.put("docId", uuid);
             req.put("source", document.getFileName());
             try {
-                Map<?, ?> ragResponse = ragWebClient.post()
-                        .uri(url)
+                Map<?, ?> ragResponse = ragBackends.call(base -> ragBackgroundWebClient.post()
+                        .uri(base + "/documents/delete")
                         .contentType(MediaType.APPLICATION_JSON)
                         .bodyValue(req)
                         .retrieve()
-                        .bodyToMono(Map.class)
+                        .bodyToMono(Map.class), RAG_DELETE_TIMEOUT)
                         .doOnNext(body -> log.info("[RAG] delete response: {}", body))
-                        .block(Duration.ofSeconds(120));
+                        .block();
                 result.put("ragResponse", ragResponse);
             } catch (Exception ex) {
                 log.warn("[RAG] 문서 삭제 요청 실패 uuid={} err={}", uuid, ex.toString(), ex);
@@ -1024,67 +1485,20 @@ public class DocumentServiceImpl implements DocumentService {
             result.put("ragSkipped", true);
         }
 
-        // 3) DB 레코드 삭제
-        documentRepository.delete(document);
-        questionAnswerCache.invalidate(uuid); // 삭제된 문서 관련 캐시를 제거해 재사용을 방지합니다.
-        questionAnswerCache.invalidate(null); // 전체 질의 캐시도 함께 비워 최신 상태를 반영합니다.        
-
-        return ApiResponseDto.ok(result, "문서 삭제 완료");
-    }
-
-    /**
-     * 저장된 파일을 RAG 백엔드로 전송하면서 인덱싱 상태를 갱신
-     */
-    private ApiResponseDto<Map<String, Object>> requestIndexing(
-            Document document,
-            Path filePath,
-            String originalFileName,
-            String preview,
-            String ragBaseUrl,
-            String successMessage,
-            String failureMessage
-    ) {
-        document.setIndexingStatus(DocumentIndexingStatus.PROCESSING);
-        document.setIndexingError(null);
-        documentRepository.save(document);
-
-        String url = ragBaseUrl + "/upload";
+        // 2) DB 레코드 삭제 후 스토리지 파일 삭제 (같은 내용의 다른 문서가 쓰는 파일이면 남겨 둠)
+        Path filePath = Paths.get(document.getFilePath());
+        result.put("storageFilePath", filePath.toString());
         try {
-            MultipartBodyBuilder builder = new MultipartBodyBuilder();
-            builder.part("file", new FileSystemResource(filePath.toFile()))
-                    .filename(originalFileName)
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM);
-            builder.part("docId", document.getUuid())
-                    .contentType(MediaType.TEXT_PLAIN);
-
-            ragWebClient.post()
-                    .uri(url)
-                    .contentType(MediaType.MULTIPART_FORM_DATA)
-                    .bodyValue(builder.build())
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .doOnNext(body -> log.info("[RAG] indexing response uuid={} body={}", document.getUuid(), body))
-                    .block(Duration.ofSeconds(120));
-
-            document.setIndexingStatus(DocumentIndexingStatus.SUCCEEDED);
-            document.setIndexingError(null);
-            documentRepository.save(document);
-            return buildPreviewResponse(document, preview, successMessage);
-        } catch (WebClientResponseException ex) {
-            String ragErrorBody = ex.getResponseBodyAsString();
-            log.warn("[RAG] indexing failed uuid={} status={} body={} err={}",
-                    document.getUuid(), ex.getStatusCode(), ragErrorBody, ex.toString(), ex);
-            document.setIndexingStatus(DocumentIndexingStatus.FAILED);
-            document.setIndexingError(truncateErrorMessage(ex.getMessage() + " | body=" + ragErrorBody));
-            documentRepository.save(document);
-            return buildPreviewResponse(document, preview, failureMessage);            
-        } catch (Exception ex) {
-            log.warn("[RAG] indexing failed uuid={} err={}", document.getUuid(), ex.toString(), ex);
-            document.setIndexingStatus(DocumentIndexingStatus.FAILED);
-            document.setIndexingError(truncateErrorMessage(ex.getMessage()));
-            documentRepository.save(document);
-            return buildPreviewResponse(document, preview, failureMessage);
+            boolean deleted = documentBlobStore.release(document, () -> documentRepository.delete(document));
+            result.put("storageFileDeleted", deleted);
+        } catch (IOException e) {
+            log.warn("[DELETE] 스토리지 파일 삭제 실패 uuid={} err={}", uuid, e.toString(), e);
+            result.put("storageFileDeleted", false);
+            result.put("storageDeleteError", e.getMessage());
         }
+        markIndexChanged(uuid); // 삭제된 문서 범위와 전체 범위 답변만 무효화합니다.
+
+        return ApiResponseDto.ok(result, "문서 삭제 완료");
     }
 
     /** 인덱싱 오류 메시지 길이 제한 */
@@ -1095,43 +1509,6 @@ public class DocumentServiceImpl implements DocumentService {
         return errorMessage.length() > 1000 ? errorMessage.substring(0, 1000) : errorMessage;
     }
 
-    /** 프리뷰용 텍스트 추출 (PDF / PPTX / DOCX) */
-    private String extractText(org.springframework.web.multipart.MultipartFile file) {
-        String name = file.getOriginalFilename();
-        if (name == null) return "";
-        try {
-            String lower = name.toLowerCase(Locale.ROOT);
-            if (lower.endsWith(".pdf")) {
-                try (PDDocument pdf = PDDocument.load(file.getInputStream())) {
-                    return new PDFTextStripper().getText(pdf);
-                }
-            } else if (lower.endsWith(".pptx")) {
-                try (XMLSlideShow prs = new XMLSlideShow(file.getInputStream())) {
-                    StringBuilder sb = new StringBuilder();
-                    prs.getSlides().forEach(slide -> {
-                        for (XSLFShape shape : slide.getShapes()) {
-                            if (shape instanceof XSLFTextShape textShape) {
-                                sb.append(textShape.getText()).append("\n");
-                            }
-                        }
-                    });
-                    return sb.toString();
-                }
-            } else if (lower.endsWith(".docx")) {
-                try (XWPFDocument doc = new XWPFDocument(file.getInputStream())) {
-                    StringBuilder sb = new StringBuilder();
-                    for (XWPFParagraph p : doc.getParagraphs()) {
-                        sb.append(p.getText()).append("\n");
-                    }
-                    return sb.toString();
-                }
-            }
-        } catch (Exception e) {
-            log.warn("텍스트 추출 실패: {}", e.getMessage());
-        }
-        return "";
-    }
-
     /** 업로드/재인덱싱 응답 payload */
     private ApiResponseDto<Map<String, Object>> buildPreviewResponse(
             Document document, String preview, String message
@@ -0,0 +1,206 @@
+package com.buhmwoo.oneask.modules.document.application.indexing;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import com.buhmwoo.oneask.modules.document.api.dto.BulkReindexProgressDto;
+import com.buhmwoo.oneask.modules.document.domain.DocumentIndexingStatus;
+import com.buhmwoo.oneask.modules.document.infrastructure.repository.maria.DocumentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 조건(상태·업로더·업로드일)에 맞는 문서를 조금씩 인덱싱 대기열에 올리는 일괄 재인덱싱 작업을 관리합니다.
+ * <p>
+ * 대상을 한꺼번에 PENDING 으로 바꾸면 새로 올라온 문서가 그 뒤에 밀리므로, 대기열(PENDING)이 일정 길이보다 짧을 때만
+ * 다음 묶음을 올립니다. 동시에 하나의 작업만 진행하며, 작업 목록은 메모리에만 있으므로
+ * 재시작하면 아직 올리지 못한 나머지는 다시 요청해야 합니다(이미 올린 문서는 DB 대기열에 남습니다).
+ * <p>
+ * 작업 상태는 인스턴스마다 따로 있고 인스턴스끼리 맞추지 않습니다. 여러 인스턴스로 띄우면 "하나의 작업만" 제한은
+ * 인스턴스 단위로만 지켜지고, 진행 상황은 작업을 시작한 인스턴스에서만 조회됩니다. 같은 문서를 두 작업이 올리더라도
+ * {@link DocumentRepository#enqueueForReindex} 가 대기 중·처리 중인 문서를 건너뛰므로 중복 인덱싱은 생기지 않습니다.
+ */
+@Component
+public class BulkReindexJobs {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkReindexJobs.class);
+    private static final int MAX_KEPT_JOBS = 20;
+
+    private final DocumentRepository documentRepository;
+    private final DocumentIndexingQueue indexingQueue;
+    private final OneAskProperties.Indexing settings;
+    private final Counter enqueuedCounter;
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    public BulkReindexJobs(DocumentRepository documentRepository,
+                           DocumentIndexingQueue indexingQueue,
+                           OneAskProperties props,
+                           MeterRegistry meterRegistry) {
+        this.documentRepository = documentRepository;
+        this.indexingQueue = indexingQueue;
+        this.settings = props.getIndexing();
+        this.enqueuedCounter = Counter.builder("oneask.indexing.bulk.enqueued")
+                .description("일괄 재인덱싱으로 대기열에 올린 문서 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 조건에 맞는 문서로 새 작업을 만들고 첫 묶음을 바로 올립니다.
+     *
+     * @throws IllegalStateException 아직 올리는 중인 작업이 있는 경우
+     */
+    public BulkReindexProgressDto start(DocumentIndexingStatus status, String uploadedBy,
+                                        LocalDateTime uploadedFrom, LocalDateTime uploadedTo) {
+        Job job;
+        synchronized (this) {
+            Optional<Job> running = runningJob();
+            if (running.isPresent()) {
+                throw new IllegalStateException("이미 진행 중인 일괄 재인덱싱이 있습니다: " + running.get().id);
+            }
+            int max = Math.max(1, settings.getBulkMaxDocuments());
+            List<Long> ids = documentRepository.findIdsForReindex(status, uploadedBy, uploadedFrom, uploadedTo,
+                    PageRequest.of(0, max + 1)); // ✅ 한 건 더 읽어 잘렸는지 확인합니다.
+            boolean truncated = ids.size() > max;
+            job = new Job(UUID.randomUUID().toString(), status, uploadedBy, uploadedFrom, uploadedTo,
+                    truncated ? List.copyOf(ids.subList(0, max)) : List.copyOf(ids), truncated);
+            jobs.put(job.id, job);
+            trimFinishedJobs();
+        }
+        log.info("[INDEX] 일괄 재인덱싱 시작 jobId={} total={} truncated={} status={} uploadedBy={} from={} to={}",
+                job.id, job.ids.size(), job.truncated, status, uploadedBy, uploadedFrom, uploadedTo);
+        feed();
+        return progress(job);
+    }
+
+    public Optional<BulkReindexProgressDto> progress(String jobId) {
+        Job job;
+        synchronized (this) {
+            job = jobs.get(jobId);
+        }
+        return Optional.ofNullable(job).map(this::progress);
+    }
+
+    /**
+     * 대기열이 짧아졌으면 진행 중인 작업의 다음 묶음을 올립니다.
+     */
+    @Scheduled(fixedDelayString = "${oneask.indexing.poll-interval:5s}")
+    public synchronized void feed() {
+        Optional<Job> running = runningJob();
+        if (running.isEmpty()) {
+            return;
+        }
+        Job job = running.get();
+        long pending = documentRepository.countByIndexingStatus(DocumentIndexingStatus.PENDING);
+        int batchSize = Math.max(indexingQueue.workers(), settings.getBulkBatchSize());
+        long room = batchSize - pending;
+        if (room <= 0) {
+            return;
+        }
+        int end = (int) Math.min(job.ids.size(), job.submitted + room);
+        List<Long> batch = job.ids.subList(job.submitted, end);
+        int enqueued = documentRepository.enqueueForReindex(batch,
+                DocumentIndexingStatus.PENDING, DocumentIndexingStatus.PROCESSING);
+        job.submitted = end;
+        job.enqueued += enqueued;
+        job.skipped += batch.size() - enqueued;
+        enqueuedCounter.increment(enqueued);
+        if (job.submitted == job.ids.size()) {
+            log.info("[INDEX] 일괄 재인덱싱 대상을 모두 대기열에 올렸습니다 jobId={} enqueued={} skipped={}",
+                    job.id, job.enqueued, job.skipped);
+        }
+        if (enqueued > 0) {
+            indexingQueue.wakeUp();
+        }
+    }
+
+    private BulkReindexProgressDto progress(Job job) {
+        Map<DocumentIndexingStatus, Long> counts = new EnumMap<>(DocumentIndexingStatus.class);
+        if (!job.ids.isEmpty()) {
+            for (Object[] row : documentRepository.countByIdsGroupedByIndexingStatus(job.ids)) {
+                counts.put((DocumentIndexingStatus) row[0], ((Number) row[1]).longValue());
+            }
+        }
+        int submitted;
+        int enqueued;
+        int skipped;
+        synchronized (this) {
+            submitted = job.submitted;
+            enqueued = job.enqueued;
+            skipped = job.skipped;
+        }
+        boolean inFlight = counts.getOrDefault(DocumentIndexingStatus.PENDING, 0L) > 0
+                || counts.getOrDefault(DocumentIndexingStatus.PROCESSING, 0L) > 0;
+        return BulkReindexProgressDto.builder()
+                .jobId(job.id)
+                .statusFilter(job.status)
+                .uploadedBy(job.uploadedBy)
+                .uploadedFrom(job.uploadedFrom)
+                .uploadedTo(job.uploadedTo)
+                .startedAt(job.startedAt)
+                .total(job.ids.size())
+                .truncated(job.truncated)
+                .submitted(submitted)
+                .enqueued(enqueued)
+                .skipped(skipped)
+                .statusCounts(counts)
+                .completed(submitted == job.ids.size() && !inFlight)
+                .build();
+    }
+
+    private Optional<Job> runningJob() {
+        return jobs.values().stream().filter(job -> job.submitted < job.ids.size()).findFirst();
+    }
+
+    /**
+     * 다 올린 작업은 최근 것만 남깁니다. // ✅ 진행 상황 조회용 기록이 계속 쌓이지 않게 합니다.
+     */
+    private void trimFinishedJobs() {
+        Iterator<Job> iterator = jobs.values().iterator();
+        while (jobs.size() > MAX_KEPT_JOBS && iterator.hasNext()) {
+            Job job = iterator.next();
+            if (job.submitted >= job.ids.size()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * 일괄 재인덱싱 작업 한 건입니다. // ✅ 진행 카운터는 BulkReindexJobs 락 안에서만 바꿉니다.
+     */
+    private static final class Job {
+        private final String id;
+        private final DocumentIndexingStatus status;
+        private final String uploadedBy;
+        private final LocalDateTime uploadedFrom;
+        private final LocalDateTime uploadedTo;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final List<Long> ids;
+        private final boolean truncated;
+        private int submitted;
+        private int enqueued;
+        private int skipped;
+
+        Job(String id, DocumentIndexingStatus status, String uploadedBy, LocalDateTime uploadedFrom,
+            LocalDateTime uploadedTo, List<Long> ids, boolean truncated) {
+            this.id = id;
+            this.status = status;
+            this.uploadedBy = uploadedBy;
+            this.uploadedFrom = uploadedFrom;
+            this.uploadedTo = uploadedTo;
+            this.ids = ids;
+            this.truncated = truncated;
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package com.buhmwoo.oneask.modules.document.application.indexing;
+
+import com.buhmwoo.oneask.common.config.InstanceIds;
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import com.buhmwoo.oneask.modules.document.application.question.BackgroundWorkGate;
+import com.buhmwoo.oneask.modules.document.application.question.DocumentIndexVersions;
+import com.buhmwoo.oneask.modules.document.application.question.QuestionAnswerCache;
+import com.buhmwoo.oneask.modules.document.domain.Document;
+import com.buhmwoo.oneask.modules.document.domain.DocumentIndexingStatus;
+import com.buhmwoo.oneask.modules.document.infrastructure.client.RagBackendPool;
+import com.buhmwoo.oneask.modules.document.infrastructure.repository.maria.DocumentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DB 의 PENDING 문서를 대기열로 삼아 정해진 수의 작업 스레드로 RAG 백엔드에 인덱싱을 요청합니다.
+ * <p>
+ * 업로드는 파일 저장과 DB 등록까지만 하고 바로 응답하며, 이 대기열이 PENDING → PROCESSING → SUCCEEDED/FAILED 로 상태를 옮깁니다.
+ * 작업은 조건부 UPDATE 로 가져가므로 같은 문서를 두 번 처리하지 않고, 대기 상태가 DB 에 남아 있어 재시작해도 잃어버리지 않습니다.
+ * 가져갈 때마다 새 토큰을 남기고 결과는 같은 토큰일 때만 기록하므로, 그사이 다시 가져간 작업의 결과를 덮어쓰지 않습니다.
+ * 기동하면 이 인스턴스 ID 로 가져갔다가 PROCESSING 으로 남은 문서만 다시 PENDING 으로 돌립니다.
+ * 다른 인스턴스가 처리 중인 문서는 건드리지 않으며, 그 인스턴스가 사라진 경우는 처리 시간 상한이 지나면 실패로 기록해 재시도합니다.
+ * RAG 업로드 중에 문서가 삭제·교체되면 삭제 요청이 업로드보다 먼저 처리될 수 있으므로, 업로드를 마친 뒤 문서가 없어졌으면
+ * 방금 올린 청크를 다시 지웁니다.
+ * <p>
+ * 연결 실패·타임아웃·5xx 처럼 일시적인 오류로 실패하거나 처리 시간 상한을 넘긴 문서는 FAILED 로 두되,
+ * 실패 횟수에 따라 두 배씩 늘어나는 대기 시간(지터 포함) 뒤에 자동으로 다시 PENDING 으로 올립니다.
+ * 최대 횟수를 넘기거나 4xx·파일 없음처럼 다시 해도 같은 결과인 실패는 자동 재시도하지 않습니다.
+ */
+@Component
+public class DocumentIndexingQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentIndexingQueue.class);
+    private static final Duration INDEXING_TIMEOUT = Duration.ofSeconds(120);
+    private static final Duration RAG_DELETE_TIMEOUT = Duration.ofSeconds(120);
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final int STALLED_BATCH_SIZE = 100;
+
+    private final DocumentRepository documentRepository;
+    private final WebClient ragBackgroundWebClient;
+    private final RagBackendPool ragBackends;
+    private final BackgroundWorkGate backgroundWorkGate;
+    private final DocumentIndexVersions indexVersions;
+    private final QuestionAnswerCache questionAnswerCache;
+    private final OneAskProperties.Indexing settings;
+    private final int workers;
+    private final ExecutorService executor;
+    private final AtomicInteger active = new AtomicInteger();
+    private final String instanceId;
+    private final Counter succeededCounter;
+    private final Counter failedCounter;
+    private final Counter requeuedCounter;
+    private final Counter retryScheduledCounter;
+    private final Counter retryStartedCounter;
+    private final Counter orphanDeletedCounter;
+    private volatile boolean stopping;
+    private boolean recovered; // ✅ drain 락 안에서만 읽고 씁니다.
+
+    public DocumentIndexingQueue(DocumentRepository documentRepository,
+                                 @Qualifier("ragBackgroundWebClient") WebClient ragBackgroundWebClient,
+                                 RagBackendPool ragBackends,
+                                 BackgroundWorkGate backgroundWorkGate,
+                                 DocumentIndexVersions indexVersions,
+                                 QuestionAnswerCache questionAnswerCache,
+                                 OneAskProperties props,
+                                 MeterRegistry meterRegistry) {
+        this.documentRepository = documentRepository;
+        this.ragBackgroundWebClient = ragBackgroundWebClient;
+        this.ragBackends = ragBackends;
+        this.backgroundWorkGate = backgroundWorkGate;
+        this.indexVersions = indexVersions;
+        this.questionAnswerCache = questionAnswerCache;
+        this.settings = props.getIndexing();
+        this.workers = Math.max(1, settings.getWorkers());
+        this.instanceId = InstanceIds.resolve(settings.getInstanceId()); // ✅ 호스트 이름도 얻지 못하면 임의 값이라 재시작 전 작업은 처리 시간 상한으로만 복구됩니다.
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("doc-indexing-");
+        threadFactory.setDaemon(true); // ✅ 종료를 막지 않습니다. 끝나지 않은 문서는 다음 기동 때 다시 대기열로 돌아갑니다.
+        this.executor = Executors.newFixedThreadPool(workers, threadFactory);
+        this.succeededCounter = completedCounter(meterRegistry, "succeeded");
+        this.failedCounter = completedCounter(meterRegistry, "failed");
+        this.requeuedCounter = Counter.builder("oneask.indexing.requeued")
+                .description("중단된 것으로 보고 다시 PENDING 으로 돌린 문서 수")
+                .register(meterRegistry);
+        this.retryScheduledCounter = Counter.builder("oneask.indexing.retry.scheduled")
+                .description("자동 재시도 일정을 잡은 실패 수")
+                .register(meterRegistry);
+        this.retryStartedCounter = Counter.builder("oneask.indexing.retry.started")
+                .description("재시도 시각이 되어 다시 대기열에 올린 문서 수")
+                .register(meterRegistry);
+        this.orphanDeletedCounter = Counter.builder("oneask.indexing.orphan.deleted")
+                .description("업로드 중 문서가 삭제되어 RAG 에서 다시 지운 인덱스 수")
+                .register(meterRegistry);
+        Gauge.builder("oneask.indexing.active", active, AtomicInteger::get)
+                .description("인덱싱 중인 문서 수")
+                .register(meterRegistry);
+        backgroundWorkGate.onResume(this::wakeUp); // 백그라운드 자리가 나거나 대화형 부하가 가라앉으면 다음 주기를 기다리지 않고 이어서 처리
+    }
+
+    /**
+     * 기동 직후 밀린 대기열을 처리하기 시작합니다. // ✅ 이전 프로세스가 처리하다 만 문서는 첫 drain 에서 되돌립니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        wakeUp();
+    }
+
+    /**
+     * 주기적으로 멈춘 작업을 실패로 기록하고 빈 작업 스레드만큼 PENDING 문서를 가져갑니다.
+     */
+    @Scheduled(fixedDelayString = "${oneask.indexing.poll-interval:5s}")
+    public void poll() {
+        failStalled();
+        drain();
+    }
+
+    /**
+     * 재시도 시각이 된 FAILED 문서를 다시 대기열에 올립니다.
+     */
+    @Scheduled(fixedDelayString = "${oneask.indexing.retry-check-interval:30s}")
+    public void retryDue() {
+        int requeued = documentRepository.requeueDueRetries(LocalDateTime.now(),
+                DocumentIndexingStatus.FAILED, DocumentIndexingStatus.PENDING);
+        if (requeued > 0) {
+            retryStartedCounter.increment(requeued);
+            log.info("[INDEX] 실패한 인덱싱 {}건을 자동으로 다시 시도합니다.", requeued);
+            wakeUp();
+        }
+    }
+
+    /**
+     * 동시에 인덱싱하는 최대 문서 수입니다. // ✅ 일괄 재인덱싱이 대기열을 얼마나 채울지 정하는 기준입니다.
+     */
+    public int workers() {
+        return workers;
+    }
+
+    /**
+     * 새 PENDING 문서가 생겼을 때 다음 주기를 기다리지 않고 바로 가져가게 합니다. // ✅ 호출자(업로드 요청)에 오류를 넘기지 않습니다.
+     */
+    public void wakeUp() {
+        try {
+            drain();
+        } catch (Exception e) {
+            log.warn("[INDEX] 대기열 처리 시작 실패 err={}", e.toString(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        stopping = true;
+        executor.shutdownNow();
+    }
+
+    private synchronized void drain() {
+        if (stopping) {
+            return;
+        }
+        if (!recovered) {
+            requeueOwnClaims(); // ✅ 이 프로세스가 아무것도 가져가기 전이므로 이 인스턴스 ID 의 PROCESSING 은 모두 이전 프로세스가 남긴 것입니다.
+            recovered = true;
+        }
+        int free = workers - active.get();
+        if (free <= 0 || !ragBackends.isConfigured()) {
+            return;
+        }
+        List<Document> candidates = documentRepository.findByIndexingStatusOrderByIdAsc(
+                DocumentIndexingStatus.PENDING, PageRequest.of(0, free));
+        for (Document document : candidates) {
+            if (!backgroundWorkGate.tryEnter("index " + document.getUuid())) {
+                return; // 자리가 없거나 대화형 부하가 높으면 PENDING 으로 두고 재개 알림이나 다음 주기에 다시 가져감
+            }
+            String claim = UUID.randomUUID().toString();
+            if (documentRepository.claimForIndexing(document.getId(), claim, instanceId, LocalDateTime.now(),
+                    DocumentIndexingStatus.PENDING, DocumentIndexingStatus.PROCESSING) == 0) {
+                backgroundWorkGate.leave();
+                continue; // 그사이 삭제되었거나 다른 작업이 먼저 가져감
+            }
+            active.incrementAndGet();
+            try {
+                executor.execute(() -> {
+                    try {
+                        index(document, claim);
+                    } finally {
+                        active.decrementAndGet();
+                        backgroundWorkGate.leave();
+                        wakeUp(); // 자리가 났으니 남은 대기 문서를 이어서 가져감
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                // 종료 중이라 작업 스레드가 받지 않으면 가져간 문서를 그대로 PROCESSING 에 두지 않고 대기열로 되돌림
+                active.decrementAndGet();
+                backgroundWorkGate.leave();
+                documentRepository.releaseClaim(document.getId(), claim,
+                        DocumentIndexingStatus.PROCESSING, DocumentIndexingStatus.PENDING);
+                log.warn("[INDEX] 작업 스레드가 받지 않아 문서를 다시 대기열로 돌렸습니다 uuid={} err={}", document.getUuid(), ex.toString());
+                return;
+            }
+        }
+    }
+
+    private void index(Document document, String claim) {
+        String uuid = document.getUuid();
+        Path filePath;
+        try {
+            filePath = Paths.get(document.getFilePath());
+        } catch (InvalidPathException ex) {
+            fail(document, claim, ex.getMessage(), false);
+            return;
+        }
+        if (!Files.exists(filePath)) {
+            fail(document, claim, "저장된 파일을 찾을 수 없어 인덱싱에 실패했습니다.", false);
+            return;
+        }
+
+        try {
+            MultipartBodyBuilder builder = new MultipartBodyBuilder();
+            builder.part("file", new FileSystemResource(filePath.toFile()))
+                    .filename(document.getFileName())
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM);
+            builder.part("docId", uuid)
+                    .contentType(MediaType.TEXT_PLAIN);
+
+            ragBackends.call(base -> ragBackgroundWebClient.post()
+                    .uri(base + "/upload")
+                    .contentType(MediaType.MULTIPART_FORM_DATA)
+                    .bodyValue(builder.build())
+                    .retrieve()
+                    .bodyToMono(String.class), INDEXING_TIMEOUT)
+                    .doOnNext(body -> log.info("[RAG] indexing response uuid={} body={}", uuid, body))
+                    .block();
+
+            if (finish(document, claim, DocumentIndexingStatus.SUCCEEDED, null, 0, null)) {
+                indexVersions.markChanged(uuid); // 인덱스 내용이 실제로 바뀐 시점에 다시 한 번 무효화합니다.
+                questionAnswerCache.invalidate(uuid);
+            } else {
+                deleteIfOrphaned(document);
+            }
+        } catch (WebClientResponseException ex) {
+            String ragErrorBody = ex.getResponseBodyAsString();
+            log.warn("[RAG] indexing failed uuid={} status={} body={} err={}",
+                    uuid, ex.getStatusCode(), ragErrorBody, ex.toString(), ex);
+            fail(document, claim, ex.getMessage() + " | body=" + ragErrorBody, isTransient(ex));
+        } catch (Exception ex) {
+            if (stopping) {
+                finish(document, claim, DocumentIndexingStatus.PENDING, null, // 종료 중 끊긴 작업은 실패가 아니라 다음 기동 때 다시 처리
+                        document.getIndexingAttempts(), null);
+                return;
+            }
+            log.warn("[RAG] indexing failed uuid={} err={}", uuid, ex.toString(), ex);
+            fail(document, claim, ex.getMessage(), isTransient(ex));
+        }
+    }
+
+    /**
+     * 업로드하는 사이 문서가 삭제·교체되었으면 방금 올린 청크를 RAG 에서 지웁니다. // ✅ 같은 문서를 다른 작업이 다시 가져간 경우는 같은 docId 로 덮어쓰므로 두고, 실패는 기록만 합니다.
+     */
+    private void deleteIfOrphaned(Document document) {
+        String uuid = document.getUuid();
+        boolean gone = documentRepository.findById(document.getId())
+                .map(current -> !uuid.equals(current.getUuid()))
+                .orElse(true);
+        if (!gone) {
+            return;
+        }
+        Map<String, Object> req = Map.of(
+                "docId", uuid,
+                "source", document.getFileName()
+        );
+        try {
+            ragBackends.call(base -> ragBackgroundWebClient.post()
+                    .uri(base + "/documents/delete")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(req)
+                    .retrieve()
+                    .bodyToMono(Map.class), RAG_DELETE_TIMEOUT)
+                    .block();
+            orphanDeletedCounter.increment();
+            log.info("[INDEX] 업로드 중 삭제된 문서의 인덱스를 지웠습니다 uuid={}", uuid);
+        } catch (Exception ex) {
+            log.warn("[INDEX] 업로드 중 삭제된 문서의 인덱스 삭제 실패 uuid={} err={}", uuid, ex.toString(), ex);
+        }
+    }
+
+    /**
+     * 처리 시간 상한을 넘기고도 PROCESSING 인 문서를 일시적인 실패로 기록합니다. // ✅ 재시도 대기 시간을 거쳐 다시 처리되므로 계속 멈추는 문서가 대기열을 붙잡지 않습니다.
+     */
+    private void failStalled() {
+        LocalDateTime startedBefore = LocalDateTime.now().minus(settings.getProcessingTimeout());
+        List<Document> stalled = documentRepository.findByIndexingStatusAndIndexingStartedAtBefore(
+                DocumentIndexingStatus.PROCESSING, startedBefore, PageRequest.of(0, STALLED_BATCH_SIZE));
+        for (Document document : stalled) {
+            log.warn("[INDEX] 처리 시간 상한을 넘긴 인덱싱을 중단된 것으로 봅니다 uuid={} startedAt={}",
+                    document.getUuid(), document.getIndexingStartedAt());
+            fail(document, document.getIndexingClaim(),
+                    "처리 시간 상한(" + settings.getProcessingTimeout() + ")을 넘겨 중단된 것으로 처리했습니다.", true);
+        }
+    }
+
+    /**
+     * 실패를 기록하고, 다시 시도할 만한 실패라면 실패 횟수에 맞춘 재시도 시각을 함께 남깁니다.
+     */
+    private void fail(Document document, String claim, String error, boolean retryable) {
+        int attempts = (document.getIndexingAttempts() == null ? 0 : document.getIndexingAttempts()) + 1;
+        LocalDateTime nextRetryAt = retryable && attempts < settings.getRetryMaxAttempts()
+                ? LocalDateTime.now().plus(retryBackoff(settings, attempts, ThreadLocalRandom.current().nextDouble()))
+                : null;
+        if (finish(document, claim, DocumentIndexingStatus.FAILED, error, attempts, nextRetryAt) && nextRetryAt != null) {
+            retryScheduledCounter.increment();
+            log.info("[INDEX] 인덱싱 재시도 예약 uuid={} attempts={} nextRetryAt={}", document.getUuid(), attempts, nextRetryAt);
+        }
+    }
+
+    /**
+     * n번째 실패 뒤의 대기 시간입니다. // ✅ 처음 대기 시간에서 두 배씩 늘리되 상한을 넘지 않고, 지터 비율만큼 무작위로 흔듭니다.
+     *
+     * @param random 0 이상 1 미만의 난수 (지터 위치)
+     */
+    static Duration retryBackoff(OneAskProperties.Indexing settings, int attempts, double random) {
+        long initial = settings.getRetryInitialBackoff().toMillis();
+        long max = settings.getRetryMaxBackoff().toMillis();
+        long base = initial << Math.min(attempts - 1, 20);
+        if (base <= 0 || base > max) {
+            base = max;
+        }
+        double jitter = Math.min(1.0, Math.max(0.0, settings.getRetryJitter()));
+        double factor = 1.0 - jitter + random * 2 * jitter;
+        return Duration.ofMillis(Math.min(max, Math.round(base * factor)));
+    }
+
+    /**
+     * 잠시 뒤 다시 하면 성공할 수 있는 실패인지 판단합니다. // ✅ 연결 실패, 타임아웃(block 대기 시간 초과 포함), 408·429·5xx 만 해당합니다.
+     */
+    static boolean isTransient(Throwable e) {
+        Throwable cursor = e;
+        while (cursor != null) {
+            if (cursor instanceof WebClientResponseException response) {
+                int status = response.getStatusCode().value();
+                return status == 408 || status == 429 || response.getStatusCode().is5xxServerError();
+            }
+            if (cursor instanceof WebClientRequestException || cursor instanceof TimeoutException) {
+                return true;
+            }
+            if (isBlockTimeout(cursor)) {
+                return true;
+            }
+            cursor = cursor.getCause();
+        }
+        return false; // 그 밖의 IllegalStateException 등은 다시 해도 같은 결과일 수 있으므로 자동 재시도하지 않음
+    }
+
+    /**
+     * Mono.block(Duration) 이 대기 시간을 넘겼을 때 던지는 예외인지 확인합니다. // ✅ Reactor 는 별도 타입 없이 이 메시지의 IllegalStateException 을 던집니다.
+     */
+    private static boolean isBlockTimeout(Throwable e) {
+        return e instanceof IllegalStateException
+                && e.getMessage() != null
+                && e.getMessage().startsWith("Timeout on blocking read");
+    }
+
+    /**
+     * 결과를 기록합니다. // ✅ 그사이 재인덱싱 요청이나 삭제로 상태가 바뀌었다면 덮어쓰지 않고 false 를 반환합니다.
+     */
+    private boolean finish(Document document, String claim, DocumentIndexingStatus status, String error,
+                           Integer attempts, LocalDateTime nextRetryAt) {
+        boolean updated = documentRepository.finishIndexing(document.getId(), claim,
+                DocumentIndexingStatus.PROCESSING, status, truncateErrorMessage(error), attempts, nextRetryAt) > 0;
+        if (!updated) {
+            log.info("[INDEX] 결과를 기록하지 않았습니다(상태 변경됨) uuid={} result={}", document.getUuid(), status);
+        } else if (status == DocumentIndexingStatus.SUCCEEDED) {
+            succeededCounter.increment();
+        } else if (status == DocumentIndexingStatus.FAILED) {
+            failedCounter.increment();
+        }
+        return updated;
+    }
+
+    private void requeueOwnClaims() {
+        int requeued = documentRepository.requeueOwnedBy(instanceId,
+                DocumentIndexingStatus.PROCESSING, DocumentIndexingStatus.PENDING);
+        if (requeued > 0) {
+            requeuedCounter.increment(requeued);
+            log.warn("[INDEX] 이전 프로세스가 중단한 인덱싱 {}건을 다시 대기열로 돌렸습니다 instanceId={}", requeued, instanceId);
+        }
+    }
+
+    private static String truncateErrorMessage(String errorMessage) {
+        if (errorMessage == null) {
+            return null;
+        }
+        return errorMessage.length() > MAX_ERROR_LENGTH ? errorMessage.substring(0, MAX_ERROR_LENGTH) : errorMessage;
+    }
+
+    private static Counter completedCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("oneask.indexing.completed")
+                .description("인덱싱을 마친 문서 수")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,105 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 질의 한 건에 허용된 마감 시각입니다.
+ * <p>
+ * 컨트롤러(또는 서비스 진입점)에서 봇 모드별 예산으로 만들어 Reactor Context 에 넣으면,
+ * 검색·분류·생성·웹검색 호출은 {@link #limit(Mono, Duration)} 로 각자의 기본 대기 시간과 남은 예산 중 짧은 쪽만 기다립니다.
+ * 마감이 대기 시간을 결정한 경우에는 {@link AskDeadlineExceededException} 으로 실패해 호출자가 정해진 임시 답변으로 전환할 수 있습니다.
+ */
+public final class AskDeadline {
+
+    /** Reactor Context 에 마감 정보를 보관할 때 사용하는 키 */
+    public static final Class<AskDeadline> CONTEXT_KEY = AskDeadline.class;
+
+    private final Duration budget;
+    private final long deadlineNanos;
+
+    private AskDeadline(Duration budget, long deadlineNanos) {
+        this.budget = budget;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * 지금부터 budget 뒤를 마감으로 하는 값을 만듭니다.
+     */
+    public static AskDeadline after(Duration budget) {
+        return new AskDeadline(budget, System.nanoTime() + budget.toNanos());
+    }
+
+    public static Optional<AskDeadline> from(ContextView context) {
+        return context.getOrEmpty(CONTEXT_KEY);
+    }
+
+    /**
+     * 이미 마감이 있으면 그대로 두고, 없을 때만 이 마감을 넣습니다. // ✅ 컨트롤러가 만든 마감을 서비스 기본값이 덮어쓰지 않도록 합니다.
+     */
+    public Context putIfAbsent(Context context) {
+        return context.hasKey(CONTEXT_KEY) ? context : context.put(CONTEXT_KEY, this);
+    }
+
+    public Duration budget() {
+        return budget;
+    }
+
+    /**
+     * 남은 시간을 반환합니다. // ✅ 이미 지났으면 0
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0L, deadlineNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * 기본 대기 시간과 Context 의 남은 예산 중 짧은 쪽으로 source 를 제한합니다.
+     *
+     * @param defaultTimeout 마감이 없을 때의 대기 시간 (null 이면 마감만 적용)
+     */
+    public static <T> Mono<T> limit(Mono<T> source, Duration defaultTimeout) {
+        return Mono.deferContextual(context -> {
+            Optional<AskDeadline> deadline = from(context);
+            if (deadline.isEmpty()) {
+                return defaultTimeout == null ? source : source.timeout(defaultTimeout);
+            }
+            Duration remaining = deadline.get().remaining();
+            if (remaining.isZero()) {
+                return Mono.error(deadline.get().exceeded());
+            }
+            if (defaultTimeout != null && defaultTimeout.compareTo(remaining) < 0) {
+                return source.timeout(defaultTimeout);
+            }
+            return source.timeout(remaining)
+                    .onErrorMap(TimeoutException.class, e -> deadline.get().exceeded());
+        });
+    }
+
+    /**
+     * 스트림 전체가 남은 예산 안에 끝나도록 제한합니다. // ✅ 마감이 없으면 source 를 그대로 반환합니다.
+     */
+    public static <T> Flux<T> limit(Flux<T> source) {
+        return Flux.deferContextual(context -> from(context)
+                .map(deadline -> deadline.isExpired()
+                        ? Flux.<T>error(deadline.exceeded())
+                        : source.take(deadline.remaining())
+                                .concatWith(Flux.defer(() -> deadline.isExpired()
+                                        ? Flux.error(deadline.exceeded())
+                                        : Flux.empty())))
+                .orElse(source));
+    }
+
+    private AskDeadlineExceededException exceeded() {
+        return new AskDeadlineExceededException("질의 처리 시간(" + budget.toSeconds() + "초)을 초과했습니다.");
+    }
+}
@@ -0,0 +1,14 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 질의 한 건에 허용된 예산({@link AskDeadline})을 다 써서 더 기다리지 않고 중단했음을 나타냅니다.
+ * 일반 타임아웃과 같은 경로로 처리되도록 {@link TimeoutException} 을 상속합니다.
+ */
+public class AskDeadlineExceededException extends TimeoutException {
+
+    public AskDeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,45 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 봇 모드별 질의 예산을 설정에서 읽어 {@link AskDeadline} 을 만듭니다.
+ */
+@Component
+public class AskDeadlinePolicy {
+
+    private final OneAskProperties props;
+
+    public AskDeadlinePolicy(OneAskProperties props) {
+        this.props = props;
+    }
+
+    /**
+     * 지금부터 해당 모드의 예산만큼을 마감으로 하는 값을 만듭니다. // ✅ 모드가 없으면 STRICT 예산을 사용합니다.
+     */
+    public AskDeadline start(BotMode mode) {
+        return AskDeadline.after(budgetFor(mode));
+    }
+
+    /**
+     * 요약 등 백그라운드 레인 질의의 마감을 만듭니다. // ✅ 대화형 부하가 빠질 때까지 대기열에서 기다릴 수 있도록 모드 예산보다 깁니다.
+     */
+    public AskDeadline startBackground() {
+        return AskDeadline.after(props.getAsk().getBackgroundDeadline());
+    }
+
+    public Duration budgetFor(BotMode mode) {
+        OneAskProperties.Ask ask = props.getAsk();
+        if (mode == null) {
+            return ask.getStrictDeadline();
+        }
+        return switch (mode) {
+            case STRICT -> ask.getStrictDeadline();
+            case GENERAL -> ask.getGeneralDeadline();
+            case HYBRID -> ask.getHybridDeadline();
+        };
+    }
+}
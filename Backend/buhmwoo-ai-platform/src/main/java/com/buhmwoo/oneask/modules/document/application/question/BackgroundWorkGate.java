@@ -0,0 +1,103 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 인덱싱처럼 RAG 백엔드 용량을 크게 쓰는 백그라운드 작업의 동시 실행 수를 제한하고, 대화형 질의가 몰리면 시작을 미룹니다.
+ * <p>
+ * 작업은 시작하기 전에 {@link #tryEnter} 로 자리를 얻습니다. 자리가 없거나 대화형 GPT 호출이 한도를 다 쓰고 있으면
+ * 기다리지 않고 false 를 돌려주므로, 호출자는 작업을 대기열(PENDING)에 그대로 두었다가 {@link #onResume} 으로 등록한
+ * 알림을 받거나 다음 주기에 다시 시도합니다. 대화형 부하가 계속 높아도 최대 일시 정지 시간이 지나면 한 건씩 들여보내므로
+ * 백그라운드 작업이 무한정 밀리지는 않습니다.
+ */
+@Component
+public class BackgroundWorkGate {
+
+    private static final Logger log = LoggerFactory.getLogger(BackgroundWorkGate.class);
+
+    private final OneAskProperties props;
+    private final ConcurrencyLimitedGptClient interactiveClient;
+    private final Semaphore slots;
+    private final List<Runnable> resumeListeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong pausedSince = new AtomicLong(); // ✅ 대화형 부하로 미루기 시작한 시각 (0 이면 미루는 중 아님)
+    private final AtomicBoolean waiting = new AtomicBoolean(); // ✅ 자리나 부하 때문에 들여보내지 못한 작업이 있는지
+    private final Counter pausedCounter;
+
+    public BackgroundWorkGate(OneAskProperties props, ConcurrencyLimitedGptClient interactiveClient, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.interactiveClient = interactiveClient;
+        this.slots = new Semaphore(Math.max(1, props.getResilience().getBackgroundMaxConcurrent()));
+        this.pausedCounter = Counter.builder("oneask.lane.background.paused")
+                .description("대화형 부하 때문에 시작을 미룬 백그라운드 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("oneask.lane.background.available", slots, Semaphore::availablePermits)
+                .description("남은 백그라운드 작업 자리 수")
+                .register(meterRegistry);
+        interactiveClient.onCapacityAvailable(this::resumeIfWaiting);
+    }
+
+    /**
+     * 자리가 비어 있고 대화형 부하가 낮으면 자리를 잡고 true 를 반환합니다. // ✅ 블로킹하지 않습니다. true 를 받았으면 작업이 끝난 뒤 {@link #leave} 를 호출해야 합니다.
+     */
+    public boolean tryEnter(String task) {
+        if (interactiveClient.isSaturated() && !pausedTooLong(task)) {
+            waiting.set(true);
+            return false;
+        }
+        if (!slots.tryAcquire()) {
+            waiting.set(true);
+            return false;
+        }
+        pausedSince.set(0);
+        return true;
+    }
+
+    /**
+     * {@link #tryEnter} 로 잡은 자리를 돌려주고, 기다리는 작업이 있으면 재개 알림을 보냅니다.
+     */
+    public void leave() {
+        slots.release();
+        resumeIfWaiting();
+    }
+
+    /**
+     * 자리가 나거나 대화형 부하가 가라앉았을 때 실행할 작업을 등록합니다. // ✅ 별도 스레드에서 실행하므로 DB 조회 같은 블로킹 작업을 해도 됩니다.
+     */
+    public void onResume(Runnable listener) {
+        resumeListeners.add(listener);
+    }
+
+    /**
+     * 대화형 부하가 최대 일시 정지 시간보다 오래 이어졌는지 확인합니다. // ✅ 처음 미루기 시작한 시각을 기록해 두고, 시간이 지나면 한 건을 들여보냅니다.
+     */
+    private boolean pausedTooLong(String task) {
+        long now = System.nanoTime();
+        if (pausedSince.compareAndSet(0, now)) {
+            pausedCounter.increment();
+            log.info("[LANE] 대화형 부하가 높아 백그라운드 작업 시작을 미룹니다: {}", task);
+            return false;
+        }
+        return now - pausedSince.get() >= props.getResilience().getBackgroundMaxPause().toNanos();
+    }
+
+    private void resumeIfWaiting() {
+        if (resumeListeners.isEmpty() || !waiting.compareAndSet(true, false)) {
+            return;
+        }
+        // 허가를 반납한 스레드(이벤트 루프일 수 있음)를 붙잡지 않도록 넘겨서 실행
+        Schedulers.boundedElastic().schedule(() -> resumeListeners.forEach(Runnable::run));
+    }
+}
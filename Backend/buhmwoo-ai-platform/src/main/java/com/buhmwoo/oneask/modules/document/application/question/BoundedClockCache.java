@@ -0,0 +1,206 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import java.util.Iterator; // ✅ CLOCK 순서를 순회하며 희생 항목을 고르기 위해 임포트합니다.
+import java.util.LinkedHashMap; // ✅ 스트라이프별 삽입 순서(CLOCK 큐)를 유지하기 위해 임포트합니다.
+import java.util.concurrent.ConcurrentHashMap; // ✅ 조회 경로를 락 없이 처리하기 위해 임포트합니다.
+import java.util.concurrent.locks.ReentrantLock; // ✅ 스트라이프 단위로 쓰기를 직렬화하기 위해 임포트합니다.
+import java.util.function.Predicate; // ✅ 만료·낡은 항목을 호출자 기준으로 판별하기 위해 임포트합니다.
+import java.util.function.UnaryOperator; // ✅ 기존 값을 바탕으로 새 값을 만드는 갱신을 락 안에서 수행하기 위해 임포트합니다.
+
+/**
+ * 항목 개수로 용량을 제한하는 질문 경로용 캐시입니다. // ✅ 의도 분류·검색 결과·청크 묶음 답변 캐시가 함께 사용합니다.
+ * <p>
+ * {@link QuestionAnswerCache} 와 같은 구조로, 키 해시로 나눈 스트라이프마다 조회용 ConcurrentHashMap 과 쓰기 락을 두어
+ * 조회는 락 없이 처리하고 쓰기만 스트라이프 단위로 직렬화합니다. 용량이 차면 CLOCK(second-chance) 순서로 희생 후보를 고르고,
+ * TinyLFU 입장 정책으로 새 항목이 희생 후보보다 자주 요청된 경우에만 교체합니다.
+ * <p>
+ * 만료·인덱스 버전 같은 유효성 판단은 호출자가 넘긴 {@code isDead} 로 하며, 죽은 항목은 입장 심사 없이 먼저 밀려납니다.
+ */
+final class BoundedClockCache<V> {
+
+    private final Stripe[] stripes;
+    private final int stripeCapacity;
+    private final FrequencySketch sketch;
+    private final Predicate<V> isDead;
+
+    /**
+     * @param maxEntries 전체 최대 항목 수 (스트라이프마다 균등하게 나눕니다)
+     * @param stripes    희망 스트라이프 수 (2의 거듭제곱으로 올리되, 스트라이프당 한 개 이상 들어가도록 줄입니다)
+     * @param isDead     더 이상 돌려주면 안 되는 값인지 판별하는 조건
+     */
+    @SuppressWarnings("unchecked")
+    BoundedClockCache(int maxEntries, int stripes, Predicate<V> isDead) {
+        int capacity = Math.max(1, maxEntries);
+        int stripeCount = Math.max(1, Integer.highestOneBit(Math.max(1, stripes) - 1) << 1); // ✅ 2의 거듭제곱으로 올려 마스크 연산을 사용합니다.
+        while (stripeCount > 1 && stripeCount > capacity) {
+            stripeCount >>>= 1; // ✅ 작은 캐시가 스트라이프 수 때문에 실제 용량보다 커지지 않도록 합니다.
+        }
+        this.stripes = new BoundedClockCache.Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.stripeCapacity = (capacity + stripeCount - 1) / stripeCount;
+        this.sketch = new FrequencySketch(capacity);
+        this.isDead = isDead;
+    }
+
+    /**
+     * 살아 있는 값을 돌려주고, 없으면 null 을 반환합니다. // ✅ 죽은 값은 조회 시점에 정리합니다.
+     */
+    V get(String key) {
+        sketch.increment(key); // ✅ 미스도 빈도에 반영해야 다음 저장 시 입장 여부를 판단할 수 있습니다.
+        Stripe stripe = stripeFor(key);
+        Node<V> node = stripe.entries.get(key);
+        if (node == null) {
+            return null;
+        }
+        if (isDead.test(node.value)) {
+            stripe.remove(key, node.value);
+            return null;
+        }
+        node.referenced = true; // ✅ CLOCK 교체 시 한 번 더 기회를 주도록 표시만 하고 순서는 건드리지 않습니다.
+        return node.value;
+    }
+
+    /**
+     * 값을 저장합니다. // ✅ 기존 키는 심사 없이 교체하고, 새 키는 용량이 찼을 때 TinyLFU 심사를 통과해야 들어갑니다.
+     */
+    void put(String key, V value) {
+        update(key, previous -> value);
+    }
+
+    /**
+     * 스트라이프 락 안에서 기존 값(없거나 죽었으면 null)으로 새 값을 계산해 저장합니다. // ✅ null 을 돌려주면 항목을 제거합니다.
+     */
+    void update(String key, UnaryOperator<V> remapping) {
+        stripeFor(key).update(key, remapping);
+    }
+
+    /**
+     * 현재 값이 {@code expected} 와 같은 객체일 때만 제거합니다. // ✅ 그 사이 다른 스레드가 새로 저장한 값은 지우지 않습니다.
+     */
+    void remove(String key, V expected) {
+        stripeFor(key).remove(key, expected);
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.entries.size();
+        }
+        return size;
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return stripes[h & (stripes.length - 1)];
+    }
+
+    /**
+     * 캐시의 한 구획입니다. // ✅ 조회는 entries 만 읽고, 쓰기·제거는 lock 을 잡고 entries/clock 을 함께 갱신합니다.
+     */
+    private final class Stripe {
+        private final ConcurrentHashMap<String, Node<V>> entries = new ConcurrentHashMap<>();
+        private final LinkedHashMap<String, Node<V>> clock = new LinkedHashMap<>(); // ✅ lock 보호: 삽입 순서 = CLOCK 순회 순서
+        private final ReentrantLock lock = new ReentrantLock();
+
+        void update(String key, UnaryOperator<V> remapping) {
+            lock.lock();
+            try {
+                Node<V> previous = clock.get(key);
+                V previousValue = previous == null || isDead.test(previous.value) ? null : previous.value;
+                V value = remapping.apply(previousValue);
+                if (previous != null) {
+                    unlink(previous);
+                }
+                if (value == null) {
+                    return;
+                }
+                if (previous == null && !makeRoomFor(key)) {
+                    return;
+                }
+                Node<V> node = new Node<>(key, value);
+                node.referenced = previous != null && previous.referenced;
+                clock.put(key, node);
+                entries.put(key, node);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * 새 키가 들어갈 자리를 만듭니다. // ✅ 희생 후보가 더 자주 요청되는 항목이면 false 를 돌려주고 아무것도 지우지 않습니다.
+         */
+        private boolean makeRoomFor(String key) {
+            int candidateFrequency = sketch.frequency(key);
+            while (clock.size() >= stripeCapacity) {
+                Node<V> victim = selectVictim();
+                if (victim == null) {
+                    break;
+                }
+                if (!isDead.test(victim.value) && candidateFrequency < sketch.frequency(victim.key)) {
+                    // ✅ 후보는 뒤로 보내 다음 심사에서는 다른 항목과 비교합니다.
+                    clock.remove(victim.key);
+                    clock.put(victim.key, victim);
+                    return false;
+                }
+                unlink(victim);
+            }
+            return true;
+        }
+
+        /**
+         * CLOCK 순서로 최근 조회되지 않은 항목을 찾습니다. // ✅ 조회된 항목은 표시를 지우고 뒤로 보내 한 번 더 기회를 줍니다.
+         */
+        private Node<V> selectVictim() {
+            int budget = clock.size();
+            while (budget-- > 0) {
+                Iterator<Node<V>> iterator = clock.values().iterator();
+                if (!iterator.hasNext()) {
+                    return null;
+                }
+                Node<V> head = iterator.next();
+                if (!head.referenced || isDead.test(head.value)) {
+                    return head;
+                }
+                head.referenced = false;
+                iterator.remove();
+                clock.put(head.key, head);
+            }
+            Iterator<Node<V>> iterator = clock.values().iterator();
+            return iterator.hasNext() ? iterator.next() : null;
+        }
+
+        void remove(String key, V expected) {
+            lock.lock();
+            try {
+                Node<V> node = clock.get(key);
+                if (node != null && node.value == expected) {
+                    unlink(node);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void unlink(Node<V> node) {
+            clock.remove(node.key);
+            entries.remove(node.key);
+        }
+    }
+
+    /**
+     * 값과 CLOCK 참조 비트를 묶은 노드입니다. // ✅ 참조 비트만 조회 시 락 없이 변경됩니다.
+     */
+    private static final class Node<V> {
+        private final String key;
+        private final V value;
+        private volatile boolean referenced;
+
+        private Node(String key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * 벡터 검색 결과를 (정규화한 질문, 문서 범위, topK) 단위로 보관하는 검색기 데코레이터입니다.
+ * 결과는 시간이 아니라 {@link DocumentIndexVersions} 의 인덱스 버전으로 무효화되므로,
+ * 인덱스가 바뀌지 않는 한 fallback·요약·반복 질문이 같은 검색 결과를 재사용합니다.
+ */
+@Component
+@Primary
+public class CachingDocumentRetriever implements DocumentRetriever {
+
+    private static final String METRIC_NAME = "oneask.retrieval.cache";
+
+    private final DocumentRetriever delegate;
+    private final DocumentIndexVersions indexVersions;
+    private final OneAskProperties props;
+    private final BoundedClockCache<CacheEntry> cache; // ✅ 조회는 락 없이, 저장은 스트라이프 단위로만 직렬화
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public CachingDocumentRetriever(@Qualifier("ragDocumentRetriever") DocumentRetriever delegate,
+                                    DocumentIndexVersions indexVersions,
+                                    OneAskProperties props,
+                                    MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.indexVersions = indexVersions;
+        this.props = props;
+        this.cache = new BoundedClockCache<>(props.getCache().getRetrievalMaxEntries(), props.getCache().getStripes(),
+                entry -> entry.indexVersion() != indexVersions.versionFor(entry.docId())); // ✅ 인덱스가 바뀐 문서(또는 전체 코퍼스)의 검색 결과는 버림
+        this.hitCounter = Counter.builder(METRIC_NAME)
+                .description("검색 결과 캐시 조회 결과")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder(METRIC_NAME)
+                .description("검색 결과 캐시 조회 결과")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("oneask.retrieval.cache.size", this, CachingDocumentRetriever::size)
+                .description("검색 결과 캐시에 보관 중인 항목 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public DocumentRetrievalResult retrieve(DocumentRetrievalRequest request) {
+        if (!props.getCache().isRetrievalEnabled()) {
+            return delegate.retrieve(request);
+        }
+        String key = buildKey(request);
+        Optional<DocumentRetrievalResult> cached = lookup(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        long version = indexVersions.versionFor(request.docId());
+        DocumentRetrievalResult result = delegate.retrieve(request);
+        store(key, request.docId(), result, version);
+        return result;
+    }
+
+    @Override
+    public Mono<DocumentRetrievalResult> retrieveAsync(DocumentRetrievalRequest request) {
+        if (!props.getCache().isRetrievalEnabled()) {
+            return delegate.retrieveAsync(request);
+        }
+        String key = buildKey(request);
+        return Mono.defer(() -> {
+            Optional<DocumentRetrievalResult> cached = lookup(key);
+            if (cached.isPresent()) {
+                return Mono.just(cached.get());
+            }
+            // 검색을 시작하기 전의 버전을 기록해, 검색 도중 인덱스가 바뀌었다면 결과가 바로 무효가 되도록 함
+            long version = indexVersions.versionFor(request.docId());
+            return delegate.retrieveAsync(request)
+                    .doOnNext(result -> store(key, request.docId(), result, version));
+        });
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private Optional<DocumentRetrievalResult> lookup(String key) {
+        CacheEntry entry = cache.get(key); // ✅ 버전이 낡은 결과는 캐시가 조회 시점에 정리하고 null 을 돌려줌
+        if (entry == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(entry.result());
+    }
+
+    private void store(String key, String docId, DocumentRetrievalResult result, long version) {
+        // 검색 결과가 비어 있으면 인덱싱 직후 일시적인 상태일 수 있으므로 캐시하지 않음
+        if (result == null || result.matches() == null || result.matches().isEmpty()) {
+            return;
+        }
+        cache.put(key, new CacheEntry(result, docId, version));
+    }
+
+    private String buildKey(DocumentRetrievalRequest request) {
+        return (request.docId() == null ? "ALL" : request.docId()) + "::" + request.topK()
+                + "::" + QuestionNormalizer.normalize(request.question());
+    }
+
+    private record CacheEntry(DocumentRetrievalResult result, String docId, long indexVersion) {
+    }
+}
@@ -0,0 +1,110 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * 정규화한 질문과 문서 범위를 키로 의도 분류 결과를 보관하는 캐시 데코레이터입니다.
+ * 답변 캐시에 남지 않는 질문(fallback 답변 등)도 같은 질문이 다시 들어오면 분류 왕복을 건너뜁니다.
+ */
+@Component
+@Primary
+public class CachingQuestionIntentClassifier implements QuestionIntentClassifier {
+
+    private static final String METRIC_NAME = "oneask.intent.cache";
+
+    private final QuestionIntentClassifier delegate;
+    private final OneAskProperties props;
+    private final BoundedClockCache<CacheEntry> cache; // ✅ 조회는 락 없이, 저장은 스트라이프 단위로만 직렬화
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public CachingQuestionIntentClassifier(@Qualifier("localFirstQuestionIntentClassifier") QuestionIntentClassifier delegate,
+                                           OneAskProperties props,
+                                           MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.props = props;
+        this.cache = new BoundedClockCache<>(props.getIntent().getCacheMaxEntries(), props.getCache().getStripes(),
+                entry -> Instant.now().isAfter(entry.expireAt()));
+        this.hitCounter = Counter.builder(METRIC_NAME)
+                .description("의도 분류 캐시 조회 결과")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder(METRIC_NAME)
+                .description("의도 분류 캐시 조회 결과")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("oneask.intent.cache.size", this, CachingQuestionIntentClassifier::size)
+                .description("의도 분류 캐시에 보관 중인 항목 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public QuestionIntentResult classify(String question, String docId) {
+        if (question == null || question.isBlank()) {
+            return delegate.classify(question, docId);
+        }
+        String key = buildKey(question, docId);
+        Optional<QuestionIntentResult> cached = lookup(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        QuestionIntentResult result = delegate.classify(question, docId);
+        store(key, result);
+        return result;
+    }
+
+    @Override
+    public Mono<QuestionIntentResult> classifyAsync(String question, String docId) {
+        if (question == null || question.isBlank()) {
+            return delegate.classifyAsync(question, docId);
+        }
+        String key = buildKey(question, docId);
+        return Mono.defer(() -> lookup(key)
+                .map(Mono::just)
+                .orElseGet(() -> delegate.classifyAsync(question, docId)
+                        .doOnNext(result -> store(key, result))));
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private Optional<QuestionIntentResult> lookup(String key) {
+        CacheEntry entry = cache.get(key); // ✅ 만료된 항목은 캐시가 조회 시점에 정리하고 null 을 돌려줌
+        if (entry == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(entry.result());
+    }
+
+    private void store(String key, QuestionIntentResult result) {
+        // GPT 실패로 휴리스틱이 내린 결과는 일시적인 판단이므로 캐시하지 않음
+        if (result == null || result.fromFallback()) {
+            return;
+        }
+        cache.put(key, new CacheEntry(result, Instant.now().plus(props.getIntent().getCacheTtl())));
+    }
+
+    /**
+     * 분류 결과는 문서 지정 여부에만 영향을 받으므로 문서 ID 대신 범위(DOC/ALL)를 키에 사용합니다.
+     */
+    private String buildKey(String question, String docId) {
+        return (docId == null ? "ALL" : "DOC") + "::" + QuestionNormalizer.normalize(question);
+    }
+
+    private record CacheEntry(QuestionIntentResult result, Instant expireAt) {
+    }
+}
@@ -0,0 +1,190 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import com.buhmwoo.oneask.modules.document.api.dto.QuestionAnswerResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 검색된 청크 묶음이 완전히 같을 때 이미 생성한 RAG 답변을 재사용하는 캐시입니다.
+ * <p>
+ * 표현이 다른 두 질문이 같은 문서에서 같은 청크를 같은 순서로 가져오면 GPT 에 들어가는 컨텍스트가 동일하므로,
+ * (의도, 문서 범위, 순서가 있는 청크 목록)의 지문을 키로 답변을 보관합니다.
+ * 컨텍스트가 같아도 묻는 내용은 다를 수 있으므로, 저장된 질문과의 유사도가 기준 이상일 때만 재사용합니다.
+ * 항목은 답변 생성 시점의 인덱스 버전과 함께 저장되어 문서가 바뀌면 더 이상 조회되지 않습니다.
+ */
+@Component
+public class ChunkSetAnswerCache {
+
+    private static final String METRIC_NAME = "oneask.answer.chunkset";
+    /** 지문 하나에 보관할 질문 변형 수 (같은 청크 묶음에서 서로 다른 질문이 나오는 경우 대비) */
+    private static final int MAX_VARIANTS = 4;
+
+    private final OneAskProperties props;
+    private final DocumentIndexVersions indexVersions;
+    private final BoundedClockCache<List<Variant>> cache; // ✅ 지문 → 불변 질문 변형 목록 (교체는 스트라이프 락 안에서)
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter guardedCounter;
+
+    public ChunkSetAnswerCache(OneAskProperties props, DocumentIndexVersions indexVersions, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.indexVersions = indexVersions;
+        this.cache = new BoundedClockCache<>(props.getCache().getChunkSetMaxEntries(), props.getCache().getStripes(),
+                variants -> variants.stream().noneMatch(this::isLive)); // ✅ 살아 있는 변형이 하나도 없는 지문은 먼저 밀려남
+        this.hitCounter = Counter.builder(METRIC_NAME)
+                .description("청크 묶음 답변 캐시 조회 결과")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder(METRIC_NAME)
+                .description("청크 묶음 답변 캐시 조회 결과")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.guardedCounter = Counter.builder(METRIC_NAME)
+                .description("청크 묶음 답변 캐시 조회 결과")
+                .tag("result", "guarded") // ✅ 청크 묶음은 같았지만 질문 유사도가 낮아 재사용하지 않은 경우
+                .register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".size", this, ChunkSetAnswerCache::size)
+                .description("청크 묶음 답변 캐시에 보관 중인 지문 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return props.getCache().isChunkSetEnabled();
+    }
+
+    /**
+     * 같은 청크 묶음으로 만든 답변 중 질문이 충분히 비슷한 답변을 찾습니다.
+     *
+     * @param indexVersion 검색을 시작할 때 관찰한 인덱스 버전
+     * @return 재사용할 답변 사본 (fromCache=true, cacheMatchedQuestion 에 원래 질문)
+     */
+    public Optional<QuestionAnswerResponseDto> get(QuestionIntent intent, String docId, String question,
+                                                   DocumentRetrievalResult retrievalResult, long indexVersion) {
+        if (!isEnabled() || indexVersion != indexVersions.versionFor(docId)) {
+            return Optional.empty();
+        }
+        String fingerprint = fingerprint(intent, docId, retrievalResult);
+        if (fingerprint == null) {
+            return Optional.empty();
+        }
+        List<Variant> variants = cache.get(fingerprint); // ✅ 모든 변형이 만료·낡은 지문은 캐시가 조회 시점에 정리하고 null 을 돌려줌
+        if (variants == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        Variant best = null;
+        double bestSimilarity = 0.0;
+        for (Variant variant : variants) {
+            if (!isLive(variant)) {
+                continue; // ✅ 목록은 불변이므로 만료·낡은 변형은 건너뛰고, 다음 저장 때 걸러냄
+            }
+            double similarity = NearDuplicateQuestionIndex.similarity(question, variant.question());
+            if (similarity > bestSimilarity) {
+                best = variant;
+                bestSimilarity = similarity;
+            }
+        }
+        if (best == null || bestSimilarity < props.getCache().getChunkSetQuestionSimilarity()) {
+            guardedCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        return Optional.of(best.response().toBuilder()
+                .sources(best.response().getSources() == null ? List.of() : List.copyOf(best.response().getSources()))
+                .fromCache(true)
+                .cacheMatchedQuestion(best.question())
+                .build());
+    }
+
+    /**
+     * 생성한 답변을 청크 묶음 지문과 함께 보관합니다. // ✅ 검색 이후 인덱스가 바뀌었다면 저장하지 않습니다.
+     */
+    public void put(QuestionIntent intent, String docId, String question, DocumentRetrievalResult retrievalResult,
+                    long indexVersion, QuestionAnswerResponseDto response) {
+        if (!isEnabled() || response == null || indexVersion != indexVersions.versionFor(docId)) {
+            return;
+        }
+        String fingerprint = fingerprint(intent, docId, retrievalResult);
+        if (fingerprint == null) {
+            return;
+        }
+        String normalized = QuestionNormalizer.normalize(question);
+        Variant variant = new Variant(question, normalized, response.toBuilder().fromCache(false).cacheMatchedQuestion(null).build(),
+                docId, indexVersion, Instant.now().plus(props.getCache().getDocKnowledgeTtl()));
+        cache.update(fingerprint, previous -> {
+            List<Variant> variants = new ArrayList<>();
+            if (previous != null) {
+                for (Variant existing : previous) {
+                    if (isLive(existing) && !existing.normalizedQuestion().equals(normalized)) {
+                        variants.add(existing);
+                    }
+                }
+            }
+            variants.add(variant);
+            if (variants.size() > MAX_VARIANTS) {
+                variants.remove(0); // ✅ 가장 먼저 저장된 질문 변형부터 밀어냄
+            }
+            return List.copyOf(variants);
+        });
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private boolean isLive(Variant variant) {
+        return !Instant.now().isAfter(variant.expireAt())
+                && variant.indexVersion() == indexVersions.versionFor(variant.docId());
+    }
+
+    /**
+     * 의도·문서 범위와 순서가 있는 청크 목록(출처, 페이지, 본문)으로 지문을 만듭니다. // ✅ 청크가 없으면 null
+     */
+    private String fingerprint(QuestionIntent intent, String docId, DocumentRetrievalResult retrievalResult) {
+        if (retrievalResult == null || retrievalResult.matches() == null || retrievalResult.matches().isEmpty()) {
+            return null;
+        }
+        MessageDigest digest = sha256();
+        update(digest, String.valueOf(intent));
+        update(digest, docId == null ? "ALL" : docId);
+        for (RetrievedDocumentChunk chunk : retrievalResult.matches()) {
+            update(digest, chunk.source());
+            update(digest, Objects.toString(chunk.page(), ""));
+            update(digest, chunk.content());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII)); // ✅ 길이를 앞에 붙여 경계가 섞여도 같은 지문이 나오지 않도록 함
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private record Variant(String question, String normalizedQuestion, QuestionAnswerResponseDto response,
+                           String docId, long indexVersion, Instant expireAt) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import com.buhmwoo.oneask.common.resilience.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * RAG 백엔드 /query/generate 호출 수를 적응형 동시 호출 한도로 조절하는 GPT 클라이언트 데코레이터입니다.
+ * <p>
+ * 진행 중인 생성 호출이 한도에 닿으면 이후 호출은 대기열에서 기다리고(질의 마감까지 남은 시간 이내),
+ * 대기열까지 가득 차면 즉시 거절해 백엔드가 쿼터·타임아웃 오류를 쏟아내기 전에 부하를 덜어냅니다.
+ * 거절은 회로 차단과 같은 {@link com.buhmwoo.oneask.common.resilience.CallNotPermittedException} 으로 전달되므로
+ * 질의 파이프라인은 원격 호출 없이 정해진 안내문으로 응답합니다.
+ * <p>
+ * Context 의 {@link WorkLane} 이 BACKGROUND 인 호출(요약 등)은 낮은 우선순위로 처리되어 대화형 질의가 한도를 다 쓰는 동안 기다립니다.
+ */
+@Component
+@Primary
+public class ConcurrencyLimitedGptClient implements GptClient {
+
+    private final GptClient delegate;
+    private final OneAskProperties props;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitedGptClient(@Qualifier("ragGptClient") GptClient delegate,
+                                       OneAskProperties props,
+                                       MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.props = props;
+        OneAskProperties.Resilience settings = props.getResilience();
+        this.limiter = new AdaptiveConcurrencyLimiter("rag-generate",
+                settings.getGenerateInitialLimit(),
+                settings.getGenerateMinLimit(),
+                settings.getGenerateMaxLimit(),
+                settings.getGenerateBackoffRatio(),
+                settings.getGenerateSlowCallThreshold(),
+                settings.getGenerateSlowFirstTokenThreshold(),
+                settings.getGenerateQueueSize(),
+                settings.getBackgroundShare(),
+                ConcurrencyLimitedGptClient::isOverloadSignal,
+                meterRegistry);
+    }
+
+    @Override
+    public GptResponse generate(GptRequest request) {
+        return generate(request, null);
+    }
+
+    @Override
+    public GptResponse generate(GptRequest request, Duration timeout) {
+        return generateAsync(request, timeout).block();
+    }
+
+    @Override
+    public Mono<GptResponse> generateAsync(GptRequest request, Duration timeout) {
+        if (!isEnabled()) {
+            return delegate.generateAsync(request, timeout);
+        }
+        return Mono.deferContextual(context ->
+                limiter.limit(delegate.generateAsync(request, timeout), queueTimeout(context), isBackground(context)));
+    }
+
+    @Override
+    public Flux<String> stream(GptRequest request) {
+        if (!isEnabled()) {
+            return delegate.stream(request);
+        }
+        return Flux.deferContextual(context ->
+                limiter.limit(delegate.stream(request), queueTimeout(context), isBackground(context)));
+    }
+
+    /**
+     * 대화형 생성 호출이 한도를 다 쓰고 있거나 기다리는 중인지 확인합니다. // ✅ 인덱싱 같은 백그라운드 작업을 잠시 멈출지 판단하는 데 씁니다.
+     */
+    public boolean isSaturated() {
+        return isEnabled() && limiter.isSaturated();
+    }
+
+    private boolean isEnabled() {
+        return props.getResilience().isGenerateLimitEnabled();
+    }
+
+    /**
+     * 한도가 다시 여유로워질 때 실행할 작업을 등록합니다. // ✅ 백그라운드 작업이 주기적으로 확인하지 않고 재개 시점을 알 수 있게 합니다.
+     */
+    public void onCapacityAvailable(Runnable listener) {
+        limiter.onUnsaturated(listener);
+    }
+
+    /**
+     * 대기열에서 기다릴 시간입니다. // ✅ 질의 마감까지 남은 시간이 더 짧으면 그만큼만 기다립니다.
+     * <p>
+     * 백그라운드 레인은 거절하지 않고 기다리는 것이 목적이므로 마감이 있으면 마감까지 기다립니다.
+     */
+    private Duration queueTimeout(ContextView context) {
+        if (isBackground(context)) {
+            return AskDeadline.from(context)
+                    .map(AskDeadline::remaining)
+                    .orElse(props.getResilience().getBackgroundQueueTimeout());
+        }
+        Duration configured = props.getResilience().getGenerateQueueTimeout();
+        return AskDeadline.from(context)
+                .map(AskDeadline::remaining)
+                .filter(remaining -> remaining.compareTo(configured) < 0)
+                .orElse(configured);
+    }
+
+    private static boolean isBackground(ContextView context) {
+        return WorkLane.from(context) == WorkLane.BACKGROUND;
+    }
+
+    /**
+     * 한도를 줄여야 하는 과부하 신호인지 판단합니다. // ✅ 타임아웃, 연결 실패, 408·429·5xx 응답만 해당하며 빈 답변 같은 내용 오류는 제외합니다.
+     */
+    private static boolean isOverloadSignal(Throwable e) {
+        Throwable cursor = e;
+        while (cursor != null) {
+            if (cursor instanceof AskDeadlineExceededException) {
+                return false; // 호출자 예산이 먼저 끝난 경우는 백엔드 상태로 보지 않음
+            }
+            if (cursor instanceof TimeoutException || cursor instanceof WebClientRequestException) {
+                return true;
+            }
+            if (cursor instanceof WebClientResponseException response) {
+                int status = response.getStatusCode().value();
+                return status == 408 || status == 429 || response.getStatusCode().is5xxServerError();
+            }
+            cursor = cursor.getCause();
+        }
+        return false;
+    }
+}
@@ -0,0 +1,144 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 검색된 청크 본문으로 GPT 프롬프트용 컨텍스트를 다시 구성합니다.
+ * <p>
+ * 검색 점수가 높은 청크부터 문자 예산 안에 들어가는 만큼만 담고, 이미 담은 청크와 거의 같은 청크(겹치는 슬라이딩 구간 등)는 건너뜁니다.
+ * 청크 머리글은 RAG 백엔드와 같은 "[청크 N] 출처: ... | 페이지: ..." 형식을 유지하므로 답변의 인용 라벨이 출처 목록과 그대로 맞습니다.
+ */
+@Component
+public class ContextPacker {
+
+    /** 청크 사이 구분자 (RAG 백엔드와 동일) */
+    private static final String SEPARATOR = "\n\n";
+    /** 중복 판정에 사용할 글자 n-gram 길이 */
+    private static final int SHINGLE_SIZE = 5;
+
+    private final OneAskProperties props;
+    private final DistributionSummary bytesSaved;
+    private final Counter duplicateDrops;
+    private final Counter budgetDrops;
+
+    public ContextPacker(OneAskProperties props, MeterRegistry meterRegistry) {
+        this.props = props;
+        this.bytesSaved = DistributionSummary.builder("oneask.rag.context.bytes.saved")
+                .description("컨텍스트 패킹으로 줄인 프롬프트 크기 (요청당)")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.duplicateDrops = Counter.builder("oneask.rag.context.chunks.dropped")
+                .description("컨텍스트 패킹에서 제외한 청크 수")
+                .tag("reason", "duplicate")
+                .register(meterRegistry);
+        this.budgetDrops = Counter.builder("oneask.rag.context.chunks.dropped")
+                .description("컨텍스트 패킹에서 제외한 청크 수")
+                .tag("reason", "budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 검색 결과로 프롬프트 컨텍스트를 만듭니다. // ✅ 패킹이 꺼져 있거나 청크 본문이 없으면 검색 응답의 컨텍스트를 그대로 사용합니다.
+     */
+    public String pack(DocumentRetrievalResult retrievalResult) {
+        String original = Optional.ofNullable(retrievalResult.context()).orElse("");
+        List<RetrievedDocumentChunk> matches = Optional.ofNullable(retrievalResult.matches()).orElse(List.of());
+        OneAskProperties.Ask settings = props.getAsk();
+        if (!settings.isContextPackingEnabled() || matches.isEmpty()
+                || matches.stream().allMatch(chunk -> chunk.content() == null || chunk.content().isBlank())) {
+            return original;
+        }
+
+        List<RetrievedDocumentChunk> ordered = new ArrayList<>(matches);
+        ordered.sort(Comparator.comparing(RetrievedDocumentChunk::score,
+                Comparator.nullsLast(Comparator.reverseOrder()))); // ✅ 안정 정렬이므로 점수가 없거나 같으면 검색 순서를 유지합니다.
+
+        int budget = Math.max(1, settings.getContextMaxChars());
+        StringBuilder packed = new StringBuilder();
+        List<Set<String>> keptShingles = new ArrayList<>();
+        for (RetrievedDocumentChunk chunk : ordered) {
+            String body = chunk.content() == null ? "" : chunk.content().strip();
+            if (body.isEmpty()) {
+                continue;
+            }
+            Set<String> shingles = shingles(body);
+            if (isDuplicate(shingles, keptShingles, settings.getContextDuplicateThreshold())) {
+                duplicateDrops.increment();
+                continue;
+            }
+            String block = header(chunk) + "\n" + body;
+            int needed = block.length() + (packed.isEmpty() ? 0 : SEPARATOR.length());
+            if (packed.length() + needed > budget) {
+                if (packed.isEmpty()) {
+                    packed.append(block, 0, budget); // ✅ 가장 관련 높은 청크 하나가 예산보다 크면 잘라서라도 담습니다.
+                    keptShingles.add(shingles);
+                } else {
+                    budgetDrops.increment(); // ✅ 뒤에 더 짧은 청크가 들어갈 수 있으므로 계속 확인합니다.
+                }
+                continue;
+            }
+            if (!packed.isEmpty()) {
+                packed.append(SEPARATOR);
+            }
+            packed.append(block);
+            keptShingles.add(shingles);
+        }
+
+        String result = packed.toString();
+        long saved = (long) original.getBytes(StandardCharsets.UTF_8).length - result.getBytes(StandardCharsets.UTF_8).length;
+        bytesSaved.record(Math.max(0, saved));
+        return result;
+    }
+
+    private static String header(RetrievedDocumentChunk chunk) {
+        StringBuilder header = new StringBuilder();
+        header.append(Optional.ofNullable(chunk.reference()).orElse("[청크 " + chunk.chunkIndex() + "]"));
+        header.append(" 출처: ").append(Optional.ofNullable(chunk.source()).orElse("unknown"));
+        if (chunk.page() != null) {
+            header.append(" | 페이지: ").append(chunk.page());
+        }
+        return header.toString();
+    }
+
+    /**
+     * 이미 담은 청크 중 하나에 대부분 포함되는 청크인지 판단합니다. // ✅ 작은 쪽 집합 기준 포함도로 비교해 잘린 중복 구간도 잡아냅니다.
+     */
+    private static boolean isDuplicate(Set<String> candidate, List<Set<String>> kept, double threshold) {
+        if (candidate.isEmpty()) {
+            return false;
+        }
+        for (Set<String> existing : kept) {
+            Set<String> smaller = candidate.size() <= existing.size() ? candidate : existing;
+            Set<String> larger = smaller == candidate ? existing : candidate;
+            if (smaller.isEmpty()) {
+                continue;
+            }
+            long shared = smaller.stream().filter(larger::contains).count();
+            if ((double) shared / smaller.size() >= threshold) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> shingles(String body) {
+        String text = body.replaceAll("\\s+", " ");
+        Set<String> shingles = new HashSet<>();
+        for (int i = 0; i + SHINGLE_SIZE <= text.length(); i++) {
+            shingles.add(text.substring(i, i + SHINGLE_SIZE));
+        }
+        return shingles;
+    }
+}
@@ -0,0 +1,70 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import org.springframework.stereotype.Component; // ✅ 캐시·서비스가 같은 버전 정보를 공유하도록 스프링 빈으로 등록합니다.
+
+import java.util.List; // ✅ 버전 변경 리스너 목록을 보관하기 위해 임포트합니다.
+import java.util.Map; // ✅ 문서별 버전 스냅샷을 반환하기 위해 임포트합니다.
+import java.util.concurrent.CopyOnWriteArrayList; // ✅ 드물게 등록되고 자주 순회되는 리스너 목록에 사용합니다.
+import java.util.concurrent.ConcurrentHashMap; // ✅ 문서별 버전을 락 없이 관리하기 위해 임포트합니다.
+import java.util.concurrent.atomic.AtomicLong; // ✅ 전체 코퍼스 버전을 원자적으로 증가시키기 위해 임포트합니다.
+
+/**
+ * 문서별 인덱스 버전과 전체 코퍼스 버전을 관리합니다. // ✅ 캐시 항목이 의존하는 인덱스 상태가 바뀌었는지 O(1)로 판별하기 위한 기준값입니다.
+ * <p>
+ * 문서 A 가 업로드·재인덱싱·삭제되면 A 의 버전과 코퍼스 버전이 함께 올라가므로,
+ * A 범위 답변과 전체 문서(ALL) 범위 답변만 무효가 되고 다른 문서 범위 답변은 그대로 유지됩니다.
+ */
+@Component
+public class DocumentIndexVersions {
+
+    private final Map<String, Long> documentVersions = new ConcurrentHashMap<>();
+    private final AtomicLong corpusVersion = new AtomicLong();
+    private final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * 문서 범위(docId) 또는 전체 범위(null)의 현재 버전을 반환합니다.
+     */
+    public long versionFor(String docId) {
+        if (docId == null) {
+            return corpusVersion.get();
+        }
+        return documentVersions.getOrDefault(docId, 0L);
+    }
+
+    /**
+     * 문서 인덱스가 바뀌었음을 기록합니다. // ✅ 문서 버전과 코퍼스 버전을 함께 올립니다.
+     */
+    public void markChanged(String docId) {
+        if (docId != null) {
+            documentVersions.merge(docId, 1L, Long::sum);
+        }
+        corpusVersion.incrementAndGet();
+        changeListeners.forEach(Runnable::run);
+    }
+
+    /**
+     * 저장해 둔 버전 상태로 복원합니다. // ✅ 재기동 후에도 2차 캐시 항목의 버전 검사가 이어지도록 기동 시 한 번 호출합니다.
+     */
+    public void restore(Map<String, Long> documentVersions, long corpusVersion) {
+        documentVersions.forEach((docId, version) -> this.documentVersions.merge(docId, version, Math::max));
+        this.corpusVersion.accumulateAndGet(corpusVersion, Math::max);
+    }
+
+    /**
+     * 버전이 바뀔 때마다 호출할 리스너를 등록합니다. // ✅ 버전 상태를 파일에 기록하는 용도로 사용합니다.
+     */
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * 현재 버전 상태의 스냅샷을 반환합니다. // ✅ 버전 정보를 외부 저장소에 기록할 때 사용합니다.
+     */
+    public Map<String, Long> documentVersionsSnapshot() {
+        return Map.copyOf(documentVersions);
+    }
+
+    public long corpusVersion() {
+        return corpusVersion.get();
+    }
+}
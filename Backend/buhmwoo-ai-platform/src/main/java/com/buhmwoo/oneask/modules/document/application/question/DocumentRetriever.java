@@ -1,5 +1,8 @@
 package com.buhmwoo.oneask.modules.document.application.question;
 
+import reactor.core.publisher.Mono; // ✅ 논블로킹 검색 계약을 표현하기 위해 Mono를 임포트합니다.
+import reactor.core.scheduler.Schedulers; // ✅ 블로킹 구현체를 별도 스레드 풀로 격리하기 위해 임포트합니다.
+
 /**
  * 질문에 대한 유사도 검색을 수행하는 컴포넌트 계약을 정의합니다. // ✅ 컨트롤러/서비스와 검색 구현체를 느슨하게 연결하기 위한 인터페이스임을 설명합니다.
  */
@@ -9,4 +12,12 @@ public interface DocumentRetriever {
      * 질문과 선택적 문서 범위를 입력받아 검색 결과를 반환합니다. // ✅ 검색 단계 결과를 통일된 형태로 돌려줌을 명시합니다.
      */
     DocumentRetrievalResult retrieve(DocumentRetrievalRequest request);
-}
\ No newline at end of file
+
+    /**
+     * 스레드를 점유하지 않고 검색 결과를 비동기로 반환합니다. // ✅ 질의 파이프라인이 서블릿 스레드를 붙잡지 않도록 하기 위한 계약입니다.
+     */
+    default Mono<DocumentRetrievalResult> retrieveAsync(DocumentRetrievalRequest request) {
+        return Mono.fromCallable(() -> retrieve(request))
+                .subscribeOn(Schedulers.boundedElastic()); // ✅ 기본 구현은 블로킹 호출을 탄력 스케줄러로 넘겨 호환성을 유지합니다.
+    }
+}
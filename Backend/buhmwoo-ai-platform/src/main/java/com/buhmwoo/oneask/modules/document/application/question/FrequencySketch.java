@@ -0,0 +1,80 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import java.util.concurrent.atomic.AtomicInteger; // ✅ 샘플 카운트를 락 없이 누적하기 위해 사용합니다.
+import java.util.concurrent.atomic.AtomicIntegerArray; // ✅ 카운터 배열을 락 없이 갱신하기 위해 사용합니다.
+
+/**
+ * TinyLFU 입장 정책에 사용하는 Count-Min Sketch 기반 접근 빈도 추정기입니다. // ✅ 키 자체를 보관하지 않아 메모리를 거의 쓰지 않습니다.
+ * 일정 횟수마다 모든 카운터를 절반으로 줄여 최근 빈도가 더 큰 비중을 갖도록 합니다.
+ */
+final class FrequencySketch {
+
+    private static final int DEPTH = 4; // ✅ 해시 함수(행) 개수
+    private static final int MAX_COUNT = 15; // ✅ 카운터 상한 (오래된 인기 키가 영원히 이기지 않도록 제한)
+    private static final int[] SEEDS = {0x97cb3127, 0xb0c3d4e5, 0x5f356495, 0x2f2f9f01};
+
+    private final AtomicIntegerArray table;
+    private final int widthMask;
+    private final int sampleSize;
+    private final AtomicInteger additions = new AtomicInteger();
+
+    FrequencySketch(int expectedEntries) {
+        int width = Integer.highestOneBit(Math.max(64, expectedEntries) - 1) << 1; // ✅ 2의 거듭제곱으로 맞춰 마스크 연산을 사용합니다.
+        this.table = new AtomicIntegerArray(width * DEPTH);
+        this.widthMask = width - 1;
+        this.sampleSize = width * 10;
+    }
+
+    /**
+     * 키의 접근 횟수를 1 증가시킵니다. // ✅ 샘플 크기에 도달하면 전체 카운터를 절반으로 줄입니다.
+     */
+    void increment(String key) {
+        int hash = spread(key.hashCode());
+        for (int row = 0; row < DEPTH; row++) {
+            int index = indexOf(hash, row);
+            int current;
+            do {
+                current = table.get(index);
+                if (current >= MAX_COUNT) {
+                    break;
+                }
+            } while (!table.compareAndSet(index, current, current + 1));
+        }
+        if (additions.incrementAndGet() >= sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * 키의 추정 접근 횟수를 반환합니다. // ✅ 여러 행 중 최솟값을 사용해 해시 충돌로 인한 과대 추정을 줄입니다.
+     */
+    int frequency(String key) {
+        int hash = spread(key.hashCode());
+        int min = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, table.get(indexOf(hash, row)));
+        }
+        return min;
+    }
+
+    private synchronized void reset() {
+        if (additions.get() < sampleSize) {
+            return; // ✅ 다른 스레드가 이미 감쇠를 수행한 경우
+        }
+        for (int i = 0; i < table.length(); i++) {
+            table.set(i, table.get(i) >>> 1);
+        }
+        additions.set(0);
+    }
+
+    private int indexOf(int hash, int row) {
+        int h = hash * SEEDS[row];
+        h ^= h >>> 16;
+        return row * (widthMask + 1) + (h & widthMask);
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9e3779b9;
+        return h ^ (h >>> 15);
+    }
+}
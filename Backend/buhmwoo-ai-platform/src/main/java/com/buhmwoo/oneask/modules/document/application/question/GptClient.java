@@ -1,5 +1,9 @@
 package com.buhmwoo.oneask.modules.document.application.question;
 
+import reactor.core.publisher.Flux; // ✅ 토큰 단위 스트리밍 계약을 표현하기 위해 Flux를 임포트합니다.
+import reactor.core.publisher.Mono; // ✅ 논블로킹 생성 계약을 표현하기 위해 Mono를 임포트합니다.
+import reactor.core.scheduler.Schedulers; // ✅ 블로킹 구현체를 별도 스레드 풀로 격리하기 위해 임포트합니다.
+
 /**
  * 검색된 컨텍스트를 바탕으로 GPT와 같은 LLM을 호출하는 계약을 정의합니다. // ✅ 질문 응답 생성 단계를 모듈화하려는 목적을 설명합니다.
  */
@@ -16,4 +20,28 @@ public interface GptClient {
     default GptResponse generate(GptRequest request, java.time.Duration timeout) {
         return generate(request); // ✅ 기본 구현은 기존 동작을 유지하며, 구현체에서 필요 시 오버라이드할 수 있습니다.
     }    
-}
\ No newline at end of file
+
+    /**
+     * 스레드를 점유하지 않고 답변을 비동기로 생성합니다. // ✅ 타임아웃이 null 이면 구현체 기본 대기 시간을 따릅니다.
+     */
+    default Mono<GptResponse> generateAsync(GptRequest request, java.time.Duration timeout) {
+        return Mono.fromCallable(() -> generate(request, timeout))
+                .subscribeOn(Schedulers.boundedElastic()); // ✅ 기본 구현은 블로킹 호출을 탄력 스케줄러로 넘겨 호환성을 유지합니다.
+    }
+
+    /**
+     * 기본 대기 시간으로 답변을 비동기 생성합니다. // ✅ 타임아웃 인자를 생략한 호출부를 위한 편의 오버로드입니다.
+     */
+    default Mono<GptResponse> generateAsync(GptRequest request) {
+        return generateAsync(request, null);
+    }
+
+    /**
+     * 답변을 생성되는 순서대로 텍스트 조각 단위로 흘려보냅니다. // ✅ 조각을 이어 붙이면 generate 결과와 같은 전체 답변이 됩니다.
+     */
+    default Flux<String> stream(GptRequest request) {
+        return generateAsync(request)
+                .map(GptResponse::answer)
+                .flux(); // ✅ 스트리밍을 지원하지 않는 구현체는 전체 답변을 한 조각으로 내보냅니다.
+    }
+}
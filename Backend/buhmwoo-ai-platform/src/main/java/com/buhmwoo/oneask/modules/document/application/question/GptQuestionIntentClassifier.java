@@ -5,7 +5,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 
@@ -17,6 +19,11 @@ public class GptQuestionIntentClassifier implements QuestionIntentClassifier {
 
     private static final Logger log = LoggerFactory.getLogger(GptQuestionIntentClassifier.class);
 
+    /** 스몰톡으로 간주하는 키워드 (로컬 의도 모델의 초기 학습 데이터로도 사용) */
+    static final List<String> SMALL_TALK_KEYWORDS = List.of(
+            "날씨", "안녕", "hello", "hi", "고마워", "thank", "기분", "오늘 어때"
+    );
+
     private final GptClient gptClient;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
@@ -50,6 +57,23 @@ public class GptQuestionIntentClassifier implements QuestionIntentClassifier {
         return fallbackIntent(question, docId);
     }
 
+    @Override
+    public Mono<QuestionIntentResult> classifyAsync(String question, String docId) {
+        if (question == null || question.isBlank()) {
+            return Mono.just(QuestionIntentResult.fallback(QuestionIntent.UNKNOWN, docId != null));
+        }
+
+        // 🔹 동기 버전과 동일한 규칙을 따르되, GPT 응답을 기다리는 동안 스레드를 붙잡지 않습니다.
+        GptRequest req = new GptRequest(question, buildSystemPrompt(docId));
+        return gptClient.generateAsync(req)
+                .mapNotNull(response -> parseIntent(response.answer(), docId))
+                .onErrorResume(e -> {
+                    log.warn("[INTENT][FAIL] GPT 분류 실패: {}", e.getMessage(), e);
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> fallbackIntent(question, docId)));
+    }
+
     /**
      * GPT가 내려준 JSON 응답에서 intent/needsDocumentContext를 파싱합니다.
      */
@@ -145,13 +169,6 @@ public class GptQuestionIntentClassifier implements QuestionIntentClassifier {
             return false;
         }
         String normalized = question.toLowerCase(Locale.ROOT);
-        return normalized.contains("날씨")
-                || normalized.contains("안녕")
-                || normalized.contains("hello")
-                || normalized.contains("hi")
-                || normalized.contains("고마워")
-                || normalized.contains("thank")
-                || normalized.contains("기분")
-                || normalized.contains("오늘 어때");
+        return SMALL_TALK_KEYWORDS.stream().anyMatch(normalized::contains);
     }
 }
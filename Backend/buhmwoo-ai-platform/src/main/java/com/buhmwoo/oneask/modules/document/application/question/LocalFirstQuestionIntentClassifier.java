@@ -0,0 +1,241 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 로컬 나이브 베이즈 모델로 먼저 의도를 판별하고, 신뢰도가 낮을 때만 GPT 분류기를 호출하는 구현체입니다.
+ * GPT 가 내려준 분류 결과는 라벨 로그 파일에 남겨 재기동 시 다시 학습하므로, 쓸수록 LLM 호출이 줄어듭니다.
+ * <p>
+ * 라벨 로그에는 사용자 질문 원문이 기록됩니다. 파일은 최근 {@code oneask.intent.label-log-max-lines} 줄만 유지하도록
+ * 주기적으로 정리되고, {@code oneask.intent.label-log-enabled=false} 로 기록 자체를 끌 수 있습니다.
+ */
+@Component
+public class LocalFirstQuestionIntentClassifier implements QuestionIntentClassifier {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalFirstQuestionIntentClassifier.class);
+
+    private static final String LABEL_LOG_DIR = ".oneask";
+    private static final String LABEL_LOG_FILE = "intent-labels.tsv";
+    private static final String METRIC_NAME = "oneask.intent.classifications";
+
+    private final QuestionIntentClassifier llmClassifier;
+    private final OneAskProperties props;
+    private final NaiveBayesIntentModel model;
+    private int labelLogLines; // ✅ appendLabel 과 같은 모니터로 보호되는 현재 로그 줄 수
+
+    private final Counter localCounter;
+    private final Counter llmCounter;
+
+    public LocalFirstQuestionIntentClassifier(@Qualifier("gptQuestionIntentClassifier") QuestionIntentClassifier llmClassifier,
+                                              OneAskProperties props,
+                                              MeterRegistry meterRegistry) {
+        this.llmClassifier = llmClassifier;
+        this.props = props;
+        this.model = new NaiveBayesIntentModel(props.getIntent().getModelMaxFeatures());
+        // ✅ source=local 카운트가 곧 "절약한 LLM 호출 수" 입니다.
+        this.localCounter = Counter.builder(METRIC_NAME)
+                .description("질문 의도 분류 횟수 (local=LLM 호출 생략, llm=GPT 분류기 호출)")
+                .tag("source", "local")
+                .register(meterRegistry);
+        this.llmCounter = Counter.builder(METRIC_NAME)
+                .description("질문 의도 분류 횟수 (local=LLM 호출 생략, llm=GPT 분류기 호출)")
+                .tag("source", "llm")
+                .register(meterRegistry);
+        Gauge.builder("oneask.intent.model.examples", model, NaiveBayesIntentModel::exampleCount)
+                .description("로컬 의도 모델의 학습 예시 수")
+                .register(meterRegistry);
+        Gauge.builder("oneask.intent.model.features", model, NaiveBayesIntentModel::vocabularySize)
+                .description("로컬 의도 모델이 보관 중인 n-gram 특징 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void trainInitialModel() {
+        // 1) 기존 스몰톡 휴리스틱 키워드를 초기 학습 데이터로 사용
+        for (String keyword : GptQuestionIntentClassifier.SMALL_TALK_KEYWORDS) {
+            model.train(keyword, false, QuestionIntent.SMALL_TALK);
+        }
+
+        // 2) 이전에 기록된 GPT 분류 라벨로 재학습
+        Path labelLog = resolveLabelLog();
+        if (labelLog == null || !Files.exists(labelLog)) {
+            return;
+        }
+        int loaded = 0;
+        try {
+            List<String> lines;
+            synchronized (this) {
+                lines = retainRecentLines(labelLog); // ✅ 보관 한도를 넘긴 로그는 읽는 김에 최근 줄만 남김
+            }
+            for (String line : lines) {
+                if (trainFromLogLine(line)) {
+                    loaded++;
+                }
+            }
+            log.info("[INTENT][LOCAL] 라벨 로그 {}건으로 로컬 의도 모델 학습 완료", loaded);
+        } catch (IOException e) {
+            log.warn("[INTENT][LOCAL] 라벨 로그 읽기 실패: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public QuestionIntentResult classify(String question, String docId) {
+        Optional<QuestionIntentResult> local = classifyLocally(question, docId);
+        if (local.isPresent()) {
+            return local.get();
+        }
+        llmCounter.increment();
+        QuestionIntentResult result = llmClassifier.classify(question, docId);
+        learn(question, docId, result);
+        return result;
+    }
+
+    @Override
+    public Mono<QuestionIntentResult> classifyAsync(String question, String docId) {
+        Optional<QuestionIntentResult> local = classifyLocally(question, docId);
+        if (local.isPresent()) {
+            return Mono.just(local.get());
+        }
+        return Mono.defer(() -> {
+                    llmCounter.increment();
+                    return llmClassifier.classifyAsync(question, docId);
+                })
+                .doOnNext(result -> learn(question, docId, result));
+    }
+
+    /**
+     * 로컬 모델이 충분히 학습되어 있고 신뢰도가 기준 이상일 때만 결과를 돌려줍니다.
+     */
+    private Optional<QuestionIntentResult> classifyLocally(String question, String docId) {
+        OneAskProperties.Intent settings = props.getIntent();
+        if (!settings.isLocalModelEnabled() || question == null || question.isBlank()) {
+            return Optional.empty();
+        }
+        // 특정 의도의 학습 예시가 부족하면 사후 확률이 한쪽으로 쏠리므로 아예 사용하지 않음
+        if (model.minExamplesPerLabel() < settings.getMinExamplesPerIntent()) {
+            return Optional.empty();
+        }
+
+        boolean docScoped = docId != null;
+        return model.predict(question, docScoped)
+                .filter(prediction -> prediction.confidence() >= settings.getConfidenceThreshold())
+                .map(prediction -> {
+                    localCounter.increment();
+                    log.debug("[INTENT][LOCAL] intent={} confidence={}", prediction.intent(),
+                            String.format("%.3f", prediction.confidence()));
+                    return QuestionIntentResult.of(prediction.intent(),
+                            prediction.intent() == QuestionIntent.DOC_KNOWLEDGE);
+                });
+    }
+
+    /**
+     * GPT 가 실제로 판별한 결과(휴리스틱 fallback 제외)만 온라인 학습하고 라벨 로그에 남깁니다.
+     */
+    private void learn(String question, String docId, QuestionIntentResult result) {
+        if (result == null || result.fromFallback() || result.intent() == QuestionIntent.UNKNOWN
+                || question == null || question.isBlank()) {
+            return;
+        }
+        boolean docScoped = docId != null;
+        model.train(question, docScoped, result.intent());
+
+        if (props.getIntent().isLabelLogEnabled()) {
+            // 파일 쓰기는 요청 스레드를 막지 않도록 별도 스케줄러에서 처리
+            Schedulers.boundedElastic().schedule(() -> appendLabel(question, docScoped, result.intent()));
+        }
+    }
+
+    private synchronized void appendLabel(String question, boolean docScoped, QuestionIntent intent) {
+        Path labelLog = resolveLabelLog();
+        int maxLines = props.getIntent().getLabelLogMaxLines();
+        if (labelLog == null || maxLines <= 0) {
+            return;
+        }
+        String sanitized = question.replaceAll("[\\t\\r\\n]+", " ").trim();
+        String line = intent.name() + "\t" + (docScoped ? "DOC" : "ALL") + "\t" + sanitized + System.lineSeparator();
+        try {
+            Files.createDirectories(labelLog.getParent());
+            Files.writeString(labelLog, line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            labelLogLines++;
+            // 한도를 넘을 때마다 다시 쓰지 않도록 10% 여유를 두고 한 번에 정리
+            if (labelLogLines > maxLines + Math.max(1, maxLines / 10)) {
+                retainRecentLines(labelLog);
+            }
+        } catch (IOException e) {
+            log.warn("[INTENT][LOCAL] 라벨 로그 기록 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 라벨 로그를 한 줄씩 읽어 최근 {@code labelLogMaxLines} 줄만 돌려주고, 더 많았다면 파일도 그 줄들로 교체합니다.
+     * 호출자는 appendLabel 과 같은 모니터를 잡고 있어야 합니다.
+     */
+    private List<String> retainRecentLines(Path labelLog) throws IOException {
+        int maxLines = Math.max(0, props.getIntent().getLabelLogMaxLines());
+        ArrayDeque<String> recent = new ArrayDeque<>();
+        int total = 0;
+        try (BufferedReader reader = Files.newBufferedReader(labelLog, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                total++;
+                recent.addLast(line);
+                if (recent.size() > maxLines) {
+                    recent.removeFirst();
+                }
+            }
+        }
+        if (total > maxLines) {
+            Path temp = labelLog.resolveSibling(LABEL_LOG_FILE + ".tmp");
+            Files.write(temp, recent, StandardCharsets.UTF_8);
+            Files.move(temp, labelLog, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("[INTENT][LOCAL] 라벨 로그 정리: {}줄 중 최근 {}줄만 보관", total, recent.size());
+        }
+        labelLogLines = recent.size();
+        return List.copyOf(recent);
+    }
+
+    private boolean trainFromLogLine(String line) {
+        String[] parts = line.split("\t", 3);
+        if (parts.length < 3) {
+            return false;
+        }
+        try {
+            QuestionIntent intent = QuestionIntent.valueOf(parts[0].trim());
+            model.train(parts[2], "DOC".equals(parts[1].trim()), intent);
+            return true;
+        } catch (IllegalArgumentException ignored) {
+            return false;
+        }
+    }
+
+    private Path resolveLabelLog() {
+        String root = props.getStorage().getRoot();
+        if (root == null || root.isBlank()) {
+            return null;
+        }
+        return Paths.get(root, LABEL_LOG_DIR, LABEL_LOG_FILE);
+    }
+}
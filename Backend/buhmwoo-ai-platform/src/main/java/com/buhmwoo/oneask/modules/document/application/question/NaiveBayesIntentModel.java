@@ -0,0 +1,192 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 질문 문자열의 문자 n-gram 을 특징으로 쓰는 다항 나이브 베이즈 의도 모델입니다.
+ * 한국어 띄어쓰기가 들쭉날쭉해도 음절 단위 n-gram 은 안정적으로 겹치므로 형태소 분석 없이 동작하며,
+ * 새 라벨이 들어올 때마다 카운트만 갱신하면 되므로 온라인 학습이 가능합니다.
+ * 특징 사전은 최대 크기까지만 늘어나며, 가득 찬 뒤 처음 보는 n-gram 은 학습에서 제외해 메모리 사용량을 제한합니다.
+ */
+public class NaiveBayesIntentModel {
+
+    /** 학습/예측 대상 의도 (UNKNOWN 은 라벨로 쓰지 않습니다) */
+    static final List<QuestionIntent> LABELS = List.of(
+            QuestionIntent.SMALL_TALK,
+            QuestionIntent.DOC_KNOWLEDGE,
+            QuestionIntent.GENERAL_KNOWLEDGE
+    );
+
+    private static final int MIN_GRAM = 1;
+    private static final int MAX_GRAM = 3;
+    private static final double SMOOTHING = 1.0;
+
+    private final Map<QuestionIntent, Map<String, Integer>> featureCounts = new EnumMap<>(QuestionIntent.class);
+    private final Map<QuestionIntent, Long> totalFeatureCounts = new EnumMap<>(QuestionIntent.class);
+    private final Map<QuestionIntent, Integer> exampleCounts = new EnumMap<>(QuestionIntent.class);
+    private final Set<String> vocabulary = new HashSet<>();
+    private final int maxVocabulary;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public NaiveBayesIntentModel() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxVocabulary 보관할 최대 특징 수 (의도별 카운트 맵도 이 크기를 넘지 않습니다)
+     */
+    public NaiveBayesIntentModel(int maxVocabulary) {
+        this.maxVocabulary = Math.max(1, maxVocabulary);
+        for (QuestionIntent label : LABELS) {
+            featureCounts.put(label, new HashMap<>());
+            totalFeatureCounts.put(label, 0L);
+            exampleCounts.put(label, 0);
+        }
+    }
+
+    /**
+     * 라벨이 붙은 질문 하나를 학습합니다. UNKNOWN 이나 빈 질문은 무시합니다.
+     */
+    public void train(String question, boolean docScoped, QuestionIntent label) {
+        if (label == null || !LABELS.contains(label) || question == null || question.isBlank()) {
+            return;
+        }
+        Map<String, Integer> features = extractFeatures(question, docScoped);
+        lock.writeLock().lock();
+        try {
+            Map<String, Integer> counts = featureCounts.get(label);
+            long added = 0;
+            for (Map.Entry<String, Integer> feature : features.entrySet()) {
+                if (!vocabulary.contains(feature.getKey())) {
+                    if (vocabulary.size() >= maxVocabulary) {
+                        continue; // ✅ 사전이 가득 차면 새 특징은 버리고 이미 아는 특징만 학습
+                    }
+                    vocabulary.add(feature.getKey());
+                }
+                counts.merge(feature.getKey(), feature.getValue(), Integer::sum);
+                added += feature.getValue();
+            }
+            totalFeatureCounts.merge(label, added, Long::sum);
+            exampleCounts.merge(label, 1, Integer::sum);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 가장 가능성이 높은 의도와 사후 확률(0~1)을 반환합니다. 학습 데이터가 없으면 빈 값입니다.
+     */
+    public Optional<Prediction> predict(String question, boolean docScoped) {
+        if (question == null || question.isBlank()) {
+            return Optional.empty();
+        }
+        Map<String, Integer> features = extractFeatures(question, docScoped);
+        lock.readLock().lock();
+        try {
+            int totalExamples = exampleCounts.values().stream().mapToInt(Integer::intValue).sum();
+            if (totalExamples == 0) {
+                return Optional.empty();
+            }
+
+            double vocabularySize = Math.max(vocabulary.size(), 1);
+            Map<QuestionIntent, Double> logScores = new EnumMap<>(QuestionIntent.class);
+            for (QuestionIntent label : LABELS) {
+                int examples = exampleCounts.get(label);
+                double logPrior = Math.log((examples + SMOOTHING) / (totalExamples + SMOOTHING * LABELS.size()));
+                double denominator = totalFeatureCounts.get(label) + SMOOTHING * vocabularySize;
+                Map<String, Integer> counts = featureCounts.get(label);
+
+                double logLikelihood = 0.0;
+                for (Map.Entry<String, Integer> feature : features.entrySet()) {
+                    int count = counts.getOrDefault(feature.getKey(), 0);
+                    logLikelihood += feature.getValue() * Math.log((count + SMOOTHING) / denominator);
+                }
+                logScores.put(label, logPrior + logLikelihood);
+            }
+            return Optional.of(toPrediction(logScores));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 의도별 학습 예시 수 중 최솟값 (모든 의도가 충분히 학습됐는지 판단할 때 사용) */
+    public int minExamplesPerLabel() {
+        lock.readLock().lock();
+        try {
+            return exampleCounts.values().stream().mapToInt(Integer::intValue).min().orElse(0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int vocabularySize() {
+        lock.readLock().lock();
+        try {
+            return vocabulary.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int exampleCount() {
+        lock.readLock().lock();
+        try {
+            return exampleCounts.values().stream().mapToInt(Integer::intValue).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Prediction toPrediction(Map<QuestionIntent, Double> logScores) {
+        // 로그 점수를 softmax 로 정규화해 사후 확률로 변환 (최댓값을 빼서 언더플로 방지)
+        double max = logScores.values().stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
+        double sum = 0.0;
+        QuestionIntent best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (Map.Entry<QuestionIntent, Double> entry : logScores.entrySet()) {
+            sum += Math.exp(entry.getValue() - max);
+            if (entry.getValue() > bestScore) {
+                bestScore = entry.getValue();
+                best = entry.getKey();
+            }
+        }
+        double confidence = Math.exp(bestScore - max) / sum;
+        return new Prediction(best, confidence);
+    }
+
+    /** 소문자화·공백 정리 후 1~3 글자 n-gram 과 문서 범위 표시 특징을 추출합니다. */
+    static Map<String, Integer> extractFeatures(String question, boolean docScoped) {
+        String normalized = " " + question.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ") + " ";
+        int[] codePoints = normalized.codePoints().toArray();
+
+        Map<String, Integer> features = new HashMap<>();
+        for (int n = MIN_GRAM; n <= MAX_GRAM; n++) {
+            for (int i = 0; i + n <= codePoints.length; i++) {
+                String gram = new String(codePoints, i, n);
+                if (!gram.isBlank()) {
+                    features.merge(gram, 1, Integer::sum);
+                }
+            }
+        }
+        features.merge(docScoped ? "#scope:doc" : "#scope:all", 1, Integer::sum);
+        return features;
+    }
+
+    /**
+     * 예측 결과입니다.
+     *
+     * @param intent 가장 가능성이 높은 의도
+     * @param confidence 해당 의도의 사후 확률(0~1)
+     */
+    public record Prediction(QuestionIntent intent, double confidence) {
+    }
+}
@@ -0,0 +1,238 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 캐시된 질문을 MinHash/LSH 로 색인해, 정규화 후에도 조금 다른 질문에서 거의 같은 항목을 찾아 줍니다.
+ * <p>
+ * 캐시 키("범위::모드::정규화 질문")의 질문 부분을 글자 2-gram 집합으로 보고, 64개 MinHash 를 16 밴드 × 4 행으로 나눠 버킷에 넣습니다.
+ * 같은 범위·모드 안에서 한 밴드라도 일치하는 항목만 후보로 삼고, 후보는 실제 자카드 유사도로 다시 확인합니다.
+ * 질문에 들어 있는 숫자(연도, 금액 등)가 다르면 유사도와 관계없이 다른 질문으로 봅니다. 숫자는 정규화 전 원문 질문에서 뽑습니다.
+ */
+final class NearDuplicateQuestionIndex {
+
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;
+    /** 이보다 짧은 질문은 한두 글자 차이로도 뜻이 달라지므로 유사 매칭하지 않음 */
+    private static final int MIN_SHINGLES = 4;
+
+    private final long[] seeds = new long[BANDS * ROWS];
+    private final Map<String, Signature> signatures = new HashMap<>(); // ✅ 캐시 키 → 서명
+    private final Map<String, Set<String>> buckets = new HashMap<>(); // ✅ 범위·모드·밴드별 해시 → 캐시 키 목록
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    NearDuplicateQuestionIndex() {
+        SplittableRandom random = new SplittableRandom(0x6F6E6561736BL); // ✅ 재기동 후에도 같은 해시 함수를 쓰도록 시드를 고정합니다.
+        for (int i = 0; i < seeds.length; i++) {
+            seeds[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * 유사 매칭 결과입니다.
+     *
+     * @param key 일치한 캐시 항목의 키
+     * @param similarity 두 질문의 자카드 유사도 (0~1)
+     */
+    record Match(String key, double similarity) {
+    }
+
+    /**
+     * @param question 원문 질문 (숫자 비교용)
+     */
+    void add(String key, String question) {
+        Signature signature = signatureOf(key, question);
+        if (signature == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            signatures.put(key, signature);
+            for (String bucket : signature.buckets()) {
+                buckets.computeIfAbsent(bucket, b -> new HashSet<>()).add(key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            signatures.clear();
+            buckets.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 같은 범위·모드에서 유사도가 기준 이상인 항목 중 가장 비슷한 항목을 찾습니다.
+     */
+    Optional<Match> findSimilar(String key, String question, double threshold) {
+        Signature query = signatureOf(key, question);
+        if (query == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            Set<String> candidates = new HashSet<>();
+            for (String bucket : query.buckets()) {
+                Set<String> keys = buckets.get(bucket);
+                if (keys != null) {
+                    candidates.addAll(keys);
+                }
+            }
+            candidates.remove(key);
+            Match best = null;
+            for (String candidate : candidates) {
+                Signature signature = signatures.get(candidate);
+                if (signature == null || !signature.digits().equals(query.digits())) {
+                    continue;
+                }
+                double similarity = jaccard(query.shingles(), signature.shingles());
+                if (similarity >= threshold && (best == null || similarity > best.similarity())) {
+                    best = new Match(candidate, similarity);
+                }
+            }
+            return Optional.ofNullable(best);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return signatures.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 두 원문 질문을 정규화해 글자 2-gram 자카드 유사도를 계산합니다. // ✅ 원문 질문 속 숫자가 다르면 0 을 반환합니다.
+     */
+    static double similarity(String leftQuestion, String rightQuestion) {
+        if (!QuestionNormalizer.numbersOf(leftQuestion).equals(QuestionNormalizer.numbersOf(rightQuestion))) {
+            return 0.0;
+        }
+        String normalizedLeft = QuestionNormalizer.normalize(leftQuestion);
+        String normalizedRight = QuestionNormalizer.normalize(rightQuestion);
+        if (normalizedLeft.equals(normalizedRight)) {
+            return 1.0;
+        }
+        return jaccard(shingles(normalizedLeft), shingles(normalizedRight));
+    }
+
+    private void removeLocked(String key) {
+        Signature previous = signatures.remove(key);
+        if (previous == null) {
+            return;
+        }
+        for (String bucket : previous.buckets()) {
+            Set<String> keys = buckets.get(bucket);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    buckets.remove(bucket);
+                }
+            }
+        }
+    }
+
+    /**
+     * 캐시 키를 범위·모드 부분과 질문 부분으로 나눠 서명을 만듭니다. // ✅ 정규화 질문에는 ':' 가 남지 않으므로 마지막 구분자로 나눌 수 있습니다.
+     */
+    private Signature signatureOf(String key, String question) {
+        int separator = key.lastIndexOf("::");
+        if (separator < 0) {
+            return null;
+        }
+        String partition = key.substring(0, separator);
+        String text = key.substring(separator + 2);
+        int[] shingles = shingles(text);
+        if (shingles.length < MIN_SHINGLES) {
+            return null;
+        }
+        long[] minHashes = new long[seeds.length];
+        Arrays.fill(minHashes, Long.MAX_VALUE);
+        for (int shingle : shingles) {
+            for (int i = 0; i < seeds.length; i++) {
+                long hash = mix(shingle + seeds[i]);
+                if (hash < minHashes[i]) {
+                    minHashes[i] = hash;
+                }
+            }
+        }
+        String[] bucketKeys = new String[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long bandHash = 1;
+            for (int row = 0; row < ROWS; row++) {
+                bandHash = 31 * bandHash + minHashes[band * ROWS + row];
+            }
+            bucketKeys[band] = partition + "#" + band + "#" + Long.toHexString(bandHash);
+        }
+        return new Signature(shingles, QuestionNormalizer.numbersOf(question == null ? text : question), bucketKeys);
+    }
+
+    /**
+     * 글자 2-gram 해시를 정렬·중복 제거해 반환합니다.
+     */
+    private static int[] shingles(String text) {
+        if (text.length() < 2) {
+            return new int[0];
+        }
+        int[] hashes = new int[text.length() - 1];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = text.charAt(i) * 31 + text.charAt(i + 1);
+        }
+        return Arrays.stream(hashes).sorted().distinct().toArray();
+    }
+
+    private static double jaccard(int[] left, int[] right) {
+        int i = 0;
+        int j = 0;
+        int intersection = 0;
+        while (i < left.length && j < right.length) {
+            if (left[i] == right[j]) {
+                intersection++;
+                i++;
+                j++;
+            } else if (left[i] < right[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        int union = left.length + right.length - intersection;
+        return union == 0 ? 0.0 : (double) intersection / union;
+    }
+
+    private static long mix(long x) {
+        x = (x ^ (x >>> 30)) * 0xBF58476D1CE4E5B9L;
+        x = (x ^ (x >>> 27)) * 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+
+    private record Signature(int[] shingles, String digits, String[] buckets) {
+    }
+}
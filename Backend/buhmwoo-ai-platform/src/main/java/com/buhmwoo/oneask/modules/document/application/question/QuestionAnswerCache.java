@@ -1,80 +1,356 @@
 package com.buhmwoo.oneask.modules.document.application.question;
 
+import com.buhmwoo.oneask.common.config.OneAskProperties; // ✅ 용량·스트라이프·TTL 설정을 읽기 위해 임포트합니다.
 import com.buhmwoo.oneask.modules.document.api.dto.QuestionAnswerResponseDto; // ✅ 캐시가 보관할 응답 DTO를 사용하기 위해 임포트합니다.
 import com.buhmwoo.oneask.modules.document.api.dto.QuestionAnswerSourceDto; // ✅ 출처 리스트를 깊은 복사하기 위해 임포트합니다.
+import io.micrometer.core.instrument.FunctionCounter; // ✅ 누적 통계를 actuator 지표로 노출하기 위해 임포트합니다.
+import io.micrometer.core.instrument.Gauge; // ✅ 현재 크기·가중치·적중률을 지표로 노출하기 위해 임포트합니다.
+import io.micrometer.core.instrument.MeterRegistry; // ✅ 지표 등록 대상 레지스트리입니다.
+import org.slf4j.Logger; // ✅ 유사 질문 적중 내역을 남기기 위해 임포트합니다.
+import org.slf4j.LoggerFactory; // ✅ 현재 클래스용 로거를 생성하기 위해 임포트합니다.
+import org.springframework.beans.factory.ObjectProvider; // ✅ 선택적으로 활성화되는 2차 캐시를 주입받기 위해 임포트합니다.
 import org.springframework.stereotype.Component; // ✅ 스프링 빈으로 등록하기 위해 Component 애너테이션을 임포트합니다.
 
 import java.time.Duration; // ✅ TTL 계산을 위해 Duration 클래스를 임포트합니다.
-import java.time.Instant; // ✅ 캐시 만료 시점을 기록하기 위해 Instant를 임포트합니다.
-import java.util.LinkedHashMap; // ✅ LRU 전략 구현을 위해 LinkedHashMap을 임포트합니다.
+import java.util.Iterator; // ✅ CLOCK 순서를 순회하며 희생 항목을 고르기 위해 임포트합니다.
+import java.util.LinkedHashMap; // ✅ 스트라이프별 삽입 순서(CLOCK 큐)를 유지하기 위해 임포트합니다.
 import java.util.List; // ✅ 출처 리스트 복제 시 활용하기 위해 임포트합니다.
-import java.util.Map; // ✅ 맵 기반으로 캐시 엔트리를 관리하기 위해 임포트합니다.
+import java.util.Map; // ✅ 범위별 키 색인을 관리하기 위해 임포트합니다.
 import java.util.Optional; // ✅ 캐시 조회 결과를 Optional로 감싸 호출자가 안전하게 처리하도록 합니다.
+import java.util.Set; // ✅ 문서 범위별 키 색인을 보관하기 위해 임포트합니다.
+import java.util.concurrent.ConcurrentHashMap; // ✅ 조회 경로를 락 없이 처리하기 위해 임포트합니다.
+import java.util.concurrent.atomic.LongAdder; // ✅ 고경합 환경에서 통계를 누적하기 위해 임포트합니다.
+import java.util.concurrent.locks.ReentrantLock; // ✅ 스트라이프 단위로 쓰기를 직렬화하기 위해 임포트합니다.
 import java.util.stream.Collectors; // ✅ 스트림을 사용해 출처 DTO를 복제하기 위해 임포트합니다.
 
 /**
- * 질문-문서 조합에 대한 응답을 간단히 캐싱하는 유틸리티입니다. // ✅ 동일한 질문에 대한 불필요한 RAG 호출을 줄이려는 목적을 설명합니다.
+ * 질문-문서 조합에 대한 응답을 캐싱하는 유틸리티입니다. // ✅ 동일한 질문에 대한 불필요한 RAG 호출을 줄이려는 목적을 설명합니다.
+ * <p>
+ * 키 해시로 나눈 스트라이프마다 조회용 ConcurrentHashMap 과 쓰기 락을 두어, 조회는 락 없이 처리하고 쓰기만 스트라이프 단위로 직렬화합니다.
+ * 용량이 차면 CLOCK(second-chance) 순서로 희생 후보를 고르고, TinyLFU 입장 정책으로 새 항목이 희생 후보보다 자주 요청된 경우에만 교체합니다.
+ * <p>
+ * 문서 기반 답변은 저장 시점의 인덱스 버전({@link DocumentIndexVersions})을 함께 기록하고, 조회 시 현재 버전과 다르면 버립니다.
+ * 무효화는 해당 문서 범위와 전체(ALL) 범위 색인에 등록된 키만 제거하므로 영향받는 항목 수에 비례한 시간만 듭니다.
+ * <p>
+ * {@link SecondLevelAnswerStore} 가 활성화되어 있으면 저장 시 함께 기록하고, 메모리 미스 시 같은 만료·버전 검사를 거쳐 끌어올립니다.
+ * <p>
+ * 키의 질문 부분은 {@link QuestionNormalizer} 로 정규화하고, 그래도 일치하는 키가 없으면 {@link NearDuplicateQuestionIndex} 로
+ * 같은 범위·모드의 거의 같은 질문을 찾아 그 답변을 돌려줍니다. 이때 응답의 cacheMatchedQuestion 에 일치한 질문을 담습니다.
  */
 @Component // ✅ 서비스 계층에서 주입받아 사용할 수 있도록 스프링 빈으로 등록합니다.
 public class QuestionAnswerCache {
 
-    private static final int MAX_ENTRIES = 100; // ✅ 캐시 메모리 사용량을 제한하기 위한 최대 보관 개수입니다.
-    private static final Duration TTL = Duration.ofMinutes(10); // ✅ 응답의 신선도를 보장하기 위한 보관 시간입니다.
+    private static final Logger log = LoggerFactory.getLogger(QuestionAnswerCache.class);
+    private static final String METRIC_PREFIX = "oneask.answer.cache";
+    private static final String ALL_SCOPE = "ALL";
+    /** 문서 인덱스와 무관한 답변(스몰톡·일반 지식)의 버전 표시값 */
+    public static final long UNVERSIONED = -1L;
 
-    private final Map<String, CacheEntry> cache = new LinkedHashMap<>(16, 0.75f, true) {
-        @Override
-        protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
-            return size() > MAX_ENTRIES; // ✅ 최신 순으로 유지하면서 일정 개수를 초과하면 자동으로 제거합니다.
+    private final OneAskProperties.Cache settings;
+    private final Stripe[] stripes;
+    private final long stripeCapacity;
+    private final FrequencySketch sketch;
+    private final DocumentIndexVersions indexVersions;
+    private final SecondLevelAnswerStore secondLevel; // ✅ 비활성화 시 null
+    private final NearDuplicateQuestionIndex nearDuplicates; // ✅ 유사 질문 매칭 비활성화 시 null
+    private final Map<String, Set<String>> scopeIndex = new ConcurrentHashMap<>(); // ✅ 범위(문서 UUID 또는 ALL) → 버전이 기록된 키 목록
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder secondLevelHits = new LongAdder();
+    private final LongAdder nearDuplicateHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder staleDrops = new LongAdder();
+
+    public QuestionAnswerCache(OneAskProperties props, DocumentIndexVersions indexVersions,
+                               ObjectProvider<SecondLevelAnswerStore> secondLevelStore, MeterRegistry meterRegistry) {
+        this.settings = props.getCache();
+        this.indexVersions = indexVersions;
+        this.secondLevel = secondLevelStore.getIfAvailable();
+        this.nearDuplicates = settings.isNearDuplicateEnabled() ? new NearDuplicateQuestionIndex() : null;
+        int stripeCount = Integer.highestOneBit(Math.max(1, settings.getStripes()) - 1) << 1; // ✅ 2의 거듭제곱으로 올려 마스크 연산을 사용합니다.
+        stripeCount = Math.max(1, stripeCount);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
         }
-    };
+        this.stripeCapacity = Math.max(1L, settings.getMaximumWeight() / stripeCount);
+        this.sketch = new FrequencySketch((int) Math.min(settings.getMaximumWeight() / 512, 1 << 20)); // ✅ 평균 답변 크기를 대략 512자로 보고 빈도 테이블을 잡습니다.
+        registerMetrics(meterRegistry);
+    }
 
     /**
      * 캐시에 저장된 응답을 조회합니다. // ✅ TTL을 초과한 경우 즉시 무효화합니다.
      */
-    public synchronized Optional<QuestionAnswerResponseDto> get(String docId, String question, BotMode mode) {
+    public Optional<QuestionAnswerResponseDto> get(String docId, String question, BotMode mode) {
         String key = buildKey(docId, question, mode); // ✅ 모드까지 포함해 캐시 키를 구성해 혼선을 방지합니다.
-        CacheEntry entry = cache.get(key);
+        sketch.increment(key); // ✅ 미스도 빈도에 반영해야 다음 저장 시 입장 여부를 판단할 수 있습니다.
+        Stripe stripe = stripeFor(key);
+        CacheEntry entry = stripe.entries.get(key);
         if (entry == null) {
-            return Optional.empty(); // ✅ 캐시에 없는 경우 빈 Optional을 반환합니다.
+            entry = loadFromSecondLevel(key).orElse(null); // ✅ 재기동 전에 저장된 답변이 있으면 메모리로 끌어올립니다.
+            if (entry != null) {
+                secondLevelHits.increment();
+                return Optional.of(copyForCaller(entry.response, null));
+            }
+            Optional<QuestionAnswerResponseDto> similar = findNearDuplicate(key, question); // ✅ 표현만 조금 다른 질문의 답변을 재사용합니다.
+            if (similar.isEmpty()) {
+                misses.increment();
+            }
+            return similar; // ✅ 캐시에 없는 경우 빈 Optional을 반환합니다.
+        }
+        if (entry.isExpired(System.nanoTime())) {
+            stripe.remove(key, entry); // ✅ 만료된 엔트리는 즉시 제거해 메모리를 회수합니다.
+            misses.increment();
+            return Optional.empty();
+        }
+        if (isStale(entry)) {
+            stripe.remove(key, entry); // ✅ 저장 이후 의존 문서 인덱스가 바뀐 답변은 버립니다.
+            staleDrops.increment();
+            misses.increment();
+            return Optional.empty();
         }
-        if (Instant.now().isAfter(entry.expireAt())) {
-            cache.remove(key); // ✅ 만료된 엔트리는 즉시 제거해 메모리를 회수합니다.
+        entry.referenced = true; // ✅ CLOCK 교체 시 한 번 더 기회를 주도록 표시만 하고 순서는 건드리지 않습니다.
+        hits.increment();
+        return Optional.of(copyForCaller(entry.response, null));
+    }
+
+    /**
+     * 유사 질문 색인에서 기준 이상으로 비슷한 항목을 찾아, 유효하면 그 답변을 돌려줍니다.
+     */
+    private Optional<QuestionAnswerResponseDto> findNearDuplicate(String key, String question) {
+        if (nearDuplicates == null) {
             return Optional.empty();
         }
-        QuestionAnswerResponseDto cached = entry.response(); // ✅ 저장된 응답을 꺼냅니다.
-        QuestionAnswerResponseDto copy = cached.toBuilder()
+        return nearDuplicates.findSimilar(key, question, settings.getNearDuplicateThreshold())
+                .flatMap(match -> {
+                    CacheEntry entry = stripeFor(match.key()).entries.get(match.key());
+                    if (entry == null || entry.isExpired(System.nanoTime()) || isStale(entry)) {
+                        return Optional.empty(); // ✅ 만료·낡은 항목 정리는 정확 일치 조회와 입장 심사에 맡깁니다.
+                    }
+                    entry.referenced = true;
+                    nearDuplicateHits.increment();
+                    log.debug("유사 질문 캐시 적중: '{}' → '{}' (유사도 {})", question, entry.question,
+                            String.format("%.2f", match.similarity()));
+                    return Optional.of(copyForCaller(entry.response, entry.question));
+                });
+    }
+
+    private QuestionAnswerResponseDto copyForCaller(QuestionAnswerResponseDto cached, String matchedQuestion) {
+        return cached.toBuilder()
                 .sources(copySources(cached.getSources()))
                 .fromCache(true)
+                .cacheMatchedQuestion(matchedQuestion)
                 .build(); // ✅ 캐시된 응답임을 표시하는 사본을 만들어 반환합니다.
-        return Optional.of(copy);
     }
 
     /**
-     * 새로운 응답을 캐시에 저장합니다. // ✅ 동일 키에 대한 이전 응답은 덮어씁니다.
+     * 2차 캐시에서 답변을 읽어 만료·버전 검사를 통과하면 남은 수명 그대로 메모리 캐시에 다시 넣습니다.
+     */
+    private Optional<CacheEntry> loadFromSecondLevel(String key) {
+        if (secondLevel == null) {
+            return Optional.empty();
+        }
+        return secondLevel.load(key)
+                .filter(stored -> stored.expireAtEpochMillis() > System.currentTimeMillis())
+                .filter(stored -> stored.indexVersion() == UNVERSIONED
+                        || stored.indexVersion() == indexVersions.versionFor(stored.docId()))
+                .map(stored -> {
+                    long remainingNanos = Duration.ofMillis(stored.expireAtEpochMillis() - System.currentTimeMillis()).toNanos();
+                    CacheEntry promoted = new CacheEntry(key, questionOf(key), stored.docId(), stored.response(), weigh(stored.response()),
+                            System.nanoTime() + remainingNanos, stored.indexVersion());
+                    if (promoted.weight <= stripeCapacity) {
+                        stripeFor(key).admit(promoted);
+                    }
+                    return promoted;
+                });
+    }
+
+    /**
+     * 새로운 응답을 문서 기반 답변 TTL 로 캐시에 저장합니다. // ✅ 의도를 알 수 없는 기존 호출부와의 호환용입니다.
+     */
+    public void put(String docId, String question, BotMode mode, QuestionAnswerResponseDto response) {
+        put(docId, question, mode, QuestionIntent.DOC_KNOWLEDGE, response);
+    }
+
+    /**
+     * 새로운 응답을 의도별 TTL 로 캐시에 저장합니다. // ✅ 문서 기반 답변은 저장 시점의 인덱스 버전을 기록합니다.
      */
-    public synchronized void put(String docId, String question, BotMode mode, QuestionAnswerResponseDto response) {
+    public void put(String docId, String question, BotMode mode, QuestionIntent intent, QuestionAnswerResponseDto response) {
+        long indexVersion = intent == QuestionIntent.SMALL_TALK || intent == QuestionIntent.GENERAL_KNOWLEDGE
+                ? UNVERSIONED
+                : indexVersions.versionFor(docId);
+        put(docId, question, mode, intent, response, indexVersion);
+    }
+
+    /**
+     * 답변 생성에 사용한 인덱스 버전을 명시해 저장합니다. // ✅ 검색 이후 문서가 바뀌었다면 이미 낡은 답변이므로 저장하지 않습니다.
+     *
+     * @param indexVersion 검색을 시작할 때 관찰한 {@link DocumentIndexVersions#versionFor} 값 (인덱스 무관 답변은 {@link #UNVERSIONED})
+     */
+    public void put(String docId, String question, BotMode mode, QuestionIntent intent,
+                    QuestionAnswerResponseDto response, long indexVersion) {
+        if (indexVersion != UNVERSIONED && indexVersion != indexVersions.versionFor(docId)) {
+            staleDrops.increment();
+            return;
+        }
         String key = buildKey(docId, question, mode); // ✅ 모드가 다른 응답을 별도로 보관합니다.
         QuestionAnswerResponseDto stored = response.toBuilder()
                 .sources(copySources(response.getSources()))
                 .fromCache(false)
+                .cacheMatchedQuestion(null)
                 .build(); // ✅ 원본 응답 정보를 복제해 캐시 내부 상태를 캡슐화합니다.
-        cache.put(key, new CacheEntry(stored, Instant.now().plus(TTL))); // ✅ 응답과 만료 시각을 함께 저장합니다.
+        Duration ttl = ttlFor(intent);
+        if (secondLevel != null) {
+            secondLevel.store(key, new SecondLevelAnswerStore.StoredAnswer(docId, stored, indexVersion,
+                    System.currentTimeMillis() + ttl.toMillis()));
+        }
+        long weight = weigh(stored);
+        if (weight > stripeCapacity) {
+            rejections.increment(); // ✅ 스트라이프 하나를 통째로 비워야 하는 거대한 답변은 메모리에 보관하지 않습니다.
+            return;
+        }
+        CacheEntry candidate = new CacheEntry(key, question.trim(), docId, stored, weight, System.nanoTime() + ttl.toNanos(), indexVersion);
+        stripeFor(key).admit(candidate);
     }
 
     /**
-     * 특정 문서(또는 전체)와 연결된 캐시 엔트리를 모두 제거합니다. // ✅ 업로드/삭제 후 이전 답변이 남지 않도록 합니다.
+     * 문서 인덱스 변경을 반영합니다. // ✅ 해당 문서 범위와 전체(ALL) 범위의 문서 기반 답변만 제거하고, docId 가 null 이면 캐시 전체를 비웁니다.
+     * <p>
+     * 버전 검사만으로도 낡은 답변은 조회되지 않지만, 용량을 바로 돌려받기 위해 범위 색인에 등록된 키를 즉시 제거합니다.
      */
-    public synchronized void invalidate(String docId) {
+    public void invalidate(String docId) {
         if (docId == null) {
-            cache.clear();
+            for (Stripe stripe : stripes) {
+                stripe.clear();
+            }
+            scopeIndex.clear();
+            if (nearDuplicates != null) {
+                nearDuplicates.clear();
+            }
+            if (secondLevel != null) {
+                secondLevel.clear();
+            }
             return;
         }
-        String prefix = docId + "::"; // ✅ 키 규칙과 동일하게 접두어를 만들어 매칭합니다.
-        cache.keySet().removeIf(key -> key.startsWith(prefix));
+        removeScope(docId);
+        removeScope(ALL_SCOPE);
+    }
+
+    /**
+     * 문서·모드·정규화 질문 조합으로 캐시 키를 만듭니다. // ✅ 진행 중 질의 공유(single-flight)도 같은 키 규칙을 사용합니다.
+     */
+    public String buildKey(String docId, String question, BotMode mode) {
+        return (docId == null ? "ALL" : docId) + "::" + mode.name() + "::" + QuestionNormalizer.normalize(question); // ✅ 봇 모드까지 키에 포함해 캐시 충돌을 막습니다.
     }
-        
-    private String buildKey(String docId, String question, BotMode mode) {
-        return (docId == null ? "ALL" : docId) + "::" + mode.name() + "::" + question.trim(); // ✅ 봇 모드까지 키에 포함해 캐시 충돌을 막습니다.
+
+    /**
+     * 원본 질문을 알 수 없는 항목(2차 캐시에서 끌어올린 항목)은 키의 정규화 질문 부분을 대신 사용합니다.
+     */
+    private static String questionOf(String key) {
+        return key.substring(key.lastIndexOf("::") + 2);
+    }
+
+    private void removeScope(String scope) {
+        Set<String> keys = scopeIndex.remove(scope);
+        if (keys == null) {
+            return;
+        }
+        for (String key : keys) {
+            stripeFor(key).removeKey(key);
+        }
+    }
+
+    private boolean isStale(CacheEntry entry) {
+        return entry.indexVersion != UNVERSIONED && entry.indexVersion != indexVersions.versionFor(entry.docId);
+    }
+
+    private static String scopeOf(String docId) {
+        return docId == null ? ALL_SCOPE : docId;
+    }
+
+    private Duration ttlFor(QuestionIntent intent) {
+        if (intent == null) {
+            return settings.getDocKnowledgeTtl();
+        }
+        return switch (intent) {
+            case SMALL_TALK -> settings.getSmallTalkTtl(); // ✅ 잡담 답변은 문서 변경과 무관하므로 오래 보관합니다.
+            case GENERAL_KNOWLEDGE -> settings.getGeneralKnowledgeTtl();
+            default -> settings.getDocKnowledgeTtl();
+        };
+    }
+
+    /**
+     * 항목 가중치를 답변·제목·출처 미리보기의 문자 수로 계산합니다. // ✅ 긴 답변이 짧은 답변 여러 개만큼 용량을 차지하도록 합니다.
+     */
+    private long weigh(QuestionAnswerResponseDto response) {
+        long weight = 64; // ✅ 키·메타데이터 고정 비용
+        weight += response.getAnswer() == null ? 0 : response.getAnswer().length();
+        weight += response.getTitle() == null ? 0 : response.getTitle().length();
+        if (response.getSources() != null) {
+            for (QuestionAnswerSourceDto source : response.getSources()) {
+                weight += 32;
+                weight += source.getPreview() == null ? 0 : source.getPreview().length();
+                weight += source.getSource() == null ? 0 : source.getSource().length();
+            }
+        }
+        return weight;
+    }
+
+    private Stripe stripeFor(String key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return stripes[h & (stripes.length - 1)];
+    }
+
+    private long size() {
+        long size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.entries.size();
+        }
+        return size;
+    }
+
+    private long weight() {
+        long weight = 0;
+        for (Stripe stripe : stripes) {
+            weight += stripe.weight;
+        }
+        return weight;
+    }
+
+    private double hitRatio() {
+        long hitCount = hits.sum() + secondLevelHits.sum() + nearDuplicateHits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private void registerMetrics(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", hits, LongAdder::sum)
+                .tag("result", "hit").description("답변 캐시 조회 수").register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", secondLevelHits, LongAdder::sum)
+                .tag("result", "hit_l2").description("답변 캐시 조회 수").register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", nearDuplicateHits, LongAdder::sum)
+                .tag("result", "hit_near").description("답변 캐시 조회 수").register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".gets", misses, LongAdder::sum)
+                .tag("result", "miss").description("답변 캐시 조회 수").register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".evictions", evictions, LongAdder::sum)
+                .description("용량 초과로 제거된 답변 수").register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".rejections", rejections, LongAdder::sum)
+                .description("입장 정책(TinyLFU)·크기 제한으로 저장되지 않은 답변 수").register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".stale", staleDrops, LongAdder::sum)
+                .description("문서 인덱스 버전이 바뀌어 버려진 답변 수").register(registry);
+        Gauge.builder(METRIC_PREFIX + ".size", this, QuestionAnswerCache::size)
+                .description("답변 캐시 항목 수").register(registry);
+        Gauge.builder(METRIC_PREFIX + ".weight", this, QuestionAnswerCache::weight)
+                .description("답변 캐시 가중치 합계").register(registry);
+        if (nearDuplicates != null) {
+            Gauge.builder(METRIC_PREFIX + ".near.indexed", nearDuplicates, NearDuplicateQuestionIndex::size)
+                    .description("유사 질문 색인에 등록된 질문 수").register(registry);
+        }
+        Gauge.builder(METRIC_PREFIX + ".hit.ratio", this, QuestionAnswerCache::hitRatio)
+                .description("답변 캐시 적중률").register(registry);
     }
 
     private List<QuestionAnswerSourceDto> copySources(List<QuestionAnswerSourceDto> sources) {
@@ -92,8 +368,154 @@ public class QuestionAnswerCache {
     }
 
     /**
-     * 캐시 내부에 저장할 응답과 만료 시각을 묶은 불변 레코드입니다. // ✅ Map 값 객체의 용도를 명확히 합니다.
+     * 캐시의 한 구획입니다. // ✅ 조회는 entries 만 읽고, 쓰기·제거는 lock 을 잡고 entries/clock/weight 를 함께 갱신합니다.
+     */
+    private final class Stripe {
+        private final ConcurrentHashMap<String, CacheEntry> entries = new ConcurrentHashMap<>();
+        private final LinkedHashMap<String, CacheEntry> clock = new LinkedHashMap<>(); // ✅ lock 보호: 삽입 순서 = CLOCK 순회 순서
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile long weight; // ✅ lock 보호 하에서만 변경하고, 지표 조회는 락 없이 읽습니다.
+
+        void admit(CacheEntry candidate) {
+            lock.lock();
+            try {
+                CacheEntry previous = clock.get(candidate.key);
+                if (previous != null) {
+                    unlink(previous); // ✅ 갱신은 입장 심사 없이 교체합니다.
+                } else {
+                    int candidateFrequency = sketch.frequency(candidate.key);
+                    while (weight + candidate.weight > stripeCapacity) {
+                        CacheEntry victim = selectVictim();
+                        if (victim == null) {
+                            break;
+                        }
+                        boolean expired = victim.isExpired(System.nanoTime()) || isStale(victim);
+                        if (!expired && candidateFrequency < sketch.frequency(victim.key)) {
+                            // ✅ 희생 후보가 더 자주 요청되는 항목이면 새 항목을 들이지 않고, 후보는 뒤로 보내 다음 심사에서는 다른 항목과 비교합니다.
+                            clock.remove(victim.key);
+                            clock.put(victim.key, victim);
+                            rejections.increment();
+                            return;
+                        }
+                        unlink(victim);
+                        if (!expired) {
+                            evictions.increment();
+                        }
+                    }
+                }
+                clock.put(candidate.key, candidate);
+                entries.put(candidate.key, candidate);
+                weight += candidate.weight;
+                if (nearDuplicates != null) {
+                    nearDuplicates.add(candidate.key, candidate.question);
+                }
+                if (candidate.indexVersion != UNVERSIONED) {
+                    scopeIndex.computeIfAbsent(scopeOf(candidate.docId), scope -> ConcurrentHashMap.newKeySet())
+                            .add(candidate.key);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * CLOCK 순서로 최근 조회되지 않은 항목을 찾습니다. // ✅ 조회된 항목은 표시를 지우고 뒤로 보내 한 번 더 기회를 줍니다.
+         */
+        private CacheEntry selectVictim() {
+            int budget = clock.size();
+            while (budget-- > 0) {
+                Iterator<CacheEntry> iterator = clock.values().iterator();
+                if (!iterator.hasNext()) {
+                    return null;
+                }
+                CacheEntry head = iterator.next();
+                if (!head.referenced || head.isExpired(System.nanoTime()) || isStale(head)) {
+                    return head;
+                }
+                head.referenced = false;
+                iterator.remove();
+                clock.put(head.key, head);
+            }
+            Iterator<CacheEntry> iterator = clock.values().iterator();
+            return iterator.hasNext() ? iterator.next() : null;
+        }
+
+        void remove(String key, CacheEntry expected) {
+            lock.lock();
+            try {
+                if (entries.get(key) == expected) {
+                    unlink(expected);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void removeKey(String key) {
+            lock.lock();
+            try {
+                CacheEntry entry = clock.get(key);
+                if (entry != null) {
+                    unlink(entry);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void clear() {
+            lock.lock();
+            try {
+                clock.clear();
+                entries.clear();
+                weight = 0;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void unlink(CacheEntry entry) {
+            clock.remove(entry.key);
+            entries.remove(entry.key);
+            weight -= entry.weight;
+            if (nearDuplicates != null) {
+                nearDuplicates.remove(entry.key);
+            }
+            if (entry.indexVersion != UNVERSIONED) {
+                Set<String> keys = scopeIndex.get(scopeOf(entry.docId));
+                if (keys != null) {
+                    keys.remove(entry.key);
+                }
+            }
+        }
+    }
+
+    /**
+     * 캐시 내부에 저장할 응답과 만료 시각, 가중치, 인덱스 버전을 묶은 값 객체입니다. // ✅ CLOCK 참조 비트만 조회 시 변경됩니다.
      */
-    private record CacheEntry(QuestionAnswerResponseDto response, Instant expireAt) {
+    private static final class CacheEntry {
+        private final String key;
+        private final String question; // ✅ 유사 질문 적중 시 어떤 질문과 일치했는지 알려 주기 위한 원본 질문
+        private final String docId;
+        private final QuestionAnswerResponseDto response;
+        private final long weight;
+        private final long expireAtNanos;
+        private final long indexVersion;
+        private volatile boolean referenced;
+
+        private CacheEntry(String key, String question, String docId, QuestionAnswerResponseDto response, long weight,
+                           long expireAtNanos, long indexVersion) {
+            this.key = key;
+            this.question = question;
+            this.docId = docId;
+            this.response = response;
+            this.weight = weight;
+            this.expireAtNanos = expireAtNanos;
+            this.indexVersion = indexVersion;
+        }
+
+        private boolean isExpired(long nowNanos) {
+            return nowNanos - expireAtNanos > 0;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import com.buhmwoo.oneask.common.dto.ApiResponseDto;
+import com.buhmwoo.oneask.modules.document.api.dto.QuestionAnswerResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 동일한 질문이 동시에 여러 번 들어올 때 첫 요청의 계산만 실행하고 나머지는 그 결과를 기다려 공유하게 하는 single-flight 유틸리티입니다.
+ * 키는 {@link QuestionAnswerCache#buildKey} 와 같은 규칙을 사용하므로, 캐시 미스가 몰리는 순간에도 RAG 호출은 한 번만 나갑니다.
+ */
+@Component
+public class QuestionAnswerCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(QuestionAnswerCoalescer.class);
+
+    private final ConcurrentMap<String, CompletableFuture<ApiResponseDto<QuestionAnswerResponseDto>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaderCounter;
+    private final Counter followerCounter;
+
+    public QuestionAnswerCoalescer(MeterRegistry meterRegistry) {
+        this.leaderCounter = Counter.builder("oneask.ask.coalescing")
+                .description("single-flight 질의 처리 (leader=실제 계산, follower=진행 중 계산 공유)")
+                .tag("role", "leader")
+                .register(meterRegistry);
+        this.followerCounter = Counter.builder("oneask.ask.coalescing")
+                .description("single-flight 질의 처리 (leader=실제 계산, follower=진행 중 계산 공유)")
+                .tag("role", "follower")
+                .register(meterRegistry);
+        Gauge.builder("oneask.ask.inflight", inFlight, ConcurrentMap::size)
+                .description("진행 중인 고유 질의 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 같은 키의 계산이 진행 중이면 그 결과를 기다리고, 없으면 새로 계산을 시작합니다.
+     *
+     * @param key 캐시 키와 같은 규칙의 질의 키
+     * @param computation 실제 질의 파이프라인 (구독 시점에 한 번만 실행)
+     * @param maxWait 계산이 끝나지 않을 때 진행 중 항목을 강제로 정리하기까지의 최대 시간
+     */
+    public Mono<ApiResponseDto<QuestionAnswerResponseDto>> execute(String key,
+                                                                   Supplier<Mono<ApiResponseDto<QuestionAnswerResponseDto>>> computation,
+                                                                   Duration maxWait) {
+        return Mono.deferContextual(context -> {
+            CompletableFuture<ApiResponseDto<QuestionAnswerResponseDto>> created = new CompletableFuture<>();
+            CompletableFuture<ApiResponseDto<QuestionAnswerResponseDto>> existing = inFlight.putIfAbsent(key, created);
+            if (existing != null) {
+                followerCounter.increment();
+                log.debug("[ASK][COALESCE] 진행 중인 동일 질의에 합류: {}", key);
+                // 한 호출자가 연결을 끊어도 공유 계산은 취소되지 않도록 suppressCancel=true
+                return Mono.fromFuture(existing, true);
+            }
+
+            leaderCounter.increment();
+            // 계산은 첫 호출자의 구독 수명과 분리해 실행 (첫 호출자가 취소해도 뒤따른 호출자는 결과를 받음)
+            created.whenComplete((result, error) -> inFlight.remove(key, created));
+            Mono.defer(computation)
+                    .timeout(maxWait)
+                    .contextWrite(context) // 분리 실행해도 첫 호출자의 마감(AskDeadline) 등 Context 는 이어받음
+                    .subscribe(
+                            created::complete,
+                            created::completeExceptionally,
+                            () -> {
+                                if (!created.isDone()) {
+                                    created.completeExceptionally(new IllegalStateException("질의 결과가 비어 있습니다."));
+                                }
+                            });
+            return Mono.fromFuture(created, true);
+        });
+    }
+}
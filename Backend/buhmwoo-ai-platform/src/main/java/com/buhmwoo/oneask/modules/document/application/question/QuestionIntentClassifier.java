@@ -1,5 +1,8 @@
 package com.buhmwoo.oneask.modules.document.application.question;
 
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
 /**
  * 사용자 질문의 의도를 판별하기 위한 분류기 계약입니다.
  */
@@ -13,4 +16,17 @@ public interface QuestionIntentClassifier {
      * @return 분류 결과와 부가 정보
      */
     QuestionIntentResult classify(String question, String docId);
-}   
\ No newline at end of file
+
+    /**
+     * 스레드를 점유하지 않고 질문 의도를 분류합니다.
+     * 기본 구현은 동기 분류를 탄력 스케줄러에서 실행합니다.
+     *
+     * @param question 사용자가 입력한 질문 텍스트
+     * @param docId 질문 대상 문서 ID(없을 수 있음)
+     * @return 분류 결과를 방출하는 Mono
+     */
+    default Mono<QuestionIntentResult> classifyAsync(String question, String docId) {
+        return Mono.fromCallable(() -> classify(question, docId))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+}   
@@ -0,0 +1,110 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import java.text.Normalizer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 캐시 키에 사용할 질문 정규화 규칙입니다.
+ * 대소문자, 전각/반각, 공백·띄어쓰기, 문장부호, 흔한 한국어 요청·종결 어미만 다른 질문은 같은 질문으로 취급합니다.
+ * <p>
+ * 예: "휴가 규정 알려줘", "휴가 규정 알려줘?", "휴가규정 알려 줘", "휴가 규정 알려주세요." → "휴가규정알려"
+ * <p>
+ * 뜻을 바꾸는 기호와 숫자 구분은 남깁니다: "1.5일"과 "15일", "C++"와 "C#", "2024 1"과 "20241"은 서로 다른 키가 됩니다.
+ */
+public final class QuestionNormalizer {
+
+    /**
+     * 질문 끝에서 한 번만 떼어 내는 어미 목록입니다. // ✅ 긴 어미부터 비교해 "줄수있나요"가 "나요"보다 먼저 처리되도록 정렬합니다.
+     * <p>
+     * "니", "요", "야" 처럼 한 글자 어미는 "어머니", "중요", "분야" 같은 낱말 끝과 구분할 수 없어 넣지 않습니다.
+     */
+    private static final List<String> ENDINGS = List.of(
+                    // 요청형: "알려줘/알려 주세요/알려줄 수 있어?" → "알려"
+                    "주실수있나요", "주실수있어요", "주시겠어요", "주실래요", "줄수있나요", "줄수있어요", "줄수있어",
+                    "주세요", "줄래요", "줄래", "줘요", "줘",
+                    // 의문·서술형: "규정이 뭐예요/뭔가요" → "규정이뭐"
+                    "입니까", "인가요", "이에요", "예요", "에요", "인가", "인지", "이야", "나요")
+            .stream()
+            .sorted(Comparator.comparingInt(String::length).reversed())
+            .toList();
+
+    /** 어미를 떼고 남아야 하는 최소 길이 (짧은 질문이 통째로 사라지지 않도록) */
+    private static final int MIN_STEM_LENGTH = 2;
+
+    /** 낱말 사이에 있을 때만 남기는 기호 (소수점, 천 단위 구분, 버전, 날짜, 하이픈) */
+    private static final String INNER_SYMBOLS = ".,/-";
+    /** 낱말 바로 뒤에 붙을 때만 남기는 기호 ("c++", "c#", "50%") */
+    private static final String SUFFIX_SYMBOLS = "+#%";
+    /** 질문 속 수 (소수점·천 단위 구분 포함) */
+    private static final Pattern NUMBER = Pattern.compile("\\p{N}+(?:[.,]\\p{N}+)*");
+
+    private QuestionNormalizer() {
+    }
+
+    public static String normalize(String question) {
+        if (question == null) {
+            return "";
+        }
+        String text = Normalizer.normalize(question, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder out = new StringBuilder(text.length());
+        boolean gap = false; // ✅ 마지막으로 남긴 글자 뒤에 공백이나 버린 기호가 있었는지
+        int[] codePoints = text.codePoints().toArray();
+        for (int i = 0; i < codePoints.length; i++) {
+            int cp = codePoints[i];
+            int last = out.length() == 0 ? -1 : out.codePointBefore(out.length());
+            if (Character.isLetterOrDigit(cp)) {
+                if (gap && Character.isDigit(cp) && last != -1 && Character.isDigit(last)) {
+                    out.append(' '); // ✅ "2024 1" 과 "20241" 을 구분하도록 숫자 사이 공백은 하나 남김
+                }
+                out.appendCodePoint(cp);
+                gap = false;
+            } else if (!gap && last != -1 && isKeptSymbol(cp, last, i + 1 < codePoints.length ? codePoints[i + 1] : -1)) {
+                out.appendCodePoint(cp);
+            } else {
+                gap = true; // ✅ 한국어는 띄어쓰기가 들쭉날쭉하므로 공백과 나머지 문장부호·기호는 모두 지움
+            }
+        }
+        return foldEnding(out.toString());
+    }
+
+    private static boolean isKeptSymbol(int cp, int previous, int next) {
+        if (INNER_SYMBOLS.indexOf(cp) >= 0) {
+            return Character.isLetterOrDigit(previous) && next != -1 && Character.isLetterOrDigit(next);
+        }
+        if (SUFFIX_SYMBOLS.indexOf(cp) >= 0) {
+            return Character.isLetterOrDigit(previous) || SUFFIX_SYMBOLS.indexOf(previous) >= 0;
+        }
+        return false;
+    }
+
+    /**
+     * 원문 질문에 들어 있는 수를 차례대로 돌려줍니다. // ✅ 유사 질문 매칭에서 숫자가 다른 질문을 걸러낼 때 정규화 전 원문으로 비교합니다.
+     * <p>
+     * 예: "연차 1.5일, 2024 1월" → "1.5|2024|1|"
+     */
+    public static String numbersOf(String question) {
+        if (question == null) {
+            return "";
+        }
+        String text = Normalizer.normalize(question, Normalizer.Form.NFKC);
+        StringBuilder numbers = new StringBuilder();
+        Matcher matcher = NUMBER.matcher(text);
+        while (matcher.find()) {
+            numbers.append(matcher.group()).append('|');
+        }
+        return numbers.toString();
+    }
+
+    private static String foldEnding(String text) {
+        for (String ending : ENDINGS) {
+            if (text.endsWith(ending) && text.length() - ending.length() >= MIN_STEM_LENGTH) {
+                return text.substring(0, text.length() - ending.length());
+            }
+        }
+        return text;
+    }
+}
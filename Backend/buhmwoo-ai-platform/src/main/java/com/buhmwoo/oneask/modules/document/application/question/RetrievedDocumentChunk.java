@@ -14,4 +14,25 @@ public record RetrievedDocumentChunk(
         Integer page, // ✅ 페이지/슬라이드 번호 등 위치 정보를 담습니다.
         Map<String, Object> metadata // ✅ 추가 필드가 필요할 때 확장 가능하도록 메타데이터 맵을 제공합니다.
 ) {
+
+    /**
+     * 메타데이터의 검색 점수를 숫자로 반환합니다. // ✅ 점수가 없거나 숫자로 해석할 수 없으면 null 을 반환합니다.
+     */
+    public Double score() {
+        if (metadata == null) {
+            return null;
+        }
+        Object score = metadata.get("score");
+        if (score instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (score instanceof String text) {
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException ignored) {
+                return null;
+            }
+        }
+        return null;
+    }
 }
\ No newline at end of file
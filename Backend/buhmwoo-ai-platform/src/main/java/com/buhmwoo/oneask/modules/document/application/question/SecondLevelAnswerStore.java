@@ -0,0 +1,38 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import com.buhmwoo.oneask.modules.document.api.dto.QuestionAnswerResponseDto;
+
+import java.util.Optional;
+
+/**
+ * 재기동 후에도 유지되는 답변 캐시 2차 저장소 계약입니다.
+ * {@link QuestionAnswerCache} 가 메모리 캐시 미스 시 조회하고, 저장 시 함께 기록합니다.
+ */
+public interface SecondLevelAnswerStore {
+
+    /**
+     * 캐시 키에 해당하는 답변을 읽어 옵니다. 만료·버전 검사는 호출자가 수행합니다.
+     */
+    Optional<StoredAnswer> load(String key);
+
+    /**
+     * 답변을 기록합니다. 같은 키의 이전 기록은 더 이상 조회되지 않습니다.
+     */
+    void store(String key, StoredAnswer answer);
+
+    /**
+     * 저장된 답변을 모두 버립니다.
+     */
+    void clear();
+
+    /**
+     * 2차 저장소에 기록하는 답변과 유효성 검사 정보입니다.
+     *
+     * @param docId 답변 범위 문서 UUID (전체 문서 범위면 null)
+     * @param response 답변 본문
+     * @param indexVersion 답변 생성 시점의 인덱스 버전 ({@link QuestionAnswerCache#UNVERSIONED} 이면 버전 무관)
+     * @param expireAtEpochMillis 만료 시각 (epoch millis, 재기동 후에도 비교할 수 있도록 벽시계 기준)
+     */
+    record StoredAnswer(String docId, QuestionAnswerResponseDto response, long indexVersion, long expireAtEpochMillis) {
+    }
+}
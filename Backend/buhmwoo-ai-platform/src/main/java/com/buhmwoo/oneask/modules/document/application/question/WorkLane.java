@@ -0,0 +1,26 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * 원격 호출을 어느 실행 레인에서 처리할지 나타냅니다.
+ * <p>
+ * 사용자가 기다리는 질의는 INTERACTIVE, 요약·엑셀 다운로드·인덱싱처럼 늦어져도 되는 작업은 BACKGROUND 로 표시합니다.
+ * 레인은 Reactor Context 로 전달되며, 값이 없으면 INTERACTIVE 로 봅니다.
+ */
+public enum WorkLane {
+    INTERACTIVE,  // 대화형 질의 (지연 목표 우선)
+    BACKGROUND;   // 요약·인덱싱 등 (부하가 높으면 늦추거나 멈춤)
+
+    /** Reactor Context 에 레인을 보관할 때 사용하는 키 */
+    public static final Class<WorkLane> CONTEXT_KEY = WorkLane.class;
+
+    public static WorkLane from(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, INTERACTIVE);
+    }
+
+    public Context putInto(Context context) {
+        return context.put(CONTEXT_KEY, this);
+    }
+}
@@ -0,0 +1,647 @@
+package com.buhmwoo.oneask.modules.document.application.upload;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import com.buhmwoo.oneask.modules.document.api.dto.BulkUploadItemDto;
+import com.buhmwoo.oneask.modules.document.api.dto.BulkUploadResponseDto;
+import com.buhmwoo.oneask.modules.document.application.indexing.DocumentIndexingQueue;
+import com.buhmwoo.oneask.modules.document.application.question.DocumentIndexVersions;
+import com.buhmwoo.oneask.modules.document.application.question.QuestionAnswerCache;
+import com.buhmwoo.oneask.modules.document.domain.Document;
+import com.buhmwoo.oneask.modules.document.domain.DocumentIndexingStatus;
+import com.buhmwoo.oneask.modules.document.infrastructure.client.RagBackendPool;
+import com.buhmwoo.oneask.modules.document.infrastructure.repository.maria.DocumentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+/**
+ * 여러 파일이나 zip 묶음을 한 요청으로 받아 스토리지 저장 → DB 등록 → 인덱싱 대기열 투입까지 처리합니다.
+ * <p>
+ * 파일 저장은 정해진 수의 스레드로 동시에 하고(여러 요청이 같은 스레드 풀을 나눠 씀), DB 등록은 묶음 단위 saveAll 로,
+ * 같은 이름 문서 조회는 파일마다가 아니라 이름 목록으로 한 번에 합니다. 인덱싱은 업로드와 같은 PENDING 대기열에 맡기므로
+ * 동시 인덱싱 수는 {@link DocumentIndexingQueue} 의 작업 스레드 수를 넘지 않습니다.
+ * <p>
+ * zip 은 임시 파일로 받은 뒤 항목을 직접 스토리지로 풀어 쓰므로 압축을 푼 전체 내용을 메모리에 올리지 않습니다.
+ * <p>
+ * 저장하면서 계산한 내용 해시로, 같은 이름·같은 내용의 기존 문서는 교체하지 않고 건너뛰며(재인덱싱 생략)
+ * 이름이 달라도 내용이 같으면 {@link DocumentBlobStore} 를 통해 저장 파일을 함께 씁니다.
+ * <p>
+ * 요청 스레드에서는 업로드 파일을 임시 파일로 옮기고 작업 ID 만 돌려줍니다. 나머지(저장, 기존 문서 교체와 RAG 삭제, DB 등록)는
+ * 작업 스레드 하나에서 요청 순서대로 처리하며 결과는 {@link #progress} 로 조회합니다. 작업 결과는 이 인스턴스 메모리에만
+ * 최근 {@value #MAX_KEPT_JOBS}개까지 보관하므로 재시작하면 사라집니다.
+ * <p>
+ * 끝나지 않은 작업 수는 설정한 상한을 넘지 않습니다. 상한에 닿았거나 파일 수가 최대 개수를 넘는 요청은 임시 파일로 옮기기 전에 거절하고,
+ * zip 항목이 최대 개수를 넘으면 나머지 항목은 읽지 않고 건너뛴 개수만 한 줄로 남깁니다.
+ */
+@Component
+public class BulkDocumentIngestor {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkDocumentIngestor.class);
+    private static final int MAX_KEPT_JOBS = 20;
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+    private static final int MAX_CONTENT_TYPE_LENGTH = 100;
+    private static final Charset LEGACY_ZIP_CHARSET = Charset.isSupported("MS949") // 윈도우 기본 압축으로 만든 zip 은 파일명이 CP949 인 경우가 많음
+            ? Charset.forName("MS949")
+            : StandardCharsets.ISO_8859_1;
+
+    private static final String STORED = "STORED";
+    private static final String SKIPPED = "SKIPPED";
+    private static final String FAILED = "FAILED";
+
+    private final OneAskProperties props;
+    private final DocumentRepository documentRepository;
+    private final DocumentIndexingQueue indexingQueue;
+    private final DocumentIndexVersions indexVersions;
+    private final QuestionAnswerCache questionAnswerCache;
+    private final RagBackendPool ragBackends;
+    private final DocumentBlobStore blobStore;
+    private final ExecutorService executor;
+    private final ExecutorService jobExecutor;
+    private final Semaphore pendingJobs; // ✅ 처리 중이거나 대기 중인 작업 자리
+    private final Map<String, Counter> resultCounters = new LinkedHashMap<>();
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    public BulkDocumentIngestor(OneAskProperties props,
+                                DocumentRepository documentRepository,
+                                DocumentIndexingQueue indexingQueue,
+                                DocumentIndexVersions indexVersions,
+                                QuestionAnswerCache questionAnswerCache,
+                                RagBackendPool ragBackends,
+                                DocumentBlobStore blobStore,
+                                MeterRegistry meterRegistry) {
+        this.props = props;
+        this.documentRepository = documentRepository;
+        this.indexingQueue = indexingQueue;
+        this.indexVersions = indexVersions;
+        this.questionAnswerCache = questionAnswerCache;
+        this.ragBackends = ragBackends;
+        this.blobStore = blobStore;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("bulk-upload-");
+        threadFactory.setDaemon(true);
+        this.executor = Executors.newFixedThreadPool(Math.max(1, props.getStorage().getBulkParallelism()), threadFactory);
+        CustomizableThreadFactory jobThreadFactory = new CustomizableThreadFactory("bulk-upload-job-");
+        jobThreadFactory.setDaemon(true);
+        int maxPendingJobs = Math.max(1, props.getStorage().getBulkMaxPendingJobs());
+        this.pendingJobs = new Semaphore(maxPendingJobs);
+        this.jobExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, // ✅ 저장 단계가 executor 를 join 하므로 별도 스레드에서 실행
+                new ArrayBlockingQueue<>(maxPendingJobs), jobThreadFactory);
+        for (String result : List.of(STORED, SKIPPED, FAILED)) {
+            resultCounters.put(result, Counter.builder("oneask.upload.bulk.files")
+                    .description("일괄 업로드로 받은 파일 수")
+                    .tag("result", result.toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 업로드 파일을 임시 파일로 옮기고 작업을 대기열에 올린 뒤 바로 작업 ID 를 돌려줍니다. // ✅ 파일별 결과는 {@link #progress} 로 조회합니다.
+     *
+     * @param replaceExisting 같은 이름으로 이미 등록된 문서를 정리하는 방법 (단건 업로드와 같은 규칙)
+     * @throws IllegalArgumentException 요청 파일 수가 최대 개수를 넘을 때
+     * @throws RejectedExecutionException 끝나지 않은 작업이 상한에 닿았거나 종료 중이라 작업을 받을 수 없을 때
+     */
+    public BulkUploadResponseDto ingest(List<MultipartFile> files, String description, String uploadedBy,
+                                        Consumer<Document> replaceExisting) throws IOException {
+        int maxFiles = props.getStorage().getBulkMaxFiles();
+        if (files.size() > maxFiles) {
+            throw new IllegalArgumentException("한 번에 올릴 수 있는 최대 파일 수(" + maxFiles + ")를 넘었습니다: " + files.size() + "개");
+        }
+        if (!pendingJobs.tryAcquire()) {
+            throw new RejectedExecutionException("처리 중인 일괄 업로드 작업이 많습니다. 잠시 후 다시 시도하세요.");
+        }
+        List<Upload> uploads = new ArrayList<>();
+        try {
+            for (MultipartFile file : files) {
+                uploads.add(receive(file)); // 요청이 끝나면 multipart 임시 파일이 지워지므로 그 전에 옮겨 둠
+            }
+        } catch (IOException | RuntimeException ex) {
+            pendingJobs.release();
+            uploads.forEach(upload -> deleteQuietly(upload.tempFile()));
+            throw ex;
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), LocalDateTime.now());
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+            if (jobs.size() > MAX_KEPT_JOBS) {
+                jobs.values().stream().filter(kept -> kept.completed).findFirst() // 진행 중인 작업은 지우지 않음
+                        .ifPresent(oldest -> jobs.remove(oldest.id));
+            }
+        }
+        try {
+            jobExecutor.execute(() -> {
+                try {
+                    run(job, uploads, description, uploadedBy, replaceExisting);
+                } finally {
+                    pendingJobs.release();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            pendingJobs.release();
+            synchronized (jobs) {
+                jobs.remove(job.id);
+            }
+            uploads.forEach(upload -> deleteQuietly(upload.tempFile()));
+            throw ex;
+        }
+        log.info("[UPLOAD][BULK] accepted jobId={} files={}", job.id, uploads.size());
+        return toResponse(job, List.of());
+    }
+
+    /**
+     * 작업 스레드에서 항목을 펼쳐 저장·교체·등록하고 결과를 작업에 기록합니다. // ✅ 예상하지 못한 오류가 나면 끝나지 않은 항목을 실패로 기록합니다.
+     */
+    private void run(Job job, List<Upload> uploads, String description, String uploadedBy, Consumer<Document> replaceExisting) {
+        List<Entry> entries = new ArrayList<>();
+        List<ZipFile> archives = new ArrayList<>();
+        boolean truncated = false;
+        try {
+            try {
+                for (Upload upload : uploads) {
+                    truncated |= collect(upload, entries, archives);
+                }
+                skipDuplicatesInRequest(entries);
+                stage(entries);
+                replaceExistingDocuments(entries, replaceExisting);
+                commit(entries, description, uploadedBy);
+            } finally {
+                entries.forEach(entry -> blobStore.discard(entry.staged)); // 건너뛰거나 실패한 항목의 스테이징 파일
+                for (ZipFile archive : archives) {
+                    closeQuietly(archive);
+                }
+                uploads.forEach(upload -> deleteQuietly(upload.tempFile()));
+            }
+            insert(entries);
+        } catch (RuntimeException ex) {
+            log.error("[UPLOAD][BULK] 작업 실패 jobId={} err={}", job.id, ex.toString(), ex);
+            entries.stream()
+                    .filter(entry -> entry.result == null)
+                    .forEach(entry -> entry.fail("일괄 업로드 처리 중 오류: " + ex.getMessage()));
+        } finally {
+            for (Entry entry : entries) {
+                if (entry.storedPath != null) { // 등록하지 못한 파일은 다른 문서가 쓰지 않을 때만 지워짐
+                    blobStore.settle(entry.staged.contentHash(), entry.storedPath, STORED.equals(entry.result));
+                }
+            }
+        }
+
+        List<BulkUploadItemDto> items = entries.stream().map(Entry::toItem).toList();
+        items.forEach(item -> resultCounters.get(item.getResult()).increment());
+        job.finish(items, truncated);
+        BulkUploadResponseDto response = toResponse(job, items);
+        log.info("[UPLOAD][BULK] jobId={} total={} stored={} skipped={} failed={}",
+                job.id, response.getTotal(), response.getStored(), response.getSkipped(), response.getFailed());
+    }
+
+    /**
+     * 작업의 파일별 결과를 현재 인덱싱 상태와 함께 돌려줍니다. // ✅ 삭제된 문서는 마지막으로 알던 상태를 그대로 보여줍니다.
+     */
+    public Optional<BulkUploadResponseDto> progress(String jobId) {
+        Job job;
+        synchronized (jobs) {
+            job = jobs.get(jobId);
+        }
+        if (job == null) {
+            return Optional.empty();
+        }
+        if (!job.completed) {
+            return Optional.of(toResponse(job, List.of()));
+        }
+        List<String> uuids = job.items.stream().map(BulkUploadItemDto::getUuid).filter(uuid -> uuid != null).toList();
+        Map<String, DocumentIndexingStatus> current = new LinkedHashMap<>();
+        for (int from = 0; from < uuids.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = uuids.subList(from, Math.min(uuids.size(), from + LOOKUP_CHUNK_SIZE));
+            documentRepository.findAllByUuidIn(chunk)
+                    .forEach(document -> current.put(document.getUuid(), document.getIndexingStatus()));
+        }
+        List<BulkUploadItemDto> items = job.items.stream()
+                .map(item -> item.toBuilder().indexingStatus(current.getOrDefault(item.getUuid(), item.getIndexingStatus())).build())
+                .toList();
+        return Optional.of(toResponse(job, items));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    /**
+     * 요청 파일을 임시 파일로 옮깁니다. // ✅ 디스크에 있는 multipart 파일은 복사하지 않고 옮겨집니다.
+     */
+    private static Upload receive(MultipartFile file) throws IOException {
+        Path tempFile = Files.createTempFile("oneask-bulk-", ".upload");
+        try {
+            file.transferTo(tempFile);
+        } catch (IOException | RuntimeException ex) {
+            deleteQuietly(tempFile);
+            throw ex;
+        }
+        String name = Optional.ofNullable(file.getOriginalFilename()).orElse("unnamed");
+        return new Upload(name, file.getSize(), file.getContentType(), tempFile);
+    }
+
+    /**
+     * 요청 파일 하나를 처리할 항목으로 펼칩니다. // ✅ zip 은 항목마다 하나씩 만들고, 최대 개수를 넘는 항목은 읽지 않고 건너뛴 개수만 한 항목으로 남깁니다.
+     *
+     * @return zip 항목을 최대 개수 때문에 다 읽지 않았으면 true
+     */
+    private boolean collect(Upload upload, List<Entry> entries, List<ZipFile> archives) {
+        String name = upload.name();
+        Path tempFile = upload.tempFile();
+        if (!isZip(upload.contentType(), name)) {
+            add(entries, new Entry(name, name, upload.size(), () -> Files.newInputStream(tempFile), upload.contentType()));
+            return false;
+        }
+        ZipFile archive;
+        try {
+            try {
+                archive = openArchive(tempFile, StandardCharsets.UTF_8);
+            } catch (ZipException | IllegalArgumentException malformedName) {
+                archive = openArchive(tempFile, LEGACY_ZIP_CHARSET); // UTF-8 표시 없이 CP949 로 저장된 파일명
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            log.warn("[UPLOAD][BULK] zip 열기 실패 name={} err={}", name, ex.toString());
+            Entry broken = new Entry(name, name, upload.size(), null, null);
+            broken.fail("zip 파일을 열 수 없습니다: " + ex.getMessage());
+            entries.add(broken);
+            return false;
+        }
+        archives.add(archive);
+        ZipFile opened = archive;
+        int maxFiles = props.getStorage().getBulkMaxFiles();
+        int dropped = 0;
+        Enumeration<? extends ZipEntry> zipEntries = archive.entries();
+        while (zipEntries.hasMoreElements()) {
+            ZipEntry zipEntry = zipEntries.nextElement();
+            if (zipEntry.isDirectory() || isHiddenEntry(zipEntry.getName())) {
+                continue;
+            }
+            if (dropped > 0 || entries.size() >= maxFiles) {
+                dropped++; // 최대 개수를 넘은 항목은 결과 항목을 만들지 않고 개수만 셈
+                continue;
+            }
+            add(entries, new Entry(name + "!/" + zipEntry.getName(), zipEntry.getName(), zipEntry.getSize(),
+                    () -> opened.getInputStream(zipEntry), null));
+        }
+        if (dropped == 0) {
+            return false;
+        }
+        Entry truncated = new Entry(name, name, 0, null, null);
+        truncated.skip("최대 파일 수(" + maxFiles + ")를 넘어 zip 항목 " + dropped + "개를 읽지 않았습니다.");
+        entries.add(truncated);
+        log.info("[UPLOAD][BULK] zip 항목이 최대 파일 수를 넘어 잘렸습니다 name={} dropped={}", name, dropped);
+        return true;
+    }
+
+    /**
+     * 지정한 문자셋으로 zip 을 열고 모든 항목 이름을 한 번 읽어 봅니다. // ✅ 이름을 해석하지 못하면 닫고 예외를 그대로 던집니다.
+     */
+    private static ZipFile openArchive(Path file, Charset charset) throws IOException {
+        ZipFile archive = new ZipFile(file.toFile(), charset);
+        try {
+            Collections.list(archive.entries());
+            return archive;
+        } catch (RuntimeException ex) {
+            closeQuietly(archive);
+            throw ex;
+        }
+    }
+
+    private void add(List<Entry> entries, Entry entry) {
+        long maxBytes = props.getStorage().getBulkMaxFileSize().toBytes();
+        if (entries.size() >= props.getStorage().getBulkMaxFiles()) {
+            entry.skip("한 번에 올릴 수 있는 최대 파일 수(" + props.getStorage().getBulkMaxFiles() + ")를 넘었습니다.");
+        } else if (entry.size > maxBytes) {
+            entry.fail("파일 크기 제한(" + props.getStorage().getBulkMaxFileSize() + ")을 넘었습니다.");
+        }
+        entries.add(entry);
+    }
+
+    /**
+     * 요청 안에서 이름이 겹치면 처음 것만 저장합니다. // ✅ 저장된 이름이 같으면 뒤 파일이 앞 파일을 지우게 되므로 미리 건너뜁니다.
+     */
+    private void skipDuplicatesInRequest(List<Entry> entries) {
+        Set<String> seen = new HashSet<>();
+        for (Entry entry : entries) {
+            if (entry.isOpen() && !seen.add(entry.safeName.toLowerCase(Locale.ROOT))) {
+                entry.skip("같은 이름의 파일이 요청에 이미 있습니다.");
+            }
+        }
+    }
+
+    /**
+     * 항목을 스테이징 폴더에 동시에 받으면서 내용 해시를 계산합니다. // ✅ 실패는 항목별로 기록하고 나머지는 계속 진행합니다.
+     */
+    private void stage(List<Entry> entries) {
+        long maxBytes = props.getStorage().getBulkMaxFileSize().toBytes();
+        CompletableFuture<?>[] writes = entries.stream()
+                .filter(Entry::isOpen)
+                .map(entry -> CompletableFuture.runAsync(() -> stageOne(entry, maxBytes), executor))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(writes).join();
+    }
+
+    private void stageOne(Entry entry, long maxBytes) {
+        try (InputStream in = entry.content.open()) {
+            entry.staged = blobStore.stage(in, maxBytes);
+        } catch (Exception ex) {
+            log.warn("[UPLOAD][BULK] 저장 실패 source={} err={}", entry.source, ex.toString());
+            entry.fail("파일 저장 실패: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * 이미 등록된 같은 이름 문서를 이름 목록으로 한 번에 찾습니다. 내용까지 같으면 그 문서를 그대로 두고 항목을 건너뛰며,
+     * 내용이 다르면 기존 문서를 정리합니다. // ✅ 인덱싱에 실패했던 같은 내용 문서는 다시 대기열에 올립니다.
+     */
+    private void replaceExistingDocuments(List<Entry> entries, Consumer<Document> replaceExisting) {
+        Map<String, Entry> byName = new LinkedHashMap<>();
+        entries.stream()
+                .filter(Entry::isOpen)
+                .forEach(entry -> byName.put(entry.safeName.toLowerCase(Locale.ROOT), entry));
+        List<String> names = new ArrayList<>(byName.keySet());
+        List<Long> retryIds = new ArrayList<>();
+        for (int from = 0; from < names.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = names.subList(from, Math.min(names.size(), from + LOOKUP_CHUNK_SIZE));
+            List<Document> replaced = new ArrayList<>();
+            for (Document existing : documentRepository.findAllByLowerFileNameIn(chunk)) {
+                Entry entry = byName.get(existing.getFileName().toLowerCase(Locale.ROOT));
+                if (entry != null && entry.isOpen() && isSameContent(entry, existing)) {
+                    entry.document = existing;
+                    entry.skip("동일한 내용의 파일이 이미 등록되어 있어 재인덱싱을 생략했습니다.");
+                    DocumentIndexingStatus status = existing.getIndexingStatus();
+                    if (ragBackends.isConfigured()
+                            && (status == DocumentIndexingStatus.FAILED || status == DocumentIndexingStatus.SKIPPED)) {
+                        retryIds.add(existing.getId());
+                        existing.setIndexingStatus(DocumentIndexingStatus.PENDING);
+                        entry.skip("동일한 내용의 파일이 이미 등록되어 있어 인덱싱만 다시 요청했습니다.");
+                    }
+                } else {
+                    replaced.add(existing);
+                }
+            }
+            for (Document existing : replaced) {
+                try {
+                    replaceExisting.accept(existing);
+                } catch (Exception ex) {
+                    log.warn("[UPLOAD][BULK] 기존 문서 정리 실패 uuid={} err={}", existing.getUuid(), ex.toString(), ex);
+                }
+            }
+        }
+        if (!retryIds.isEmpty()) {
+            documentRepository.enqueueForReindex(retryIds, DocumentIndexingStatus.PENDING, DocumentIndexingStatus.PROCESSING);
+            indexingQueue.wakeUp();
+        }
+    }
+
+    private static boolean isSameContent(Entry entry, Document existing) {
+        return entry.staged != null
+                && entry.staged.contentHash().equals(existing.getContentHash())
+                && Files.exists(Paths.get(existing.getFilePath()));
+    }
+
+    /**
+     * 스테이징 파일을 저장 이름으로 옮기고 등록할 문서를 만듭니다. // ✅ 같은 내용의 저장 파일(기존 문서나 앞 항목)이 있으면 함께 씁니다.
+     */
+    private void commit(List<Entry> entries, String description, String uploadedBy) {
+        DocumentIndexingStatus initialStatus = ragBackends.isConfigured()
+                ? DocumentIndexingStatus.PENDING
+                : DocumentIndexingStatus.SKIPPED;
+        List<Entry> open = entries.stream().filter(entry -> entry.isOpen() && entry.staged != null).toList();
+        Map<String, Path> blobs = blobStore.findBlobs(open.stream().map(entry -> entry.staged.contentHash()).distinct().toList());
+        for (Entry entry : open) {
+            String uuid = UUID.randomUUID().toString();
+            try {
+                Path target = blobStore.commit(entry.staged, StoredFileNames.storedName(uuid, entry.safeName), blobs);
+                entry.storedPath = target;
+                entry.document = Document.builder()
+                        .uuid(uuid)
+                        .fileName(entry.safeName)
+                        .filePath(target.toString().replace("\\", "/"))
+                        .contentType(resolveContentType(entry))
+                        .size(entry.staged.size())
+                        .contentHash(entry.staged.contentHash())
+                        .uploadedBy(uploadedBy)
+                        .uploadedAt(LocalDateTime.now())
+                        .description(description)
+                        .indexingStatus(initialStatus)
+                        .indexingError(null)
+                        .build();
+            } catch (Exception ex) {
+                log.warn("[UPLOAD][BULK] 저장 실패 source={} err={}", entry.source, ex.toString());
+                entry.fail("파일 저장 실패: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 저장된 항목을 묶음 단위로 DB 에 넣고 인덱싱 대기열을 깨웁니다. // ✅ 묶음이 실패하면 실패로 기록하고, 파일 정리는 호출자가 settle 로 합니다.
+     */
+    private void insert(List<Entry> entries) {
+        List<Entry> stored = entries.stream().filter(entry -> entry.isOpen() && entry.document != null).toList();
+        int batchSize = Math.max(1, props.getStorage().getBulkInsertBatchSize());
+        for (int from = 0; from < stored.size(); from += batchSize) {
+            List<Entry> batch = stored.subList(from, Math.min(stored.size(), from + batchSize));
+            try {
+                documentRepository.saveAll(batch.stream().map(entry -> entry.document).toList());
+                batch.forEach(entry -> entry.result = STORED);
+            } catch (Exception ex) {
+                log.warn("[UPLOAD][BULK] DB 저장 실패 batch={} err={}", batch.size(), ex.toString(), ex);
+                for (Entry entry : batch) {
+                    entry.document = null;
+                    entry.fail("DB 저장 실패: " + ex.getMessage());
+                }
+            }
+        }
+        for (Entry entry : stored) {
+            if (STORED.equals(entry.result)) {
+                indexVersions.markChanged(entry.document.getUuid()); // 신규 문서가 포함될 전체 범위 답변만 무효화합니다.
+                questionAnswerCache.invalidate(entry.document.getUuid());
+            }
+        }
+        if (ragBackends.isConfigured() && !stored.isEmpty()) {
+            indexingQueue.wakeUp();
+        }
+    }
+
+    private BulkUploadResponseDto toResponse(Job job, List<BulkUploadItemDto> items) {
+        Map<String, Long> counts = items.stream()
+                .collect(Collectors.groupingBy(BulkUploadItemDto::getResult, Collectors.counting()));
+        Function<String, Integer> count = result -> counts.getOrDefault(result, 0L).intValue();
+        return BulkUploadResponseDto.builder()
+                .jobId(job.id)
+                .startedAt(job.startedAt)
+                .completed(job.completed)
+                .truncated(job.truncated)
+                .total(items.size())
+                .stored(count.apply(STORED))
+                .skipped(count.apply(SKIPPED))
+                .failed(count.apply(FAILED))
+                .items(items)
+                .build();
+    }
+
+    private static String resolveContentType(Entry entry) {
+        String contentType = Optional.ofNullable(entry.contentType).map(String::trim).filter(type -> !type.isBlank())
+                .orElseGet(() -> MediaTypeFactory.getMediaType(entry.safeName)
+                        .map(MediaType::toString)
+                        .orElse(MediaType.APPLICATION_OCTET_STREAM_VALUE));
+        return contentType.length() > MAX_CONTENT_TYPE_LENGTH ? contentType.substring(0, MAX_CONTENT_TYPE_LENGTH) : contentType;
+    }
+
+    private static boolean isZip(String contentType, String name) {
+        String type = Optional.ofNullable(contentType).orElse("").toLowerCase(Locale.ROOT);
+        return name.toLowerCase(Locale.ROOT).endsWith(".zip")
+                || type.equals("application/zip")
+                || type.equals("application/x-zip-compressed");
+    }
+
+    /**
+     * 압축 프로그램이 만든 메타데이터 항목인지 확인합니다. // ✅ macOS 의 __MACOSX/, ._파일, .DS_Store 등
+     */
+    private static boolean isHiddenEntry(String entryName) {
+        String normalized = entryName.replace('\\', '/');
+        String baseName = normalized.substring(normalized.lastIndexOf('/') + 1);
+        return normalized.startsWith("__MACOSX/") || baseName.startsWith(".") || baseName.equalsIgnoreCase("Thumbs.db");
+    }
+
+    private static void closeQuietly(ZipFile archive) {
+        try {
+            archive.close();
+        } catch (IOException ex) {
+            log.debug("[UPLOAD][BULK] zip 닫기 실패 err={}", ex.toString());
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("[UPLOAD][BULK] 임시 파일 삭제 실패 path={} err={}", file, ex.toString());
+        }
+    }
+
+    @FunctionalInterface
+    private interface ContentSource {
+        InputStream open() throws IOException;
+    }
+
+    /**
+     * 처리할 파일 하나입니다. // ✅ 저장 단계에서는 항목마다 한 스레드만 값을 바꾸고, 결과는 join 이후에 읽습니다.
+     */
+    private static final class Entry {
+        private final String source;
+        private final String safeName;
+        private final long size;
+        private final ContentSource content;
+        private final String contentType;
+        private String result;
+        private String message;
+        private DocumentBlobStore.StagedBlob staged;
+        private Path storedPath;
+        private Document document;
+
+        Entry(String source, String originalName, long size, ContentSource content, String contentType) {
+            this.source = source;
+            this.safeName = StoredFileNames.safeName(originalName);
+            this.size = size;
+            this.content = content;
+            this.contentType = contentType;
+        }
+
+        boolean isOpen() {
+            return result == null || STORED.equals(result);
+        }
+
+        void skip(String reason) {
+            result = SKIPPED;
+            message = reason;
+        }
+
+        void fail(String reason) {
+            result = FAILED;
+            message = reason;
+        }
+
+        BulkUploadItemDto toItem() {
+            return BulkUploadItemDto.builder()
+                    .source(source)
+                    .fileName(safeName)
+                    .uuid(document != null ? document.getUuid() : null)
+                    .result(result == null ? FAILED : result)
+                    .indexingStatus(document != null ? document.getIndexingStatus() : null)
+                    .message(message)
+                    .build();
+        }
+    }
+
+    /**
+     * 요청 스레드에서 옮겨 받은 업로드 파일입니다.
+     */
+    private record Upload(String name, long size, String contentType, Path tempFile) {
+    }
+
+    /**
+     * 일괄 업로드 작업입니다. // ✅ 작업 스레드가 끝날 때 한 번 결과를 채우고, 조회는 다른 스레드에서 합니다.
+     */
+    private static final class Job {
+        private final String id;
+        private final LocalDateTime startedAt;
+        private volatile List<BulkUploadItemDto> items = List.of();
+        private volatile boolean truncated;
+        private volatile boolean completed;
+
+        Job(String id, LocalDateTime startedAt) {
+            this.id = id;
+            this.startedAt = startedAt;
+        }
+
+        void finish(List<BulkUploadItemDto> result, boolean truncatedEntries) {
+            items = result;
+            truncated = truncatedEntries;
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.buhmwoo.oneask.modules.document.application.upload;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import com.buhmwoo.oneask.modules.document.domain.Document;
+import com.buhmwoo.oneask.modules.document.infrastructure.repository.maria.DocumentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 업로드 파일을 내용 해시(SHA-256) 기준으로 저장합니다.
+ * <p>
+ * 파일은 먼저 스토리지 루트 아래 스테이징 폴더에 받으면서 해시를 계산하고, 같은 내용의 저장 파일이 이미 있으면
+ * 새로 옮기지 않고 그 파일을 함께 씁니다. 여러 문서가 한 파일을 가리킬 수 있으므로 파일(과 미리보기 변환본)은
+ * 그 경로를 쓰는 마지막 문서가 지워질 때만 삭제합니다.
+ * <p>
+ * 파일을 함께 쓰기로 정하는 {@link #commit} 과 문서를 지우는 {@link #release} 는 내용 해시별 잠금 안에서 실행합니다.
+ * commit 으로 받은 경로는 문서 행을 저장할 때까지 예약해 두었다가 {@link #settle} 로 풀고, release 는 행을 먼저 지운 뒤
+ * 남은 참조와 예약이 모두 없을 때만 파일을 지우므로 함께 쓰기로 한 파일이 지워지거나 마지막 참조가 사라진 파일이 남지 않습니다.
+ * 잠금과 예약은 이 인스턴스 안에서만 유효합니다.
+ */
+@Component
+public class DocumentBlobStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentBlobStore.class);
+    private static final String STAGING_DIR = ".staging";
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+    private static final int LOCK_STRIPES = 64;
+
+    private final OneAskProperties props;
+    private final DocumentRepository documentRepository;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final Map<String, Integer> reservations = new ConcurrentHashMap<>(); // ✅ 저장 경로별로 아직 행을 저장하지 않은 commit 수
+
+    public DocumentBlobStore(OneAskProperties props, DocumentRepository documentRepository) {
+        this.props = props;
+        this.documentRepository = documentRepository;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * 스테이징 폴더에 받은 파일입니다. // ✅ commit 으로 옮기거나 discard 로 지워야 합니다.
+     */
+    public record StagedBlob(Path path, String contentHash, long size) {
+    }
+
+    public Path root() throws IOException {
+        Path root = Paths.get(props.getStorage().getRoot()).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        return root;
+    }
+
+    /**
+     * 내용을 스테이징 파일로 받으면서 SHA-256 을 계산합니다. // ✅ 한 번 읽으면서 저장과 해시를 같이 하므로 파일을 다시 읽지 않습니다.
+     *
+     * @throws IOException 크기 제한을 넘었거나 쓰기에 실패한 경우 (스테이징 파일은 지운 뒤 던집니다)
+     */
+    public StagedBlob stage(InputStream in, long maxBytes) throws IOException {
+        Path stagingDir = root().resolve(STAGING_DIR);
+        Files.createDirectories(stagingDir);
+        Path staged = stagingDir.resolve(UUID.randomUUID() + ".part");
+        MessageDigest digest = sha256();
+        long total = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (OutputStream out = Files.newOutputStream(staged)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                total += read;
+                if (total > maxBytes) {
+                    throw new IOException("파일 크기 제한(" + maxBytes + " bytes)을 넘었습니다."); // zip 항목 크기 정보가 틀린 경우(압축 폭탄)도 여기서 막음
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(staged);
+            throw ex;
+        }
+        return new StagedBlob(staged, HexFormat.of().formatHex(digest.digest()), total);
+    }
+
+    /**
+     * 내용 해시별로 지금 쓸 수 있는 저장 파일 경로를 찾습니다. // ✅ DB 에는 있지만 파일이 사라진 경우는 빼므로 다시 저장하게 됩니다.
+     */
+    public Map<String, Path> findBlobs(Collection<String> contentHashes) {
+        List<String> hashes = new ArrayList<>(contentHashes);
+        Map<String, Path> blobs = new HashMap<>();
+        for (int from = 0; from < hashes.size(); from += LOOKUP_CHUNK_SIZE) {
+            List<String> chunk = hashes.subList(from, Math.min(hashes.size(), from + LOOKUP_CHUNK_SIZE));
+            for (Document document : documentRepository.findAllByContentHashIn(chunk)) {
+                if (blobs.containsKey(document.getContentHash())) {
+                    continue;
+                }
+                Path path = Paths.get(document.getFilePath());
+                if (Files.exists(path)) {
+                    blobs.put(document.getContentHash(), path);
+                }
+            }
+        }
+        return blobs;
+    }
+
+    /**
+     * 같은 내용의 저장 파일이 있으면 그 경로를 쓰고 스테이징 파일은 지우며, 없으면 스테이징 파일을 저장 이름으로 옮깁니다.
+     * 돌려준 경로는 예약되므로 문서 행을 저장했든 실패했든 반드시 {@link #settle} 을 호출해야 합니다.
+     *
+     * @param knownBlobs {@link #findBlobs} 결과. 새로 옮긴 파일도 여기에 더해 같은 요청의 다음 파일이 함께 쓰게 합니다.
+     * @return 문서가 가리킬 저장 파일 경로
+     */
+    public Path commit(StagedBlob staged, String storedName, Map<String, Path> knownBlobs) throws IOException {
+        synchronized (lockFor(staged.contentHash())) {
+            Path existing = knownBlobs.get(staged.contentHash());
+            if (existing != null && Files.exists(existing)) { // 잠금 안에서 확인하므로 release 가 이 사이에 지우지 못함
+                Files.deleteIfExists(staged.path());
+                reserve(existing);
+                return existing;
+            }
+            Path root = root();
+            Path target = root.resolve(storedName).normalize();
+            if (!target.startsWith(root)) {
+                throw new IOException("저장 경로가 스토리지 루트를 벗어납니다.");
+            }
+            try {
+                Files.move(staged.path(), target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(staged.path(), target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            knownBlobs.put(staged.contentHash(), target);
+            reserve(target);
+            return target;
+        }
+    }
+
+    /**
+     * {@link #commit} 의 예약을 풉니다. 행을 저장하지 못했고 그 파일을 쓰는 문서도 예약도 없으면 파일을 지웁니다.
+     *
+     * @param saved 이 경로를 가리키는 문서 행을 저장했는지 여부 (true 이면 참조 수를 다시 세지 않음)
+     */
+    public void settle(String contentHash, Path path, boolean saved) {
+        synchronized (lockFor(contentHash)) {
+            String key = storedPath(path);
+            reservations.computeIfPresent(key, (ignored, count) -> count > 1 ? count - 1 : null);
+            if (saved || reservations.containsKey(key)) {
+                return;
+            }
+            try {
+                if (documentRepository.countByFilePath(key) == 0) {
+                    deleteBlob(path);
+                }
+            } catch (IOException ex) {
+                log.warn("[STORAGE] 저장 파일 삭제 실패 path={} err={}", path, ex.toString());
+            }
+        }
+    }
+
+    public void discard(StagedBlob staged) {
+        if (staged == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(staged.path());
+        } catch (IOException ex) {
+            log.warn("[STORAGE] 스테이징 파일 삭제 실패 path={} err={}", staged.path(), ex.toString());
+        }
+    }
+
+    /**
+     * 문서 행을 지우고, 그 파일을 쓰는 문서와 예약이 더 없으면 파일과 미리보기 변환본을 지웁니다. // ✅ 행 삭제와 파일 삭제를 같은 잠금 안에서 합니다.
+     *
+     * @param deleteRow 문서 행을 지우는 작업 (실패하면 파일은 그대로 두고 예외를 던집니다)
+     * @return 파일을 지웠으면 true, 다른 문서가 함께 쓰고 있거나 이미 없으면 false
+     * @throws IOException 행은 지웠지만 파일 삭제에 실패한 경우
+     */
+    public boolean release(Document document, Runnable deleteRow) throws IOException {
+        String lockKey = document.getContentHash() != null ? document.getContentHash() : document.getFilePath(); // 해시가 없는 예전 문서는 파일을 함께 쓰지 않음
+        synchronized (lockFor(lockKey)) {
+            deleteRow.run();
+            if (reservations.containsKey(document.getFilePath()) || documentRepository.countByFilePath(document.getFilePath()) > 0) {
+                log.info("[STORAGE] 다른 문서가 같은 파일을 쓰고 있어 남겨 둡니다 uuid={} path={}", document.getUuid(), document.getFilePath());
+                return false;
+            }
+            return deleteBlob(Paths.get(document.getFilePath()));
+        }
+    }
+
+    /**
+     * PPTX/XLSX 미리보기용 PDF 변환본 경로입니다. 변환 대상이 아니면 null 입니다.
+     */
+    public static Path previewPdfPath(Path filePath) {
+        Path fileName = filePath.getFileName();
+        Path parent = filePath.getParent();
+        if (fileName == null || parent == null) {
+            return null;
+        }
+        String name = fileName.toString().trim();
+        String lower = name.toLowerCase(Locale.ROOT);
+        if (!lower.endsWith(".pptx") && !lower.endsWith(".xlsx")) {
+            return null;
+        }
+        return parent.resolve(name.substring(0, name.length() - 5) + ".preview.pdf");
+    }
+
+    private Object lockFor(String key) {
+        return locks[Math.floorMod(key.hashCode(), locks.length)];
+    }
+
+    private void reserve(Path path) {
+        reservations.merge(storedPath(path), 1, Integer::sum);
+    }
+
+    /** 문서 행의 file_path 와 같은 형태로 바꿉니다. */
+    private static String storedPath(Path path) {
+        return path.toString().replace("\\", "/");
+    }
+
+    private static boolean deleteBlob(Path path) throws IOException {
+        Path preview = previewPdfPath(path);
+        if (preview != null) {
+            Files.deleteIfExists(preview);
+        }
+        return Files.deleteIfExists(path);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 을 사용할 수 없습니다.", ex); // 모든 JDK 에 포함되어 있어 실제로는 발생하지 않음
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.buhmwoo.oneask.modules.document.application.upload;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFShape;
+import org.apache.poi.xslf.usermodel.XSLFSlide;
+import org.apache.poi.xslf.usermodel.XSLFTextShape;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * 업로드 응답에 넣을 미리보기 텍스트를 저장된 파일에서 앞부분만 뽑습니다. (PDF / PPTX / DOCX)
+ * <p>
+ * PDF 와 OOXML(zip) 은 목차가 파일 끝에 있어 스트림으로는 읽을 수 없으므로, 업로드 스트림을 다시 열지 않고
+ * 스토리지에 저장된 파일을 임의 접근으로 엽니다. 필요한 글자 수를 채우면 나머지 페이지·슬라이드·문단은 읽지 않습니다.
+ */
+public final class PreviewTextExtractor {
+
+    private static final Logger log = LoggerFactory.getLogger(PreviewTextExtractor.class);
+
+    private PreviewTextExtractor() {
+    }
+
+    /**
+     * 앞에서부터 최대 maxChars 글자를 돌려줍니다. 더 남아 있으면 "..." 을 붙입니다. // ✅ 지원하지 않는 형식이나 실패 시 빈 문자열
+     */
+    public static String preview(Path file, String fileName, int maxChars) {
+        if (fileName == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        try {
+            String lower = fileName.toLowerCase(Locale.ROOT);
+            if (lower.endsWith(".pdf")) {
+                readPdf(file, sb, maxChars);
+            } else if (lower.endsWith(".pptx")) {
+                readPptx(file, sb, maxChars);
+            } else if (lower.endsWith(".docx")) {
+                readDocx(file, sb, maxChars);
+            }
+        } catch (Exception e) {
+            log.warn("텍스트 추출 실패: {}", e.getMessage());
+            return "";
+        }
+        return sb.length() > maxChars ? sb.substring(0, maxChars) + "..." : sb.toString();
+    }
+
+    private static void readPdf(Path file, StringBuilder sb, int maxChars) throws Exception {
+        // 파일에서 바로 열고 스트림 버퍼는 임시 파일을 써서 큰 PDF 도 힙에 통째로 올리지 않음
+        try (PDDocument pdf = PDDocument.load(file.toFile(), MemoryUsageSetting.setupTempFileOnly())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int page = 1; page <= pdf.getNumberOfPages() && sb.length() <= maxChars; page++) {
+                stripper.setStartPage(page);
+                stripper.setEndPage(page);
+                sb.append(stripper.getText(pdf));
+            }
+        }
+    }
+
+    private static void readPptx(Path file, StringBuilder sb, int maxChars) throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+             XMLSlideShow prs = new XMLSlideShow(pkg)) {
+            for (XSLFSlide slide : prs.getSlides()) {
+                for (XSLFShape shape : slide.getShapes()) {
+                    if (shape instanceof XSLFTextShape textShape) {
+                        sb.append(textShape.getText()).append("\n");
+                    }
+                }
+                if (sb.length() > maxChars) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void readDocx(Path file, StringBuilder sb, int maxChars) throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+             XWPFDocument doc = new XWPFDocument(pkg)) {
+            for (XWPFParagraph p : doc.getParagraphs()) {
+                sb.append(p.getText()).append("\n");
+                if (sb.length() > maxChars) {
+                    return;
+                }
+            }
+        }
+    }
+}
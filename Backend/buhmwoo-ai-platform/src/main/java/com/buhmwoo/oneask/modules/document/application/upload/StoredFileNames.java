@@ -0,0 +1,51 @@
+package com.buhmwoo.oneask.modules.document.application.upload;
+
+import org.springframework.util.StringUtils;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 업로드된 파일명을 스토리지·DB 에 쓸 수 있는 안전한 이름으로 바꿉니다. // ✅ 단건 업로드와 일괄 업로드가 같은 규칙을 쓰도록 모았습니다.
+ */
+public final class StoredFileNames {
+
+    private static final int MAX_LENGTH = 200;
+
+    private StoredFileNames() {
+    }
+
+    /**
+     * 경로를 떼어 파일명만 남기고 제어 문자·연속 공백을 정리합니다. // ✅ zip 항목의 상위 폴더("../" 포함)도 여기서 제거됩니다.
+     */
+    public static String safeName(String originalName) {
+        String name = originalName == null ? "unnamed" : originalName.replace('\\', '/');
+        int slash = name.lastIndexOf('/');
+        if (slash >= 0) {
+            name = name.substring(slash + 1);
+        }
+        try {
+            Path fileName = Paths.get(name).getFileName();
+            name = fileName == null ? "" : fileName.toString();
+        } catch (InvalidPathException ex) {
+            name = name.replaceAll("[<>:\"|?*\\x00]", "_"); // 현재 OS 에서 쓸 수 없는 문자가 섞인 경우
+        }
+        name = StringUtils.cleanPath(name);
+        name = name
+                .replaceAll("[\\r\\n\\t]", " ")
+                .replaceAll("\\s+", " ")
+                .trim();
+        if (name.length() > MAX_LENGTH) {
+            name = name.substring(0, MAX_LENGTH);
+        }
+        return name.isBlank() ? "unnamed" : name;
+    }
+
+    /**
+     * 스토리지에 저장할 실제 파일명입니다. // ✅ 같은 이름의 파일이 겹치지 않도록 UUID 를 앞에 붙입니다.
+     */
+    public static String storedName(String uuid, String safeName) {
+        return uuid + "_" + safeName;
+    }
+}
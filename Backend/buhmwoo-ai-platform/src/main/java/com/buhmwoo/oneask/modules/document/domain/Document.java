@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
  */
 
 @Entity
-@Table(name = "documents")
+@Table(name = "documents", indexes = @Index(name = "idx_documents_content_hash", columnList = "content_hash"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -37,6 +37,9 @@ public class Document {
     @Column(name = "size", nullable = false)
     private Long size;
 
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;   // ✅ 파일 내용의 SHA-256 (hex). 같은 내용의 재업로드를 알아보고 저장 파일을 함께 쓰는 데 씁니다.
+
     @Column(name = "uploaded_by", nullable = false, length = 100)
     private String uploadedBy;
 
@@ -52,5 +55,20 @@ public class Document {
 
     @Column(name = "indexing_error", length = 1000)
     private String indexingError;   // ✅ 인덱싱 실패 시 원인을 추적하기 위한 에러 메시지를 저장합니다.    
+
+    @Column(name = "indexing_started_at")
+    private LocalDateTime indexingStartedAt;   // ✅ 인덱싱 작업이 문서를 가져간 시각으로, 처리 시간 상한을 넘긴 작업을 찾는 데 씁니다.
+
+    @Column(name = "indexing_claim", length = 36)
+    private String indexingClaim;   // ✅ 작업을 가져갈 때마다 새로 만드는 토큰으로, 결과를 기록할 때 같은 작업인지 확인하는 데 씁니다.
+
+    @Column(name = "indexing_owner", length = 100)
+    private String indexingOwner;   // ✅ 작업을 가져간 인스턴스 ID 로, 재시작 시 자기 인스턴스가 처리하다 만 문서만 되돌리는 데 씁니다.
+
+    @Column(name = "indexing_attempts")
+    private Integer indexingAttempts;   // ✅ 마지막 성공 이후 연속으로 실패한 인덱싱 횟수로, 자동 재시도 대기 시간을 정하는 데 씁니다.
+
+    @Column(name = "indexing_next_retry_at")
+    private LocalDateTime indexingNextRetryAt;   // ✅ FAILED 문서를 자동으로 다시 시도할 시각 (null 이면 자동 재시도하지 않음)
 }
 
@@ -0,0 +1,425 @@
+package com.buhmwoo.oneask.modules.document.infrastructure.cache;
+
+import com.buhmwoo.oneask.common.config.InstanceIds;
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import com.buhmwoo.oneask.modules.document.api.dto.QuestionAnswerResponseDto;
+import com.buhmwoo.oneask.modules.document.api.dto.QuestionAnswerSourceDto;
+import com.buhmwoo.oneask.modules.document.application.question.DocumentIndexVersions;
+import com.buhmwoo.oneask.modules.document.application.question.SecondLevelAnswerStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 스토리지 루트 아래 메모리 매핑 파일에 답변을 기록하는 2차 캐시입니다.
+ * <p>
+ * 파일은 헤더 뒤에 레코드를 이어 붙이는 로그 구조이며, 기동 시에는 백그라운드에서 레코드의 키와 위치만 훑어 색인을 만들고
+ * 본문(답변·출처)은 실제로 조회될 때 디코딩합니다. 파일이 가득 차면 비우고 처음부터 다시 채웁니다.
+ * 인덱스 버전은 별도 파일에 기록해 재기동 후에도 메모리 캐시와 같은 버전 검사를 적용합니다.
+ * <p>
+ * 버전 파일은 정상 종료 때만 clean=true 로 기록하고, 기동 직후에 clean=false 로 다시 씁니다. 실행 중 버전 변경은 표시만 해 두었다가
+ * 주기 작업이 한 번에 기록하므로, 문서를 많이 올려도 변경마다 파일 전체를 다시 쓰지 않습니다.
+ * 비정상 종료로 마지막 버전 변경이 기록되지 않았을 수 있으면 clean 표시가 없으므로 캐시를 비우고 시작합니다.
+ * 2차 캐시를 끈 채로 실행한 동안의 변경은 기록되지 않으므로 그때는 {@link SecondLevelCacheVersionFileCleaner} 가 버전 파일을 지웁니다.
+ * <p>
+ * 스토리지 루트는 여러 인스턴스가 함께 쓸 수 있으므로 파일 이름에 인스턴스 ID 를 붙이고, 데이터 파일을 잠가 같은 ID 로 뜬
+ * 다른 프로세스가 있으면 2차 캐시를 쓰지 않습니다. 조회할 때는 레코드에 기록된 키가 요청한 키와 같은지 확인합니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "oneask.cache", name = "l2-enabled", havingValue = "true")
+public class MappedFileAnswerStore implements SecondLevelAnswerStore {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedFileAnswerStore.class);
+
+    private static final int MAGIC = 0x4F414331; // "OAC1"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 32; // magic(4) + format(4) + writePosition(8) + reserved(16)
+    private static final int WRITE_POSITION_OFFSET = 8;
+
+    private static final String CACHE_DIR = ".oneask";
+    private static final String DATA_FILE_PREFIX = "answer-cache-";
+    private static final String VERSION_FILE_PREFIX = "answer-cache-versions-";
+    private static final String CLEAN_SHUTDOWN_KEY = "clean";
+    private static final String CORPUS_VERSION_KEY = "corpus";
+    private static final String DOCUMENT_VERSION_PREFIX = "doc.";
+
+    private final OneAskProperties props;
+    private final DocumentIndexVersions indexVersions;
+    private final Map<String, Integer> index = new ConcurrentHashMap<>(); // ✅ 키 → 레코드 시작 위치
+    private final ReadWriteLock lock = new ReentrantReadWriteLock(); // ✅ 조회는 병렬, 기록·초기화는 단독으로 수행
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private FileLock fileLock;
+    private Path versionFile;
+    private volatile boolean ready;
+    private volatile boolean versionsDirty; // ✅ 마지막 기록 이후 버전이 바뀌었는지
+
+    public MappedFileAnswerStore(OneAskProperties props, DocumentIndexVersions indexVersions) {
+        this.props = props;
+        this.indexVersions = indexVersions;
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        versionFile = versionFile(props);
+        Path dir = versionFile.getParent();
+        Files.createDirectories(dir);
+        Path dataFile = dir.resolve(DATA_FILE_PREFIX + instanceSuffix(props) + ".dat");
+
+        // MappedByteBuffer 는 int 범위로만 주소를 지정하므로 2GB 미만으로 제한
+        capacity = (int) Math.min(Math.max(props.getCache().getL2FileSize(), HEADER_SIZE + 1024L), Integer.MAX_VALUE - 8L);
+        channel = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            fileLock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            fileLock = null;
+        }
+        if (fileLock == null) {
+            log.warn("[CACHE][L2] 다른 프로세스가 같은 캐시 파일을 쓰고 있어 2차 캐시를 끕니다. instance-id 를 인스턴스마다 다르게 설정하세요: {}", dataFile);
+            channel.close();
+            channel = null;
+            versionFile = null;
+            return;
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+
+        boolean versionsRestored = restoreVersions();
+        boolean validHeader = buffer.getInt(0) == MAGIC && buffer.getInt(4) == FORMAT_VERSION;
+        if (!validHeader || !versionsRestored) {
+            // 버전 기록이 없거나 정상 종료 기록이 아니면 기존 항목의 유효성을 판단할 수 없으므로 비우고 시작
+            resetLocked();
+            writeVersions(false);
+            ready = true;
+        } else {
+            writeVersions(false); // ✅ 이번 실행이 정상 종료하기 전까지는 이 파일을 믿지 않도록 표시
+            Schedulers.boundedElastic().schedule(this::scanIndex);
+        }
+        indexVersions.addChangeListener(() -> versionsDirty = true);
+    }
+
+    /**
+     * 바뀐 버전 상태를 모아서 기록합니다. // ✅ 정상 종료 표시 없이 기록하므로 비정상 종료 뒤에는 여전히 캐시를 비우고 시작합니다.
+     */
+    @Scheduled(fixedDelayString = "${oneask.cache.l2-version-flush-interval:10s}")
+    public synchronized void flushVersions() {
+        if (versionFile == null || !versionsDirty) {
+            return;
+        }
+        versionsDirty = false; // 기록하는 사이 바뀐 내용은 다음 주기에 다시 기록
+        writeVersions(false);
+    }
+
+    @PreDestroy
+    void close() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            if (buffer != null) {
+                buffer.force();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+            synchronized (this) {
+                if (versionFile != null) {
+                    writeVersions(true); // ✅ 데이터 파일을 모두 내린 뒤에만 다음 기동에서 믿을 수 있다고 표시
+                    versionFile = null; // 종료 뒤 주기 작업이 clean 표시를 덮어쓰지 않도록 함
+                }
+            }
+        } catch (IOException e) {
+            log.warn("[CACHE][L2] 캐시 파일 닫기 실패: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<StoredAnswer> load(String key) {
+        if (!ready) {
+            return Optional.empty(); // ✅ 색인을 만드는 동안은 미스로 처리 (기동을 지연시키지 않음)
+        }
+        lock.readLock().lock();
+        try {
+            Integer offset = index.get(key);
+            if (offset == null) {
+                return Optional.empty();
+            }
+            return Optional.of(decode(key, offset));
+        } catch (RuntimeException e) {
+            log.warn("[CACHE][L2] 레코드 디코딩 실패 key={} : {}", key, e.getMessage());
+            index.remove(key);
+            return Optional.empty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void store(String key, StoredAnswer answer) {
+        if (!ready) {
+            return;
+        }
+        byte[] record;
+        try {
+            record = encode(key, answer);
+        } catch (IOException e) {
+            log.warn("[CACHE][L2] 레코드 인코딩 실패 key={} : {}", key, e.getMessage());
+            return;
+        }
+        if (record.length > (capacity - HEADER_SIZE) / 4) {
+            return; // ✅ 파일의 상당 부분을 차지하는 거대한 답변은 기록하지 않음
+        }
+
+        lock.writeLock().lock();
+        try {
+            int position = (int) buffer.getLong(WRITE_POSITION_OFFSET);
+            if (position + record.length > capacity) {
+                log.info("[CACHE][L2] 캐시 파일이 가득 차 비우고 다시 기록합니다. entries={}", index.size());
+                resetLocked();
+                position = HEADER_SIZE;
+            }
+            buffer.put(position, record);
+            buffer.putLong(WRITE_POSITION_OFFSET, position + record.length);
+            index.put(key, position);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (buffer == null) {
+            return; // 다른 프로세스가 파일을 잠가 2차 캐시를 쓰지 않는 경우
+        }
+        lock.writeLock().lock();
+        try {
+            resetLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 레코드의 길이·키만 읽어 색인을 만듭니다. // ✅ 같은 키가 여러 번 기록됐다면 나중 기록이 이깁니다.
+     */
+    private void scanIndex() {
+        lock.writeLock().lock();
+        try {
+            long writePosition = buffer.getLong(WRITE_POSITION_OFFSET);
+            int position = HEADER_SIZE;
+            int end = (int) Math.min(Math.max(writePosition, HEADER_SIZE), capacity);
+            while (position + 8 <= end) {
+                int recordLength = buffer.getInt(position);
+                int keyLength = buffer.getInt(position + 4);
+                if (recordLength <= 8 || position + recordLength > end || keyLength < 0 || keyLength > recordLength - 8) {
+                    log.warn("[CACHE][L2] 손상된 레코드를 발견해 위치 {} 이후를 버립니다.", position);
+                    break;
+                }
+                byte[] keyBytes = new byte[keyLength];
+                buffer.get(position + 8, keyBytes);
+                index.put(new String(keyBytes, StandardCharsets.UTF_8), position);
+                position += recordLength;
+            }
+            buffer.putLong(WRITE_POSITION_OFFSET, position);
+            log.info("[CACHE][L2] 캐시 파일 색인 완료: entries={} bytes={}", index.size(), position);
+        } catch (RuntimeException e) {
+            log.warn("[CACHE][L2] 캐시 파일 색인 실패, 비우고 시작합니다: {}", e.getMessage());
+            resetLocked();
+        } finally {
+            ready = true;
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void resetLocked() {
+        index.clear();
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, FORMAT_VERSION);
+        buffer.putLong(WRITE_POSITION_OFFSET, HEADER_SIZE);
+    }
+
+    /**
+     * 레코드 형식: [int 전체 길이][int 키 길이][키][long 만료][long 인덱스 버전][docId][제목][답변][int 출처 수][출처...]
+     * 문자열은 [int 바이트 길이(-1=null)][UTF-8 바이트] 로 기록합니다.
+     */
+    private byte[] encode(String key, StoredAnswer answer) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        DataOutputStream out = new DataOutputStream(bytes);
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(0); // ✅ 전체 길이 자리 (마지막에 채움)
+        out.writeInt(keyBytes.length);
+        out.write(keyBytes);
+        out.writeLong(answer.expireAtEpochMillis());
+        out.writeLong(answer.indexVersion());
+        writeString(out, answer.docId());
+
+        QuestionAnswerResponseDto response = answer.response();
+        writeString(out, response.getTitle());
+        writeString(out, response.getAnswer());
+        List<QuestionAnswerSourceDto> sources = Optional.ofNullable(response.getSources()).orElse(List.of());
+        out.writeInt(sources.size());
+        for (QuestionAnswerSourceDto source : sources) {
+            writeString(out, source.getReference());
+            writeString(out, source.getSource());
+            out.writeInt(source.getPage() == null ? Integer.MIN_VALUE : source.getPage());
+            writeString(out, source.getPreview());
+        }
+        out.flush();
+
+        byte[] record = bytes.toByteArray();
+        ByteBuffer.wrap(record).putInt(0, record.length);
+        return record;
+    }
+
+    private StoredAnswer decode(String key, int offset) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.getInt(); // 전체 길이
+        int keyLength = view.getInt();
+        byte[] storedKey = new byte[keyLength];
+        view.get(storedKey);
+        if (!Arrays.equals(storedKey, key.getBytes(StandardCharsets.UTF_8))) {
+            throw new IllegalStateException("레코드의 키가 요청한 키와 다릅니다."); // 색인이 가리키는 위치가 덮어쓰인 경우
+        }
+        long expireAt = view.getLong();
+        long indexVersion = view.getLong();
+        String docId = readString(view);
+        String title = readString(view);
+        String answer = readString(view);
+        int sourceCount = view.getInt();
+        List<QuestionAnswerSourceDto> sources = new ArrayList<>(sourceCount);
+        for (int i = 0; i < sourceCount; i++) {
+            String reference = readString(view);
+            String source = readString(view);
+            int page = view.getInt();
+            String preview = readString(view);
+            sources.add(QuestionAnswerSourceDto.builder()
+                    .reference(reference)
+                    .source(source)
+                    .page(page == Integer.MIN_VALUE ? null : page)
+                    .preview(preview)
+                    .build());
+        }
+        QuestionAnswerResponseDto response = QuestionAnswerResponseDto.builder()
+                .title(title)
+                .answer(answer)
+                .sources(sources)
+                .build();
+        return new StoredAnswer(docId, response, indexVersion, expireAt);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer view) {
+        int length = view.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 스토리지 루트 아래 이 인스턴스의 버전 파일 경로입니다.
+     */
+    static Path versionFile(OneAskProperties props) {
+        return Paths.get(props.getStorage().getRoot(), CACHE_DIR, VERSION_FILE_PREFIX + instanceSuffix(props) + ".properties");
+    }
+
+    private static String instanceSuffix(OneAskProperties props) {
+        return InstanceIds.fileSafe(InstanceIds.resolve(props.getIndexing().getInstanceId()));
+    }
+
+    /** 정상 종료 때 기록한 버전 파일을 읽어 {@link DocumentIndexVersions} 에 반영합니다. 파일이 없거나 정상 종료 기록이 아니면 false. */
+    private boolean restoreVersions() {
+        if (!Files.exists(versionFile)) {
+            return false;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(versionFile)) {
+            properties.load(in);
+        } catch (IOException e) {
+            log.warn("[CACHE][L2] 버전 파일 읽기 실패: {}", e.getMessage());
+            return false;
+        }
+        if (!Boolean.parseBoolean(properties.getProperty(CLEAN_SHUTDOWN_KEY))) {
+            log.info("[CACHE][L2] 이전 실행이 정상 종료되지 않아 캐시 파일을 비우고 시작합니다.");
+            return false;
+        }
+        try {
+            long corpus = Long.parseLong(properties.getProperty(CORPUS_VERSION_KEY, "0"));
+            Map<String, Long> documents = new HashMap<>();
+            for (String name : properties.stringPropertyNames()) {
+                if (name.startsWith(DOCUMENT_VERSION_PREFIX)) {
+                    documents.put(name.substring(DOCUMENT_VERSION_PREFIX.length()), Long.parseLong(properties.getProperty(name)));
+                }
+            }
+            indexVersions.restore(documents, corpus);
+            return true;
+        } catch (NumberFormatException e) {
+            log.warn("[CACHE][L2] 버전 파일 형식 오류: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /** 현재 버전 상태를 임시 파일에 쓴 뒤 교체합니다. */
+    private synchronized void writeVersions(boolean cleanShutdown) {
+        Properties properties = new Properties();
+        properties.setProperty(CLEAN_SHUTDOWN_KEY, Boolean.toString(cleanShutdown));
+        properties.setProperty(CORPUS_VERSION_KEY, Long.toString(indexVersions.corpusVersion()));
+        indexVersions.documentVersionsSnapshot()
+                .forEach((docId, version) -> properties.setProperty(DOCUMENT_VERSION_PREFIX + docId, Long.toString(version)));
+        Path temp = versionFile.resolveSibling(versionFile.getFileName() + ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "oneask answer cache index versions");
+            }
+            Files.move(temp, versionFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("[CACHE][L2] 버전 파일 기록 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.buhmwoo.oneask.modules.document.infrastructure.cache;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 2차 캐시를 끈 채로 기동하면 이전에 남은 버전 파일을 지웁니다.
+ * <p>
+ * 꺼져 있는 동안의 인덱스 변경은 버전 파일에 기록되지 않으므로, 다시 켰을 때 예전 버전으로 복원해 오래된 답변을
+ * 돌려주지 않도록 합니다. 버전 파일이 없으면 {@link MappedFileAnswerStore} 는 캐시 파일을 비우고 시작합니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "oneask.cache", name = "l2-enabled", havingValue = "false", matchIfMissing = true)
+public class SecondLevelCacheVersionFileCleaner {
+
+    private static final Logger log = LoggerFactory.getLogger(SecondLevelCacheVersionFileCleaner.class);
+
+    private final OneAskProperties props;
+
+    public SecondLevelCacheVersionFileCleaner(OneAskProperties props) {
+        this.props = props;
+    }
+
+    @PostConstruct
+    void deleteStaleVersionFile() {
+        if (props.getStorage() == null || !StringUtils.hasText(props.getStorage().getRoot())) {
+            return;
+        }
+        Path versionFile = MappedFileAnswerStore.versionFile(props);
+        try {
+            if (Files.deleteIfExists(versionFile)) {
+                log.info("[CACHE][L2] 2차 캐시가 꺼져 있어 이전 버전 파일을 지웠습니다: {}", versionFile);
+            }
+        } catch (IOException e) {
+            log.warn("[CACHE][L2] 버전 파일 삭제 실패 path={} : {}", versionFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.buhmwoo.oneask.modules.document.infrastructure.client;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 검색 요청 중복 전송(hedging)의 지연 기준과 전송 한도를 관리합니다.
+ * <p>
+ * 최근 성공한 요청 지연을 고정 크기 링 버퍼에 모아 설정된 백분위를 중복 전송 지연으로 사용하고,
+ * 요청마다 비율만큼 쌓이는 토큰을 중복 전송 한 번에 하나씩 써서 중복 요청이 전체의 일정 비율을 넘지 않게 합니다.
+ * 장애로 모든 요청이 느려져도 토큰이 바닥나면 더 이상 중복 요청을 보내지 않으므로 부하가 두 배가 되지 않습니다.
+ */
+final class HedgingPolicy {
+
+    /** 보관할 최근 지연 표본 수 */
+    private static final int WINDOW = 512;
+    /** 백분위를 믿기 위해 필요한 최소 표본 수 */
+    private static final int MIN_SAMPLES = 50;
+    /** 백분위를 다시 계산하는 표본 간격 */
+    private static final int RECOMPUTE_EVERY = 32;
+    /** 한 번에 몰아 쓸 수 있는 중복 전송 토큰 상한 */
+    private static final double MAX_TOKENS = 10.0;
+
+    private final OneAskProperties.Rag settings;
+    private final long[] samples = new long[WINDOW];
+    private int sampleCount;
+    private int nextSlot;
+    private long cachedDelayNanos = -1L;
+    private double tokens;
+
+    HedgingPolicy(OneAskProperties.Rag settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * 성공한 요청의 지연을 기록합니다.
+     */
+    synchronized void recordLatency(Duration latency) {
+        samples[nextSlot] = latency.toNanos();
+        nextSlot = (nextSlot + 1) % WINDOW;
+        sampleCount = Math.min(sampleCount + 1, WINDOW);
+        if (sampleCount >= MIN_SAMPLES && (cachedDelayNanos < 0 || nextSlot % RECOMPUTE_EVERY == 0)) {
+            cachedDelayNanos = percentile(settings.getHedgePercentile());
+        }
+    }
+
+    /**
+     * 중복 요청을 보내기까지 기다릴 시간입니다. // ✅ 표본이 부족하면 초기 지연을 사용합니다.
+     */
+    synchronized Duration hedgeDelay() {
+        long delay = cachedDelayNanos < 0 ? settings.getHedgeInitialDelay().toNanos() : cachedDelayNanos;
+        return Duration.ofNanos(Math.max(delay, settings.getHedgeMinDelay().toNanos()));
+    }
+
+    /**
+     * 원 요청 한 건마다 호출해 중복 전송 토큰을 비율만큼 적립합니다.
+     */
+    synchronized void onPrimaryRequest() {
+        tokens = Math.min(MAX_TOKENS, tokens + Math.max(0.0, settings.getHedgeMaxRatio()));
+    }
+
+    /**
+     * 중복 요청을 보낼 수 있으면 토큰 하나를 쓰고 true 를 반환합니다.
+     */
+    synchronized boolean tryAcquireHedge() {
+        if (tokens < 1.0) {
+            return false;
+        }
+        tokens -= 1.0;
+        return true;
+    }
+
+    private long percentile(double percentile) {
+        long[] sorted = Arrays.copyOf(samples, sampleCount);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(Math.min(1.0, Math.max(0.0, percentile)) * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+}
@@ -0,0 +1,282 @@
+package com.buhmwoo.oneask.modules.document.infrastructure.client;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import com.buhmwoo.oneask.modules.document.application.question.AskDeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 여러 RAG 백엔드 인스턴스 중 진행 중인 요청이 가장 적은 곳으로 호출을 보냅니다.
+ * <p>
+ * 인스턴스 목록은 oneask.rag.backend-url 과 oneask.rag.backend-urls 를 합친 값입니다.
+ * 연속으로 실패(연결 오류, 5xx, 타임아웃)한 인스턴스는 일정 시간 목록에서 빼고(outlier ejection),
+ * 응답하지 않고 멈춘 인스턴스도 실패로 셀 수 있도록 호출마다 이 풀 안에서 시도 시간 상한을 적용합니다.
+ * (호출자가 바깥에서 건 마감으로 취소되면 인스턴스 탓인지 알 수 없어 세지 않습니다.)
+ * 주기적인 /health/rag 확인에서 준비되지 않은 인스턴스도 빼 둡니다.
+ * 쓸 수 있는 인스턴스가 하나도 없으면 전부 실패시키기보다 전체 목록에서 고릅니다.
+ * 인덱싱·삭제도 같은 방식으로 한 인스턴스에 보내므로, 인스턴스들은 같은 벡터 저장소를 공유해야 합니다.
+ */
+@Component
+public class RagBackendPool {
+
+    private static final Logger log = LoggerFactory.getLogger(RagBackendPool.class);
+    private static final Duration HEALTH_CHECK_TIMEOUT = Duration.ofSeconds(5);
+    private static final int MAX_EJECTION_MULTIPLIER = 10;
+
+    private final OneAskProperties props;
+    private final WebClient healthCheckClient;
+    private final List<Backend> backends;
+    private final AtomicBoolean healthCheckRunning = new AtomicBoolean();
+
+    public RagBackendPool(OneAskProperties props,
+                          @Qualifier("ragBackgroundWebClient") WebClient healthCheckClient,
+                          MeterRegistry meterRegistry) {
+        this.props = props;
+        this.healthCheckClient = healthCheckClient;
+        Set<String> urls = new LinkedHashSet<>();
+        addUrl(urls, props.getRag().getBackendUrl());
+        props.getRag().getBackendUrls().forEach(url -> addUrl(urls, url));
+        this.backends = urls.stream().map(url -> new Backend(url, meterRegistry)).toList();
+        log.info("[RAG] backend instances={}", urls);
+    }
+
+    public boolean isConfigured() {
+        return !backends.isEmpty();
+    }
+
+    /**
+     * 고른 인스턴스의 기본 URL 로 요청을 만들어 보내고, 결과를 인스턴스 상태에 반영합니다.
+     *
+     * @param attemptTimeout 이 인스턴스 한 번의 응답을 기다릴 최대 시간. 넘기면 {@link TimeoutException} 으로 실패하고 인스턴스 실패로 셉니다.
+     */
+    public <T> Mono<T> call(Function<String, Mono<T>> request, Duration attemptTimeout) {
+        return Mono.defer(() -> {
+            if (backends.isEmpty()) {
+                return Mono.error(new IllegalStateException("RAG 백엔드 URL이 설정되어 있지 않습니다."));
+            }
+            Backend backend = choose();
+            backend.outstanding.incrementAndGet();
+            return request.apply(backend.url)
+                    .timeout(attemptTimeout)
+                    .doOnSuccess(value -> backend.onSuccess())
+                    .doOnError(backend::onError)
+                    .doFinally(signal -> backend.outstanding.decrementAndGet());
+        });
+    }
+
+    /**
+     * 스트리밍 요청용입니다. // ✅ 스트림이 끝날 때까지 진행 중인 요청으로 셉니다.
+     *
+     * @param firstSignalTimeout 첫 조각을 기다릴 최대 시간 (이후 조각 사이 간격은 제한하지 않음)
+     */
+    public <T> Flux<T> stream(Function<String, Flux<T>> request, Duration firstSignalTimeout) {
+        return Flux.defer(() -> {
+            if (backends.isEmpty()) {
+                return Flux.error(new IllegalStateException("RAG 백엔드 URL이 설정되어 있지 않습니다."));
+            }
+            Backend backend = choose();
+            backend.outstanding.incrementAndGet();
+            return request.apply(backend.url)
+                    .timeout(Mono.delay(firstSignalTimeout), item -> Mono.never())
+                    .doOnComplete(backend::onSuccess)
+                    .doOnError(backend::onError)
+                    .doFinally(signal -> backend.outstanding.decrementAndGet());
+        });
+    }
+
+    /**
+     * 인스턴스가 둘 이상일 때만 주기적으로 /health/rag 를 확인합니다. // ✅ 하나뿐이면 고를 대상이 없으므로 생략합니다.
+     * <p>
+     * 응답을 기다리지 않고 바로 돌아오므로 공용 스케줄러 스레드를 붙잡지 않습니다. 이전 확인이 끝나지 않았으면 이번 주기는 건너뜁니다.
+     */
+    @Scheduled(fixedDelayString = "${oneask.rag.health-check-interval:10s}")
+    public void checkHealth() {
+        if (backends.size() < 2 || !healthCheckRunning.compareAndSet(false, true)) {
+            return;
+        }
+        String path = props.getRag().getHealthCheckPath();
+        Flux.fromIterable(backends)
+                .flatMap(backend -> healthCheckClient.get()
+                        .uri(backend.url + path)
+                        .retrieve()
+                        .bodyToMono(Map.class)
+                        .timeout(HEALTH_CHECK_TIMEOUT)
+                        .map(body -> !Boolean.FALSE.equals(body.get("ready")))
+                        .onErrorResume(e -> {
+                            log.debug("[RAG] health check failed url={} err={}", backend.url, e.toString());
+                            return Mono.just(false);
+                        })
+                        .doOnNext(backend::onHealthCheck))
+                .doFinally(signal -> healthCheckRunning.set(false))
+                .subscribe();
+    }
+
+    /**
+     * 쓸 수 있는 인스턴스 중 진행 중인 요청이 가장 적은 곳을 고릅니다. // ✅ 동률이면 무작위로 골라 한 인스턴스로 몰리지 않게 합니다.
+     */
+    private Backend choose() {
+        List<Backend> candidates = new ArrayList<>();
+        long now = System.nanoTime();
+        for (Backend backend : backends) {
+            if (backend.isAvailable(now)) {
+                candidates.add(backend);
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates = backends; // ✅ 모두 빠져 있으면 전체 목록에서 고릅니다.
+        }
+        Backend best = null;
+        int ties = 0;
+        for (Backend backend : candidates) {
+            int load = backend.outstanding.get();
+            if (best == null || load < best.outstanding.get()) {
+                best = backend;
+                ties = 1;
+            } else if (load == best.outstanding.get() && ThreadLocalRandom.current().nextInt(++ties) == 0) {
+                best = backend;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * 지금 빼 둔 인스턴스 수를 셉니다. // ✅ 최대 비율을 넘겨 빼지 않도록 확인하는 데 씁니다.
+     */
+    private int ejectedCount(long now) {
+        int count = 0;
+        for (Backend backend : backends) {
+            if (backend.isEjected(now)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 인스턴스 상태를 바꾸는 실패인지 판단합니다. // ✅ 4xx(요청 문제)와 질의 마감 초과(호출자 예산 문제)는 인스턴스 탓이 아닙니다.
+     */
+    private static boolean isBackendFailure(Throwable e) {
+        if (e instanceof AskDeadlineExceededException) {
+            return false;
+        }
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError();
+        }
+        return e instanceof WebClientRequestException || e instanceof TimeoutException;
+    }
+
+    private static void addUrl(Set<String> urls, String url) {
+        if (url != null && !url.isBlank()) {
+            String trimmed = url.trim();
+            urls.add(trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed);
+        }
+    }
+
+    private final class Backend {
+        private final String url;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final Counter ejections;
+        private volatile boolean healthy = true;
+        private int consecutiveFailures;
+        private int ejectionCount;
+        private volatile long ejectedUntilNanos;
+
+        Backend(String url, MeterRegistry meterRegistry) {
+            this.url = url;
+            Gauge.builder("oneask.rag.backend.outstanding", outstanding, AtomicInteger::get)
+                    .description("RAG 백엔드 인스턴스별 진행 중인 요청 수")
+                    .tag("url", url)
+                    .register(meterRegistry);
+            Gauge.builder("oneask.rag.backend.available", this, backend -> backend.isAvailable(System.nanoTime()) ? 1 : 0)
+                    .description("RAG 백엔드 인스턴스 사용 가능 여부 (1=사용, 0=제외)")
+                    .tag("url", url)
+                    .register(meterRegistry);
+            this.ejections = Counter.builder("oneask.rag.backend.ejections")
+                    .description("연속 실패로 인스턴스를 제외한 횟수")
+                    .tag("url", url)
+                    .register(meterRegistry);
+        }
+
+        boolean isAvailable(long now) {
+            return healthy && !isEjected(now);
+        }
+
+        boolean isEjected(long now) {
+            return ejectedUntilNanos - now > 0;
+        }
+
+        synchronized void onSuccess() {
+            consecutiveFailures = 0;
+            if (!isEjected(System.nanoTime())) {
+                ejectionCount = Math.max(0, ejectionCount - 1); // ✅ 정상 응답이 이어지면 다음 제외 시간을 다시 줄입니다.
+            }
+        }
+
+        void onError(Throwable error) {
+            if (!isBackendFailure(error)) {
+                return;
+            }
+            OneAskProperties.Rag settings = props.getRag();
+            boolean eject;
+            synchronized (this) {
+                consecutiveFailures++;
+                eject = consecutiveFailures >= settings.getOutlierConsecutiveFailures();
+            }
+            if (eject) {
+                eject(settings);
+            }
+        }
+
+        void onHealthCheck(boolean ready) {
+            if (healthy != ready) {
+                log.warn("[RAG] backend health changed url={} ready={}", url, ready);
+            }
+            healthy = ready;
+        }
+
+        /**
+         * 제외할 때마다 제외 시간을 늘립니다. // ✅ 이미 최대 비율만큼 빠져 있으면 제외하지 않습니다.
+         */
+        private void eject(OneAskProperties.Rag settings) {
+            Duration duration;
+            synchronized (RagBackendPool.this) { // ✅ 여러 인스턴스가 동시에 빠지면서 최대 비율을 넘지 않도록 풀 단위로 직렬화합니다.
+                long now = System.nanoTime();
+                int maxEjected = (int) Math.floor(backends.size() * settings.getOutlierMaxEjectionPercent() / 100.0);
+                if (isEjected(now) || ejectedCount(now) >= maxEjected) {
+                    return;
+                }
+                synchronized (this) {
+                    ejectionCount = Math.min(MAX_EJECTION_MULTIPLIER, ejectionCount + 1);
+                    duration = settings.getOutlierEjectionDuration().multipliedBy(ejectionCount);
+                    ejectedUntilNanos = now + duration.toNanos();
+                    consecutiveFailures = 0;
+                }
+            }
+            ejections.increment();
+            log.warn("[RAG] backend ejected url={} for {}", url, duration);
+        }
+    }
+}
@@ -1,20 +1,27 @@
 package com.buhmwoo.oneask.modules.document.infrastructure.client;
 
 import com.buhmwoo.oneask.common.config.OneAskProperties; // ✅ 구성 프로퍼티에서 RAG 백엔드 URL을 읽어오기 위해 임포트합니다.
+import com.buhmwoo.oneask.modules.document.application.question.AskDeadline; // ✅ 질의 전체 마감까지 남은 시간만 기다리기 위해 임포트합니다.
 import com.buhmwoo.oneask.modules.document.application.question.DocumentRetrievalRequest; // ✅ 검색 입력 모델을 사용하기 위해 임포트합니다.
 import com.buhmwoo.oneask.modules.document.application.question.DocumentRetrievalResult; // ✅ 검색 결과 모델을 사용하기 위해 임포트합니다.
 import com.buhmwoo.oneask.modules.document.application.question.DocumentRetriever; // ✅ 인터페이스 구현체임을 명시하기 위해 임포트합니다.
 import com.buhmwoo.oneask.modules.document.application.question.RetrievedDocumentChunk; // ✅ 검색된 청크 정보를 DTO로 변환하기 위해 임포트합니다.
+import com.buhmwoo.oneask.modules.document.application.question.WorkLane; // ✅ 백그라운드 레인 요청을 별도 연결 풀로 보내기 위해 임포트합니다.
+import io.micrometer.core.instrument.Counter; // ✅ 중복 요청 전송·승리 횟수를 지표로 남기기 위해 임포트합니다.
+import io.micrometer.core.instrument.Gauge; // ✅ 현재 중복 전송 지연을 지표로 노출하기 위해 임포트합니다.
+import io.micrometer.core.instrument.MeterRegistry; // ✅ 지표 등록 대상 레지스트리입니다.
 import org.springframework.beans.factory.annotation.Qualifier; // ✅ 특정 이름의 WebClient 빈을 주입하기 위해 Qualifier를 사용합니다.
 import org.springframework.http.MediaType; // ✅ JSON 요청을 보내기 위해 MediaType을 임포트합니다.
 import org.springframework.stereotype.Component; // ✅ 스프링 빈으로 등록하기 위해 Component 애너테이션을 임포트합니다.
 import org.springframework.web.reactive.function.client.WebClient; // ✅ RAG 백엔드 HTTP 호출에 사용할 WebClient를 임포트합니다.
 import reactor.core.publisher.Mono; // ✅ WebClient 응답을 안전하게 처리하기 위해 Mono를 임포트합니다.
+import reactor.util.context.ContextView; // ✅ 요청 레인을 Reactor Context 에서 읽기 위해 임포트합니다.
 
 import java.time.Duration; // ✅ 검색 호출에 대한 최대 대기 시간을 정의하기 위해 Duration을 임포트합니다.
 
 import java.util.List; // ✅ 검색 결과를 리스트 형태로 다루기 위해 임포트합니다.
 import java.util.Map; // ✅ 요청 본문 생성을 위해 Map을 임포트합니다.
+import java.util.Optional; // ✅ 검색 결과가 비어 있을 때 안전하게 처리하기 위해 임포트합니다.
 
 /**
  * RAG 백엔드의 검색 전용 엔드포인트를 호출하는 구현체입니다. // ✅ 검색 단계 로직을 별도 컴포넌트로 분리했음을 설명합니다.
@@ -25,17 +32,50 @@ public class RagDocumentRetriever implements DocumentRetriever {
     private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(15); // ✅ 검색 응답 지연을 줄이기 위한 타임아웃 값입니다.
     private final OneAskProperties props; // ✅ 구성 파일에서 주입한 RAG 백엔드 URL을 보관합니다.
     private final WebClient ragWebClient; // ✅ HTTP 통신을 담당할 WebClient 인스턴스를 보관합니다.
+    private final WebClient ragBackgroundWebClient; // ✅ 요약 등 백그라운드 레인 검색이 쓰는 별도 연결 풀입니다.
+    private final RagBackendPool backends; // ✅ 요청을 보낼 RAG 백엔드 인스턴스를 고릅니다.
+    private final HedgingPolicy hedging; // ✅ 중복 요청 지연 기준과 전송 한도를 관리합니다.
+    private final ResilienceGuards guards; // ✅ 검색 엔드포인트의 회로 차단기·동시 호출 한도입니다.
+    private final Counter hedgeSent;
+    private final Counter hedgeWon;
+    private final Counter hedgeSkipped;
 
-    public RagDocumentRetriever(OneAskProperties props, @Qualifier("ragWebClient") WebClient ragWebClient) {
+    public RagDocumentRetriever(OneAskProperties props, @Qualifier("ragWebClient") WebClient ragWebClient,
+                                @Qualifier("ragBackgroundWebClient") WebClient ragBackgroundWebClient,
+                                RagBackendPool backends, ResilienceGuards guards, MeterRegistry meterRegistry) {
         this.props = props; // ✅ 생성자 주입을 통해 테스트와 유지보수를 용이하게 합니다.
         this.ragWebClient = ragWebClient; // ✅ 동일한 WebClient 빈을 재사용해 네트워크 설정 일관성을 유지합니다.
+        this.ragBackgroundWebClient = ragBackgroundWebClient;
+        this.backends = backends;
+        this.guards = guards;
+        this.hedging = new HedgingPolicy(props.getRag());
+        this.hedgeSent = Counter.builder("oneask.rag.retrieve.hedge")
+                .description("검색 중복 요청 결과")
+                .tag("outcome", "sent")
+                .register(meterRegistry);
+        this.hedgeWon = Counter.builder("oneask.rag.retrieve.hedge")
+                .description("검색 중복 요청 결과")
+                .tag("outcome", "won") // ✅ 중복 요청이 원 요청보다 먼저 응답한 경우
+                .register(meterRegistry);
+        this.hedgeSkipped = Counter.builder("oneask.rag.retrieve.hedge")
+                .description("검색 중복 요청 결과")
+                .tag("outcome", "skipped") // ✅ 전송 한도에 걸려 중복 요청을 보내지 않은 경우
+                .register(meterRegistry);
+        Gauge.builder("oneask.rag.retrieve.hedge.delay", hedging, policy -> policy.hedgeDelay().toMillis())
+                .description("현재 검색 중복 요청 지연 (ms)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
     }
 
     @Override
     public DocumentRetrievalResult retrieve(DocumentRetrievalRequest request) {
-        String baseUrl = props.getRag().getBackendUrl(); // ✅ 구성값에서 RAG 백엔드 기본 URL을 조회합니다.
-        if (baseUrl == null || baseUrl.isBlank()) {
-            throw new IllegalStateException("RAG 백엔드 URL이 설정되어 있지 않습니다."); // ✅ 필수 설정 누락 시 즉시 실패를 반환합니다.
+        return retrieveAsync(request).block(); // ✅ 동기 호출부는 비동기 파이프라인 결과를 그대로 기다립니다.
+    }
+
+    @Override
+    public Mono<DocumentRetrievalResult> retrieveAsync(DocumentRetrievalRequest request) {
+        if (!backends.isConfigured()) {
+            return Mono.error(new IllegalStateException("RAG 백엔드 URL이 설정되어 있지 않습니다.")); // ✅ 필수 설정 누락 시 즉시 실패를 반환합니다.
         }
 
         Map<String, Object> body = new java.util.HashMap<>(); // ✅ null 값을 허용하기 위해 가변 맵으로 요청 본문을 구성합니다.
@@ -43,19 +83,68 @@ public class RagDocumentRetriever implements DocumentRetriever {
         body.put("docId", request.docId()); // ✅ 선택적 문서 UUID를 전달해 검색 범위를 제한합니다.
         body.put("top_k", request.topK()); // ✅ 검색할 청크 개수를 전달합니다.
 
-        Mono<RetrieveResponsePayload> call = ragWebClient.post()
-                .uri(baseUrl + "/query/retrieve") // ✅ 검색 전용 엔드포인트로 요청을 전송합니다.
-                .contentType(MediaType.APPLICATION_JSON) // ✅ JSON 본문을 전송함을 명시합니다.
-                .bodyValue(body)
-                .retrieve()
-                .bodyToMono(RetrieveResponsePayload.class); // ✅ 응답을 DTO로 역직렬화합니다.
+        Mono<RetrieveResponsePayload> call = Mono.deferContextual(context -> props.getRag().isHedgeEnabled() && !isBackground(context)
+                ? hedgedCall(body) // ✅ 백그라운드 레인은 지연보다 백엔드 부하가 중요하므로 중복 요청을 보내지 않습니다.
+                : timedCall(body));
 
-        RetrieveResponsePayload payload = call.block(REQUEST_TIMEOUT); // ✅ 제한된 시간 동안만 대기해 전체 응답 속도를 개선합니다.
-        if (payload == null) {
-            throw new IllegalStateException("RAG 검색 응답이 비어 있습니다."); // ✅ 예외 상황을 명시적으로 알립니다.
-        }
+        Mono<RetrieveResponsePayload> guarded = guards.retrieve().protect(AskDeadline.limit(call, null)); // ✅ 회로 차단·동시 호출 한도를 적용하고, 질의 마감까지 남은 시간만 기다립니다. (기본 대기 시간은 시도마다 풀 안에서 적용)
+        return ResilienceGuards.waitIfNotPermitted(guarded) // ✅ 백그라운드 레인은 거절되면 마감까지 다시 시도합니다.
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("RAG 검색 응답이 비어 있습니다."))) // ✅ 예외 상황을 명시적으로 알립니다.
+                .map(this::toResult);
+    }
+
+    /**
+     * 원 요청이 중복 전송 지연 안에 응답하지 않으면 같은 요청을 한 번 더 보내 먼저 도착한 응답을 사용합니다. // ✅ 늦은 쪽은 구독 취소로 HTTP 요청을 끊습니다.
+     * <p>
+     * 원 요청의 실패는 그대로 전달하고, 중복 요청의 실패는 무시해 원 요청 결과를 기다립니다.
+     * 중복 요청도 진행 중인 요청이 가장 적은 인스턴스로 가므로 인스턴스가 여럿이면 대개 다른 인스턴스에 보내집니다.
+     */
+    private Mono<RetrieveResponsePayload> hedgedCall(Map<String, Object> body) {
+        return Mono.defer(() -> {
+            hedging.onPrimaryRequest();
+            Mono<RetrieveResponsePayload> primary = timedCall(body);
+            Mono<RetrieveResponsePayload> hedge = Mono.delay(hedging.hedgeDelay())
+                    .then(Mono.defer(() -> {
+                        if (!hedging.tryAcquireHedge()) {
+                            hedgeSkipped.increment();
+                            return Mono.<RetrieveResponsePayload>never(); // ✅ 한도 초과 시 원 요청만 기다립니다.
+                        }
+                        hedgeSent.increment();
+                        return timedCall(body)
+                                .doOnNext(payload -> hedgeWon.increment())
+                                .onErrorResume(e -> Mono.never());
+                    }));
+            return Mono.firstWithSignal(primary, hedge);
+        });
+    }
+
+    /**
+     * 검색 요청을 한 번 보내고, 성공하면 지연을 중복 전송 기준 표본으로 기록합니다.
+     */
+    private Mono<RetrieveResponsePayload> timedCall(Map<String, Object> body) {
+        return Mono.deferContextual(context -> backends.call(baseUrl -> {
+            long startedAt = System.nanoTime();
+            boolean background = isBackground(context);
+            return (background ? ragBackgroundWebClient : ragWebClient).post()
+                    .uri(baseUrl + "/query/retrieve") // ✅ 검색 전용 엔드포인트로 요청을 전송합니다.
+                    .contentType(MediaType.APPLICATION_JSON) // ✅ JSON 본문을 전송함을 명시합니다.
+                    .bodyValue(body)
+                    .retrieve()
+                    .bodyToMono(RetrieveResponsePayload.class) // ✅ 응답을 DTO로 역직렬화합니다.
+                    .doOnNext(payload -> {
+                        if (!background) { // ✅ 중복 전송 기준은 대화형 검색 지연만으로 잡습니다.
+                            hedging.recordLatency(Duration.ofNanos(System.nanoTime() - startedAt));
+                        }
+                    });
+        }, REQUEST_TIMEOUT)); // ✅ 멈춘 인스턴스를 실패로 세도록 시도마다 풀 안에서 대기 시간을 제한합니다.
+    }
+
+    private static boolean isBackground(ContextView context) {
+        return WorkLane.from(context) == WorkLane.BACKGROUND;
+    }
 
-        List<RetrievedDocumentChunk> chunks = payload.matches().stream()
+    private DocumentRetrievalResult toResult(RetrieveResponsePayload payload) {
+        List<RetrievedDocumentChunk> chunks = Optional.ofNullable(payload.matches()).orElse(List.of()).stream()
                 .map(match -> new RetrievedDocumentChunk(
                         match.reference(), // ✅ 인용 라벨을 그대로 전달합니다.
                         match.chunkIndex(), // ✅ 결과 순번을 유지합니다.
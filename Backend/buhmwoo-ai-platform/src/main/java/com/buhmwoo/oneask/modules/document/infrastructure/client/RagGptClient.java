@@ -1,16 +1,23 @@
 package com.buhmwoo.oneask.modules.document.infrastructure.client;
 
 import com.buhmwoo.oneask.common.config.OneAskProperties;
+import com.buhmwoo.oneask.modules.document.application.question.AskDeadline;
 import com.buhmwoo.oneask.modules.document.application.question.GptClient;
 import com.buhmwoo.oneask.modules.document.application.question.GptRequest;
 import com.buhmwoo.oneask.modules.document.application.question.GptResponse;
+import com.buhmwoo.oneask.modules.document.application.question.WorkLane;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+import reactor.util.context.ContextView;
 import java.time.Duration; // ✅ 응답 대기 시간 상한을 설정하기 위해 Duration을 임포트합니다.
 
 
@@ -21,13 +28,23 @@ import java.time.Duration; // ✅ 응답 대기 시간 상한을 설정하기 
 public class RagGptClient implements GptClient {
 
     private static final Logger log = LoggerFactory.getLogger(RagGptClient.class);
+    private static final ParameterizedTypeReference<ServerSentEvent<StreamChunkPayload>> STREAM_EVENT_TYPE =
+            new ParameterizedTypeReference<>() {};
 
-    private final OneAskProperties props;
     private final WebClient ragWebClient;
+    private final WebClient ragBackgroundWebClient;
+    private final RagBackendPool backends;
+    private final ResilienceGuards guards;
+    private final OneAskProperties props;
 
-    public RagGptClient(OneAskProperties props, @Qualifier("ragWebClient") WebClient ragWebClient) {
+    public RagGptClient(@Qualifier("ragWebClient") WebClient ragWebClient,
+                        @Qualifier("ragBackgroundWebClient") WebClient ragBackgroundWebClient,
+                        RagBackendPool backends, ResilienceGuards guards, OneAskProperties props) {
         this.props = props;
         this.ragWebClient = ragWebClient;
+        this.ragBackgroundWebClient = ragBackgroundWebClient;
+        this.backends = backends;
+        this.guards = guards;
     }
 
     @Override
@@ -37,37 +54,82 @@ public class RagGptClient implements GptClient {
 
     @Override
     public GptResponse generate(GptRequest request, Duration timeout) {
-        String baseUrl = props.getRag().getBackendUrl();
-        if (baseUrl == null || baseUrl.isBlank()) {
-            throw new IllegalStateException("RAG 백엔드 URL이 설정되어 있지 않습니다.");
+        return generateAsync(request, timeout).block();
+    }
+
+    @Override
+    public Mono<GptResponse> generateAsync(GptRequest request, Duration timeout) {
+        if (!backends.isConfigured()) {
+            return Mono.error(new IllegalStateException("RAG 백엔드 URL이 설정되어 있지 않습니다."));
         }
 
-        Mono<GptResponsePayload> call = ragWebClient.post()
+        Mono<GptResponsePayload> call = Mono.deferContextual(context -> backends.call(baseUrl -> webClient(context).post() // 진행 중인 요청이 가장 적은 인스턴스로 전송
                 .uri(baseUrl + "/query/generate")
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(request)
                 .retrieve()
-                .bodyToMono(GptResponsePayload.class);
-
-        GptResponsePayload payload;
-        try {
-            payload = call.block();
-        } catch (Exception e) {
-            // 여기서 실제 원인 로그 남기기
-            log.warn("[GPT][CALL_FAIL] url={}/query/generate err={}", baseUrl, e.toString(), e);
-            String rootMsg = (e.getMessage() != null) ? e.getMessage() : e.toString();
-            throw new IllegalStateException("GPT 호출 실패: " + rootMsg, e);
-        }
+                .bodyToMono(GptResponsePayload.class),
+                timeout != null ? timeout : props.getRag().getGenerateAttemptTimeout())); // 멈춘 인스턴스를 실패로 세도록 시도마다 풀 안에서 대기 시간을 제한
+        call = AskDeadline.limit(call, null); // 호출자가 지정한 대기 상한은 위 시도 상한으로 적용했으므로 여기서는 질의 마감까지 남은 시간만 적용
+        call = guards.generate().protect(call); // 회로가 열렸거나 동시 호출이 가득 차면 요청 없이 즉시 실패
+        call = ResilienceGuards.waitIfNotPermitted(call); // 백그라운드 레인은 거절되면 마감까지 다시 시도
 
-        if (payload == null) {
-            throw new IllegalStateException("GPT 응답이 비어 있습니다.");
-        }
-        if (payload.answer() == null || payload.answer().isBlank()) {
-            throw new IllegalStateException("GPT 응답 본문이 존재하지 않습니다.");
+        return call
+                .onErrorMap(e -> {
+                    // 여기서 실제 원인 로그 남기기
+                    log.warn("[GPT][CALL_FAIL] /query/generate err={}", e.toString(), e);
+                    String rootMsg = (e.getMessage() != null) ? e.getMessage() : e.toString();
+                    return new IllegalStateException("GPT 호출 실패: " + rootMsg, e);
+                })
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("GPT 응답이 비어 있습니다.")))
+                .handle((payload, sink) -> {
+                    if (payload.answer() == null || payload.answer().isBlank()) {
+                        sink.error(new IllegalStateException("GPT 응답 본문이 존재하지 않습니다."));
+                        return;
+                    }
+                    sink.next(new GptResponse(payload.answer()));
+                });
+    }
+
+    @Override
+    public Flux<String> stream(GptRequest request) {
+        if (!backends.isConfigured()) {
+            return Flux.error(new IllegalStateException("RAG 백엔드 URL이 설정되어 있지 않습니다."));
         }
 
-        return new GptResponse(payload.answer());
+        Flux<String> tokens = Flux.deferContextual(context -> backends.stream(baseUrl -> webClient(context).post()
+                .uri(baseUrl + "/query/generate/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(request)
+                .retrieve()
+                .bodyToFlux(STREAM_EVENT_TYPE)
+                .takeUntil(event -> "done".equals(event.event()))
+                .handle((ServerSentEvent<StreamChunkPayload> event, SynchronousSink<String> sink) -> {
+                    StreamChunkPayload data = event.data();
+                    if ("error".equals(event.event())) {
+                        String message = (data != null && data.message() != null) ? data.message() : "알 수 없는 오류";
+                        sink.error(new IllegalStateException("GPT 스트리밍 실패: " + message));
+                        return;
+                    }
+                    if ("token".equals(event.event()) && data != null && data.delta() != null) {
+                        sink.next(data.delta());
+                    }
+                }), props.getRag().getGenerateAttemptTimeout()));
+
+        return guards.generate().protect(tokens) // 스트림이 끝날 때까지 동시 호출 허가를 유지
+                .doOnError(e -> log.warn("[GPT][STREAM_FAIL] /query/generate/stream err={}", e.toString(), e));
+    }
+
+    /**
+     * 레인별 연결 풀을 고릅니다. // ✅ 요약 같은 백그라운드 호출이 대화형 질의의 연결을 차지하지 않게 합니다.
+     */
+    private WebClient webClient(ContextView context) {
+        return WorkLane.from(context) == WorkLane.BACKGROUND ? ragBackgroundWebClient : ragWebClient;
     }
 
     private record GptResponsePayload(String answer) {}
+
+    /** /query/generate/stream 의 token/error 이벤트 data 구조 */
+    private record StreamChunkPayload(String delta, String message) {}
 }
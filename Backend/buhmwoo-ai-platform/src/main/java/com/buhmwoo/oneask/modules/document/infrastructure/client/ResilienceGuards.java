@@ -0,0 +1,104 @@
+package com.buhmwoo.oneask.modules.document.infrastructure.client;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import com.buhmwoo.oneask.common.resilience.CallNotPermittedException;
+import com.buhmwoo.oneask.common.resilience.CircuitBreaker;
+import com.buhmwoo.oneask.common.resilience.ResilienceGuard;
+import com.buhmwoo.oneask.modules.document.application.question.AskDeadlineExceededException;
+import com.buhmwoo.oneask.modules.document.application.question.WorkLane;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * 원격 엔드포인트별 회로 차단기·동시 호출 한도를 한곳에서 만들어 제공합니다.
+ * <p>
+ * 엔드포인트마다 차단기를 따로 두어 RAG 생성이 느려져도 검색이나 Gemini 웹검색은 계속 호출할 수 있습니다.
+ * 질의 마감 초과(호출자 예산 문제)와 4xx 응답(요청 문제)은 원격 서비스 장애로 보지 않으므로 실패율에 넣지 않습니다.
+ */
+@Component
+public class ResilienceGuards {
+
+    /** 백그라운드 레인 호출이 거절된 뒤 다시 시도하기까지의 간격 */
+    private static final Duration BACKGROUND_RETRY_DELAY = Duration.ofSeconds(1);
+
+    private final ResilienceGuard retrieve;
+    private final ResilienceGuard generate;
+    private final ResilienceGuard gemini;
+
+    public ResilienceGuards(OneAskProperties props, MeterRegistry meterRegistry) {
+        OneAskProperties.Resilience settings = props.getResilience();
+        this.retrieve = new ResilienceGuard("rag-retrieve", breaker(settings), settings.getRetrieveMaxConcurrent(),
+                ResilienceGuards::isRemoteFailure, meterRegistry);
+        this.generate = new ResilienceGuard("rag-generate", breaker(settings), settings.getGenerateMaxConcurrent(),
+                ResilienceGuards::isRemoteFailure, meterRegistry);
+        this.gemini = new ResilienceGuard("gemini", breaker(settings), settings.getGeminiMaxConcurrent(),
+                ResilienceGuards::isRemoteFailure, meterRegistry);
+    }
+
+    /** RAG 백엔드 /query/retrieve */
+    public ResilienceGuard retrieve() {
+        return retrieve;
+    }
+
+    /** RAG 백엔드 /query/generate, /query/generate/stream */
+    public ResilienceGuard generate() {
+        return generate;
+    }
+
+    /** Gemini 웹검색 */
+    public ResilienceGuard gemini() {
+        return gemini;
+    }
+
+    /**
+     * 예외 체인에 회로 차단·동시 호출 한도 초과로 거절된 호출이 있는지 확인합니다.
+     */
+    public static boolean isCallNotPermitted(Throwable e) {
+        Throwable cursor = e;
+        while (cursor != null) {
+            if (cursor instanceof CallNotPermittedException) {
+                return true;
+            }
+            cursor = cursor.getCause();
+        }
+        return false;
+    }
+
+    /**
+     * 백그라운드 레인 호출이 회로 차단·동시 호출 한도로 거절되면 실패로 돌려주지 않고 잠시 뒤 다시 시도합니다.
+     * 얼마나 기다릴지는 호출자의 질의 마감(AskDeadline)이 정하며, 대화형 호출은 그대로 즉시 실패합니다.
+     */
+    public static <T> Mono<T> waitIfNotPermitted(Mono<T> call) {
+        return Mono.deferContextual(context -> WorkLane.from(context) == WorkLane.BACKGROUND
+                ? call.retryWhen(Retry.fixedDelay(Long.MAX_VALUE, BACKGROUND_RETRY_DELAY)
+                        .filter(ResilienceGuards::isCallNotPermitted))
+                : call);
+    }
+
+    private static CircuitBreaker breaker(OneAskProperties.Resilience settings) {
+        return new CircuitBreaker(settings.getFailureRateThreshold(), settings.getSlidingWindowSize(),
+                settings.getMinimumCalls(), settings.getOpenDuration(), settings.getHalfOpenCalls());
+    }
+
+    /**
+     * 차단기 실패율에 반영할 예외인지 판단합니다. // ✅ 408·429 는 서버 과부하 신호이므로 4xx 라도 실패로 셉니다.
+     */
+    private static boolean isRemoteFailure(Throwable e) {
+        if (isCallNotPermitted(e)) {
+            return false;
+        }
+        if (e instanceof AskDeadlineExceededException) {
+            return false;
+        }
+        if (e instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError()) {
+            int status = response.getStatusCode().value();
+            return status == 408 || status == 429;
+        }
+        return true;
+    }
+}
@@ -1,13 +1,17 @@
 package com.buhmwoo.oneask.modules.document.infrastructure.repository.maria;
 
 import com.buhmwoo.oneask.modules.document.domain.Document;
+import com.buhmwoo.oneask.modules.document.domain.DocumentIndexingStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,4 +40,172 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
     Page<Document> findByFileNameContainingIgnoreCase(String fileName, Pageable pageable);    
     
     List<Document> findAllByFileNameIgnoreCase(String fileName);    
+
+    /**
+     * 소문자로 바꾼 파일명 목록과 같은 이름의 문서를 한 번에 찾습니다. // ✅ 일괄 업로드에서 파일마다 조회하지 않도록 합니다.
+     */
+    @Query("SELECT d FROM Document d WHERE LOWER(d.fileName) IN :lowerFileNames")
+    List<Document> findAllByLowerFileNameIn(@Param("lowerFileNames") Collection<String> lowerFileNames);
+
+    List<Document> findAllByUuidIn(Collection<String> uuids);
+
+    List<Document> findAllByContentHashIn(Collection<String> contentHashes);
+
+    /**
+     * 같은 저장 파일을 가리키는 문서 수입니다. // ✅ 내용이 같은 문서끼리 파일을 함께 쓰므로, 마지막 문서일 때만 파일을 지웁니다.
+     */
+    long countByFilePath(String filePath);
+
+    /**
+     * 인덱싱 대기열에서 오래된 순서대로 문서를 가져옵니다.
+     */
+    List<Document> findByIndexingStatusOrderByIdAsc(DocumentIndexingStatus indexingStatus, Pageable pageable);
+
+    /**
+     * PENDING 문서를 PROCESSING 으로 바꿔 작업을 가져갑니다. 이미 다른 작업이 가져갔다면 0을 반환합니다.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Document d
+            SET d.indexingStatus = :processing, d.indexingStartedAt = :startedAt, d.indexingError = NULL,
+                d.indexingClaim = :claim, d.indexingOwner = :owner
+            WHERE d.id = :id AND d.indexingStatus = :pending
+            """)
+    int claimForIndexing(
+            @Param("id") Long id,
+            @Param("claim") String claim,   // ✅ 완료 처리 시 같은 작업인지 확인하는 기준
+            @Param("owner") String owner,   // ✅ 작업을 가져간 인스턴스
+            @Param("startedAt") LocalDateTime startedAt,
+            @Param("pending") DocumentIndexingStatus pending,
+            @Param("processing") DocumentIndexingStatus processing
+    );
+
+    /**
+     * 가져간 작업을 시작하지 못했을 때 다시 PENDING 으로 돌립니다. // ✅ 같은 토큰의 작업일 때만 바꿉니다.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Document d
+            SET d.indexingStatus = :pending, d.indexingClaim = NULL, d.indexingOwner = NULL
+            WHERE d.id = :id AND d.indexingStatus = :processing AND d.indexingClaim = :claim
+            """)
+    int releaseClaim(
+            @Param("id") Long id,
+            @Param("claim") String claim,
+            @Param("processing") DocumentIndexingStatus processing,
+            @Param("pending") DocumentIndexingStatus pending
+    );
+
+    /**
+     * 가져간 작업의 결과와 자동 재시도 일정을 기록합니다. 그사이 재인덱싱·삭제로 다른 상태가 되었다면 0을 반환합니다.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Document d
+            SET d.indexingStatus = :status, d.indexingError = :error,
+                d.indexingAttempts = :attempts, d.indexingNextRetryAt = :nextRetryAt
+            WHERE d.id = :id AND d.indexingStatus = :processing
+              AND (d.indexingClaim = :claim OR (:claim IS NULL AND d.indexingClaim IS NULL))
+            """)
+    int finishIndexing(
+            @Param("id") Long id,
+            @Param("claim") String claim,   // ✅ 토큰이 없던 이전 버전에서 가져간 작업은 null 로 비교합니다.
+            @Param("processing") DocumentIndexingStatus processing,
+            @Param("status") DocumentIndexingStatus status,
+            @Param("error") String error,
+            @Param("attempts") Integer attempts,   // ✅ 성공하면 0, 실패하면 이전 값 + 1
+            @Param("nextRetryAt") LocalDateTime nextRetryAt   // ✅ 자동 재시도하지 않으면 null
+    );
+
+    /**
+     * 처리 시간 상한을 넘기고도 PROCESSING 에 머문 문서를 찾습니다.
+     */
+    List<Document> findByIndexingStatusAndIndexingStartedAtBefore(
+            DocumentIndexingStatus indexingStatus, LocalDateTime startedBefore, Pageable pageable);
+
+    /**
+     * 해당 인스턴스가 가져가 아직 PROCESSING 인 문서를 다시 PENDING 으로 돌립니다. // ✅ 다른 인스턴스가 처리 중인 문서는 건드리지 않습니다.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Document d
+            SET d.indexingStatus = :pending, d.indexingClaim = NULL, d.indexingOwner = NULL
+            WHERE d.indexingStatus = :processing AND d.indexingOwner = :owner
+            """)
+    int requeueOwnedBy(
+            @Param("owner") String owner,
+            @Param("processing") DocumentIndexingStatus processing,
+            @Param("pending") DocumentIndexingStatus pending
+    );
+
+    /**
+     * 재시도 시각이 지난 FAILED 문서를 다시 PENDING 으로 올립니다.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Document d
+            SET d.indexingStatus = :pending, d.indexingNextRetryAt = NULL
+            WHERE d.indexingStatus = :failed
+              AND d.indexingNextRetryAt IS NOT NULL AND d.indexingNextRetryAt <= :now
+            """)
+    int requeueDueRetries(
+            @Param("now") LocalDateTime now,
+            @Param("failed") DocumentIndexingStatus failed,
+            @Param("pending") DocumentIndexingStatus pending
+    );
+
+    long countByIndexingStatus(DocumentIndexingStatus indexingStatus);
+
+    /**
+     * 일괄 재인덱싱 대상 문서 ID 를 상태/업로더/업로드일 조건으로 찾습니다.
+     */
+    @Query("""
+            SELECT d.id
+            FROM Document d
+            WHERE (:status IS NULL OR d.indexingStatus = :status)
+              AND (:uploadedBy IS NULL OR LOWER(d.uploadedBy) LIKE LOWER(CONCAT('%', :uploadedBy, '%')))
+              AND (:uploadedFrom IS NULL OR d.uploadedAt >= :uploadedFrom)
+              AND (:uploadedTo IS NULL OR d.uploadedAt <= :uploadedTo)
+            ORDER BY d.id
+            """)
+    List<Long> findIdsForReindex(
+            @Param("status") DocumentIndexingStatus status,
+            @Param("uploadedBy") String uploadedBy,
+            @Param("uploadedFrom") LocalDateTime uploadedFrom,
+            @Param("uploadedTo") LocalDateTime uploadedTo,
+            Pageable pageable
+    );
+
+    /**
+     * 문서를 재시도 기록 없이 다시 PENDING 으로 올립니다. 이미 대기 중이거나 처리 중인 문서는 건너뜁니다.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Document d
+            SET d.indexingStatus = :pending, d.indexingError = NULL,
+                d.indexingAttempts = 0, d.indexingNextRetryAt = NULL
+            WHERE d.id IN :ids AND d.indexingStatus NOT IN (:pending, :processing)
+            """)
+    int enqueueForReindex(
+            @Param("ids") List<Long> ids,
+            @Param("pending") DocumentIndexingStatus pending,
+            @Param("processing") DocumentIndexingStatus processing
+    );
+
+    /**
+     * 주어진 문서들의 인덱싱 상태별 개수를 [상태, 개수] 로 반환합니다.
+     */
+    @Query("""
+            SELECT d.indexingStatus, COUNT(d)
+            FROM Document d
+            WHERE d.id IN :ids
+            GROUP BY d.indexingStatus
+            """)
+    List<Object[]> countByIdsGroupedByIndexingStatus(@Param("ids") List<Long> ids);
 }
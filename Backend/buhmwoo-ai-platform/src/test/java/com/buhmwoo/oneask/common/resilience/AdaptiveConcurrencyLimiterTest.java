@@ -0,0 +1,159 @@
+package com.buhmwoo.oneask.common.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final Duration LONG_WAIT = Duration.ofSeconds(5);
+
+    private static AdaptiveConcurrencyLimiter limiter(int limit, double lowPriorityShare) {
+        return new AdaptiveConcurrencyLimiter("test", limit, 1, limit, 0.5,
+                Duration.ofSeconds(10), Duration.ofSeconds(10), 100, lowPriorityShare,
+                error -> true, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void grantsQueuedCallsInArrivalOrder() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1.0);
+        Sinks.One<String> first = Sinks.one();
+        List<String> started = new CopyOnWriteArrayList<>();
+        limiter.limit(first.asMono(), LONG_WAIT).subscribe();
+        for (String name : List.of("a", "b", "c")) {
+            limiter.limit(Mono.fromRunnable(() -> started.add(name)), LONG_WAIT).subscribe();
+        }
+        assertThat(limiter.queued()).isEqualTo(3);
+
+        first.tryEmitValue("done");
+
+        assertThat(started).containsExactly("a", "b", "c");
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(limiter.queued()).isZero();
+    }
+
+    @Test
+    void lowPriorityWaitsWhileHighPriorityIsQueued() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 0.5);
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        limiter.limit(first.asMono(), LONG_WAIT).subscribe();
+        limiter.limit(second.asMono(), LONG_WAIT).subscribe();
+
+        Sinks.One<String> low = Sinks.one();
+        Sinks.One<String> high = Sinks.one();
+        List<String> started = new CopyOnWriteArrayList<>();
+        limiter.limit(low.asMono().doOnSubscribe(s -> started.add("low")), LONG_WAIT, true).subscribe();
+        limiter.limit(high.asMono().doOnSubscribe(s -> started.add("high")), LONG_WAIT).subscribe();
+
+        first.tryEmitValue("done");
+        assertThat(started).containsExactly("high");
+        assertThat(limiter.lowPriorityQueued()).isEqualTo(1);
+
+        // 백그라운드 몫은 한도의 절반(1)이므로 진행 중 호출이 1 미만이 될 때까지 기다립니다.
+        second.tryEmitValue("done");
+        assertThat(started).containsExactly("high");
+        high.tryEmitValue("done");
+        assertThat(started).containsExactly("high", "low");
+
+        low.tryEmitValue("done");
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void rejectsAfterWaitTimeoutAndLeavesQueue() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1.0);
+        Sinks.One<String> first = Sinks.one();
+        limiter.limit(first.asMono(), LONG_WAIT).subscribe();
+
+        assertThatThrownBy(() -> limiter.limit(Mono.just("late"), Duration.ofMillis(50)).block())
+                .isInstanceOf(CallNotPermittedException.class);
+        assertThat(limiter.queued()).isZero();
+
+        first.tryEmitValue("done");
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void cancelWhileQueuedDoesNotConsumePermit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1.0);
+        Sinks.One<String> first = Sinks.one();
+        limiter.limit(first.asMono(), LONG_WAIT).subscribe();
+        Disposable queued = limiter.limit(Mono.just("queued"), LONG_WAIT).subscribe();
+        assertThat(limiter.queued()).isEqualTo(1);
+
+        queued.dispose();
+        assertThat(limiter.queued()).isZero();
+
+        first.tryEmitValue("done");
+        assertThat(limiter.inFlight()).isZero();
+        assertThat(limiter.limit(Mono.just("next"), LONG_WAIT).block()).isEqualTo("next");
+    }
+
+    @Test
+    void cancelAfterGrantReturnsPermit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1.0);
+        Disposable running = limiter.limit(Mono.never(), LONG_WAIT).subscribe();
+        assertThat(limiter.inFlight()).isEqualTo(1);
+
+        running.dispose();
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void grantRacingWaitTimeoutNeverLeaksPermit() throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = limiter(1, 1.0);
+        for (int i = 0; i < 300; i++) {
+            Sinks.One<String> holder = Sinks.one();
+            limiter.limit(holder.asMono(), LONG_WAIT).subscribe();
+            CountDownLatch settled = new CountDownLatch(1);
+            limiter.limit(Mono.just("waiter"), Duration.ofMillis(1))
+                    .doFinally(signal -> settled.countDown())
+                    .subscribe(value -> { }, error -> { });
+            Thread.sleep(1); // ✅ 대기 만료 시점과 허가 반납이 최대한 겹치게 함
+            holder.tryEmitValue("done");
+            assertThat(settled.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(limiter.inFlight()).as("round %d", i).isZero();
+            assertThat(limiter.queued()).as("round %d", i).isZero();
+        }
+    }
+
+    @Test
+    void overloadErrorShrinksLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(8, 1.0);
+
+        assertThatThrownBy(() -> limiter.limit(Mono.error(new IllegalStateException("429")), LONG_WAIT).block())
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(limiter.currentLimit()).isEqualTo(4);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void slowThresholdIsTotalLatencyForMonoAndFirstSignalForFlux() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 8, 1, 8, 0.5,
+                Duration.ofSeconds(10), Duration.ofMillis(20), 100, 1.0,
+                error -> false, new SimpleMeterRegistry());
+
+        // 전체 50ms 걸린 단건 호출은 전체 지연 기준(10s)보다 빨라 한도를 줄이지 않음
+        limiter.limit(Mono.just("ok").delayElement(Duration.ofMillis(50)), LONG_WAIT).block();
+        assertThat(limiter.currentLimit()).isEqualTo(8);
+
+        // 첫 조각이 50ms 뒤에 온 스트림은 첫 조각 기준(20ms)보다 느려 한도를 줄임
+        limiter.limit(Flux.just("a", "b").delayElements(Duration.ofMillis(50)), LONG_WAIT).blockLast();
+        assertThat(limiter.currentLimit()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,73 @@
+package com.buhmwoo.oneask.modules.document.application.indexing;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import com.buhmwoo.oneask.modules.document.api.dto.BulkReindexProgressDto;
+import com.buhmwoo.oneask.modules.document.domain.DocumentIndexingStatus;
+import com.buhmwoo.oneask.modules.document.infrastructure.repository.maria.DocumentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkReindexJobsTest {
+
+    private DocumentRepository repository;
+    private DocumentIndexingQueue indexingQueue;
+    private BulkReindexJobs jobs;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(DocumentRepository.class);
+        indexingQueue = mock(DocumentIndexingQueue.class);
+        when(indexingQueue.workers()).thenReturn(1);
+        when(repository.findIdsForReindex(any(), any(), any(), any(), any())).thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
+        when(repository.countByIdsGroupedByIndexingStatus(anyList())).thenReturn(List.of());
+
+        OneAskProperties props = new OneAskProperties();
+        props.getIndexing().setBulkBatchSize(3);
+        jobs = new BulkReindexJobs(repository, indexingQueue, props, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void countsDocumentsAlreadyQueuedOrProcessingAsSkipped() {
+        // 묶음 [1,2,3] 중 한 건은 이미 PENDING/PROCESSING 이라 enqueueForReindex 가 건너뜀
+        when(repository.enqueueForReindex(List.of(1L, 2L, 3L), DocumentIndexingStatus.PENDING, DocumentIndexingStatus.PROCESSING))
+                .thenReturn(2);
+        when(repository.enqueueForReindex(List.of(4L, 5L), DocumentIndexingStatus.PENDING, DocumentIndexingStatus.PROCESSING))
+                .thenReturn(2);
+
+        BulkReindexProgressDto started = jobs.start(null, null, null, null);
+        assertThat(started.getSubmitted()).isEqualTo(3);
+        assertThat(started.getEnqueued()).isEqualTo(2);
+        assertThat(started.getSkipped()).isEqualTo(1);
+
+        jobs.feed();
+        BulkReindexProgressDto finished = jobs.progress(started.getJobId()).orElseThrow();
+        assertThat(finished.getSubmitted()).isEqualTo(5);
+        assertThat(finished.getEnqueued()).isEqualTo(4);
+        assertThat(finished.getSkipped()).isEqualTo(1);
+        assertThat(finished.isCompleted()).isTrue();
+    }
+
+    @Test
+    void waitsWhileQueueIsFull() {
+        when(repository.countByIndexingStatus(DocumentIndexingStatus.PENDING)).thenReturn(3L);
+
+        BulkReindexProgressDto started = jobs.start(null, null, null, null);
+
+        assertThat(started.getSubmitted()).isZero();
+        verify(repository, never()).enqueueForReindex(anyList(), eq(DocumentIndexingStatus.PENDING), eq(DocumentIndexingStatus.PROCESSING));
+        assertThatThrownBy(() -> jobs.start(null, null, null, null)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,140 @@
+package com.buhmwoo.oneask.modules.document.application.indexing;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import com.buhmwoo.oneask.modules.document.application.question.BackgroundWorkGate;
+import com.buhmwoo.oneask.modules.document.application.question.DocumentIndexVersions;
+import com.buhmwoo.oneask.modules.document.application.question.QuestionAnswerCache;
+import com.buhmwoo.oneask.modules.document.domain.Document;
+import com.buhmwoo.oneask.modules.document.domain.DocumentIndexingStatus;
+import com.buhmwoo.oneask.modules.document.infrastructure.client.RagBackendPool;
+import com.buhmwoo.oneask.modules.document.infrastructure.repository.maria.DocumentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DocumentIndexingQueueTest {
+
+    private static OneAskProperties.Indexing settings(double jitter) {
+        OneAskProperties.Indexing settings = new OneAskProperties.Indexing();
+        settings.setRetryInitialBackoff(Duration.ofMinutes(1));
+        settings.setRetryMaxBackoff(Duration.ofHours(1));
+        settings.setRetryJitter(jitter);
+        return settings;
+    }
+
+    @Test
+    void backoffDoublesPerAttemptUpToMax() {
+        OneAskProperties.Indexing settings = settings(0);
+
+        assertThat(DocumentIndexingQueue.retryBackoff(settings, 1, 0.5)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(DocumentIndexingQueue.retryBackoff(settings, 2, 0.5)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(DocumentIndexingQueue.retryBackoff(settings, 3, 0.5)).isEqualTo(Duration.ofMinutes(4));
+        assertThat(DocumentIndexingQueue.retryBackoff(settings, 7, 0.5)).isEqualTo(Duration.ofHours(1));
+        assertThat(DocumentIndexingQueue.retryBackoff(settings, 100, 0.5)).isEqualTo(Duration.ofHours(1)); // 시프트가 넘쳐도 상한
+    }
+
+    @Test
+    void jitterSpreadsAroundBaseButNeverExceedsMax() {
+        OneAskProperties.Indexing settings = settings(0.3);
+
+        assertThat(DocumentIndexingQueue.retryBackoff(settings, 3, 0.0)).isEqualTo(Duration.ofMillis(Math.round(240_000 * 0.7)));
+        assertThat(DocumentIndexingQueue.retryBackoff(settings, 3, 0.5)).isEqualTo(Duration.ofMinutes(4));
+        assertThat(DocumentIndexingQueue.retryBackoff(settings, 3, 0.999)).isBetween(Duration.ofMinutes(5), Duration.ofMinutes(6));
+        assertThat(DocumentIndexingQueue.retryBackoff(settings, 7, 0.999)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    void transientOnlyForTimeoutsConnectionAndOverloadStatuses() {
+        assertThat(DocumentIndexingQueue.isTransient(status(503))).isTrue();
+        assertThat(DocumentIndexingQueue.isTransient(status(429))).isTrue();
+        assertThat(DocumentIndexingQueue.isTransient(status(400))).isFalse();
+        assertThat(DocumentIndexingQueue.isTransient(new RuntimeException(new TimeoutException("attempt")))).isTrue();
+
+        Throwable blockTimeout = catchThrowable(() -> Mono.never().block(Duration.ofMillis(10)));
+        assertThat(DocumentIndexingQueue.isTransient(blockTimeout)).isTrue();
+
+        assertThat(DocumentIndexingQueue.isTransient(new IllegalStateException("GPT 응답 본문이 존재하지 않습니다."))).isFalse();
+        assertThat(DocumentIndexingQueue.isTransient(new IllegalArgumentException("bad"))).isFalse();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deletesUploadedChunksWhenDocumentWasDeletedDuringUpload(@TempDir Path dir) throws Exception {
+        Path file = Files.writeString(dir.resolve("a.txt"), "hello");
+        Document document = Document.builder()
+                .id(1L)
+                .uuid("deleted-uuid")
+                .fileName("a.txt")
+                .filePath(file.toString())
+                .indexingAttempts(0)
+                .build();
+        DocumentRepository repository = mock(DocumentRepository.class);
+        when(repository.findByIndexingStatusOrderByIdAsc(eq(DocumentIndexingStatus.PENDING), any()))
+                .thenReturn(List.of(document), List.of());
+        when(repository.claimForIndexing(eq(1L), anyString(), anyString(), any(), any(), any())).thenReturn(1);
+        // 업로드하는 사이 사용자가 문서를 지워 결과 기록도 실패하고 행도 없음
+        when(repository.finishIndexing(anyLong(), anyString(), any(), any(), any(), any(), any())).thenReturn(0);
+        when(repository.findById(1L)).thenReturn(Optional.empty());
+
+        List<String> requests = new CopyOnWriteArrayList<>();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    requests.add(request.url().getPath());
+                    return Mono.just(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body("{}")
+                            .build());
+                })
+                .build();
+        RagBackendPool ragBackends = mock(RagBackendPool.class);
+        when(ragBackends.isConfigured()).thenReturn(true);
+        when(ragBackends.call(any(), any())).thenAnswer(invocation ->
+                ((Function<String, Mono<?>>) invocation.getArgument(0)).apply("http://rag"));
+        BackgroundWorkGate gate = mock(BackgroundWorkGate.class);
+        when(gate.tryEnter(anyString())).thenReturn(true);
+
+        DocumentIndexingQueue queue = new DocumentIndexingQueue(repository, webClient, ragBackends, gate,
+                mock(DocumentIndexVersions.class), mock(QuestionAnswerCache.class), new OneAskProperties(),
+                new SimpleMeterRegistry());
+        try {
+            queue.wakeUp();
+            for (int i = 0; i < 100 && requests.size() < 2; i++) {
+                Thread.sleep(20);
+            }
+        } finally {
+            queue.shutdown();
+        }
+
+        assertThat(requests).containsExactly("/upload", "/documents/delete");
+    }
+
+    private static WebClientResponseException status(int code) {
+        return WebClientResponseException.create(code, "status " + code, HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8);
+    }
+}
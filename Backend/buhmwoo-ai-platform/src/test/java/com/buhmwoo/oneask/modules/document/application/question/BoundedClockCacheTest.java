@@ -0,0 +1,93 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedClockCacheTest {
+
+    @Test
+    void keepsSizeWithinCapacityAndPrefersFrequentlyRequestedKeys() {
+        BoundedClockCache<String> cache = new BoundedClockCache<>(4, 1, value -> false);
+        for (int i = 0; i < 4; i++) {
+            cache.put("hot-" + i, "v" + i);
+            for (int j = 0; j < 5; j++) {
+                cache.get("hot-" + i);
+            }
+        }
+
+        // 한 번만 요청된 키는 자주 요청된 키를 밀어내지 못함
+        for (int i = 0; i < 20; i++) {
+            cache.get("cold-" + i);
+            cache.put("cold-" + i, "c" + i);
+        }
+
+        assertThat(cache.size()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(cache.get("hot-" + i)).isEqualTo("v" + i);
+        }
+    }
+
+    @Test
+    void deadValuesAreDroppedOnReadAndEvictedFirst() {
+        List<String> dead = new ArrayList<>();
+        BoundedClockCache<String> cache = new BoundedClockCache<>(2, 1, dead::contains);
+        cache.put("a", "old");
+        cache.put("b", "live");
+        for (int j = 0; j < 5; j++) {
+            cache.get("b");
+        }
+        dead.add("old");
+
+        cache.put("c", "new");
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo("live");
+        assertThat(cache.get("c")).isEqualTo("new");
+    }
+
+    @Test
+    void updateSeesPreviousValueAndNullRemoves() {
+        BoundedClockCache<String> cache = new BoundedClockCache<>(10, 4, value -> false);
+        cache.update("k", previous -> previous == null ? "1" : previous + "1");
+        cache.update("k", previous -> previous == null ? "1" : previous + "1");
+        assertThat(cache.get("k")).isEqualTo("11");
+
+        cache.update("k", previous -> null);
+        assertThat(cache.get("k")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void concurrentWritersNeverExceedCapacity() throws Exception {
+        BoundedClockCache<Integer> cache = new BoundedClockCache<>(64, 8, value -> false);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int offset = t * 10_000;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        String key = "k" + (offset + i % 500);
+                        if (cache.get(key) == null) {
+                            cache.put(key, i);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(cache.size()).isBetween(1, 64);
+    }
+}
@@ -0,0 +1,96 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LocalFirstQuestionIntentClassifierTest {
+
+    @TempDir
+    Path storageRoot;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QuestionIntentClassifier llm = mock(QuestionIntentClassifier.class);
+
+    private LocalFirstQuestionIntentClassifier classifier(int maxLines, int maxFeatures) {
+        OneAskProperties props = new OneAskProperties();
+        props.getStorage().setRoot(storageRoot.toString());
+        props.getIntent().setLabelLogMaxLines(maxLines);
+        props.getIntent().setModelMaxFeatures(maxFeatures);
+        return new LocalFirstQuestionIntentClassifier(llm, props, meterRegistry);
+    }
+
+    @Test
+    void startupKeepsOnlyMostRecentLabelLines() throws Exception {
+        Path labelLog = writeLabelLog(30);
+        LocalFirstQuestionIntentClassifier classifier = classifier(10, 100_000);
+
+        classifier.trainInitialModel();
+
+        List<String> lines = Files.readAllLines(labelLog, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(10);
+        assertThat(lines.get(0)).endsWith("질문 20");
+        assertThat(lines.get(9)).endsWith("질문 29");
+        double examples = meterRegistry.get("oneask.intent.model.examples").gauge().value();
+        assertThat(examples).isEqualTo(GptQuestionIntentClassifier.SMALL_TALK_KEYWORDS.size() + 10);
+    }
+
+    @Test
+    void appendingPastLimitCompactsLog() throws Exception {
+        Path labelLog = writeLabelLog(10);
+        LocalFirstQuestionIntentClassifier classifier = classifier(10, 100_000);
+        classifier.trainInitialModel();
+        when(llm.classify(any(), any())).thenReturn(QuestionIntentResult.of(QuestionIntent.DOC_KNOWLEDGE, true));
+
+        classifier.classify("새 질문 A", "doc-1");
+        awaitLine(labelLog, "새 질문 A");
+        classifier.classify("새 질문 B", "doc-1");
+
+        for (int i = 0; i < 100 && Files.readAllLines(labelLog, StandardCharsets.UTF_8).size() != 10; i++) {
+            Thread.sleep(20);
+        }
+        List<String> lines = Files.readAllLines(labelLog, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(10);
+        assertThat(lines.get(9)).endsWith("새 질문 B");
+    }
+
+    @Test
+    void modelVocabularyStopsGrowingAtLimit() {
+        LocalFirstQuestionIntentClassifier classifier = classifier(10, 50);
+        classifier.trainInitialModel();
+
+        assertThat(meterRegistry.get("oneask.intent.model.features").gauge().value()).isEqualTo(50);
+    }
+
+    private Path writeLabelLog(int count) throws Exception {
+        Path labelLog = storageRoot.resolve(".oneask").resolve("intent-labels.tsv");
+        Files.createDirectories(labelLog.getParent());
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            lines.add("DOC_KNOWLEDGE\tDOC\t질문 " + i);
+        }
+        Files.write(labelLog, lines, StandardCharsets.UTF_8);
+        return labelLog;
+    }
+
+    private static void awaitLine(Path labelLog, String text) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            if (Files.readString(labelLog, StandardCharsets.UTF_8).contains(text)) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+    }
+}
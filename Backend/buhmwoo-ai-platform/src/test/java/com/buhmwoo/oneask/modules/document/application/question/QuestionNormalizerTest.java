@@ -0,0 +1,84 @@
+package com.buhmwoo.oneask.modules.document.application.question;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuestionNormalizerTest {
+
+    @Test
+    void foldsSpacingPunctuationAndRequestEndings() {
+        String expected = QuestionNormalizer.normalize("휴가 규정 알려줘");
+
+        assertThat(expected).isEqualTo("휴가규정알려");
+        assertThat(QuestionNormalizer.normalize("휴가 규정 알려줘?")).isEqualTo(expected);
+        assertThat(QuestionNormalizer.normalize("휴가규정 알려 줘")).isEqualTo(expected);
+        assertThat(QuestionNormalizer.normalize("휴가 규정 알려주세요.")).isEqualTo(expected);
+        assertThat(QuestionNormalizer.normalize("ＨＲ 규정")).isEqualTo(QuestionNormalizer.normalize("hr 규정"));
+    }
+
+    @Test
+    void keepsDecimalPoint() {
+        assertThat(QuestionNormalizer.normalize("연차 1.5일"))
+                .isNotEqualTo(QuestionNormalizer.normalize("연차 15일"));
+    }
+
+    @Test
+    void keepsLanguageSuffixSymbols() {
+        assertThat(QuestionNormalizer.normalize("C++ 설치"))
+                .isNotEqualTo(QuestionNormalizer.normalize("C# 설치"))
+                .isNotEqualTo(QuestionNormalizer.normalize("C 설치"));
+    }
+
+    @Test
+    void keepsSeparatorBetweenDigitGroups() {
+        assertThat(QuestionNormalizer.normalize("2024 1"))
+                .isNotEqualTo(QuestionNormalizer.normalize("20241"));
+        assertThat(QuestionNormalizer.normalize("2024 - 1"))
+                .isEqualTo(QuestionNormalizer.normalize("2024 1"));
+    }
+
+    @Test
+    void doesNotStripSingleSyllableWordEndings() {
+        assertThat(QuestionNormalizer.normalize("무엇이 중요"))
+                .isNotEqualTo(QuestionNormalizer.normalize("무엇이 중"));
+        assertThat(QuestionNormalizer.normalize("담당 분야"))
+                .isNotEqualTo(QuestionNormalizer.normalize("담당 분"));
+    }
+
+    @Test
+    void neverProducesKeySeparator() {
+        assertThat(QuestionNormalizer.normalize("시간: 09:00 ~ 18:00")).doesNotContain(":");
+    }
+
+    @Test
+    void numbersAreReadFromRawQuestion() {
+        assertThat(QuestionNormalizer.numbersOf("연차 1.5일, 2024 1월")).isEqualTo("1.5|2024|1|");
+        assertThat(QuestionNormalizer.numbersOf("연차 1.5일"))
+                .isNotEqualTo(QuestionNormalizer.numbersOf("연차 15일"));
+    }
+
+    @Test
+    void nearDuplicateSimilarityRejectsDifferentNumbers() {
+        assertThat(NearDuplicateQuestionIndex.similarity("2024년 연차 규정 알려줘", "2024년 연차 규정을 알려줘"))
+                .isGreaterThan(0.5);
+        assertThat(NearDuplicateQuestionIndex.similarity("연차 1.5일 사용 규정", "연차 15일 사용 규정")).isZero();
+        assertThat(NearDuplicateQuestionIndex.similarity("2024 1 분기 실적", "20241 분기 실적")).isZero();
+    }
+
+    @Test
+    void nearDuplicateIndexMatchesOnlyWithinSameNumbers() {
+        NearDuplicateQuestionIndex index = new NearDuplicateQuestionIndex();
+        String stored = "ALL::STRICT::" + QuestionNormalizer.normalize("2024년 연차 사용 규정 알려줘");
+        index.add(stored, "2024년 연차 사용 규정 알려줘");
+
+        String similar = "ALL::STRICT::" + QuestionNormalizer.normalize("2024년 연차 사용 규정을 알려줘");
+        assertThat(index.findSimilar(similar, "2024년 연차 사용 규정을 알려줘", 0.5))
+                .get()
+                .extracting(NearDuplicateQuestionIndex.Match::key)
+                .isEqualTo(stored);
+
+        String otherYear = "ALL::STRICT::" + QuestionNormalizer.normalize("2023년 연차 사용 규정 알려줘");
+        assertThat(index.findSimilar(otherYear, "2023년 연차 사용 규정 알려줘", 0.5)).isEmpty();
+    }
+}
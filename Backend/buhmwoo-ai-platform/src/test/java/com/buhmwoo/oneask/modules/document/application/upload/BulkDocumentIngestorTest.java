@@ -0,0 +1,171 @@
+package com.buhmwoo.oneask.modules.document.application.upload;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import com.buhmwoo.oneask.modules.document.api.dto.BulkUploadResponseDto;
+import com.buhmwoo.oneask.modules.document.application.indexing.DocumentIndexingQueue;
+import com.buhmwoo.oneask.modules.document.application.question.DocumentIndexVersions;
+import com.buhmwoo.oneask.modules.document.application.question.QuestionAnswerCache;
+import com.buhmwoo.oneask.modules.document.domain.Document;
+import com.buhmwoo.oneask.modules.document.infrastructure.client.RagBackendPool;
+import com.buhmwoo.oneask.modules.document.infrastructure.repository.maria.DocumentRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkDocumentIngestorTest {
+
+    @TempDir
+    Path storageRoot;
+
+    private BulkDocumentIngestor ingestor;
+    private DocumentRepository repository;
+
+    private BulkDocumentIngestor ingestor(int maxFiles, int maxPendingJobs) {
+        OneAskProperties props = new OneAskProperties();
+        props.getStorage().setRoot(storageRoot.toString());
+        props.getStorage().setBulkMaxFiles(maxFiles);
+        props.getStorage().setBulkMaxPendingJobs(maxPendingJobs);
+        repository = mock(DocumentRepository.class);
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        ingestor = new BulkDocumentIngestor(props, repository, mock(DocumentIndexingQueue.class),
+                mock(DocumentIndexVersions.class), mock(QuestionAnswerCache.class), mock(RagBackendPool.class),
+                new DocumentBlobStore(props, repository), new SimpleMeterRegistry());
+        return ingestor;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (ingestor != null) {
+            ingestor.shutdown();
+        }
+    }
+
+    @Test
+    void returnsJobIdBeforeSlowReplacementFinishes() throws Exception {
+        ingestor(100, 3);
+        Document existing = Document.builder()
+                .uuid("old")
+                .fileName("a.txt")
+                .filePath(storageRoot.resolve("old_a.txt").toString())
+                .contentHash("other")
+                .build();
+        when(repository.findAllByLowerFileNameIn(anyCollection())).thenReturn(List.of(existing));
+
+        CountDownLatch replacing = new CountDownLatch(1);
+        CountDownLatch ragDeleteDone = new CountDownLatch(1);
+        MockMultipartFile file = new MockMultipartFile("files", "a.txt", "text/plain", "hello".getBytes(StandardCharsets.UTF_8));
+
+        // 기존 문서 정리(RAG 삭제)가 끝나지 않아도 요청은 작업 ID 를 받고 바로 돌아옴
+        BulkUploadResponseDto accepted = ingestor.ingest(List.of(file), null, "alice", document -> {
+            replacing.countDown();
+            try {
+                ragDeleteDone.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(accepted.isCompleted()).isFalse();
+        assertThat(replacing.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ingestor.progress(accepted.getJobId()).orElseThrow().isCompleted()).isFalse();
+
+        ragDeleteDone.countDown();
+        BulkUploadResponseDto finished = awaitCompletion(accepted.getJobId());
+        assertThat(finished.getStored()).isEqualTo(1);
+        assertThat(finished.getItems()).extracting("fileName").containsExactly("a.txt");
+    }
+
+    @Test
+    void rejectsTooManyFilesBeforeCopyingThem() throws Exception {
+        ingestor(1, 3);
+        MultipartFile first = spy(text("a.txt"));
+        List<MultipartFile> files = List.of(first, text("b.txt"));
+
+        assertThatThrownBy(() -> ingestor.ingest(files, null, "alice", document -> { }))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(first, never()).transferTo(any(Path.class));
+    }
+
+    @Test
+    void rejectsWhenPendingJobsAreFull() throws Exception {
+        ingestor(100, 1);
+        Document existing = Document.builder().uuid("old").fileName("a.txt")
+                .filePath(storageRoot.resolve("old_a.txt").toString()).contentHash("other").build();
+        when(repository.findAllByLowerFileNameIn(anyCollection())).thenReturn(List.of(existing));
+        CountDownLatch release = new CountDownLatch(1);
+        BulkUploadResponseDto first = ingestor.ingest(List.of(text("a.txt")), null, "alice", document -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThatThrownBy(() -> ingestor.ingest(List.of(text("b.txt")), null, "alice", document -> { }))
+                .isInstanceOf(RejectedExecutionException.class);
+
+        release.countDown();
+        awaitCompletion(first.getJobId());
+        BulkUploadResponseDto next = ingestor.ingest(List.of(text("c.txt")), null, "alice", document -> { });
+        assertThat(awaitCompletion(next.getJobId()).getStored()).isEqualTo(1);
+    }
+
+    @Test
+    void reportsZipEntriesPastLimitAsSingleTruncatedItem() throws Exception {
+        ingestor(2, 3);
+        ByteArrayOutputStream zipBytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(zipBytes)) {
+            for (int i = 0; i < 5; i++) {
+                zip.putNextEntry(new ZipEntry("doc" + i + ".txt"));
+                zip.write(("content " + i).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        MockMultipartFile archive = new MockMultipartFile("files", "docs.zip", "application/zip", zipBytes.toByteArray());
+
+        BulkUploadResponseDto accepted = ingestor.ingest(List.of(archive), null, "alice", document -> { });
+        BulkUploadResponseDto finished = awaitCompletion(accepted.getJobId());
+
+        assertThat(finished.isTruncated()).isTrue();
+        assertThat(finished.getStored()).isEqualTo(2);
+        assertThat(finished.getItems()).hasSize(3);
+        assertThat(finished.getItems().get(2).getMessage()).contains("3개");
+    }
+
+    private BulkUploadResponseDto awaitCompletion(String jobId) throws InterruptedException {
+        BulkUploadResponseDto progress = ingestor.progress(jobId).orElseThrow();
+        for (int i = 0; i < 100 && !progress.isCompleted(); i++) {
+            Thread.sleep(50);
+            progress = ingestor.progress(jobId).orElseThrow();
+        }
+        assertThat(progress.isCompleted()).isTrue();
+        return progress;
+    }
+
+    private static MockMultipartFile text(String name) {
+        return new MockMultipartFile("files", name, "text/plain", name.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,123 @@
+package com.buhmwoo.oneask.modules.document.application.upload;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import com.buhmwoo.oneask.modules.document.domain.Document;
+import com.buhmwoo.oneask.modules.document.infrastructure.repository.maria.DocumentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DocumentBlobStoreTest {
+
+    @TempDir
+    Path storageRoot;
+
+    private final Set<Document> rows = ConcurrentHashMap.newKeySet();
+    private DocumentBlobStore blobStore;
+
+    @BeforeEach
+    void setUp() {
+        OneAskProperties props = new OneAskProperties();
+        props.getStorage().setRoot(storageRoot.toString());
+        DocumentRepository repository = mock(DocumentRepository.class);
+        when(repository.countByFilePath(anyString())).thenAnswer(invocation -> rows.stream()
+                .filter(row -> row.getFilePath().equals(invocation.getArgument(0)))
+                .count());
+        blobStore = new DocumentBlobStore(props, repository);
+    }
+
+    @Test
+    void reusedFileSurvivesReleaseUntilNewRowIsSettled() throws Exception {
+        DocumentBlobStore.StagedBlob first = stage("same");
+        Path shared = blobStore.commit(first, "a.txt", new HashMap<>());
+        Document oldRow = row("old", first, shared);
+        blobStore.settle(first.contentHash(), shared, true);
+
+        // 새 문서가 기존 파일을 함께 쓰기로 한 뒤, 행을 저장하기 전에 기존 문서가 지워짐
+        DocumentBlobStore.StagedBlob second = stage("same");
+        Path reused = blobStore.commit(second, "b.txt", new HashMap<>(Map.of(second.contentHash(), shared)));
+        assertThat(reused).isEqualTo(shared);
+        assertThat(blobStore.release(oldRow, () -> rows.remove(oldRow))).isFalse();
+        assertThat(shared).exists();
+
+        row("new", second, reused);
+        blobStore.settle(second.contentHash(), reused, true);
+        assertThat(shared).exists();
+    }
+
+    @Test
+    void unsavedCommitDeletesFileOnlyWhenNothingElseUsesIt() throws Exception {
+        DocumentBlobStore.StagedBlob staged = stage("orphan");
+        Path stored = blobStore.commit(staged, "c.txt", new HashMap<>());
+
+        blobStore.settle(staged.contentHash(), stored, false);
+
+        assertThat(stored).doesNotExist();
+    }
+
+    @Test
+    void concurrentReleasesOfSharedFileDeleteItOnce() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int round = 0; round < 100; round++) {
+                DocumentBlobStore.StagedBlob staged = stage("shared " + round);
+                Map<String, Path> blobs = new HashMap<>();
+                Path shared = blobStore.commit(staged, "d" + round + ".txt", blobs);
+                Document a = row("a" + round, staged, shared);
+                DocumentBlobStore.StagedBlob again = stage("shared " + round);
+                blobStore.commit(again, "e" + round + ".txt", blobs);
+                Document b = row("b" + round, again, shared);
+                blobStore.settle(staged.contentHash(), shared, true);
+                blobStore.settle(again.contentHash(), shared, true);
+
+                CountDownLatch start = new CountDownLatch(1);
+                Future<Boolean> first = pool.submit(() -> {
+                    start.await();
+                    return blobStore.release(a, () -> rows.remove(a));
+                });
+                Future<Boolean> second = pool.submit(() -> {
+                    start.await();
+                    return blobStore.release(b, () -> rows.remove(b));
+                });
+                start.countDown();
+
+                assertThat(first.get() ^ second.get()).as("round %d", round).isTrue();
+                assertThat(shared).as("round %d", round).doesNotExist();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private DocumentBlobStore.StagedBlob stage(String content) throws Exception {
+        return blobStore.stage(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), Long.MAX_VALUE);
+    }
+
+    private Document row(String uuid, DocumentBlobStore.StagedBlob staged, Path path) {
+        Document document = Document.builder()
+                .uuid(uuid)
+                .filePath(path.toString().replace("\\", "/"))
+                .contentHash(staged.contentHash())
+                .build();
+        rows.add(document);
+        return document;
+    }
+}
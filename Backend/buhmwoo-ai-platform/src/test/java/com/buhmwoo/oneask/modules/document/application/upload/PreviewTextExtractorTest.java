@@ -0,0 +1,111 @@
+package com.buhmwoo.oneask.modules.document.application.upload;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.xslf.usermodel.XMLSlideShow;
+import org.apache.poi.xslf.usermodel.XSLFSlide;
+import org.apache.poi.xslf.usermodel.XSLFTextBox;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PreviewTextExtractorTest {
+
+    private static final int PAGES = 5;
+    private static final String LINE = "Page text for preview extraction number ";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void pdfPreviewStopsAtLimitAndLeavesFileUntouched() throws Exception {
+        Path file = dir.resolve("sample.pdf");
+        try (PDDocument pdf = new PDDocument()) {
+            for (int i = 0; i < PAGES; i++) {
+                PDPage page = new PDPage();
+                pdf.addPage(page);
+                try (PDPageContentStream content = new PDPageContentStream(pdf, page)) {
+                    content.beginText();
+                    content.setFont(PDType1Font.HELVETICA, 12);
+                    content.newLineAtOffset(50, 700);
+                    content.showText(LINE + i);
+                    content.endText();
+                }
+            }
+            pdf.save(file.toFile());
+        }
+
+        assertPreview(file, "sample.pdf");
+    }
+
+    @Test
+    void docxPreviewStopsAtLimitAndLeavesFileUntouched() throws Exception {
+        Path file = dir.resolve("sample.docx");
+        try (XWPFDocument doc = new XWPFDocument(); OutputStream out = Files.newOutputStream(file)) {
+            for (int i = 0; i < PAGES; i++) {
+                doc.createParagraph().createRun().setText(LINE + i);
+            }
+            doc.write(out);
+        }
+
+        assertPreview(file, "sample.docx");
+    }
+
+    @Test
+    void pptxPreviewStopsAtLimitAndLeavesFileUntouched() throws Exception {
+        Path file = dir.resolve("sample.pptx");
+        try (XMLSlideShow prs = new XMLSlideShow(); OutputStream out = Files.newOutputStream(file)) {
+            for (int i = 0; i < PAGES; i++) {
+                XSLFSlide slide = prs.createSlide();
+                XSLFTextBox box = slide.createTextBox();
+                box.setText(LINE + i);
+            }
+            prs.write(out);
+        }
+
+        assertPreview(file, "sample.pptx");
+    }
+
+    @Test
+    void shortDocumentIsReturnedWholeAndUnsupportedTypeIsEmpty() throws Exception {
+        Path file = dir.resolve("short.docx");
+        try (XWPFDocument doc = new XWPFDocument(); OutputStream out = Files.newOutputStream(file)) {
+            doc.createParagraph().createRun().setText("hello");
+            doc.write(out);
+        }
+
+        assertThat(PreviewTextExtractor.preview(file, "short.docx", 200)).isEqualTo("hello\n");
+        assertThat(PreviewTextExtractor.preview(file, "short.txt", 200)).isEmpty();
+        assertThat(PreviewTextExtractor.preview(dir.resolve("missing.pdf"), "missing.pdf", 200)).isEmpty();
+    }
+
+    /**
+     * 첫 페이지 글자로 시작하고 한도에서 잘리며, 읽은 뒤에도 원본 파일이 바뀌거나 잠기지 않았는지 확인합니다.
+     */
+    private void assertPreview(Path file, String fileName) throws Exception {
+        byte[] before = Files.readAllBytes(file);
+        FileTime modifiedBefore = Files.getLastModifiedTime(file);
+        int limit = LINE.length() + 5;
+
+        String preview = PreviewTextExtractor.preview(file, fileName, limit);
+
+        assertThat(preview).startsWith(LINE + "0").endsWith("...").hasSize(limit + 3);
+        assertThat(preview).doesNotContain(LINE + (PAGES - 1));
+        assertThat(Files.readAllBytes(file)).isEqualTo(before);
+        assertThat(Files.getLastModifiedTime(file)).isEqualTo(modifiedBefore);
+
+        // 핸들이 남아 있지 않아야 교체(이동)·삭제가 가능함
+        Path moved = Files.move(file, dir.resolve("moved-" + fileName));
+        Files.delete(moved);
+        assertThat(moved).doesNotExist();
+    }
+}
@@ -0,0 +1,85 @@
+package com.buhmwoo.oneask.modules.document.infrastructure.cache;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import com.buhmwoo.oneask.modules.document.api.dto.QuestionAnswerResponseDto;
+import com.buhmwoo.oneask.modules.document.application.question.DocumentIndexVersions;
+import com.buhmwoo.oneask.modules.document.application.question.SecondLevelAnswerStore.StoredAnswer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MappedFileAnswerStoreTest {
+
+    @TempDir
+    Path storageRoot;
+
+    private OneAskProperties props(String instanceId) {
+        OneAskProperties props = new OneAskProperties();
+        props.getStorage().setRoot(storageRoot.toString());
+        props.getIndexing().setInstanceId(instanceId);
+        props.getCache().setL2FileSize(64 * 1024);
+        return props;
+    }
+
+    private static StoredAnswer answer(String text) {
+        return new StoredAnswer(null, QuestionAnswerResponseDto.builder().answer(text).sources(List.of()).build(),
+                0, System.currentTimeMillis() + 60_000);
+    }
+
+    @Test
+    void versionChangesAreWrittenOnlyWhenFlushed() throws Exception {
+        DocumentIndexVersions versions = new DocumentIndexVersions();
+        MappedFileAnswerStore store = new MappedFileAnswerStore(props("node-1"), versions);
+        store.open();
+        try {
+            Path versionFile = MappedFileAnswerStore.versionFile(props("node-1"));
+            for (int i = 0; i < 100; i++) {
+                versions.markChanged("doc-" + i);
+            }
+            assertThat(Files.readString(versionFile)).doesNotContain("doc.doc-");
+
+            store.flushVersions();
+
+            assertThat(Files.readString(versionFile)).contains("doc.doc-99=1", "clean=false");
+        } finally {
+            store.close();
+        }
+    }
+
+    @Test
+    void instancesUseSeparateFilesAndSameInstanceIdIsLockedOut() throws Exception {
+        MappedFileAnswerStore first = new MappedFileAnswerStore(props("node-1"), new DocumentIndexVersions());
+        MappedFileAnswerStore other = new MappedFileAnswerStore(props("node-2"), new DocumentIndexVersions());
+        MappedFileAnswerStore duplicate = new MappedFileAnswerStore(props("node-1"), new DocumentIndexVersions());
+        first.open();
+        other.open();
+        duplicate.open();
+        try {
+            awaitReady(first, "probe");
+            first.store("q", answer("from node-1"));
+
+            assertThat(first.load("q")).map(stored -> stored.response().getAnswer()).contains("from node-1");
+            assertThat(other.load("q")).isEmpty();
+            duplicate.store("q", answer("from duplicate"));
+            assertThat(duplicate.load("q")).isEmpty();
+            assertThat(first.load("q")).map(stored -> stored.response().getAnswer()).contains("from node-1");
+        } finally {
+            duplicate.close();
+            other.close();
+            first.close();
+        }
+    }
+
+    /** 새 파일은 기동 즉시, 기존 파일은 색인을 만든 뒤 준비되므로 기록이 보일 때까지 기다립니다. */
+    private static void awaitReady(MappedFileAnswerStore store, String key) throws InterruptedException {
+        for (int i = 0; i < 100 && store.load(key).isEmpty(); i++) {
+            store.store(key, answer("probe"));
+            Thread.sleep(10);
+        }
+    }
+}
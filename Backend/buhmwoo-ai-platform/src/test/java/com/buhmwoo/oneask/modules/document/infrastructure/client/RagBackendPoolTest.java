@@ -0,0 +1,103 @@
+package com.buhmwoo.oneask.modules.document.infrastructure.client;
+
+import com.buhmwoo.oneask.common.config.OneAskProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RagBackendPoolTest {
+
+    private static final String HUNG = "http://hung";
+    private static final String HEALTHY = "http://healthy";
+    private static final Duration ATTEMPT_TIMEOUT = Duration.ofMillis(50);
+
+    private static RagBackendPool pool(int consecutiveFailures) {
+        OneAskProperties props = new OneAskProperties();
+        props.getRag().setBackendUrl(HUNG);
+        props.getRag().setBackendUrls(List.of(HEALTHY));
+        props.getRag().setOutlierConsecutiveFailures(consecutiveFailures);
+        props.getRag().setOutlierEjectionDuration(Duration.ofMinutes(1));
+        return new RagBackendPool(props, WebClient.create(), new SimpleMeterRegistry());
+    }
+
+    /** 멈춘 인스턴스는 응답하지 않고, 정상 인스턴스는 자기 주소를 돌려줍니다. */
+    private static Mono<String> respond(String baseUrl) {
+        return HUNG.equals(baseUrl) ? Mono.never() : Mono.just(baseUrl);
+    }
+
+    @Test
+    void hungBackendTimesOutAndIsEjected() {
+        RagBackendPool pool = pool(3);
+
+        int hungAttempts = 0;
+        for (int i = 0; i < 50 && hungAttempts < 3; i++) {
+            try {
+                pool.call(RagBackendPoolTest::respond, ATTEMPT_TIMEOUT).block();
+            } catch (RuntimeException e) {
+                assertThat(e).hasCauseInstanceOf(TimeoutException.class);
+                hungAttempts++;
+            }
+        }
+        assertThat(hungAttempts).isEqualTo(3);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(pool.call(RagBackendPoolTest::respond, ATTEMPT_TIMEOUT).block()).isEqualTo(HEALTHY);
+        }
+    }
+
+    @Test
+    void streamWithoutFirstSignalTimesOutAndIsEjected() {
+        RagBackendPool pool = pool(2);
+
+        int hungAttempts = 0;
+        for (int i = 0; i < 50 && hungAttempts < 2; i++) {
+            try {
+                pool.stream(url -> respond(url).flux(), ATTEMPT_TIMEOUT).blockLast();
+            } catch (RuntimeException e) {
+                hungAttempts++;
+            }
+        }
+        assertThat(hungAttempts).isEqualTo(2);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(pool.stream(url -> respond(url).flux(), ATTEMPT_TIMEOUT).blockLast()).isEqualTo(HEALTHY);
+        }
+    }
+
+    @Test
+    void slowStreamIsNotCutAfterFirstSignal() {
+        RagBackendPool pool = pool(1);
+
+        List<String> tokens = pool.stream(url -> Flux.just("a", "b", "c").delayElements(Duration.ofMillis(30)),
+                Duration.ofMillis(100)).collectList().block();
+
+        assertThat(tokens).containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void callerCancellationIsNotCountedAsBackendFailure() {
+        RagBackendPool pool = pool(1);
+
+        // 바깥 마감이 먼저 끝나 취소된 호출은 인스턴스 실패로 세지 않으므로 두 인스턴스 모두 계속 고를 수 있음
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> pool.call(url -> Mono.never(), Duration.ofSeconds(10))
+                    .timeout(Duration.ofMillis(10))
+                    .block())
+                    .hasCauseInstanceOf(TimeoutException.class);
+        }
+        boolean hungChosen = false;
+        for (int i = 0; i < 50 && !hungChosen; i++) {
+            hungChosen = HUNG.equals(pool.call(Mono::just, ATTEMPT_TIMEOUT).block());
+        }
+        assertThat(hungChosen).isTrue();
+    }
+}